@@ -1,11 +1,25 @@
 package edu.ntnu.idatt1002.group12.flus;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.ControllerData;
+import edu.ntnu.idatt1002.group12.flus.controller.AccountRegister;
+import edu.ntnu.idatt1002.group12.flus.controller.AuthenticationService;
 import edu.ntnu.idatt1002.group12.flus.controller.BudgetManager;
 import edu.ntnu.idatt1002.group12.flus.controller.SceneManager;
+import edu.ntnu.idatt1002.group12.flus.model.PasswordPolicy;
+import edu.ntnu.idatt1002.group12.flus.storage.AccountStorage;
+import edu.ntnu.idatt1002.group12.flus.storage.AccountStorageMigrator;
+import edu.ntnu.idatt1002.group12.flus.storage.BinaryAccountStorage;
+import edu.ntnu.idatt1002.group12.flus.storage.JournalAccountStorage;
+import edu.ntnu.idatt1002.group12.flus.storage.MappedAccountStorage;
+import edu.ntnu.idatt1002.group12.flus.storage.SerializedAccountStorage;
+import edu.ntnu.idatt1002.group12.flus.storage.ShardedAccountStorage;
+import edu.ntnu.idatt1002.group12.flus.storage.SqliteAccountStorage;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
@@ -19,6 +33,128 @@ import javafx.stage.Stage;
 public class App extends Application {
 
   private static final Logger logger = Logger.getLogger(App.class.getName());
+  private static final String STORAGE_PROPERTY = "flus.storage";
+  private static final String SAVE_WINDOW_PROPERTY = "flus.saveWindowMillis";
+  private static final long DEFAULT_SAVE_WINDOW_MILLIS = 500;
+  private static final String PASSWORD_COST_PROPERTY = "flus.passwordCost";
+  private static final String PASSWORD_TARGET_PROPERTY = "flus.passwordTargetMillis";
+  private static final long DEFAULT_PASSWORD_TARGET_MILLIS = 250;
+  private static final int MIN_CALIBRATED_COST = 10;
+  private static final int MAX_CALIBRATED_COST = 16;
+  private static final String PATH_OF_FILE_ACCOUNTS = "src/main/resources/storage/store.ser";
+  private static final String PATH_OF_BINARY_ACCOUNTS = "src/main/resources/storage/store.bin";
+  private static final String PATH_OF_MAPPED_ACCOUNTS = "src/main/resources/storage/store.map";
+  private static final String PATH_OF_DATABASE_ACCOUNTS = "src/main/resources/storage/store.db";
+  private static final String PATH_OF_SHARDED_ACCOUNTS = "src/main/resources/storage/accounts";
+  private static final String PATH_OF_JOURNAL_ACCOUNTS = "src/main/resources/storage/store.journal";
+  private static final int JOURNAL_COMPACTION_THRESHOLD = 500;
+  private static final int SNAPSHOT_GENERATIONS = 2;
+
+  /**
+   * The method creates the storage for the accounts, chosen with the
+   * system property flus.storage. By default, the mapped store file is used
+   * as a snapshot, with changes appended to a journal between compactions.
+   * The store files keep the two previous snapshots, which are loaded if
+   * the newest snapshot is damaged. The sharded storage keeps every account in
+   * a file of its own, and is migrated from the mapped store file and journal.
+   *
+   * @return the storage for the accounts.
+   * @throws IllegalArgumentException if the chosen storage is unknown.
+   * @throws IOException if an older store file could not be migrated.
+   */
+  private static AccountStorage createStorage() throws IllegalArgumentException, IOException {
+    String storage = System.getProperty(STORAGE_PROPERTY, "journal");
+    return switch (storage.trim().toLowerCase()) {
+      case "journal" -> createJournalStorage();
+      case "binary" -> {
+        BinaryAccountStorage binaryStorage =
+                new BinaryAccountStorage(PATH_OF_BINARY_ACCOUNTS, SNAPSHOT_GENERATIONS);
+        if (!binaryStorage.exists() && Files.exists(Path.of(PATH_OF_FILE_ACCOUNTS))) {
+          AccountStorageMigrator.migrate(new SerializedAccountStorage(PATH_OF_FILE_ACCOUNTS),
+                  binaryStorage);
+        }
+        yield binaryStorage;
+      }
+      case "mapped" -> new MappedAccountStorage(PATH_OF_MAPPED_ACCOUNTS, SNAPSHOT_GENERATIONS);
+      case "serialized" ->
+              new SerializedAccountStorage(PATH_OF_FILE_ACCOUNTS, SNAPSHOT_GENERATIONS);
+      case "sharded" -> {
+        ShardedAccountStorage shardedStorage =
+                new ShardedAccountStorage(PATH_OF_SHARDED_ACCOUNTS, SNAPSHOT_GENERATIONS);
+        if (!shardedStorage.exists() && Files.exists(Path.of(PATH_OF_MAPPED_ACCOUNTS))) {
+          AccountStorageMigrator.migrate(createJournalStorage(
+                  new MappedAccountStorage(PATH_OF_MAPPED_ACCOUNTS, SNAPSHOT_GENERATIONS)),
+                  shardedStorage);
+        }
+        yield shardedStorage;
+      }
+      case "sqlite" -> new SqliteAccountStorage(PATH_OF_DATABASE_ACCOUNTS);
+      default -> throw new IllegalArgumentException("Unknown storage: " + storage);
+    };
+  }
+
+  /**
+   * The method creates the journal storage with the mapped store file as its snapshot.
+   * If the mapped store file does not exist yet, the accounts are migrated from the
+   * binary store file, or from the serialized store file if there is no binary store file.
+   *
+   * @return the journal storage.
+   * @throws IOException if an older store file could not be migrated.
+   */
+  private static AccountStorage createJournalStorage() throws IOException {
+    MappedAccountStorage mappedStorage =
+            new MappedAccountStorage(PATH_OF_MAPPED_ACCOUNTS, SNAPSHOT_GENERATIONS);
+    AccountStorage journalStorage = createJournalStorage(mappedStorage);
+    if (!mappedStorage.exists()) {
+      if (Files.exists(Path.of(PATH_OF_BINARY_ACCOUNTS))) {
+        AccountStorageMigrator.migrate(createJournalStorage(
+                new BinaryAccountStorage(PATH_OF_BINARY_ACCOUNTS)), journalStorage);
+      } else if (Files.exists(Path.of(PATH_OF_FILE_ACCOUNTS))) {
+        AccountStorageMigrator.migrate(createJournalStorage(
+                new SerializedAccountStorage(PATH_OF_FILE_ACCOUNTS)), journalStorage);
+      }
+    }
+    return journalStorage;
+  }
+
+  /**
+   * The method creates a journal storage with the given snapshot storage.
+   *
+   * @param snapshot the storage the journal is compacted into.
+   * @return the journal storage.
+   */
+  private static AccountStorage createJournalStorage(AccountStorage snapshot) {
+    return new JournalAccountStorage(snapshot, PATH_OF_JOURNAL_ACCOUNTS,
+            JOURNAL_COMPACTION_THRESHOLD);
+  }
+
+  /**
+   * The method sets the policy passwords are hashed with. The cost is chosen with
+   * the system property flus.passwordCost, or else calibrated so that a password is
+   * checked within flus.passwordTargetMillis on this machine. The calibration is run
+   * on the workers of the authentication service, so that the window is shown at once,
+   * and logins wait for it. If the calibration fails, the default cost is kept.
+   *
+   * @throws IllegalArgumentException if the chosen cost is not valid.
+   */
+  private static void setPasswordPolicy() throws IllegalArgumentException {
+    Integer cost = Integer.getInteger(PASSWORD_COST_PROPERTY);
+    if (cost != null) {
+      PasswordPolicy.setCurrent(new PasswordPolicy(cost));
+      return;
+    }
+    long targetMillis = Long.getLong(PASSWORD_TARGET_PROPERTY, DEFAULT_PASSWORD_TARGET_MILLIS);
+    AuthenticationService.getInstance().runBeforeRequests(() -> {
+      PasswordPolicy policy = PasswordPolicy.calibrate(Duration.ofMillis(targetMillis),
+              MIN_CALIBRATED_COST, MAX_CALIBRATED_COST);
+      PasswordPolicy.setCurrent(policy);
+      logger.log(Level.INFO, "Passwords are hashed with cost {0}.", policy.getCost());
+    }).whenComplete((ignored, error) -> {
+      if (error != null) {
+        logger.log(Level.SEVERE, error.getMessage(), error);
+      }
+    });
+  }
 
   /**
    * The start method of the class. This method is called by the
@@ -29,6 +165,11 @@ public class App extends Application {
   @Override
   public void start(Stage stage) {
     try {
+      setPasswordPolicy();
+      AccountRegister accountRegister = AccountRegister.getInstance();
+      accountRegister.setStorage(createStorage());
+      accountRegister.startBackgroundSaving(Duration.ofMillis(
+              Long.getLong(SAVE_WINDOW_PROPERTY, DEFAULT_SAVE_WINDOW_MILLIS)));
       SceneManager sceneManager = new SceneManager(stage);
       BudgetManager budgetManager = new BudgetManager();
 
@@ -46,6 +187,29 @@ public class App extends Application {
     }
   }
 
+  /**
+   * The stop method of the class. This method is called by the
+   * JavaFX framework when the application is closed. It saves all unsaved
+   * changes and closes the storage.
+   */
+  @Override
+  public void stop() {
+    AccountRegister accountRegister = AccountRegister.getInstance();
+    try {
+      accountRegister.stopBackgroundSaving();
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, e.getMessage(), e);
+    }
+    AccountStorage storage = accountRegister.getStorage();
+    if (storage != null) {
+      try {
+        storage.close();
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, e.getMessage(), e);
+      }
+    }
+  }
+
   /**
    * The main method of the App class.
    *
@@ -0,0 +1,118 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The class holds the locks of the account register. Changes to one account, and to
+ * its budgets, hold the lock of a stripe chosen by the username, so changes to accounts
+ * in different stripes never wait for each other. Changes to the register itself, such
+ * as registering, deleting, loading and saving accounts, hold the register lock
+ * exclusively, and so wait for the changes to accounts that are running.
+ *
+ * <p>All locks are reentrant. A thread holding the register lock exclusively may also
+ * lock an account, but a thread holding the lock of an account must not try to hold
+ * the register lock exclusively.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+final class AccountLocks {
+
+  private final ReentrantReadWriteLock registerLock;
+  private final ReentrantLock[] stripes;
+
+  /**
+   * The interface represents locks that are held until they are closed.
+   */
+  @FunctionalInterface
+  interface Held extends AutoCloseable {
+    /**
+     * The method releases the locks.
+     */
+    @Override
+    void close();
+  }
+
+  /**
+   * Constructor to create an object of the type AccountLocks.
+   *
+   * @param stripeCount the number of stripes, which is rounded up to a power of two.
+   * @throws IllegalArgumentException if the number of stripes is less than 1 or too large.
+   */
+  AccountLocks(int stripeCount) throws IllegalArgumentException {
+    if (stripeCount < 1 || stripeCount > 1 << 16) {
+      throw new IllegalArgumentException("The number of stripes must be from 1 to 65536.");
+    }
+    this.registerLock = new ReentrantReadWriteLock();
+    this.stripes = new ReentrantLock[stripeCount == 1 ? 1
+            : Integer.highestOneBit(stripeCount - 1) << 1];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * The method locks the account with the given username, and shares the register
+   * lock with the other threads changing accounts.
+   *
+   * @param username the username of the account, which is trimmed.
+   * @return the held locks.
+   * @throws NullPointerException if the username is null.
+   */
+  Held lockAccount(String username) throws NullPointerException {
+    if (username == null) {
+      throw new NullPointerException("Username cannot be null.");
+    }
+    Lock shared = registerLock.readLock();
+    Lock stripe = stripes[stripeOf(username.trim())];
+    shared.lock();
+    stripe.lock();
+    return () -> {
+      stripe.unlock();
+      shared.unlock();
+    };
+  }
+
+  /**
+   * The method shares the register lock with the other threads changing accounts,
+   * so that the register is not changed while it is read.
+   *
+   * @return the held lock.
+   */
+  Held lockShared() {
+    Lock shared = registerLock.readLock();
+    shared.lock();
+    return shared::unlock;
+  }
+
+  /**
+   * The method holds the register lock exclusively, waiting for all changes
+   * to accounts that are running.
+   *
+   * @return the held lock.
+   * @throws IllegalStateException if the thread holds the lock of an account.
+   */
+  Held lockExclusively() throws IllegalStateException {
+    if (registerLock.getReadHoldCount() > 0) {
+      throw new IllegalStateException(
+              "The register cannot be locked exclusively while an account is locked.");
+    }
+    Lock exclusive = registerLock.writeLock();
+    exclusive.lock();
+    return exclusive::unlock;
+  }
+
+  /**
+   * The method finds the stripe of a username.
+   *
+   * @param username the trimmed username.
+   * @return the index of the stripe.
+   */
+  int stripeOf(String username) {
+    int hash = username.hashCode();
+    return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+  }
+}
@@ -1,24 +1,49 @@
 package edu.ntnu.idatt1002.group12.flus.controller;
 
+import edu.ntnu.idatt1002.group12.flus.export.TransactionExporter;
 import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.PasswordPolicy;
+import edu.ntnu.idatt1002.group12.flus.storage.AccountChange;
+import edu.ntnu.idatt1002.group12.flus.storage.AccountStorage;
+import edu.ntnu.idatt1002.group12.flus.storage.SerializedAccountStorage;
 import java.io.EOFException;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The class represents a registry of user accounts.
  * It provides methods to register, delete, and modify accounts,
  * as well as to retrieve account information.
  *
+ * <p>Accounts are kept in a map keyed by username, together with unique
+ * indexes on email and phone number, so that lookups and uniqueness
+ * checks do not have to scan every registered account.</p>
+ *
+ * <p>Accounts are loaded from and saved to a pluggable {@link AccountStorage}.
+ * Changes made through the register and the budget manager are recorded,
+ * so that storages able to save single changes do not rewrite every account.
+ * With background saving started, changes are saved on a background thread
+ * shortly after they are made, and {@link #flush()} saves them immediately.</p>
+ *
+ * <p>The register is safe for use by several threads. Changes to an account, and
+ * the budget manager's changes to its budgets, lock the account by its username
+ * with {@link AccountLocks}, so changes to different accounts do not wait for each
+ * other. Registering, deleting, loading and saving accounts lock the whole register,
+ * so that saves do not see a change half made. A save only locks the register while
+ * the changes are taken and encoded, and the files are written after the lock is
+ * released, one save at a time. Emails and phone numbers are claimed
+ * in concurrent indexes, so two accounts cannot take the same one at once.</p>
+ *
  * @author Ramtin Samavat and Stian Lyng
  * @version 1.0
  * @since April 17, 2023.
@@ -26,16 +51,43 @@ import java.util.logging.Logger;
 public class AccountRegister {
 
   private static AccountRegister instance = null;
-  private static final Logger logger = Logger.getLogger(AccountRegister.class.getName());
   private static final String FILE_EXTENSION = ".ser";
-  private List<Account> accounts;
+  private static final int LOCK_STRIPES = 64;
+  private static final int LOGIN_ATTEMPTS_PER_ACCOUNT = 5;
+  private static final Duration LOGIN_ATTEMPT_REFILL = Duration.ofSeconds(12);
+  private static final int LOGIN_ATTEMPTS_PER_SECOND_PER_PROCESSOR = 8;
+  private static final int LOGIN_BURST_SECONDS = 8;
+  private static final Duration UNKNOWN_USERNAME_REMEMBERED = Duration.ofSeconds(30);
+  private static final Duration SESSION_IDLE_TIMEOUT = Duration.ofMinutes(30);
+  private final AccountLocks locks;
+  private final LoginLimiter loginLimiter;
+  private final Map<String, Account> accounts;
+  private final Map<String, String> usernamesByEmail;
+  private final Map<String, String> usernamesByPhoneNumber;
+  private final Map<String, Set<Session>> sessions;
+  private final List<AccountChange> pendingChanges;
+  private final Object saveLock;
+  private AccountStorage storage;
+  private boolean storageInSync;
+  private BackgroundSaver backgroundSaver;
 
   /**
    * Constructs an instance of AccountRegister with
    * an empty list of accounts.
    */
   private AccountRegister() {
-    accounts = new ArrayList<>();
+    locks = new AccountLocks(LOCK_STRIPES);
+    int loginsPerSecond = LOGIN_ATTEMPTS_PER_SECOND_PER_PROCESSOR
+            * Runtime.getRuntime().availableProcessors();
+    loginLimiter = new LoginLimiter(LOGIN_ATTEMPTS_PER_ACCOUNT, LOGIN_ATTEMPT_REFILL,
+            loginsPerSecond * LOGIN_BURST_SECONDS,
+            Duration.ofSeconds(1).dividedBy(loginsPerSecond), UNKNOWN_USERNAME_REMEMBERED, System::nanoTime);
+    accounts = new LinkedHashMap<>();
+    usernamesByEmail = new ConcurrentHashMap<>();
+    usernamesByPhoneNumber = new ConcurrentHashMap<>();
+    sessions = new ConcurrentHashMap<>();
+    pendingChanges = new ArrayList<>();
+    saveLock = new Object();
   }
 
   /**
@@ -44,7 +96,7 @@ public class AccountRegister {
    *
    * @return an instance of the AccountRegister class.
    */
-  public static AccountRegister getInstance() {
+  public static synchronized AccountRegister getInstance() {
     if (instance == null) {
       instance = new AccountRegister();
     }
@@ -65,12 +117,28 @@ public class AccountRegister {
 
     validateUsername(username);
 
-    return this.accounts
-            .stream()
-            .filter(account -> account.getUsername().equals(username.trim()))
-            .findFirst()
-            .orElseThrow(() -> new NoSuchElementException("Account with username "
-                    + username + " does not exist."));
+    Account account;
+    try (AccountLocks.Held lock = locks.lockShared()) {
+      account = accounts.get(username.trim());
+    }
+    if (account == null) {
+      throw new NoSuchElementException("Account with username "
+              + username + " does not exist.");
+    }
+    return account;
+  }
+
+  /**
+   * The method locks the account with the given username, so that it can be changed
+   * without other threads changing it or saving it at the same time. The account
+   * does not have to exist.
+   *
+   * @param username the username of the account.
+   * @return the held lock, which is released when it is closed.
+   * @throws NullPointerException if the username is null.
+   */
+  AccountLocks.Held lockAccount(String username) throws NullPointerException {
+    return locks.lockAccount(username);
   }
 
   /**
@@ -82,7 +150,8 @@ public class AccountRegister {
    * @param phoneNumber The phone number for the new account. Must be unique.
    * @throws IllegalArgumentException If an account with the same information already exists.
    */
-  public void registerAccount(String username, String password, String email, String phoneNumber)
+  public void registerAccount(String username, String password, String email,
+                              String phoneNumber)
           throws IllegalArgumentException, NullPointerException {
     validateUsername(username);
     validatePassword(password);
@@ -92,18 +161,37 @@ public class AccountRegister {
     if (phoneNumber == null) {
       throw new NullPointerException("Phone number cannot be null.");
     }
-    if (accounts.stream().anyMatch(account -> account.getUsername().equals(username.trim()))) {
+    try (AccountLocks.Held lock = locks.lockShared()) {
+      validateUnique(username, email, phoneNumber);
+    }
+    Account account = new Account(username, password, email, phoneNumber);
+    try (AccountLocks.Held lock = locks.lockExclusively()) {
+      validateUnique(username, email, phoneNumber);
+      addToIndexes(account);
+      loginLimiter.forget(account.getUsername());
+      recordChange(AccountChange.Type.ACCOUNT_REGISTERED, account.getUsername(), null, account);
+    }
+  }
+
+  /**
+   * The method validates that no account has the given username, email or phone number.
+   *
+   * @param username the username.
+   * @param email the email.
+   * @param phoneNumber the phone number.
+   * @throws IllegalArgumentException if an account has the username, email or phone number.
+   */
+  private void validateUnique(String username, String email, String phoneNumber)
+          throws IllegalArgumentException {
+    if (accounts.containsKey(username.trim())) {
       throw new IllegalArgumentException("An account with the same username already exists.");
     }
-    if (accounts.stream().anyMatch(account -> account.getEmail().equals(email.trim()))) {
+    if (usernamesByEmail.containsKey(email.trim())) {
       throw new IllegalArgumentException("An account with the same email already exists.");
     }
-    if (accounts.stream()
-            .anyMatch(account -> account.getPhoneNumber().equals(phoneNumber.trim()))) {
+    if (usernamesByPhoneNumber.containsKey(phoneNumber.trim())) {
       throw new IllegalArgumentException("An account with the same phone number already exists.");
     }
-    Account account = new Account(username, password, email, phoneNumber);
-    accounts.add(account);
   }
 
   /**
@@ -120,14 +208,25 @@ public class AccountRegister {
     if (inputValidation == null) {
       throw new NullPointerException("The input validation cannot be null.");
     }
-    if (username.trim().equals(inputValidation.trim())) {
-      return accounts.removeIf(account -> account.getUsername().equals(username.trim()));
+    if (!username.trim().equals(inputValidation.trim())) {
+      return false;
+    }
+    try (AccountLocks.Held lock = locks.lockExclusively()) {
+      Account account = accounts.remove(username.trim());
+      if (account != null) {
+        usernamesByEmail.remove(account.getEmail());
+        usernamesByPhoneNumber.remove(account.getPhoneNumber());
+        invalidateSessions(account.getUsername(), null);
+        recordChange(AccountChange.Type.ACCOUNT_DELETED, account.getUsername(), null, null);
+        return true;
+      }
+      return false;
     }
-    return false;
   }
 
   /**
-   * The method changes the password of an existing account.
+   * The method changes the password of an existing account. All sessions of the
+   * account are invalidated.
    *
    * @param username the username of the account.
    * @param oldPassword the old password of the account.
@@ -138,16 +237,70 @@ public class AccountRegister {
    */
   public void changePassword(String username, String oldPassword, String newPassword)
           throws IllegalArgumentException, NullPointerException, NoSuchElementException {
+    validatePasswords(oldPassword, newPassword);
+    try (AccountLocks.Held lock = locks.lockAccount(username)) {
+      updatePassword(findAccount(username), oldPassword, newPassword, null);
+    }
+  }
+
+  /**
+   * The method changes the password of the account of a session. The other
+   * sessions of the account are invalidated.
+   *
+   * @param session the session of the account.
+   * @param oldPassword the old password of the account.
+   * @param newPassword the new password of the account.
+   * @throws IllegalArgumentException if the old or new password is invalid.
+   * @throws NullPointerException if a parameter is null.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public void changePassword(Session session, String oldPassword, String newPassword)
+          throws IllegalArgumentException, NullPointerException, IllegalStateException {
+    if (session == null) {
+      throw new NullPointerException("Session cannot be null.");
+    }
+    validatePasswords(oldPassword, newPassword);
+    try (AccountLocks.Held lock = session.lock()) {
+      updatePassword(session.getAccount(), oldPassword, newPassword, session);
+    }
+  }
+
+  /**
+   * The method changes the password of a locked account, and invalidates the
+   * sessions of the account.
+   *
+   * @param account the account.
+   * @param oldPassword the old password of the account.
+   * @param newPassword the new password of the account.
+   * @param keep the session to keep valid, or null to invalidate all sessions.
+   * @throws IllegalArgumentException if the old or new password is invalid.
+   */
+  private void updatePassword(Account account, String oldPassword, String newPassword,
+                              Session keep) throws IllegalArgumentException {
+    if (!account.checkPassword(oldPassword)) {
+      throw new IllegalArgumentException("The old password is wrong.");
+    }
+    account.setPassword(newPassword);
+    invalidateSessions(account.getUsername(), keep);
+    recordChange(AccountChange.Type.PASSWORD_CHANGED, account.getUsername(), null,
+            account.getPassword());
+  }
+
+  /**
+   * The method validates that the old and new passwords are not null.
+   *
+   * @param oldPassword the old password.
+   * @param newPassword the new password.
+   * @throws NullPointerException if either password is null.
+   */
+  private static void validatePasswords(String oldPassword, String newPassword)
+          throws NullPointerException {
     if (oldPassword == null) {
       throw new NullPointerException("The old password cannot be null.");
     }
     if (newPassword == null) {
       throw new NullPointerException("The new password cannot be null.");
     }
-    if (!findAccount(username).checkPassword(oldPassword)) {
-      throw new IllegalArgumentException("The old password is wrong.");
-    }
-    findAccount(username).setPassword(newPassword);
   }
 
   /**
@@ -164,10 +317,23 @@ public class AccountRegister {
     if (newEmail == null) {
       throw new NullPointerException("The new email cannot be null.");
     }
-    if (accounts.stream().anyMatch(account -> account.getEmail().equals(newEmail.trim()))) {
+    if (usernamesByEmail.containsKey(newEmail.trim())) {
       throw new IllegalArgumentException("An account with the same email already exists.");
     }
-    findAccount(username).setEmail(newEmail);
+    try (AccountLocks.Held lock = locks.lockAccount(username)) {
+      Account account = findAccount(username);
+      String oldEmail = account.getEmail();
+      claim(usernamesByEmail, newEmail.trim(), account.getUsername(), "email");
+      try {
+        account.setEmail(newEmail);
+      } catch (RuntimeException e) {
+        usernamesByEmail.remove(newEmail.trim());
+        throw e;
+      }
+      usernamesByEmail.remove(oldEmail);
+      recordChange(AccountChange.Type.EMAIL_CHANGED, account.getUsername(), null,
+              account.getEmail());
+    }
   }
 
   /**
@@ -184,45 +350,421 @@ public class AccountRegister {
     if (newPhoneNumber == null) {
       throw new NullPointerException("The new phone number cannot be null.");
     }
-    if (accounts.stream()
-            .anyMatch(account -> account.getPhoneNumber().equals(newPhoneNumber.trim()))) {
+    if (usernamesByPhoneNumber.containsKey(newPhoneNumber.trim())) {
       throw new IllegalArgumentException("An account with the same phone number already exists.");
     }
-    findAccount(username).setPhoneNumber(newPhoneNumber);
+    try (AccountLocks.Held lock = locks.lockAccount(username)) {
+      Account account = findAccount(username);
+      String oldPhoneNumber = account.getPhoneNumber();
+      claim(usernamesByPhoneNumber, newPhoneNumber.trim(), account.getUsername(),
+              "phone number");
+      try {
+        account.setPhoneNumber(newPhoneNumber);
+      } catch (RuntimeException e) {
+        usernamesByPhoneNumber.remove(newPhoneNumber.trim());
+        throw e;
+      }
+      usernamesByPhoneNumber.remove(oldPhoneNumber);
+      recordChange(AccountChange.Type.PHONE_NUMBER_CHANGED, account.getUsername(), null,
+              account.getPhoneNumber());
+    }
+  }
+
+  /**
+   * The method claims an email or phone number for an account in an index,
+   * unless another account has claimed it first.
+   *
+   * @param index the index of the emails or phone numbers.
+   * @param value the trimmed email or phone number.
+   * @param username the username of the account.
+   * @param name the name of the value, used in the error message.
+   * @throws IllegalArgumentException if an account already has the value.
+   */
+  private static void claim(Map<String, String> index, String value, String username,
+                            String name) throws IllegalArgumentException {
+    if (index.putIfAbsent(value, username) != null) {
+      throw new IllegalArgumentException("An account with the same " + name
+              + " already exists.");
+    }
   }
 
   /**
    * The method retrieves a deep copy of the Account object corresponding
-   * to the specified username and password.
+   * to the specified username and password. If the stored password was hashed with
+   * another cost than the current password policy, it is hashed again and saved.
+   *
+   * <p>The number of logins tried for every username, and for all usernames together,
+   * is limited, so a burst of wrong passwords cannot keep all processors busy checking
+   * passwords. A login to a username without an account checks the password against a
+   * dummy hash, so it takes as long as a login with a wrong password.</p>
+   *
+   * <p>The account is only locked while its stored hash is read, and while a new hash is
+   * stored if the stored hash has not changed since it was read. The password is checked,
+   * and hashed again, without holding the lock, so a slow hash does not hold up changes
+   * to other accounts, or a save waiting to lock the register.</p>
    *
    * @param username the username of the account.
    * @param password the password of the account.
    * @return a deep copy of the Account object corresponding to the specified username and password.
    * @throws NullPointerException if either the username or password is null
    * @throws NoSuchElementException if the account does not exist.
+   * @throws IllegalStateException if too many logins have been tried.
    * @throws UnsupportedOperationException if cloning is not supported.
    */
   public Account getAccount(String username, String password)
-          throws NullPointerException, IllegalArgumentException {
+          throws NullPointerException, IllegalArgumentException, IllegalStateException {
     validateUsername(username);
     validatePassword(password);
-    if (!findAccount(username).checkPassword(password)) {
-      throw new IllegalArgumentException("Invalid password for account.");
+    String trimmedUsername = username.trim();
+    loginLimiter.acquire(trimmedUsername);
+    if (!loginLimiter.isUnknown(trimmedUsername)) {
+      Account account;
+      String hash;
+      try (AccountLocks.Held lock = locks.lockAccount(username)) {
+        account = accounts.get(trimmedUsername);
+        hash = account != null ? account.getPassword() : null;
+      }
+      if (account != null) {
+        if (!PasswordPolicy.matches(password, hash)) {
+          throw new IllegalArgumentException("Invalid password for account.");
+        }
+        loginLimiter.succeeded(trimmedUsername);
+        PasswordPolicy policy = PasswordPolicy.getCurrent();
+        if (policy.needsRehash(hash)) {
+          String newHash = policy.hash(password);
+          try (AccountLocks.Held lock = locks.lockAccount(username)) {
+            if (PasswordPolicy.replaceVerifiedHash(account, hash, newHash)) {
+              recordChange(AccountChange.Type.PASSWORD_CHANGED, account.getUsername(), null,
+                      newHash);
+            }
+          }
+        }
+        return account;
+      }
+      loginLimiter.rememberUnknown(trimmedUsername);
     }
-    return findAccount(username);
+    PasswordPolicy.getCurrent().checkDummy(password);
+    throw new NoSuchElementException("Account with username " + username + " does not exist.");
   }
 
   /**
-   * The method retrieves the list of accounts.
+   * The method logs in to an account and opens a session for it. The session holds
+   * the account, so that it is not looked up by username again while the session is used.
+   *
+   * @param username the username of the account.
+   * @param password the password of the account.
+   * @return the session of the account.
+   * @throws NullPointerException if either the username or password is null
+   * @throws IllegalArgumentException if the password is wrong.
+   * @throws NoSuchElementException if the account does not exist.
+   * @throws IllegalStateException if too many logins have been tried.
+   */
+  public Session openSession(String username, String password)
+          throws NullPointerException, IllegalArgumentException, NoSuchElementException,
+          IllegalStateException {
+    return openSession(getAccount(username, password));
+  }
+
+  /**
+   * The method opens a session for an account whose password has been checked,
+   * or which has just been registered.
+   *
+   * @param account the account.
+   * @return the session of the account.
+   * @throws NoSuchElementException if the account is no longer registered.
+   */
+  Session openSession(Account account) throws NoSuchElementException {
+    Session session = new Session(this, account, SESSION_IDLE_TIMEOUT, System::nanoTime);
+    try (AccountLocks.Held lock = locks.lockShared()) {
+      if (accounts.get(account.getUsername()) != account) {
+        throw new NoSuchElementException("Account with username "
+                + account.getUsername() + " does not exist.");
+      }
+      sessions.compute(account.getUsername(), (username, open) -> {
+        Set<Session> kept = open == null ? new HashSet<>() : open;
+        kept.removeIf(other -> !other.isValid());
+        kept.add(session);
+        return kept;
+      });
+    }
+    return session;
+  }
+
+  /**
+   * The method forgets a session that has been invalidated.
+   *
+   * @param session the session.
+   */
+  void closeSession(Session session) {
+    sessions.computeIfPresent(session.getUsername(), (username, open) -> {
+      open.remove(session);
+      return open.isEmpty() ? null : open;
+    });
+  }
+
+  /**
+   * The method invalidates the sessions of an account.
+   *
+   * @param username the username of the account.
+   * @param keep the session to keep valid, or null to invalidate all sessions.
+   */
+  private void invalidateSessions(String username, Session keep) {
+    sessions.computeIfPresent(username, (key, open) -> {
+      open.removeIf(session -> {
+        if (session == keep) {
+          return false;
+        }
+        session.expire();
+        return true;
+      });
+      return open.isEmpty() ? null : open;
+    });
+  }
+
+  /**
+   * The method retrieves the list of accounts, in registration order.
    *
    * @return the list of accounts.
    */
   protected List<Account> getAccounts() {
-    return accounts;
+    try (AccountLocks.Held lock = locks.lockShared()) {
+      return new ArrayList<>(accounts.values());
+    }
+  }
+
+  /**
+   * The method exports the transactions of all accounts to a file. Each account is
+   * locked while its transactions are written, so the export may run while the
+   * accounts are being changed.
+   *
+   * @param exporter the exporter that writes the transactions.
+   * @param file the file to export to.
+   * @return the number of transactions exported.
+   * @throws NullPointerException if the exporter or file is null.
+   * @throws IOException if the file could not be written.
+   */
+  public long exportTransactions(TransactionExporter exporter, Path file)
+          throws NullPointerException, IOException {
+    Objects.requireNonNull(exporter, "Exporter cannot be null.");
+    return exporter.export(getAccounts(), file,
+            account -> lockAccount(account.getUsername())::close);
+  }
+
+  /**
+   * The method sets the storage the accounts are loaded from and saved to.
+   * The next save writes all accounts to the new storage.
+   *
+   * @param storage the storage to use.
+   * @throws NullPointerException if the storage is null.
+   */
+  public void setStorage(AccountStorage storage) throws NullPointerException {
+    if (storage == null) {
+      throw new NullPointerException("Storage cannot be null.");
+    }
+    synchronized (saveLock) {
+      try (AccountLocks.Held lock = locks.lockExclusively()) {
+        this.storage = storage;
+        this.storageInSync = false;
+        this.pendingChanges.clear();
+      }
+    }
+  }
+
+  /**
+   * The method stops saving in the background and removes the storage, discarding
+   * the unsaved changes. Changes are no longer recorded until a storage is set again.
+   * This is used by tests that set a storage of their own.
+   *
+   * @throws IOException if the background saver could not be stopped.
+   */
+  void clearStorage() throws IOException {
+    BackgroundSaver saver;
+    synchronized (saveLock) {
+      try (AccountLocks.Held lock = locks.lockExclusively()) {
+        saver = backgroundSaver;
+        backgroundSaver = null;
+        storage = null;
+        storageInSync = false;
+        pendingChanges.clear();
+      }
+    }
+    if (saver != null) {
+      saver.close();
+    }
+  }
+
+  /**
+   * The method retrieves the storage the accounts are loaded from and saved to.
+   *
+   * @return the storage, or null if no storage has been set.
+   */
+  public AccountStorage getStorage() {
+    try (AccountLocks.Held lock = locks.lockShared()) {
+      return storage;
+    }
+  }
+
+  /**
+   * Loads all accounts from the storage, replacing the registered accounts.
+   *
+   * @throws IOException if the accounts could not be loaded.
+   * @throws IllegalStateException if no storage has been set.
+   */
+  public void loadAccounts() throws IOException, IllegalStateException {
+    synchronized (saveLock) {
+      try (AccountLocks.Held lock = locks.lockExclusively()) {
+        validateStorage();
+        replaceAccounts(storage.loadAccounts());
+        pendingChanges.clear();
+        storageInSync = true;
+      }
+    }
+  }
+
+  /**
+   * Saves the accounts to the storage. If the storage holds the accounts as they were
+   * last loaded or saved, only the changes made since then are saved.
+   *
+   * @throws IOException if the accounts could not be saved.
+   * @throws IllegalStateException if no storage has been set.
+   */
+  public void saveAccounts() throws IOException, IllegalStateException {
+    synchronized (saveLock) {
+      save(false);
+    }
+  }
+
+  /**
+   * The method saves the accounts to the storage. The register is only locked while the
+   * changes are taken and the save is prepared, and the save is written after the lock
+   * is released. If the save could not be written, the changes are put back, so that
+   * they are saved by the next save. The caller holds the save lock.
+   *
+   * @param onlyIfChanged true if nothing should be saved when there are no unsaved changes.
+   * @throws IOException if the accounts could not be saved.
+   * @throws IllegalStateException if no storage has been set.
+   */
+  private void save(boolean onlyIfChanged) throws IOException, IllegalStateException {
+    AccountStorage.PreparedSave save;
+    List<AccountChange> changes;
+    boolean wasInSync;
+    try (AccountLocks.Held lock = locks.lockExclusively()) {
+      if (onlyIfChanged && pendingChanges.isEmpty()) {
+        return;
+      }
+      validateStorage();
+      changes = new ArrayList<>(pendingChanges);
+      wasInSync = storageInSync;
+      save = wasInSync
+              ? storage.prepareChanges(accounts.values(), changes)
+              : storage.prepareAccounts(accounts.values());
+      pendingChanges.clear();
+      storageInSync = true;
+    }
+    try {
+      save.write();
+    } catch (IOException | RuntimeException e) {
+      try (AccountLocks.Held lock = locks.lockExclusively()) {
+        pendingChanges.addAll(0, changes);
+        storageInSync = wasInSync;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * The method records a change made to an account, so that it is
+   * saved by the next call to {@link #saveAccounts()}. The caller holds the lock
+   * of the account, or the register lock exclusively.
+   *
+   * @param type the type of the change.
+   * @param username the username of the changed account.
+   * @param budgetId the ID of the changed budget, or null.
+   * @param value the value of the change.
+   */
+  void recordChange(AccountChange.Type type, String username, String budgetId, Object value) {
+    if (storage != null) {
+      synchronized (pendingChanges) {
+        pendingChanges.add(new AccountChange(type, username, budgetId, value));
+      }
+      if (backgroundSaver != null) {
+        backgroundSaver.markDirty();
+      }
+    }
+  }
+
+  /**
+   * The method starts saving changes on a background thread. Changes made within
+   * the save window after the first unsaved change are saved by a single write.
+   *
+   * @param window the time from the first unsaved change until it is saved.
+   * @throws NullPointerException if the window is null.
+   * @throws IllegalArgumentException if the window is negative.
+   * @throws IllegalStateException if no storage has been set, or background saving has started.
+   */
+  public void startBackgroundSaving(Duration window)
+          throws NullPointerException, IllegalArgumentException, IllegalStateException {
+    try (AccountLocks.Held lock = locks.lockExclusively()) {
+      validateStorage();
+      if (backgroundSaver != null) {
+        throw new IllegalStateException("Background saving has already started.");
+      }
+      backgroundSaver = new BackgroundSaver(this::savePendingChanges, window);
+    }
   }
 
   /**
-   * Saves the list of accounts to the ACCOUNTS_STORE file.
+   * The method saves all unsaved changes now, and waits until they are saved.
+   * Nothing is saved if there are no unsaved changes. This should be called
+   * when the user logs out and when the application exits.
+   *
+   * @throws IOException if the changes could not be saved.
+   * @throws IllegalStateException if no storage has been set.
+   */
+  public void flush() throws IOException, IllegalStateException {
+    BackgroundSaver saver;
+    try (AccountLocks.Held lock = locks.lockShared()) {
+      validateStorage();
+      saver = backgroundSaver;
+    }
+    if (saver != null) {
+      saver.flush();
+    } else {
+      savePendingChanges();
+    }
+  }
+
+  /**
+   * The method saves the accounts to the storage if there are unsaved changes.
+   *
+   * @throws IOException if the accounts could not be saved.
+   * @throws IllegalStateException if no storage has been set.
+   */
+  private void savePendingChanges() throws IOException, IllegalStateException {
+    synchronized (saveLock) {
+      save(true);
+    }
+  }
+
+  /**
+   * The method saves all unsaved changes, and stops saving changes in the background.
+   * Changes made afterwards are saved by calling {@link #saveAccounts()} or {@link #flush()}.
+   *
+   * @throws IOException if the changes could not be saved.
+   */
+  public void stopBackgroundSaving() throws IOException {
+    BackgroundSaver saver;
+    try (AccountLocks.Held lock = locks.lockExclusively()) {
+      saver = backgroundSaver;
+      backgroundSaver = null;
+    }
+    if (saver != null) {
+      saver.close();
+    }
+  }
+
+  /**
+   * Saves the list of accounts to the given file using Java serialization.
    * Creates a new file if the file does not exist. If the file exists, it will be overwritten.
    *
    * @param pathOfFile the path of the file to save the accounts to.
@@ -233,19 +775,15 @@ public class AccountRegister {
   public void saveAccounts(String pathOfFile) throws IOException,
           NullPointerException, IllegalArgumentException {
     validatePathOfFile(pathOfFile);
-    try (FileOutputStream fileOutput = new FileOutputStream(pathOfFile);
-         ObjectOutputStream objectOutput = new ObjectOutputStream(fileOutput)) {
-      objectOutput.writeObject(accounts);
-    } catch (IOException e) {
-      logger.log(Level.SEVERE, "Error saving accounts to file.", e);
-      throw new IOException("Error saving accounts to file: " + e.getMessage());
+    AccountStorage.PreparedSave save;
+    try (AccountLocks.Held lock = locks.lockExclusively()) {
+      save = new SerializedAccountStorage(pathOfFile).prepareAccounts(accounts.values());
     }
+    save.write();
   }
 
   /**
-   * Loads the list of accounts from the ACCOUNTS_STORE file.
-   * Annotated with @SuppressWarnings("unchecked") because we know
-   * that the file contains a list of accounts.
+   * Loads the list of accounts from the given file using Java serialization.
    *
    * @param pathOfFile the path of the file to load the accounts from.
    * @throws IOException if an I/O error occurs.
@@ -254,31 +792,50 @@ public class AccountRegister {
    * @throws NullPointerException if pathOfFile is null.
    * @throws IllegalArgumentException if pathOfFile is blank or does not end with FILE_EXTENSION.
    */
-  @SuppressWarnings("unchecked") // Reason: We know that the file contains a list of accounts.
-  public void loadAccounts(String pathOfFile) throws IOException, ClassNotFoundException,
-          EOFException, NullPointerException, IllegalArgumentException {
+  public void loadAccounts(String pathOfFile) throws IOException,
+          ClassNotFoundException, EOFException, NullPointerException, IllegalArgumentException {
     validatePathOfFile(pathOfFile);
-    File file = new File(pathOfFile);
-    if (file.exists() && file.length() != 0) {
-      try (FileInputStream fileInput = new FileInputStream(pathOfFile);
-           ObjectInputStream objectInput = new ObjectInputStream(fileInput)) {
-        accounts = (List<Account>) objectInput.readObject();
-      } catch (EOFException e) {
-        logger.log(Level.SEVERE, "File is empty or corrupted,"
-                + " initializing an empty accounts list.", e);
-        throw new EOFException("File is empty or corrupted: " + e.getMessage());
+    synchronized (saveLock) {
+      try (AccountLocks.Held lock = locks.lockExclusively()) {
+        replaceAccounts(new SerializedAccountStorage(pathOfFile).loadAccounts());
+        storageInSync = false;
       } catch (IOException e) {
-        logger.log(Level.SEVERE, "An error occurred while loading"
-                + " accounts from the file: " + pathOfFile, e);
-        throw new IOException("Error loading accounts from file: " + e.getMessage());
-      } catch (ClassNotFoundException e) {
-        logger.log(Level.SEVERE, "Cannot find the class of a serialized object"
-                + " while loading accounts from the file: " + pathOfFile, e);
-        throw new ClassNotFoundException("Error loading accounts from file: " + e.getMessage());
+        if (e.getCause() instanceof ClassNotFoundException) {
+          throw new ClassNotFoundException(e.getMessage(), e.getCause());
+        }
+        throw e;
       }
     }
   }
 
+  /**
+   * The method replaces all registered accounts with the given accounts
+   * and rebuilds the username, email and phone number indexes. The sessions
+   * of the replaced accounts are invalidated.
+   *
+   * @param loadedAccounts the accounts to register.
+   */
+  private void replaceAccounts(List<Account> loadedAccounts) {
+    accounts.clear();
+    usernamesByEmail.clear();
+    usernamesByPhoneNumber.clear();
+    loadedAccounts.forEach(this::addToIndexes);
+    loginLimiter.forgetUnknown();
+    sessions.keySet().forEach(username -> invalidateSessions(username, null));
+  }
+
+  /**
+   * The method adds an account to the register and to the email
+   * and phone number indexes.
+   *
+   * @param account the account to add.
+   */
+  private void addToIndexes(Account account) {
+    accounts.put(account.getUsername(), account);
+    usernamesByEmail.put(account.getEmail(), account.getUsername());
+    usernamesByPhoneNumber.put(account.getPhoneNumber(), account.getUsername());
+  }
+
   /**
    * The method validates the given username is not null.
    *
@@ -303,6 +860,17 @@ public class AccountRegister {
     }
   }
 
+  /**
+   * The method validates that a storage has been set.
+   *
+   * @throws IllegalStateException if no storage has been set.
+   */
+  private void validateStorage() throws IllegalStateException {
+    if (storage == null) {
+      throw new IllegalStateException("No storage has been set for the accounts.");
+    }
+  }
+
   /**
    * Helper method to validate the pathOfFile parameter.
    *
@@ -0,0 +1,266 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The class runs the work of logging in, creating accounts and changing passwords
+ * on a pool of worker threads, so that the slow hashing and checking of passwords
+ * does not block the thread of the user interface. The results are returned as
+ * futures, which the controllers of the views complete on the thread of the user
+ * interface.
+ *
+ * <p>The number of workers limits how many passwords are hashed at once, and the
+ * number of requests waiting for a worker is limited as well. A request made when
+ * the queue is full fails at once with an {@link IllegalStateException}, so a burst
+ * of logins cannot use up the machine.</p>
+ *
+ * <p>Work that has to be done before any password is checked, such as calibrating
+ * the cost passwords are hashed with, may be run on the workers first. Requests made
+ * before that work is done wait for it, and are sent to the workers when it is. They
+ * count against the same capacity as the queue, so they are rejected the same way.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class AuthenticationService implements AutoCloseable {
+
+  private static final int QUEUED_PER_WORKER = 16;
+  private static AuthenticationService instance = null;
+  private final AccountRegister register;
+  private final ThreadPoolExecutor executor;
+  private final int queueCapacity;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private volatile CompletableFuture<Void> ready = CompletableFuture.completedFuture(null);
+
+  /**
+   * Constructor to create an object of the type AuthenticationService.
+   *
+   * @param register the register of the accounts.
+   * @param workers the number of passwords that may be hashed or checked at once.
+   * @param queueCapacity the number of requests that may wait for a worker.
+   * @throws NullPointerException if the register is null.
+   * @throws IllegalArgumentException if the number of workers or the capacity is less than 1.
+   */
+  public AuthenticationService(AccountRegister register, int workers, int queueCapacity)
+          throws NullPointerException, IllegalArgumentException {
+    this.register = Objects.requireNonNull(register, "Register cannot be null.");
+    if (workers < 1) {
+      throw new IllegalArgumentException("The number of workers must be at least 1.");
+    }
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("The capacity of the queue must be at least 1.");
+    }
+    this.queueCapacity = queueCapacity;
+    AtomicInteger threads = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+              Thread thread = new Thread(runnable,
+                      "flus-authentication-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Returns an instance of the AuthenticationService class for the account register.
+   * If an instance does not exist, a new instance is created, with one worker for
+   * every two processors.
+   *
+   * @return an instance of the AuthenticationService class.
+   */
+  public static synchronized AuthenticationService getInstance() {
+    if (instance == null) {
+      int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+      instance = new AuthenticationService(AccountRegister.getInstance(), workers,
+              workers * QUEUED_PER_WORKER);
+    }
+    return instance;
+  }
+
+  /**
+   * The method runs work on a worker before the requests made after it. The requests
+   * wait for the work to be done, even if the work fails.
+   *
+   * @param work the work to run first.
+   * @return a future completed when the work is done, or with the exception it threw.
+   * @throws NullPointerException if the work is null.
+   */
+  public synchronized CompletableFuture<Void> runBeforeRequests(Runnable work)
+          throws NullPointerException {
+    Objects.requireNonNull(work, "Work cannot be null.");
+    CompletableFuture<Void> done = ready.thenRunAsync(work, executor);
+    ready = done.exceptionally(error -> null);
+    return done;
+  }
+
+  /**
+   * The method checks the password of an account on a worker thread.
+   *
+   * @param username the username of the account.
+   * @param password the password of the account.
+   * @return a future completed with the account, or with the exception thrown by
+   *         {@link AccountRegister#getAccount(String, String)}.
+   */
+  public CompletableFuture<Account> login(String username, String password) {
+    return submit(() -> register.getAccount(username, password));
+  }
+
+  /**
+   * The method logs in to an account and opens a session for it on a worker thread.
+   *
+   * @param username the username of the account.
+   * @param password the password of the account.
+   * @return a future completed with the session, or with the exception thrown by
+   *         {@link AccountRegister#openSession(String, String)}.
+   */
+  public CompletableFuture<Session> openSession(String username, String password) {
+    return submit(() -> register.openSession(username, password));
+  }
+
+  /**
+   * The method registers a new account on a worker thread. The password is only
+   * hashed once, as the new account is not logged in by checking the password again.
+   *
+   * @param username the username of the new account.
+   * @param password the password of the new account.
+   * @param email the email of the new account.
+   * @param phoneNumber the phone number of the new account.
+   * @return a future completed with the new account, or with the exception thrown by
+   *         {@link AccountRegister#registerAccount(String, String, String, String)}.
+   */
+  public CompletableFuture<Account> createAccount(String username, String password,
+                                                  String email, String phoneNumber) {
+    return submit(() -> {
+      register.registerAccount(username, password, email, phoneNumber);
+      return register.findAccount(username);
+    });
+  }
+
+  /**
+   * The method registers a new account and opens a session for it on a worker thread.
+   *
+   * @param username the username of the new account.
+   * @param password the password of the new account.
+   * @param email the email of the new account.
+   * @param phoneNumber the phone number of the new account.
+   * @return a future completed with the session of the new account, or with the exception
+   *         thrown by {@link AccountRegister#registerAccount(String, String, String, String)}.
+   */
+  public CompletableFuture<Session> createAccountSession(String username, String password,
+                                                         String email, String phoneNumber) {
+    return submit(() -> {
+      register.registerAccount(username, password, email, phoneNumber);
+      return register.openSession(register.findAccount(username));
+    });
+  }
+
+  /**
+   * The method changes the password of an account on a worker thread.
+   *
+   * @param username the username of the account.
+   * @param oldPassword the old password of the account.
+   * @param newPassword the new password of the account.
+   * @return a future completed when the password is changed, or with the exception
+   *         thrown by {@link AccountRegister#changePassword(String, String, String)}.
+   */
+  public CompletableFuture<Void> changePassword(String username, String oldPassword,
+                                                String newPassword) {
+    return submit(() -> {
+      register.changePassword(username, oldPassword, newPassword);
+      return null;
+    });
+  }
+
+  /**
+   * The method changes the password of the account of a session on a worker thread.
+   * The other sessions of the account are invalidated.
+   *
+   * @param session the session of the account.
+   * @param oldPassword the old password of the account.
+   * @param newPassword the new password of the account.
+   * @return a future completed when the password is changed, or with the exception
+   *         thrown by {@link AccountRegister#changePassword(Session, String, String)}.
+   */
+  public CompletableFuture<Void> changePassword(Session session, String oldPassword,
+                                                String newPassword) {
+    return submit(() -> {
+      register.changePassword(session, oldPassword, newPassword);
+      return null;
+    });
+  }
+
+  /**
+   * The method retrieves the exception that made a future fail, unwrapping the
+   * exception the future wraps it in.
+   *
+   * @param error the exception the future failed with.
+   * @return the exception thrown by the work of the future.
+   */
+  public static Throwable causeOf(Throwable error) {
+    if ((error instanceof CompletionException || error instanceof ExecutionException)
+            && error.getCause() != null) {
+      return error.getCause();
+    }
+    return error;
+  }
+
+  /**
+   * The method stops the workers once the requests already made are done.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  /**
+   * The method runs work on a worker, unless too many requests are waiting.
+   * If work run before the requests is not done yet, the work waits for it first,
+   * unless the requests already waiting for it and for a worker fill the queue.
+   *
+   * @param work the work to run.
+   * @param <T> the type of the result of the work.
+   * @return a future completed with the result of the work.
+   */
+  private <T> CompletableFuture<T> submit(Supplier<T> work) {
+    CompletableFuture<Void> before = ready;
+    if (!before.isDone()) {
+      if (waiting.incrementAndGet() + executor.getQueue().size() > queueCapacity) {
+        waiting.decrementAndGet();
+        return CompletableFuture.failedFuture(tooManyRequests(null));
+      }
+      return before.thenCompose(ignored -> {
+        waiting.decrementAndGet();
+        return submit(work);
+      });
+    }
+    try {
+      return CompletableFuture.supplyAsync(work, executor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(tooManyRequests(e));
+    }
+  }
+
+  /**
+   * The method creates the exception a request fails with when too many requests
+   * are waiting.
+   *
+   * @param cause the exception the request was rejected with, or null.
+   * @return the exception to fail the request with.
+   */
+  private static IllegalStateException tooManyRequests(Throwable cause) {
+    return new IllegalStateException(
+            "Too many requests are waiting to be handled, please try again.", cause);
+  }
+}
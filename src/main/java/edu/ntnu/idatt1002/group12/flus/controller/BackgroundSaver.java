@@ -0,0 +1,157 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The class saves changes on a background thread. When a change is made, a save is
+ * scheduled at the end of the save window, and any further changes made within the
+ * window are saved by the same write. Saves are run one at a time, in order.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class BackgroundSaver {
+
+  private static final Logger logger = Logger.getLogger(BackgroundSaver.class.getName());
+  private final SaveTask saveTask;
+  private final long windowMillis;
+  private final ScheduledExecutorService executor;
+  private ScheduledFuture<?> scheduledSave;
+
+  /**
+   * The interface represents the save run by the background saver.
+   */
+  @FunctionalInterface
+  interface SaveTask {
+    /**
+     * The method saves the changes.
+     *
+     * @throws IOException if the changes could not be saved.
+     */
+    void save() throws IOException;
+  }
+
+  /**
+   * Constructor to create an object of the type BackgroundSaver.
+   *
+   * @param saveTask the save to run.
+   * @param window the time from the first unsaved change until it is saved.
+   * @throws NullPointerException if the save task or window is null.
+   * @throws IllegalArgumentException if the window is negative.
+   */
+  BackgroundSaver(SaveTask saveTask, Duration window)
+          throws NullPointerException, IllegalArgumentException {
+    this(saveTask, window, Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "flus-background-saver");
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  /**
+   * Constructor to create an object of the type BackgroundSaver, which runs the
+   * saves on the given executor. The executor is shut down when the saver is closed.
+   *
+   * @param saveTask the save to run.
+   * @param window the time from the first unsaved change until it is saved.
+   * @param executor the executor to schedule and run the saves on.
+   * @throws NullPointerException if the save task, window or executor is null.
+   * @throws IllegalArgumentException if the window is negative.
+   */
+  BackgroundSaver(SaveTask saveTask, Duration window, ScheduledExecutorService executor)
+          throws NullPointerException, IllegalArgumentException {
+    this.saveTask = Objects.requireNonNull(saveTask, "The save task cannot be null.");
+    Objects.requireNonNull(window, "The save window cannot be null.");
+    if (window.isNegative()) {
+      throw new IllegalArgumentException("The save window cannot be negative.");
+    }
+    this.windowMillis = window.toMillis();
+    this.executor = Objects.requireNonNull(executor, "The executor cannot be null.");
+  }
+
+  /**
+   * The method marks that there are unsaved changes, and schedules a
+   * save at the end of the save window if none is scheduled already.
+   */
+  synchronized void markDirty() {
+    if (scheduledSave == null && !executor.isShutdown()) {
+      scheduledSave = executor.schedule(this::saveInBackground, windowMillis,
+              TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * The method saves all unsaved changes now, and waits until they are saved.
+   *
+   * @throws IOException if the changes could not be saved.
+   */
+  void flush() throws IOException {
+    synchronized (this) {
+      if (scheduledSave != null) {
+        scheduledSave.cancel(false);
+        scheduledSave = null;
+      }
+    }
+    if (executor.isShutdown()) {
+      saveTask.save();
+      return;
+    }
+    Future<Void> save = executor.submit(() -> {
+      saveTask.save();
+      return null;
+    });
+    try {
+      save.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the save to finish.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IOException("Error saving changes: " + e.getCause(), e.getCause());
+    }
+  }
+
+  /**
+   * The method saves all unsaved changes, and stops the background thread.
+   *
+   * @throws IOException if the changes could not be saved.
+   */
+  void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * The method runs a scheduled save. A failed save is logged, and the
+   * changes are saved again together with the next change or flush.
+   */
+  private void saveInBackground() {
+    synchronized (this) {
+      scheduledSave = null;
+    }
+    try {
+      saveTask.save();
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.SEVERE, "Error saving changes in the background.", e);
+    }
+  }
+}
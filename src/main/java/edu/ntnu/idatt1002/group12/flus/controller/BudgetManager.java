@@ -2,14 +2,28 @@ package edu.ntnu.idatt1002.group12.flus.controller;
 
 import edu.ntnu.idatt1002.group12.flus.model.Account;
 import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.model.categories.Categorizer;
+import edu.ntnu.idatt1002.group12.flus.model.search.SearchHit;
 import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
+import edu.ntnu.idatt1002.group12.flus.storage.AccountChange;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
  * The class represents a budget manager, and is responsible for
- * everything related to the account's budgets.
+ * everything related to the account's budgets. Budgets are changed while
+ * holding the lock of their account in the account register, so that changes
+ * do not interleave with saves made in the background, while changes to
+ * different accounts can run at the same time. Every change can also be made
+ * through the session of an account that has logged in, which holds the account,
+ * so that it is not looked up by username.
  *
  * @author Ramtin Samavat and Stian Stræte
  * @version 1.0
@@ -42,11 +56,11 @@ public class BudgetManager {
     }
     validateBudgetId(budgetId);
 
-    return account.getBudgets()
-            .stream()
-            .filter(budget -> budget.getBudgetId().equals(budgetId.trim()))
-            .findFirst()
-            .orElseThrow(() -> new NoSuchElementException("The budget does not exist."));
+    Budget budget = account.getBudget(budgetId);
+    if (budget == null) {
+      throw new NoSuchElementException("The budget does not exist.");
+    }
+    return budget;
   }
 
   /**
@@ -60,14 +74,45 @@ public class BudgetManager {
    */
   public void createBudget(String username, String budgetId) throws NullPointerException,
           IllegalArgumentException {
-    validateBudgetId(budgetId);
-    boolean invalidBudgetId = register.findAccount(username).getBudgets()
-            .stream()
-            .anyMatch(budget -> budget.getBudgetId().equals(budgetId.trim()));
-    if (invalidBudgetId) {
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      validateBudgetId(budgetId);
+      createBudget(register.findAccount(username), budgetId);
+    }
+  }
+
+  /**
+   * The method creates a new budget with the specified ID and adds it to the
+   * account of the session.
+   *
+   * @param session the session of the account to add the budget to.
+   * @param budgetId the ID of the budget to create.
+   * @throws NullPointerException if the session or budgetId is null.
+   * @throws IllegalArgumentException if a budget with the same ID already exists in the account.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public void createBudget(Session session, String budgetId) throws NullPointerException,
+          IllegalArgumentException, IllegalStateException {
+    try (AccountLocks.Held lock = lock(session)) {
+      validateBudgetId(budgetId);
+      createBudget(session.getAccount(), budgetId);
+    }
+  }
+
+  /**
+   * The method creates a new budget in a locked account.
+   *
+   * @param account the account.
+   * @param budgetId the ID of the budget to create.
+   * @throws IllegalArgumentException if a budget with the same ID already exists in the account.
+   */
+  private void createBudget(Account account, String budgetId) throws IllegalArgumentException {
+    if (account.getBudget(budgetId) != null) {
       throw new IllegalArgumentException("A budget with the same budget ID already exists.");
     }
-    register.findAccount(username).addBudget(new Budget(budgetId.trim()));
+    Budget budget = new Budget(budgetId.trim());
+    account.addBudget(budget);
+    register.recordChange(AccountChange.Type.BUDGET_CREATED, account.getUsername(),
+            budget.getBudgetId(), budget);
   }
 
   /**
@@ -81,8 +126,43 @@ public class BudgetManager {
    */
   public boolean deleteBudget(String username, String budgetId)
           throws NullPointerException, NoSuchElementException {
-    validateBudgetId(budgetId);
-    return register.findAccount(username).removeBudget(budgetId);
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      validateBudgetId(budgetId);
+      return deleteBudget(register.findAccount(username), budgetId);
+    }
+  }
+
+  /**
+   * The method deletes the budget with the specified ID from the account of the session.
+   *
+   * @param session the session of the account to remove the budget from.
+   * @param budgetId the ID of the budget to delete.
+   * @return true if the budget was successfully removed, and false otherwise.
+   * @throws NullPointerException if the session or budgetId is null.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public boolean deleteBudget(Session session, String budgetId)
+          throws NullPointerException, IllegalStateException {
+    try (AccountLocks.Held lock = lock(session)) {
+      validateBudgetId(budgetId);
+      return deleteBudget(session.getAccount(), budgetId);
+    }
+  }
+
+  /**
+   * The method deletes a budget from a locked account.
+   *
+   * @param account the account.
+   * @param budgetId the ID of the budget to delete.
+   * @return true if the budget was successfully removed, and false otherwise.
+   */
+  private boolean deleteBudget(Account account, String budgetId) {
+    boolean removed = account.removeBudget(budgetId);
+    if (removed) {
+      register.recordChange(AccountChange.Type.BUDGET_DELETED, account.getUsername(),
+              budgetId.trim(), null);
+    }
+    return removed;
   }
 
   /**
@@ -99,9 +179,52 @@ public class BudgetManager {
    */
   public void addIncomeToBudget(String username, String budgetId, String description, double amount)
           throws NullPointerException, IllegalArgumentException, NoSuchElementException {
-    validateDescription(description);
-    findBudget(register.findAccount(username), budgetId)
-            .addIncome(new Income(description.trim(), amount));
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      validateDescription(description);
+      addIncomeToBudget(register.findAccount(username), budgetId, description, amount);
+    }
+  }
+
+  /**
+   * The method adds income to the specified budget in the account of the session.
+   *
+   * @param session the session of the account containing the budget.
+   * @param budgetId the ID of the budget to which the income is to be added.
+   * @param description the description of the income.
+   * @param amount the amount of the income.
+   * @throws NullPointerException if either the session, budgetId, or description is null.
+   * @throws IllegalArgumentException if the description is blank or if the amount is below zero.
+   * @throws NoSuchElementException if the budget does not exist.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public void addIncomeToBudget(Session session, String budgetId, String description,
+                                double amount) throws NullPointerException,
+          IllegalArgumentException, NoSuchElementException, IllegalStateException {
+    try (AccountLocks.Held lock = lock(session)) {
+      validateDescription(description);
+      addIncomeToBudget(session.getAccount(), budgetId, description, amount);
+    }
+  }
+
+  /**
+   * The method adds income to a budget in a locked account.
+   *
+   * @param account the account containing the budget.
+   * @param budgetId the ID of the budget to which the income is to be added.
+   * @param description the description of the income.
+   * @param amount the amount of the income.
+   * @throws NullPointerException if the budgetId is null.
+   * @throws IllegalArgumentException if the description is blank or if the amount is below zero.
+   * @throws NoSuchElementException if the budget does not exist.
+   */
+  private void addIncomeToBudget(Account account, String budgetId, String description,
+                                 double amount)
+          throws NullPointerException, IllegalArgumentException, NoSuchElementException {
+    Budget budget = findBudget(account, budgetId);
+    Income income = budget.addIncome(new Income(description.trim(), amount));
+    account.addToSearchIndex(budget.getBudgetId(), income);
+    register.recordChange(AccountChange.Type.INCOME_ADDED, account.getUsername(),
+            budget.getBudgetId(), income);
   }
 
   /**
@@ -117,10 +240,52 @@ public class BudgetManager {
    */
   public boolean removeIncomeFromBudget(String username, String budgetId, Income income)
           throws NullPointerException, NoSuchElementException {
-    if (income == null) {
-      throw new NullPointerException("Income cannot be null.");
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      validateTransaction(income, "Income");
+      return removeIncomeFromBudget(register.findAccount(username), budgetId, income);
+    }
+  }
+
+  /**
+   * The method removes income from the specified budget in the account of the session.
+   *
+   * @param session the session of the account containing the budget.
+   * @param budgetId the ID of the budget to which the income is to be removed.
+   * @param income the income to be removed.
+   * @return true if the income was successfully removed, false otherwise.
+   * @throws NullPointerException if either the session, budgetId, or income is null.
+   * @throws NoSuchElementException if the budget does not exist.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public boolean removeIncomeFromBudget(Session session, String budgetId, Income income)
+          throws NullPointerException, NoSuchElementException, IllegalStateException {
+    try (AccountLocks.Held lock = lock(session)) {
+      validateTransaction(income, "Income");
+      return removeIncomeFromBudget(session.getAccount(), budgetId, income);
+    }
+  }
+
+  /**
+   * The method removes income from a budget in a locked account.
+   *
+   * @param account the account containing the budget.
+   * @param budgetId the ID of the budget to which the income is to be removed.
+   * @param income the income to be removed.
+   * @return true if the income was successfully removed, false otherwise.
+   * @throws NullPointerException if the budgetId is null.
+   * @throws NoSuchElementException if the budget does not exist.
+   */
+  private boolean removeIncomeFromBudget(Account account, String budgetId, Income income)
+          throws NullPointerException, NoSuchElementException {
+    Budget budget = findBudget(account, budgetId);
+    Income stored = budget.findIncome(income);
+    if (stored == null || !budget.removeTransaction(stored.getId())) {
+      return false;
     }
-    return findBudget(register.findAccount(username), budgetId).removeIncome(income);
+    account.removeFromSearchIndex(budget.getBudgetId(), stored);
+    register.recordChange(AccountChange.Type.INCOME_REMOVED, account.getUsername(),
+            budget.getBudgetId(), stored);
+    return true;
   }
 
   /**
@@ -138,9 +303,52 @@ public class BudgetManager {
   public void addExpenseToBudget(String username, String budgetId,
                                  String description, double amount)
           throws NullPointerException, IllegalArgumentException, NoSuchElementException {
-    validateDescription(description);
-    findBudget(register.findAccount(username), budgetId)
-            .addExpense(new Expense(description, amount));
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      validateDescription(description);
+      addExpenseToBudget(register.findAccount(username), budgetId, description, amount);
+    }
+  }
+
+  /**
+   * The method adds expense to the specified budget in the account of the session.
+   *
+   * @param session the session of the account containing the budget.
+   * @param budgetId the ID of the budget to which the expense is to be added.
+   * @param description the description of the expense.
+   * @param amount the amount of the expense.
+   * @throws NullPointerException if either the session, budgetId, or description is null.
+   * @throws IllegalArgumentException if the description is blank or if the amount is below zero.
+   * @throws NoSuchElementException if the budget does not exist.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public void addExpenseToBudget(Session session, String budgetId,
+                                 String description, double amount) throws NullPointerException,
+          IllegalArgumentException, NoSuchElementException, IllegalStateException {
+    try (AccountLocks.Held lock = lock(session)) {
+      validateDescription(description);
+      addExpenseToBudget(session.getAccount(), budgetId, description, amount);
+    }
+  }
+
+  /**
+   * The method adds expense to a budget in a locked account.
+   *
+   * @param account the account containing the budget.
+   * @param budgetId the ID of the budget to which the expense is to be added.
+   * @param description the description of the expense.
+   * @param amount the amount of the expense.
+   * @throws NullPointerException if the budgetId is null.
+   * @throws IllegalArgumentException if the description is blank or if the amount is below zero.
+   * @throws NoSuchElementException if the budget does not exist.
+   */
+  private void addExpenseToBudget(Account account, String budgetId,
+                                  String description, double amount)
+          throws NullPointerException, IllegalArgumentException, NoSuchElementException {
+    Budget budget = findBudget(account, budgetId);
+    Expense expense = budget.addExpense(new Expense(description, amount));
+    account.addToSearchIndex(budget.getBudgetId(), expense);
+    register.recordChange(AccountChange.Type.EXPENSE_ADDED, account.getUsername(),
+            budget.getBudgetId(), expense);
   }
 
   /**
@@ -156,10 +364,129 @@ public class BudgetManager {
    */
   public boolean removeExpenseFromBudget(String username, String budgetId, Expense expense)
           throws NullPointerException, NoSuchElementException {
-    if (expense == null) {
-      throw new NullPointerException("Expense cannot be null.");
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      validateTransaction(expense, "Expense");
+      return removeExpenseFromBudget(register.findAccount(username), budgetId, expense);
+    }
+  }
+
+  /**
+   * The method removes expense from the specified budget in the account of the session.
+   *
+   * @param session the session of the account containing the budget.
+   * @param budgetId the ID of the budget to which the expense is to be removed.
+   * @param expense the expense to be removed.
+   * @return true if the expense was successfully removed, false otherwise.
+   * @throws NullPointerException if either the session, budgetId, or expense is null.
+   * @throws NoSuchElementException if the budget does not exist.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public boolean removeExpenseFromBudget(Session session, String budgetId, Expense expense)
+          throws NullPointerException, NoSuchElementException, IllegalStateException {
+    try (AccountLocks.Held lock = lock(session)) {
+      validateTransaction(expense, "Expense");
+      return removeExpenseFromBudget(session.getAccount(), budgetId, expense);
+    }
+  }
+
+  /**
+   * The method removes expense from a budget in a locked account.
+   *
+   * @param account the account containing the budget.
+   * @param budgetId the ID of the budget to which the expense is to be removed.
+   * @param expense the expense to be removed.
+   * @return true if the expense was successfully removed, false otherwise.
+   * @throws NullPointerException if the budgetId is null.
+   * @throws NoSuchElementException if the budget does not exist.
+   */
+  private boolean removeExpenseFromBudget(Account account, String budgetId, Expense expense)
+          throws NullPointerException, NoSuchElementException {
+    Budget budget = findBudget(account, budgetId);
+    Expense stored = budget.findExpense(expense);
+    if (stored == null || !budget.removeTransaction(stored.getId())) {
+      return false;
+    }
+    account.removeFromSearchIndex(budget.getBudgetId(), stored);
+    register.recordChange(AccountChange.Type.EXPENSE_REMOVED, account.getUsername(),
+            budget.getBudgetId(), stored);
+    return true;
+  }
+
+  /**
+   * The method adds a batch of incomes and expenses to the specified budget in the
+   * account associated with the given username. Either all of the transactions are
+   * added, or none of them, as the transactions and the totals they add up to are
+   * checked before any of them is added.
+   *
+   * @param username the username associated with the account containing the budget.
+   * @param budgetId the ID of the budget to which the transactions are to be added.
+   * @param transactions the incomes and expenses to be added.
+   * @throws NullPointerException if the username, budgetId, transactions or any transaction
+   *                              is null.
+   * @throws IllegalArgumentException if a transaction is neither an income nor an expense,
+   *                                  or the transactions would make a total of the budget
+   *                                  too large.
+   * @throws NoSuchElementException if the account or the budget does not exist.
+   */
+  public void addTransactionsToBudget(String username, String budgetId,
+                                      List<? extends Transaction> transactions)
+          throws NullPointerException, IllegalArgumentException, NoSuchElementException {
+    if (transactions == null) {
+      throw new NullPointerException("Transactions cannot be null.");
+    }
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      Account account = register.findAccount(username);
+      Budget budget = findBudget(account, budgetId);
+      validateTransactions(budget, transactions);
+      for (Transaction transaction : transactions) {
+        Transaction added;
+        if (transaction instanceof Income income) {
+          added = budget.addIncome(income);
+          register.recordChange(AccountChange.Type.INCOME_ADDED, username.trim(),
+                  budget.getBudgetId(), added);
+        } else {
+          added = budget.addExpense((Expense) transaction);
+          register.recordChange(AccountChange.Type.EXPENSE_ADDED, username.trim(),
+                  budget.getBudgetId(), added);
+        }
+        account.addToSearchIndex(budget.getBudgetId(), added);
+      }
+    }
+  }
+
+  /**
+   * The method validates a batch of transactions before any of them is added to a budget.
+   *
+   * @param budget the budget the transactions are to be added to.
+   * @param transactions the incomes and expenses to be added.
+   * @throws NullPointerException if any transaction is null.
+   * @throws IllegalArgumentException if a transaction is neither an income nor an expense,
+   *                                  or the transactions would make a total of the budget
+   *                                  too large.
+   */
+  private static void validateTransactions(Budget budget,
+                                           List<? extends Transaction> transactions)
+          throws NullPointerException, IllegalArgumentException {
+    long incomeAmount = 0;
+    long expenseAmount = 0;
+    try {
+      for (Transaction transaction : transactions) {
+        if (transaction == null) {
+          throw new NullPointerException("Transaction cannot be null.");
+        }
+        if (transaction instanceof Income) {
+          incomeAmount = Math.addExact(incomeAmount, transaction.getAmountInMinorUnits());
+        } else if (transaction instanceof Expense) {
+          expenseAmount = Math.addExact(expenseAmount, transaction.getAmountInMinorUnits());
+        } else {
+          throw new IllegalArgumentException("Transaction must be an income or an expense.");
+        }
+      }
+      budget.checkTotalsFit(incomeAmount, expenseAmount);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException(
+              "The transactions would make the totals of the budget too large.", e);
     }
-    return findBudget(register.findAccount(username), budgetId).removeExpense(expense);
   }
 
   /**
@@ -175,14 +502,50 @@ public class BudgetManager {
    */
   public void addGoalToBudget(String username, String budgetId, double goalValue)
           throws NullPointerException, IllegalArgumentException, NoSuchElementException {
-    boolean usedGoalValue = findBudget(register.findAccount(username), budgetId)
-            .getFinancialGoals()
-            .stream()
-            .anyMatch(financialGoal -> financialGoal.getMinimumMoneyValue() == goalValue);
-    if (usedGoalValue) {
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      addGoalToBudget(register.findAccount(username), budgetId, goalValue);
+    }
+  }
+
+  /**
+   * The method adds goal to the specified budget in the account of the session.
+   *
+   * @param session the session of the account containing the budget.
+   * @param budgetId the ID of the budget to which the goal is to be added.
+   * @param goalValue the value of the goal.
+   * @throws NullPointerException if the session or the budgetId is null.
+   * @throws IllegalArgumentException if the value is below zero or is already used.
+   * @throws NoSuchElementException if the budget does not exist.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public void addGoalToBudget(Session session, String budgetId, double goalValue)
+          throws NullPointerException, IllegalArgumentException, NoSuchElementException,
+          IllegalStateException {
+    try (AccountLocks.Held lock = lock(session)) {
+      addGoalToBudget(session.getAccount(), budgetId, goalValue);
+    }
+  }
+
+  /**
+   * The method adds goal to a budget in a locked account.
+   *
+   * @param account the account containing the budget.
+   * @param budgetId the ID of the budget to which the goal is to be added.
+   * @param goalValue the value of the goal.
+   * @throws NullPointerException if the budgetId is null.
+   * @throws IllegalArgumentException if the value is below zero or is already used.
+   * @throws NoSuchElementException if the budget does not exist.
+   */
+  private void addGoalToBudget(Account account, String budgetId, double goalValue)
+          throws NullPointerException, IllegalArgumentException, NoSuchElementException {
+    Budget budget = findBudget(account, budgetId);
+    FinancialGoal financialGoal = new FinancialGoal(goalValue);
+    if (budget.containsGoal(financialGoal)) {
       throw new IllegalArgumentException("A goal with this value already exists.");
     }
-    findBudget(register.findAccount(username), budgetId).addGoal(new FinancialGoal(goalValue));
+    budget.addGoal(financialGoal);
+    register.recordChange(AccountChange.Type.GOAL_ADDED, account.getUsername(),
+            budget.getBudgetId(), financialGoal);
   }
 
   /**
@@ -198,7 +561,48 @@ public class BudgetManager {
    */
   public boolean removeGoalFromBudget(String username, String budgetId, double goalValue)
           throws NullPointerException, NoSuchElementException {
-    return findBudget(register.findAccount(username), budgetId).removeGoal(goalValue);
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      return removeGoalFromBudget(register.findAccount(username), budgetId, goalValue);
+    }
+  }
+
+  /**
+   * The method removes goal from the specified budget in the account of the session.
+   *
+   * @param session the session of the account containing the budget.
+   * @param budgetId the ID of the budget to which the goal is to be removed.
+   * @param goalValue the value of the goal.
+   * @return true if the goal was successfully removed, false otherwise.
+   * @throws NullPointerException if the session or the budgetId is null.
+   * @throws NoSuchElementException if the budget does not exist.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public boolean removeGoalFromBudget(Session session, String budgetId, double goalValue)
+          throws NullPointerException, NoSuchElementException, IllegalStateException {
+    try (AccountLocks.Held lock = lock(session)) {
+      return removeGoalFromBudget(session.getAccount(), budgetId, goalValue);
+    }
+  }
+
+  /**
+   * The method removes goal from a budget in a locked account.
+   *
+   * @param account the account containing the budget.
+   * @param budgetId the ID of the budget to which the goal is to be removed.
+   * @param goalValue the value of the goal.
+   * @return true if the goal was successfully removed, false otherwise.
+   * @throws NullPointerException if the budgetId is null.
+   * @throws NoSuchElementException if the budget does not exist.
+   */
+  private boolean removeGoalFromBudget(Account account, String budgetId, double goalValue)
+          throws NullPointerException, NoSuchElementException {
+    Budget budget = findBudget(account, budgetId);
+    boolean removed = budget.removeGoal(goalValue);
+    if (removed) {
+      register.recordChange(AccountChange.Type.GOAL_REMOVED, account.getUsername(),
+              budget.getBudgetId(), Money.of(goalValue));
+    }
+    return removed;
   }
 
   /**
@@ -217,6 +621,103 @@ public class BudgetManager {
     return findBudget(register.findAccount(username), budgetId);
   }
 
+  /**
+   * The method retrieves the budget with the given budget ID from the account of the session.
+   *
+   * @param session the session of the account with the budget.
+   * @param budgetId the budget ID of the budget to be retrieved.
+   * @return the budget.
+   * @throws NullPointerException if either the session or budgetID is null.
+   * @throws NoSuchElementException if the budget does not exist.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public Budget getBudget(Session session, String budgetId)
+          throws NullPointerException, NoSuchElementException, IllegalStateException {
+    if (session == null) {
+      throw new NullPointerException("Session cannot be null.");
+    }
+    return findBudget(session.getAccount(), budgetId);
+  }
+
+  /**
+   * The method sums the expenses of all budgets of an account from one date
+   * up to another date by category.
+   *
+   * @param username the username of the account.
+   * @param categorizer the categorizer that puts the descriptions in categories.
+   * @param from the first date, inclusive.
+   * @param to the last date, exclusive.
+   * @return map of the sums of the categories with expenses, in the order of
+   *         the categories of the categorizer.
+   * @throws NullPointerException if the username, the categorizer or a date is null.
+   * @throws NoSuchElementException if the account does not exist.
+   */
+  public Map<String, Money> getExpensesByCategory(String username, Categorizer categorizer,
+                                                  DateTimeUtil from, DateTimeUtil to)
+          throws NullPointerException, NoSuchElementException {
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      Map<String, Money> breakdown = new LinkedHashMap<>();
+      for (String category : categorizer.getCategories()) {
+        breakdown.put(category, Money.ZERO);
+      }
+      for (Budget budget : register.findAccount(username).getBudgets()) {
+        budget.getExpensesByCategory(categorizer, from, to)
+                .forEach((category, total) -> breakdown.merge(category, total, Money::plus));
+      }
+      breakdown.values().removeIf(total -> total.equals(Money.ZERO));
+      return breakdown;
+    }
+  }
+
+  /**
+   * The method searches the descriptions of the transactions in all budgets of
+   * an account, by whole tokens, the start of tokens, and tokens with one typing error.
+   *
+   * @param username the username of the account.
+   * @param query the text to search for.
+   * @param limit the largest number of hits to find.
+   * @return list of the hits, best matches first.
+   * @throws NullPointerException if the username or the query is null.
+   * @throws IllegalArgumentException if the limit is negative.
+   * @throws NoSuchElementException if the account does not exist.
+   */
+  public List<SearchHit> searchTransactions(String username, String query, int limit)
+          throws NullPointerException, IllegalArgumentException, NoSuchElementException {
+    try (AccountLocks.Held lock = register.lockAccount(username)) {
+      return register.findAccount(username).searchTransactions(query, limit);
+    }
+  }
+
+  /**
+   * The method locks the account of a session.
+   *
+   * @param session the session.
+   * @return the held lock.
+   * @throws NullPointerException if the session is null.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  private AccountLocks.Held lock(Session session)
+          throws NullPointerException, IllegalStateException {
+    if (session == null) {
+      throw new NullPointerException("Session cannot be null.");
+    }
+    return session.lock();
+  }
+
+  /**
+   * The method validates that the given transaction is not null.
+   *
+   * @param transaction the transaction to validate.
+   * @param name the name of the type of the transaction, used in the error message.
+   * @throws NullPointerException if the transaction is null.
+   */
+  private void validateTransaction(Transaction transaction, String name)
+          throws NullPointerException {
+    if (transaction == null) {
+      throw new NullPointerException(name + " cannot be null.");
+    }
+  }
+
   /**
    * The method validates that the given budget ID is not null.
    *
@@ -0,0 +1,246 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * The class limits how often logins are tried, as every login checks a password
+ * with the slow BCrypt hash. Every username has a bucket of attempts, and all
+ * usernames share a global bucket. An attempt takes one token from both buckets,
+ * and the buckets are filled again with one token at a time at a steady rate.
+ * When a bucket is empty, the login is refused without checking the password.
+ *
+ * <p>The class also remembers usernames without an account for a short time, so
+ * that repeated logins to them do not have to look for the account again. The
+ * bookkeeping is bounded, so logins to many different usernames cannot use up
+ * the memory.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+final class LoginLimiter {
+
+  private static final int MAX_TRACKED_USERNAMES = 10_000;
+  private final int attemptsPerUsername;
+  private final long nanosPerUsernameAttempt;
+  private final long nanosUnknownRemembered;
+  private final LongSupplier clock;
+  private final Bucket globalBucket;
+  private final Map<String, Bucket> usernameBuckets;
+  private final Map<String, Long> unknownUsernames;
+
+  /**
+   * Constructor to create an object of the type LoginLimiter.
+   *
+   * @param attemptsPerUsername the number of attempts a username may make at once.
+   * @param usernameRefill the time before a username gets another attempt.
+   * @param globalAttempts the number of attempts all usernames may make at once.
+   * @param globalRefill the time before all usernames get another attempt.
+   * @param unknownRemembered the time a username without an account is remembered.
+   * @param clock the clock in nanoseconds, such as {@link System#nanoTime()}.
+   * @throws IllegalArgumentException if a number of attempts is less than 1,
+   *                                  or a time is not positive.
+   * @throws NullPointerException if a time or the clock is null.
+   */
+  LoginLimiter(int attemptsPerUsername, Duration usernameRefill, int globalAttempts,
+               Duration globalRefill, Duration unknownRemembered, LongSupplier clock)
+          throws IllegalArgumentException, NullPointerException {
+    if (attemptsPerUsername < 1 || globalAttempts < 1) {
+      throw new IllegalArgumentException("The number of attempts must be at least 1.");
+    }
+    this.attemptsPerUsername = attemptsPerUsername;
+    this.nanosPerUsernameAttempt = positiveNanos(usernameRefill);
+    this.nanosUnknownRemembered = positiveNanos(unknownRemembered);
+    this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+    this.globalBucket = new Bucket(globalAttempts, positiveNanos(globalRefill),
+            clock.getAsLong());
+    this.usernameBuckets = new ConcurrentHashMap<>();
+    this.unknownUsernames = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * The method takes an attempt from the bucket of the username and from the
+   * global bucket.
+   *
+   * @param username the trimmed username.
+   * @throws IllegalStateException if either bucket is empty.
+   */
+  void acquire(String username) throws IllegalStateException {
+    long now = clock.getAsLong();
+    if (usernameBuckets.size() >= MAX_TRACKED_USERNAMES) {
+      usernameBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+    Bucket usernameBucket = usernameBuckets.computeIfAbsent(username,
+            key -> new Bucket(attemptsPerUsername, nanosPerUsernameAttempt, now));
+    if (!usernameBucket.tryTake(now)) {
+      throw new IllegalStateException(
+              "Too many login attempts for this account, please try again later.");
+    }
+    if (!globalBucket.tryTake(now)) {
+      usernameBucket.giveBack();
+      throw new IllegalStateException("Too many login attempts, please try again later.");
+    }
+  }
+
+  /**
+   * The method fills the bucket of a username after a successful login.
+   *
+   * @param username the trimmed username.
+   */
+  void succeeded(String username) {
+    usernameBuckets.remove(username);
+  }
+
+  /**
+   * The method checks if a username was recently found to have no account.
+   *
+   * @param username the trimmed username.
+   * @return true if the username is remembered to have no account.
+   */
+  boolean isUnknown(String username) {
+    Long until = unknownUsernames.get(username);
+    if (until == null) {
+      return false;
+    }
+    if (until - clock.getAsLong() > 0) {
+      return true;
+    }
+    unknownUsernames.remove(username, until);
+    return false;
+  }
+
+  /**
+   * The method remembers for a short time that a username has no account.
+   *
+   * @param username the trimmed username.
+   */
+  void rememberUnknown(String username) {
+    long now = clock.getAsLong();
+    if (unknownUsernames.size() >= MAX_TRACKED_USERNAMES) {
+      unknownUsernames.values().removeIf(until -> until - now <= 0);
+      if (unknownUsernames.size() >= MAX_TRACKED_USERNAMES) {
+        unknownUsernames.clear();
+      }
+    }
+    unknownUsernames.put(username, now + nanosUnknownRemembered);
+  }
+
+  /**
+   * The method forgets the attempts of a username, and that it had no account.
+   * This is done when an account is registered with the username.
+   *
+   * @param username the trimmed username.
+   */
+  void forget(String username) {
+    usernameBuckets.remove(username);
+    unknownUsernames.remove(username);
+  }
+
+  /**
+   * The method forgets all usernames remembered to have no account.
+   * This is done when the accounts are loaded.
+   */
+  void forgetUnknown() {
+    unknownUsernames.clear();
+  }
+
+  /**
+   * The method converts a positive time to nanoseconds.
+   *
+   * @param time the time.
+   * @return the time in nanoseconds.
+   * @throws IllegalArgumentException if the time is not positive.
+   * @throws NullPointerException if the time is null.
+   */
+  private static long positiveNanos(Duration time)
+          throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(time, "Time cannot be null.");
+    if (time.isNegative() || time.isZero()) {
+      throw new IllegalArgumentException("The time must be positive.");
+    }
+    return time.toNanos();
+  }
+
+  /**
+   * The class represents a bucket of attempts, filled with one attempt at a time.
+   */
+  private static final class Bucket {
+    private final int capacity;
+    private final long nanosPerToken;
+    private int tokens;
+    private long refilledAt;
+
+    /**
+     * Constructor to create a full bucket.
+     *
+     * @param capacity the number of attempts the bucket holds.
+     * @param nanosPerToken the time before the bucket gets another attempt.
+     * @param now the current time in nanoseconds.
+     */
+    Bucket(int capacity, long nanosPerToken, long now) {
+      this.capacity = capacity;
+      this.nanosPerToken = nanosPerToken;
+      this.tokens = capacity;
+      this.refilledAt = now;
+    }
+
+    /**
+     * The method takes an attempt, if the bucket is not empty.
+     *
+     * @param now the current time in nanoseconds.
+     * @return true if an attempt was taken.
+     */
+    synchronized boolean tryTake(long now) {
+      refill(now);
+      if (tokens == 0) {
+        return false;
+      }
+      if (tokens == capacity) {
+        refilledAt = now;
+      }
+      tokens--;
+      return true;
+    }
+
+    /**
+     * The method gives back an attempt that was not used.
+     */
+    synchronized void giveBack() {
+      tokens = Math.min(capacity, tokens + 1);
+    }
+
+    /**
+     * The method checks if the bucket is full.
+     *
+     * @param now the current time in nanoseconds.
+     * @return true if the bucket is full.
+     */
+    synchronized boolean isFull(long now) {
+      refill(now);
+      return tokens == capacity;
+    }
+
+    /**
+     * The method adds the attempts earned since the bucket was last filled.
+     *
+     * @param now the current time in nanoseconds.
+     */
+    private void refill(long now) {
+      long earned = (now - refilledAt) / nanosPerToken;
+      if (earned <= 0) {
+        return;
+      }
+      if (earned >= capacity - tokens) {
+        tokens = capacity;
+        refilledAt = now;
+      } else {
+        tokens += (int) earned;
+        refilledAt += earned * nanosPerToken;
+      }
+    }
+  }
+}
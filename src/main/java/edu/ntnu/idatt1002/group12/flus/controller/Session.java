@@ -0,0 +1,129 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * The class represents a session of an account that has logged in. The session
+ * holds the account it was opened for, so that the budgets of the account are
+ * found through the account without looking up its username in the register.
+ *
+ * <p>A session expires when it has not been used for a while, and is invalidated
+ * when the user logs out, when the account is deleted, when the password of the
+ * account is changed from another session, and when the accounts are loaded again.
+ * A session that is no longer valid throws an {@link IllegalStateException}
+ * when it is used.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public final class Session {
+
+  private final AccountRegister register;
+  private final Account account;
+  private final long idleNanos;
+  private final LongSupplier clock;
+  private volatile long lastUsed;
+  private volatile boolean invalidated;
+
+  /**
+   * Constructor to create an object of the type Session.
+   *
+   * @param register the register the account is registered in.
+   * @param account the account that logged in.
+   * @param idleTimeout the time the session may be unused before it expires.
+   * @param clock the clock in nanoseconds, such as {@link System#nanoTime()}.
+   * @throws NullPointerException if a parameter is null.
+   * @throws IllegalArgumentException if the idle timeout is not positive.
+   */
+  Session(AccountRegister register, Account account, Duration idleTimeout, LongSupplier clock)
+          throws NullPointerException, IllegalArgumentException {
+    this.register = Objects.requireNonNull(register, "Register cannot be null.");
+    this.account = Objects.requireNonNull(account, "Account cannot be null.");
+    Objects.requireNonNull(idleTimeout, "Idle timeout cannot be null.");
+    if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+      throw new IllegalArgumentException("The idle timeout must be positive.");
+    }
+    this.idleNanos = idleTimeout.toNanos();
+    this.clock = Objects.requireNonNull(clock, "Clock cannot be null.");
+    this.lastUsed = clock.getAsLong();
+  }
+
+  /**
+   * The method retrieves the username of the account of the session.
+   *
+   * @return the username.
+   */
+  public String getUsername() {
+    return account.getUsername();
+  }
+
+  /**
+   * The method retrieves the account of the session.
+   *
+   * @return the account.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  public Account getAccount() throws IllegalStateException {
+    validate();
+    return account;
+  }
+
+  /**
+   * The method checks if the session may still be used.
+   *
+   * @return true if the session has neither expired nor been invalidated.
+   */
+  public boolean isValid() {
+    return !invalidated && clock.getAsLong() - lastUsed < idleNanos;
+  }
+
+  /**
+   * The method invalidates the session, such as when the user logs out.
+   */
+  public void invalidate() {
+    invalidated = true;
+    register.closeSession(this);
+  }
+
+  /**
+   * The method locks the account of the session, so that it can be changed without
+   * other threads changing it or saving it at the same time.
+   *
+   * @return the held lock, which is released when it is closed.
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  AccountLocks.Held lock() throws IllegalStateException {
+    AccountLocks.Held lock = register.lockAccount(account.getUsername());
+    try {
+      validate();
+    } catch (IllegalStateException e) {
+      lock.close();
+      throw e;
+    }
+    return lock;
+  }
+
+  /**
+   * The method marks the session as invalid, without removing it from the register.
+   */
+  void expire() {
+    invalidated = true;
+  }
+
+  /**
+   * The method checks that the session is valid, and marks it as used.
+   *
+   * @throws IllegalStateException if the session has expired or been invalidated.
+   */
+  private void validate() throws IllegalStateException {
+    if (!isValid()) {
+      invalidated = true;
+      throw new IllegalStateException("The session has expired, please log in again.");
+    }
+    lastUsed = clock.getAsLong();
+  }
+}
@@ -0,0 +1,331 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The class imports the transactions of a bank statement into a budget. The statement
+ * is a CSV file with a header row naming a date, description and amount column, separated
+ * by commas or semicolons. Rows with a positive amount are imported as incomes, and rows
+ * with a negative amount as expenses. Rows with an amount of zero are skipped. Amounts
+ * are read exactly as minor units, so an amount with more than two decimals is invalid.
+ *
+ * <p>The file is read one row at a time, and the transactions are added to the budget
+ * through the budget manager in a single batch once the whole file is read, so a file
+ * with an invalid row, or with amounts too large for the totals of the budget, leaves
+ * the budget unchanged. The changes are then saved with a
+ * single flush of the account register.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class StatementImporter {
+
+  private static final Logger logger = Logger.getLogger(StatementImporter.class.getName());
+  private static final int PROGRESS_INTERVAL = 10_000;
+  private static final List<String> DATE_COLUMNS = List.of("date", "dato");
+  private static final List<String> DESCRIPTION_COLUMNS =
+          List.of("description", "text", "beskrivelse", "tekst");
+  private static final List<String> AMOUNT_COLUMNS = List.of("amount", "beløp", "belop");
+  private static final DateTimeFormatter NORWEGIAN_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+  private final AccountRegister register;
+  private final BudgetManager budgetManager;
+
+  /**
+   * The interface represents a listener that is told how far an import has come.
+   */
+  @FunctionalInterface
+  public interface ProgressListener {
+    /**
+     * The method is called after every 10 000 rows, and when the whole statement is read.
+     *
+     * @param rowsRead the number of rows read, not counting the header.
+     * @param bytesRead the number of bytes read.
+     * @param totalBytes the size of the statement in bytes, or -1 if it is unknown.
+     */
+    void onProgress(long rowsRead, long bytesRead, long totalBytes);
+  }
+
+  /**
+   * Constructor to create an object of the type StatementImporter.
+   */
+  public StatementImporter() {
+    this.register = AccountRegister.getInstance();
+    this.budgetManager = new BudgetManager();
+  }
+
+  /**
+   * The method imports the transactions of a bank statement file into a budget.
+   *
+   * @param username the username of the account with the budget.
+   * @param budgetId the ID of the budget to import the transactions into.
+   * @param file the bank statement file, encoded as UTF-8.
+   * @param listener the listener told about the progress of the import.
+   * @return the number of transactions imported.
+   * @throws NullPointerException if any of the parameters is null.
+   * @throws NoSuchElementException if the account or the budget does not exist.
+   * @throws IllegalArgumentException if the statement has an invalid header or row, or its
+   *                                  amounts are too large for the totals of the budget.
+   * @throws IOException if the file could not be read, or the changes could not be saved.
+   */
+  public int importStatement(String username, String budgetId, Path file,
+                             ProgressListener listener) throws NullPointerException,
+          NoSuchElementException, IllegalArgumentException, IOException {
+    Objects.requireNonNull(file, "The file cannot be null.");
+    try (InputStream input = Files.newInputStream(file)) {
+      return importStatement(username, budgetId, input, Files.size(file), listener);
+    }
+  }
+
+  /**
+   * The method imports the transactions of a bank statement into a budget.
+   * The input is not closed.
+   *
+   * @param username the username of the account with the budget.
+   * @param budgetId the ID of the budget to import the transactions into.
+   * @param input the bank statement, encoded as UTF-8.
+   * @param size the size of the statement in bytes, or -1 if it is unknown.
+   * @param listener the listener told about the progress of the import.
+   * @return the number of transactions imported.
+   * @throws NullPointerException if any of the parameters is null.
+   * @throws NoSuchElementException if the account or the budget does not exist.
+   * @throws IllegalArgumentException if the statement has an invalid header or row, or its
+   *                                  amounts are too large for the totals of the budget.
+   * @throws IOException if the statement could not be read, or the changes could not be saved.
+   */
+  public int importStatement(String username, String budgetId, InputStream input, long size,
+                             ProgressListener listener) throws NullPointerException,
+          NoSuchElementException, IllegalArgumentException, IOException {
+    Objects.requireNonNull(input, "The input cannot be null.");
+    Objects.requireNonNull(listener, "The listener cannot be null.");
+    budgetManager.getBudget(username, budgetId);
+
+    List<Transaction> transactions = readStatement(input, size, listener);
+    budgetManager.addTransactionsToBudget(username, budgetId, transactions);
+    if (register.getStorage() != null) {
+      try {
+        register.flush();
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "Error saving the imported transactions.", e);
+        throw new IOException("Error saving the imported transactions: " + e.getMessage(), e);
+      }
+    }
+    return transactions.size();
+  }
+
+  /**
+   * The method reads the transactions of a bank statement.
+   *
+   * @param input the bank statement.
+   * @param size the size of the statement in bytes, or -1 if it is unknown.
+   * @param listener the listener told about the progress of the import.
+   * @return the transactions of the statement.
+   * @throws IllegalArgumentException if the statement has an invalid header or row.
+   * @throws IOException if the statement could not be read.
+   */
+  private static List<Transaction> readStatement(InputStream input, long size,
+                                                 ProgressListener listener)
+          throws IllegalArgumentException, IOException {
+    CountingInputStream countingInput = new CountingInputStream(input);
+    BufferedReader reader = new BufferedReader(
+            new InputStreamReader(countingInput, StandardCharsets.UTF_8));
+    String header = reader.readLine();
+    if (header == null) {
+      throw new IllegalArgumentException("The statement is empty.");
+    }
+    if (header.startsWith("\uFEFF")) {
+      header = header.substring(1);
+    }
+    char delimiter = header.indexOf(';') >= 0 ? ';' : ',';
+    List<String> columns = splitRow(header, delimiter, 1);
+    int dateColumn = findColumn(columns, DATE_COLUMNS);
+    int descriptionColumn = findColumn(columns, DESCRIPTION_COLUMNS);
+    int amountColumn = findColumn(columns, AMOUNT_COLUMNS);
+
+    List<Transaction> transactions = new ArrayList<>();
+    long rowsRead = 0;
+    int lineNumber = 1;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      List<String> fields = splitRow(line, delimiter, lineNumber);
+      if (fields.size() != columns.size()) {
+        throw new IllegalArgumentException("Expected " + columns.size() + " fields on line "
+                + lineNumber + ", but found " + fields.size() + ".");
+      }
+      Transaction transaction = parseTransaction(fields.get(dateColumn),
+              fields.get(descriptionColumn), fields.get(amountColumn), delimiter, lineNumber);
+      if (transaction != null) {
+        transactions.add(transaction);
+      }
+      if (++rowsRead % PROGRESS_INTERVAL == 0) {
+        listener.onProgress(rowsRead, countingInput.bytesRead, size);
+      }
+    }
+    listener.onProgress(rowsRead, countingInput.bytesRead, size);
+    return transactions;
+  }
+
+  /**
+   * The method finds the index of a column in the header row.
+   *
+   * @param columns the names of the columns in the header row.
+   * @param names the accepted names of the column.
+   * @return the index of the column.
+   * @throws IllegalArgumentException if the header row has no such column.
+   */
+  private static int findColumn(List<String> columns, List<String> names)
+          throws IllegalArgumentException {
+    for (int i = 0; i < columns.size(); i++) {
+      if (names.contains(columns.get(i).trim().toLowerCase(Locale.ROOT))) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("The statement has no " + names.get(0) + " column.");
+  }
+
+  /**
+   * The method creates the transaction of a row.
+   *
+   * @param date the date of the row.
+   * @param description the description of the row.
+   * @param amount the amount of the row.
+   * @param delimiter the delimiter of the statement.
+   * @param lineNumber the line number of the row, used in messages.
+   * @return the transaction, or null if the amount is zero.
+   * @throws IllegalArgumentException if a value of the row is invalid.
+   */
+  private static Transaction parseTransaction(String date, String description, String amount,
+                                              char delimiter, int lineNumber)
+          throws IllegalArgumentException {
+    try {
+      String number = amount.replace(" ", "").replace("\u00A0", "");
+      if (delimiter == ';') {
+        number = number.replace(',', '.');
+      }
+      Money value = Money.parse(number);
+      if (value.getMinorUnits() == 0) {
+        return null;
+      }
+      DateTimeUtil dateTime = new DateTimeUtil(parseDate(date.trim()).atStartOfDay());
+      return value.isPositive()
+              ? new Income(description.trim(), value, dateTime)
+              : new Expense(description.trim(), Money.ZERO.minus(value), dateTime);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid row on line " + lineNumber + ": "
+              + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method parses a date written as yyyy-MM-dd or dd.MM.yyyy.
+   *
+   * @param date the date to be parsed.
+   * @return the date.
+   * @throws DateTimeParseException if the date has neither format.
+   */
+  private static LocalDate parseDate(String date) throws DateTimeParseException {
+    return date.indexOf('.') >= 0 ? LocalDate.parse(date, NORWEGIAN_DATE) : LocalDate.parse(date);
+  }
+
+  /**
+   * The method splits a row into its fields. Fields may be quoted, in which case
+   * they may hold the delimiter, and quotes within them are doubled.
+   *
+   * @param row the row to be split.
+   * @param delimiter the delimiter between the fields.
+   * @param lineNumber the line number of the row, used in messages.
+   * @return the fields of the row.
+   * @throws IllegalArgumentException if a quoted field is not closed.
+   */
+  private static List<String> splitRow(String row, char delimiter, int lineNumber)
+          throws IllegalArgumentException {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < row.length(); i++) {
+      char character = row.charAt(i);
+      if (quoted) {
+        if (character != '"') {
+          field.append(character);
+        } else if (i + 1 < row.length() && row.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (character == '"') {
+        quoted = true;
+      } else if (character == delimiter) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(character);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unclosed quote on line " + lineNumber + ".");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  /**
+   * The class counts the bytes read from an input stream.
+   */
+  private static final class CountingInputStream extends FilterInputStream {
+    private long bytesRead;
+
+    /**
+     * Constructor to create an object of the type CountingInputStream.
+     *
+     * @param input the input stream to count the bytes of.
+     */
+    private CountingInputStream(InputStream input) {
+      super(input);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int value = super.read();
+      if (value >= 0) {
+        bytesRead++;
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      int count = super.read(bytes, offset, length);
+      if (count > 0) {
+        bytesRead += count;
+      }
+      return count;
+    }
+  }
+}
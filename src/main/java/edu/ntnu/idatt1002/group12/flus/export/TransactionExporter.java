@@ -0,0 +1,290 @@
+package edu.ntnu.idatt1002.group12.flus.export;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The class exports the transactions of accounts as CSV or JSON Lines. Every
+ * transaction is written as one row, with the username, budget, type, description,
+ * amount and date of the transaction. Amounts are written exactly, with two decimals.
+ * Rows are written to the output one field at a
+ * time, so the memory used does not grow with the number of transactions.
+ *
+ * <p>The budgets of an account are read while its rows are written, so an account
+ * that other threads may change must be locked while it is exported. The accounts
+ * of the register are exported with
+ * {@link edu.ntnu.idatt1002.group12.flus.controller.AccountRegister#exportTransactions},
+ * which locks each account in turn.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class TransactionExporter {
+
+  private static final Logger logger = Logger.getLogger(TransactionExporter.class.getName());
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final String INCOME = "INCOME";
+  private static final String EXPENSE = "EXPENSE";
+  private static final String[] COLUMNS =
+          {"username", "budget", "type", "description", "amount", "date"};
+  private static final AccountLocker NO_LOCK = account -> () -> { };
+  private final Format format;
+
+  /**
+   * The enum represents the formats the transactions can be exported as.
+   */
+  public enum Format {
+    /**
+     * Comma-separated values with a header row, quoted as described in RFC 4180.
+     */
+    CSV,
+    /**
+     * One JSON object per line.
+     */
+    JSON_LINES
+  }
+
+  /**
+   * The interface locks an account while its transactions are exported.
+   */
+  @FunctionalInterface
+  public interface AccountLocker {
+    /**
+     * The method locks an account, so that it is not changed while it is exported.
+     *
+     * @param account the account to be locked.
+     * @return the action that releases the lock.
+     */
+    Runnable lock(Account account);
+  }
+
+  /**
+   * Constructor to create an object of the type TransactionExporter.
+   *
+   * @param format the format of the export.
+   * @throws NullPointerException if the format is null.
+   */
+  public TransactionExporter(Format format) throws NullPointerException {
+    this.format = Objects.requireNonNull(format, "The format cannot be null.");
+  }
+
+  /**
+   * The method exports the transactions of the accounts to a file, encoded as UTF-8.
+   * Creates the file if it does not exist, and replaces it otherwise. The accounts
+   * are not locked, so no other thread may change them during the export.
+   *
+   * @param accounts the accounts to be exported.
+   * @param file the file to export to.
+   * @return the number of transactions exported.
+   * @throws NullPointerException if the accounts or file is null.
+   * @throws IOException if the file could not be written.
+   */
+  public long export(Iterable<Account> accounts, Path file)
+          throws NullPointerException, IOException {
+    return export(accounts, file, NO_LOCK);
+  }
+
+  /**
+   * The method exports the transactions of the accounts to a file, encoded as UTF-8.
+   * Creates the file if it does not exist, and replaces it otherwise. Each account
+   * is locked while its transactions are written.
+   *
+   * @param accounts the accounts to be exported.
+   * @param file the file to export to.
+   * @param locker locks each account while it is exported.
+   * @return the number of transactions exported.
+   * @throws NullPointerException if the accounts, file or locker is null.
+   * @throws IOException if the file could not be written.
+   */
+  public long export(Iterable<Account> accounts, Path file, AccountLocker locker)
+          throws NullPointerException, IOException {
+    Objects.requireNonNull(file, "The file cannot be null.");
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+            Files.newOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+      return export(accounts, writer, locker);
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "Error exporting transactions to file: " + file, e);
+      throw new IOException("Error exporting transactions to file: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method exports the transactions of the accounts to a writer.
+   * The writer is flushed, but not closed. The accounts are not locked,
+   * so no other thread may change them during the export.
+   *
+   * @param accounts the accounts to be exported.
+   * @param writer the writer to export to.
+   * @return the number of transactions exported.
+   * @throws NullPointerException if the accounts or writer is null.
+   * @throws IOException if an I/O error occurs.
+   */
+  public long export(Iterable<Account> accounts, Writer writer)
+          throws NullPointerException, IOException {
+    return export(accounts, writer, NO_LOCK);
+  }
+
+  /**
+   * The method exports the transactions of the accounts to a writer.
+   * The writer is flushed, but not closed. Each account is locked while
+   * its transactions are written.
+   *
+   * @param accounts the accounts to be exported.
+   * @param writer the writer to export to.
+   * @param locker locks each account while it is exported.
+   * @return the number of transactions exported.
+   * @throws NullPointerException if the accounts, writer or locker is null.
+   * @throws IOException if an I/O error occurs.
+   */
+  public long export(Iterable<Account> accounts, Writer writer, AccountLocker locker)
+          throws NullPointerException, IOException {
+    Objects.requireNonNull(accounts, "The accounts cannot be null.");
+    Objects.requireNonNull(writer, "The writer cannot be null.");
+    Objects.requireNonNull(locker, "The locker cannot be null.");
+    if (format == Format.CSV) {
+      writer.write(String.join(",", COLUMNS));
+      writer.write("\r\n");
+    }
+    long count = 0;
+    for (Account account : accounts) {
+      Runnable unlock = locker.lock(account);
+      try {
+        for (Budget budget : account.getBudgets()) {
+          count += writeTransactions(writer, account, budget, INCOME, budget.getIncomes());
+          count += writeTransactions(writer, account, budget, EXPENSE, budget.getExpenses());
+        }
+      } finally {
+        unlock.run();
+      }
+    }
+    writer.flush();
+    return count;
+  }
+
+  /**
+   * The method writes a row for each of the given transactions of a budget.
+   *
+   * @param writer the writer to write to.
+   * @param account the account of the budget.
+   * @param budget the budget of the transactions.
+   * @param type the type of the transactions.
+   * @param transactions the transactions to be written.
+   * @return the number of transactions written.
+   * @throws IOException if an I/O error occurs.
+   */
+  private long writeTransactions(Writer writer, Account account, Budget budget, String type,
+                                 List<? extends Transaction> transactions) throws IOException {
+    for (Transaction transaction : transactions) {
+      String[] values = {account.getUsername(), budget.getBudgetId(), type,
+          transaction.getDescription(), transaction.getMoneyAmount().toString(),
+          transaction.getDate().getDateTime().toString()};
+      if (format == Format.CSV) {
+        writeCsvRow(writer, values);
+      } else {
+        writeJsonRow(writer, values);
+      }
+    }
+    return transactions.size();
+  }
+
+  /**
+   * The method writes a row of CSV. Values containing a comma, quote or line
+   * break are quoted, and the quotes within them are doubled.
+   *
+   * @param writer the writer to write to.
+   * @param values the values of the row.
+   * @throws IOException if an I/O error occurs.
+   */
+  private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      String value = values[i];
+      if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+              && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+        writer.write(value);
+        continue;
+      }
+      writer.write('"');
+      int start = 0;
+      for (int quote = value.indexOf('"'); quote >= 0; quote = value.indexOf('"', start)) {
+        writer.write(value, start, quote + 1 - start);
+        writer.write('"');
+        start = quote + 1;
+      }
+      writer.write(value, start, value.length() - start);
+      writer.write('"');
+    }
+    writer.write("\r\n");
+  }
+
+  /**
+   * The method writes a row as a JSON object on one line. The amount is written
+   * as a number, and the other values as strings.
+   *
+   * @param writer the writer to write to.
+   * @param values the values of the row.
+   * @throws IOException if an I/O error occurs.
+   */
+  private static void writeJsonRow(Writer writer, String[] values) throws IOException {
+    writer.write('{');
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writer.write('"');
+      writer.write(COLUMNS[i]);
+      writer.write("\":");
+      if (COLUMNS[i].equals("amount")) {
+        writer.write(values[i]);
+      } else {
+        writeJsonString(writer, values[i]);
+      }
+    }
+    writer.write("}\n");
+  }
+
+  /**
+   * The method writes a quoted JSON string, escaping quotes, backslashes and control characters.
+   *
+   * @param writer the writer to write to.
+   * @param value the string to be written.
+   * @throws IOException if an I/O error occurs.
+   */
+  private static void writeJsonString(Writer writer, String value) throws IOException {
+    writer.write('"');
+    int start = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char character = value.charAt(i);
+      if (character != '"' && character != '\\' && character >= 0x20) {
+        continue;
+      }
+      writer.write(value, start, i - start);
+      switch (character) {
+        case '"' -> writer.write("\\\"");
+        case '\\' -> writer.write("\\\\");
+        case '\n' -> writer.write("\\n");
+        case '\r' -> writer.write("\\r");
+        case '\t' -> writer.write("\\t");
+        default -> writer.write(String.format("\\u%04x", (int) character));
+      }
+      start = i + 1;
+    }
+    writer.write(value, start, value.length() - start);
+    writer.write('"');
+  }
+}
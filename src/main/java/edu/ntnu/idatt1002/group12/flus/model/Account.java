@@ -1,20 +1,42 @@
 package edu.ntnu.idatt1002.group12.flus.model;
 
+import edu.ntnu.idatt1002.group12.flus.model.search.SearchHit;
+import edu.ntnu.idatt1002.group12.flus.model.search.TransactionSearchIndex;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * The class represents an account for the user. An Account object
  * contains the basic information about a user such as their username, password,
  * email, and phone number. It also contains a list of budgets.
  *
+ * <p>The budgets are kept in a map by budget ID, in the order they were added, so a
+ * budget is found in constant time. They are stored as a list, and the map is built
+ * again when the account is read.</p>
+ *
  * @author Ramtin Samavat.
  * @version 2.0
  * @since April 17, 2023.
  */
 public class Account extends User {
-  private final List<Budget> budgets;
+  private static final long serialVersionUID = 1358047067663052130L;
+  private static final ObjectStreamField[] serialPersistentFields = {
+    new ObjectStreamField("budgets", List.class)
+  };
+  private transient Map<String, Budget> budgets;
+  private transient Supplier<List<Budget>> budgetLoader;
+  private transient TransactionSearchIndex searchIndex;
 
   /**
    * Constructor to create an object of the type Account.
@@ -29,7 +51,108 @@ public class Account extends User {
   public Account(String username, String password, String email, String phoneNumber)
           throws IllegalArgumentException, NullPointerException {
     super(username, password, email, phoneNumber);
-    budgets = new ArrayList<>();
+    budgets = new LinkedHashMap<>();
+  }
+
+  /**
+   * Constructor to create an object of the type Account with an already hashed password.
+   *
+   * @param username the name of the user.
+   * @param passwordHash the hashed password for the user.
+   * @param email the email of the user.
+   * @param phoneNumber the phone number of the user.
+   * @param passwordHashed marks the password as already hashed.
+   */
+  private Account(String username, String passwordHash, String email, String phoneNumber,
+                  boolean passwordHashed) {
+    super(username, passwordHash, email, phoneNumber, passwordHashed);
+    budgets = new LinkedHashMap<>();
+  }
+
+  /**
+   * The method restores an account from storage, without hashing the password again.
+   *
+   * @param username the name of the user.
+   * @param passwordHash the stored password hash of the user.
+   * @param email the email of the user.
+   * @param phoneNumber the phone number of the user.
+   * @return the restored account, without budgets.
+   * @throws IllegalArgumentException if the variables do not meet the content requirements.
+   * @throws NullPointerException     if the variables are null.
+   */
+  public static Account restore(String username, String passwordHash, String email,
+                                String phoneNumber)
+          throws IllegalArgumentException, NullPointerException {
+    return new Account(username, passwordHash, email, phoneNumber, true);
+  }
+
+  /**
+   * The method restores an account from storage, without hashing the password again.
+   * The budgets are not loaded until they are first needed, and are then retrieved
+   * from the given budget loader.
+   *
+   * @param username the name of the user.
+   * @param passwordHash the stored password hash of the user.
+   * @param email the email of the user.
+   * @param phoneNumber the phone number of the user.
+   * @param budgetLoader the loader of the stored budgets of the account.
+   * @return the restored account, with budgets that are loaded on demand.
+   * @throws IllegalArgumentException if the variables do not meet the content requirements.
+   * @throws NullPointerException     if the variables are null.
+   */
+  public static Account restore(String username, String passwordHash, String email,
+                                String phoneNumber, Supplier<List<Budget>> budgetLoader)
+          throws IllegalArgumentException, NullPointerException {
+    Account account = restore(username, passwordHash, email, phoneNumber);
+    account.budgetLoader = Objects.requireNonNull(budgetLoader,
+            "The budget loader cannot be null.");
+    return account;
+  }
+
+  /**
+   * The method loads the stored budgets, if the account was restored
+   * with a budget loader and they have not been loaded yet.
+   */
+  private synchronized void loadBudgets() {
+    if (budgetLoader != null) {
+      Map<String, Budget> added = budgets;
+      budgets = new LinkedHashMap<>();
+      for (Budget budget : budgetLoader.get()) {
+        budgets.put(budget.getBudgetId(), budget);
+      }
+      budgets.putAll(added);
+      budgetLoader = null;
+    }
+  }
+
+  /**
+   * The method loads the stored budgets before the account is serialized,
+   * and writes them as a list.
+   *
+   * @param out the stream the account is written to.
+   * @throws IOException if an I/O error occurs.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    loadBudgets();
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("budgets", new ArrayList<>(budgets.values()));
+    out.writeFields();
+  }
+
+  /**
+   * The method reads the list of budgets, and builds the map of the budgets by budget ID.
+   *
+   * @param in the stream the account is read from.
+   * @throws IOException if an I/O error occurs.
+   * @throws ClassNotFoundException if a class of the budgets cannot be found.
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    budgets = new LinkedHashMap<>();
+    for (Object budget : (List<?>) fields.get("budgets", List.of())) {
+      Budget read = (Budget) budget;
+      budgets.put(read.getBudgetId(), read);
+    }
   }
 
   /**
@@ -37,12 +160,19 @@ public class Account extends User {
    *
    * @param budget th budget to be added to the list.
    * @throws NullPointerException if the budget is null.
+   * @throws IllegalArgumentException if a budget with the same budget ID already exists.
    */
-  public void addBudget(Budget budget) throws NullPointerException {
+  public void addBudget(Budget budget) throws NullPointerException, IllegalArgumentException {
     if (budget == null) {
       throw new NullPointerException("The budget cannot be null.");
     }
-    budgets.add(budget);
+    loadBudgets();
+    if (budgets.putIfAbsent(budget.getBudgetId(), budget) != null) {
+      throw new IllegalArgumentException("A budget with the same budget ID already exists.");
+    }
+    if (searchIndex != null) {
+      searchIndex.addBudget(budget);
+    }
   }
 
   /**
@@ -56,16 +186,85 @@ public class Account extends User {
     if (budgetId == null) {
       throw new NullPointerException("Budget ID cannot be null.");
     }
-    return budgets.removeIf(budget -> budget.getBudgetId().equals(budgetId.trim()));
+    loadBudgets();
+    boolean removed = budgets.remove(budgetId.trim()) != null;
+    if (removed && searchIndex != null) {
+      searchIndex.removeBudget(budgetId.trim());
+    }
+    return removed;
+  }
+
+  /**
+   * The method retrieves the budget with the given budget ID.
+   *
+   * @param budgetId the ID of the budget.
+   * @return the budget, or null if the account has no budget with the ID.
+   * @throws NullPointerException if the budget ID is null.
+   */
+  public Budget getBudget(String budgetId) throws NullPointerException {
+    if (budgetId == null) {
+      throw new NullPointerException("Budget ID cannot be null.");
+    }
+    loadBudgets();
+    return budgets.get(budgetId.trim());
   }
 
   /**
-   * The method retrieves the list of budgets.
+   * The method retrieves the list of budgets, in the order they were added.
    *
-   * @return list of budgets.
+   * @return list of budgets, which cannot be changed.
    */
   public List<Budget> getBudgets() {
-    return budgets;
+    loadBudgets();
+    return Collections.unmodifiableList(new ArrayList<>(budgets.values()));
+  }
+
+  /**
+   * The method searches the descriptions of the transactions in all budgets.
+   * The search index is built the first time it is used.
+   *
+   * @param query the text to search for.
+   * @param limit the largest number of hits to find.
+   * @return list of the hits, best matches first.
+   * @throws NullPointerException if the query is null.
+   * @throws IllegalArgumentException if the limit is negative.
+   */
+  public List<SearchHit> searchTransactions(String query, int limit)
+          throws NullPointerException, IllegalArgumentException {
+    if (searchIndex == null) {
+      TransactionSearchIndex index = new TransactionSearchIndex();
+      for (Budget budget : getBudgets()) {
+        index.addBudget(budget);
+      }
+      searchIndex = index;
+    }
+    return searchIndex.search(query, limit);
+  }
+
+  /**
+   * The method updates the search index after a transaction was added to a budget
+   * of the account. Nothing is done if the index has not been built yet.
+   *
+   * @param budgetId the ID of the budget.
+   * @param transaction the transaction that was added.
+   */
+  public void addToSearchIndex(String budgetId, Transaction transaction) {
+    if (searchIndex != null) {
+      searchIndex.add(budgetId, transaction);
+    }
+  }
+
+  /**
+   * The method updates the search index after a transaction was removed from a budget
+   * of the account. Nothing is done if the index has not been built yet.
+   *
+   * @param budgetId the ID of the budget.
+   * @param transaction the transaction that was removed.
+   */
+  public void removeFromSearchIndex(String budgetId, Transaction transaction) {
+    if (searchIndex != null) {
+      searchIndex.remove(budgetId, transaction);
+    }
   }
 
   /**
@@ -1,31 +1,69 @@
 package edu.ntnu.idatt1002.group12.flus.model;
 
+import edu.ntnu.idatt1002.group12.flus.model.categories.Categorizer;
 import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
 import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * The class represents a budget for the account,
  * and contains income, expenses and goals.
  *
+ * <p>The total income and total expenses are kept up to date as transactions are
+ * added and removed, so reading the balance does not loop over the transactions.
+ * The totals are exact sums of minor units, so they never drift from the transactions,
+ * and a transaction that would make a total too large is not added.
+ * With balance verification turned on, either with the system property
+ * flus.verifyBalance or with {@link #setBalanceVerification(boolean)}, every read
+ * of the balance is checked against a full recalculation.</p>
+ *
+ * <p>The incomes and expenses are stored in columns of primitives, see
+ * {@link TransactionColumns}, and are serialized as lists of transactions,
+ * as in earlier versions. The sums of every day, week and month are kept up
+ * to date as well, so summaries of periods do not loop over the transactions.</p>
+ *
  * @author Ramtin Samavat, Stian Lyng
  * @version 1.0
  * @since April 07, 2023
  */
 public class Budget implements Serializable {
 
-  private final String budgetId;
-  private final DateTimeUtil date;
-  private double balance;
-  private final List<Income> incomes;
-  private final List<Expense> expenses;
-  private final List<FinancialGoal> financialGoals;
+  private static final long serialVersionUID = 5777797263589842531L;
+  private static final ObjectStreamField[] serialPersistentFields = {
+    new ObjectStreamField("budgetId", String.class),
+    new ObjectStreamField("date", DateTimeUtil.class),
+    new ObjectStreamField("incomes", List.class),
+    new ObjectStreamField("expenses", List.class),
+    new ObjectStreamField("financialGoals", List.class)
+  };
+  private static volatile boolean balanceVerification = Boolean.getBoolean("flus.verifyBalance");
+  private String budgetId;
+  private DateTimeUtil date;
+  private transient long totalIncome;
+  private transient long totalExpenses;
+  private transient TransactionColumns.StringPool descriptions;
+  private transient TransactionColumns<Income> incomes;
+  private transient TransactionColumns<Expense> expenses;
+  private transient TransactionRollups rollups;
+  private transient int nextTransactionId;
+  private List<FinancialGoal> financialGoals;
 
   /**
    * The constructor creates a budget object with the given ID, initializing its balance to zero
@@ -36,15 +74,39 @@ public class Budget implements Serializable {
    * @throws NullPointerException     if the budgetId is null.
    */
   public Budget(String budgetId) throws IllegalArgumentException, NullPointerException {
+    this(budgetId, new DateTimeUtil());
+  }
+
+  /**
+   * The constructor creates a budget object with the given ID and creation date.
+   * This is used when budgets are restored from storage.
+   *
+   * @param budgetId the ID of the budget.
+   * @param date the date the budget was created.
+   * @throws IllegalArgumentException if the budgetId is blank.
+   * @throws NullPointerException     if the budgetId or date is null.
+   */
+  public Budget(String budgetId, DateTimeUtil date)
+          throws IllegalArgumentException, NullPointerException {
     if (budgetId.isBlank()) {
       throw new IllegalArgumentException("Budget ID cannot be blank.");
     }
     this.budgetId = Objects.requireNonNull(budgetId.trim(), "Budget ID cannot be null.");
-    this.balance = 0;
-    this.date = new DateTimeUtil();
-    this.incomes = new ArrayList<>();
-    this.expenses = new ArrayList<>();
+    this.date = Objects.requireNonNull(date, "Date cannot be null.");
     this.financialGoals = new ArrayList<>();
+    createColumns();
+  }
+
+  /**
+   * The method creates the empty columns of the incomes and expenses,
+   * which share one pool of descriptions, and their empty rollups.
+   */
+  private void createColumns() {
+    this.descriptions = new TransactionColumns.StringPool();
+    this.incomes = new TransactionColumns<>(descriptions, Income::new);
+    this.expenses = new TransactionColumns<>(descriptions, Expense::new);
+    this.rollups = new TransactionRollups();
+    this.nextTransactionId = 1;
   }
 
   /**
@@ -65,41 +127,330 @@ public class Budget implements Serializable {
     return date.getFormattedDateTime();
   }
 
+  /**
+   * The method retrieves the date and time the budget was created.
+   *
+   * @return the creation date and time.
+   */
+  public DateTimeUtil getDateTime() {
+    return date;
+  }
+
+  /**
+   * The method turns the verification of the balance on or off for all budgets.
+   *
+   * @param enabled true to check every read of the balance against a full recalculation.
+   */
+  public static void setBalanceVerification(boolean enabled) {
+    balanceVerification = enabled;
+  }
+
   /**
    * The method retrieves the current balance of the budget.
    *
    * @return the balance.
+   * @throws IllegalStateException if balance verification is turned on, and the
+   *                               balance does not match a full recalculation.
+   */
+  public double getBalance() throws IllegalStateException {
+    return Money.toDouble(getBalanceInMinorUnits());
+  }
+
+  /**
+   * The method retrieves the exact balance of the budget in minor units.
+   *
+   * @return the balance in minor units.
+   * @throws IllegalStateException if balance verification is turned on, and the
+   *                               balance does not match a full recalculation.
+   */
+  public long getBalanceInMinorUnits() throws IllegalStateException {
+    long balance = totalIncome - totalExpenses;
+    if (balanceVerification && !isBalanceConsistent()) {
+      throw new IllegalStateException("The balance " + Money.ofMinorUnits(balance)
+              + " of the budget " + budgetId + " does not match the recalculated balance "
+              + Money.ofMinorUnits(incomes.sum() - expenses.sum()) + ".");
+    }
+    return balance;
+  }
+
+  /**
+   * The method retrieves the exact balance of the budget.
+   *
+   * @return the balance.
+   * @throws IllegalStateException if balance verification is turned on, and the
+   *                               balance does not match a full recalculation.
    */
-  public double getBalance() {
-    calculateBalance();
-    return this.balance;
+  public Money getMoneyBalance() throws IllegalStateException {
+    return Money.ofMinorUnits(getBalanceInMinorUnits());
   }
 
   /**
-   * The method retrieves the list of incomes.
+   * The method checks that the totals of the budget can hold more incomes and expenses,
+   * so that a batch of transactions can be checked before any of them is added.
+   *
+   * @param incomeAmount the sum of the incomes to be added, in minor units.
+   * @param expenseAmount the sum of the expenses to be added, in minor units.
+   * @throws ArithmeticException if the total income or total expenses would be too large.
+   */
+  public void checkTotalsFit(long incomeAmount, long expenseAmount) throws ArithmeticException {
+    Math.addExact(totalIncome, incomeAmount);
+    Math.addExact(totalExpenses, expenseAmount);
+  }
+
+  /**
+   * The method checks that the balance matches a full recalculation
+   * from the incomes and expenses.
+   *
+   * @return true if the balance matches, false otherwise.
+   */
+  public boolean isBalanceConsistent() {
+    return totalIncome == incomes.sum() && totalExpenses == expenses.sum();
+  }
+
+  /**
+   * The method retrieves the list of incomes. The list cannot be changed,
+   * as incomes must be added and removed through the budget. The list is a
+   * view of the stored incomes, and creates each income when it is read.
    *
    * @return list of incomes.
    */
   public List<Income> getIncomes() {
-    return incomes;
+    return incomes.asList();
   }
 
   /**
-   * The method retrieves the list of expenses.
+   * The method retrieves the list of expenses. The list cannot be changed,
+   * as expenses must be added and removed through the budget. The list is a
+   * view of the stored expenses, and creates each expense when it is read.
    *
    * @return list of expenses.
    */
   public List<Expense> getExpenses() {
-    return expenses;
+    return expenses.asList();
+  }
+
+  /**
+   * The method finds the incomes from one date up to another date, ordered by date.
+   *
+   * @param from the first date, inclusive.
+   * @param to the last date, exclusive.
+   * @return list of the incomes in the range.
+   * @throws NullPointerException if a date is null.
+   */
+  public List<Income> getIncomesBetween(DateTimeUtil from, DateTimeUtil to)
+          throws NullPointerException {
+    return incomes.between(validateDate(from), validateDate(to));
+  }
+
+  /**
+   * The method finds the expenses from one date up to another date, ordered by date.
+   *
+   * @param from the first date, inclusive.
+   * @param to the last date, exclusive.
+   * @return list of the expenses in the range.
+   * @throws NullPointerException if a date is null.
+   */
+  public List<Expense> getExpensesBetween(DateTimeUtil from, DateTimeUtil to)
+          throws NullPointerException {
+    return expenses.between(validateDate(from), validateDate(to));
+  }
+
+  /**
+   * The method finds the incomes in a month, ordered by date.
+   *
+   * @param year the year.
+   * @param month the month, from 1 to 12.
+   * @return list of the incomes in the month.
+   * @throws IllegalArgumentException if the month is invalid.
+   */
+  public List<Income> getIncomesInMonth(int year, int month) throws IllegalArgumentException {
+    LocalDateTime start = startOfMonth(year, month);
+    return incomes.between(start, start.plusMonths(1));
+  }
+
+  /**
+   * The method finds the expenses in a month, ordered by date.
+   *
+   * @param year the year.
+   * @param month the month, from 1 to 12.
+   * @return list of the expenses in the month.
+   * @throws IllegalArgumentException if the month is invalid.
+   */
+  public List<Expense> getExpensesInMonth(int year, int month) throws IllegalArgumentException {
+    LocalDateTime start = startOfMonth(year, month);
+    return expenses.between(start, start.plusMonths(1));
+  }
+
+  /**
+   * The method summarizes the incomes and expenses of every period from the period
+   * containing one date up to and including the period containing another date.
+   * Periods without transactions are left out.
+   *
+   * @param period the length of the periods.
+   * @param from a date in the first period.
+   * @param to a date in the last period.
+   * @return list of the summaries, ordered by date.
+   * @throws NullPointerException if the period or a date is null.
+   */
+  public List<PeriodSummary> getSummaries(SummaryPeriod period, DateTimeUtil from,
+                                          DateTimeUtil to) throws NullPointerException {
+    if (period == null) {
+      throw new NullPointerException("Period cannot be null.");
+    }
+    return rollups.summaries(period, validateDate(from).toLocalDate(),
+            validateDate(to).toLocalDate());
+  }
+
+  /**
+   * The method finds the incomes with a description, ordered by date.
+   *
+   * @param description the description.
+   * @return list of the incomes with the description.
+   */
+  public List<Income> getIncomesWithDescription(String description) {
+    return incomes.withDescription(description);
+  }
+
+  /**
+   * The method finds the expenses with a description, ordered by date.
+   *
+   * @param description the description.
+   * @return list of the expenses with the description.
+   */
+  public List<Expense> getExpensesWithDescription(String description) {
+    return expenses.withDescription(description);
+  }
+
+  /**
+   * The method sums the expenses from one date up to another date by category.
+   * Only the expenses in the range are read, and each distinct description is put
+   * in a category once.
+   *
+   * @param categorizer the categorizer that puts the descriptions in categories.
+   * @param from the first date, inclusive.
+   * @param to the last date, exclusive.
+   * @return map of the sums of the categories with expenses, in the order of
+   *         the categories of the categorizer.
+   * @throws NullPointerException if the categorizer or a date is null.
+   */
+  public Map<String, Money> getExpensesByCategory(Categorizer categorizer, DateTimeUtil from,
+                                                  DateTimeUtil to) throws NullPointerException {
+    if (categorizer == null) {
+      throw new NullPointerException("Categorizer cannot be null.");
+    }
+    long[] sums = expenses.sumsByDescription(validateDate(from), validateDate(to));
+    Map<String, Long> totals = new LinkedHashMap<>();
+    for (String category : categorizer.getCategories()) {
+      totals.put(category, 0L);
+    }
+    for (int id = 0; id < sums.length; id++) {
+      if (sums[id] != 0) {
+        totals.merge(categorizer.categorize(descriptions.get(id)), sums[id], Long::sum);
+      }
+    }
+    Map<String, Money> breakdown = new LinkedHashMap<>();
+    totals.forEach((category, total) -> {
+      if (total != 0) {
+        breakdown.put(category, Money.ofMinorUnits(total));
+      }
+    });
+    return breakdown;
+  }
+
+  /**
+   * The method finds the expenses in a category from one date up to another date,
+   * ordered by date. Only the descriptions that contain a keyword of the category
+   * are checked, by the index of the tokens of the descriptions.
+   *
+   * @param categorizer the categorizer that puts the descriptions in categories.
+   * @param category the name of the category.
+   * @param from the first date, inclusive.
+   * @param to the last date, exclusive.
+   * @return list of the expenses in the category.
+   * @throws NullPointerException if the categorizer, the category or a date is null.
+   */
+  public List<Expense> getExpensesInCategory(Categorizer categorizer, String category,
+                                             DateTimeUtil from, DateTimeUtil to)
+          throws NullPointerException {
+    if (categorizer == null || category == null) {
+      throw new NullPointerException("Categorizer and category cannot be null.");
+    }
+    LocalDateTime start = validateDate(from);
+    LocalDateTime end = validateDate(to);
+    BitSet candidates = new BitSet();
+    if (category.equals(Categorizer.UNCATEGORIZED)) {
+      candidates.set(0, descriptions.size());
+    } else {
+      for (String token : categorizer.getLeadingTokens(category)) {
+        candidates.or(descriptions.idsWithToken(token));
+      }
+    }
+    for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+      if (!categorizer.categorize(descriptions.get(id)).equals(category)) {
+        candidates.clear(id);
+      }
+    }
+    return expenses.between(start, end, candidates);
+  }
+
+  /**
+   * The method finds the incomes with the latest dates, newest first.
+   *
+   * @param count the largest number of incomes to find.
+   * @return list of the latest incomes.
+   * @throws IllegalArgumentException if the count is negative.
+   */
+  public List<Income> getLatestIncomes(int count) throws IllegalArgumentException {
+    return incomes.latest(count);
+  }
+
+  /**
+   * The method finds the expenses with the latest dates, newest first.
+   *
+   * @param count the largest number of expenses to find.
+   * @return list of the latest expenses.
+   * @throws IllegalArgumentException if the count is negative.
+   */
+  public List<Expense> getLatestExpenses(int count) throws IllegalArgumentException {
+    return expenses.latest(count);
   }
 
   /**
-   * The method retrieves the list of financial goals.
+   * The method retrieves the list of financial goals, ordered by their minimum value.
    *
    * @return list of financial goals.
    */
   public List<FinancialGoal> getFinancialGoals() {
-    return financialGoals;
+    return Collections.unmodifiableList(financialGoals);
+  }
+
+  /**
+   * The method checks if the budget has a goal with the same minimum value as the given goal.
+   *
+   * @param financialGoal the goal to be found.
+   * @return true if the budget has the goal, false otherwise.
+   * @throws NullPointerException if the financial goal is null.
+   */
+  public boolean containsGoal(FinancialGoal financialGoal) throws NullPointerException {
+    if (financialGoal == null) {
+      throw new NullPointerException("Goal cannot be null.");
+    }
+    long value = financialGoal.getMinimumValueInMinorUnits();
+    return goalsAtMost(value) > goalsAtMost(value - 1);
+  }
+
+  /**
+   * The method evaluates the financial goals against the current balance. The
+   * balance is calculated once, and the completed goals are found with one binary
+   * search in the goals, which are kept ordered by their minimum value.
+   *
+   * @return the completed and pending goals, and the next goal.
+   * @throws IllegalStateException if balance verification is turned on, and the
+   *                               balance does not match a full recalculation.
+   */
+  public GoalProgress getGoalProgress() throws IllegalStateException {
+    long balance = getBalanceInMinorUnits();
+    return new GoalProgress(financialGoals, goalsAtMost(balance), balance);
   }
 
   /**
@@ -108,22 +459,48 @@ public class Budget implements Serializable {
    * @return boolean depending on if the balance is positive.
    */
   public boolean checkIfBalancePositive() {
-    return getBalance() >= 0;
+    return getBalanceInMinorUnits() >= 0;
+  }
+
+  /**
+   * The method retrieves the income or expense with the given ID.
+   *
+   * @param id the ID of the transaction in the budget.
+   * @return the transaction, or null if the budget has no transaction with the ID.
+   */
+  public Transaction getTransaction(int id) {
+    int slot = incomes.slotOf(id);
+    if (slot >= 0) {
+      return incomes.getAt(slot);
+    }
+    slot = expenses.slotOf(id);
+    return slot >= 0 ? expenses.getAt(slot) : null;
   }
 
   /**
-   * The method add incomes to the list of incomes.
+   * The method add incomes to the list of incomes. The income keeps its ID if it has
+   * one that is not used in the budget, and is given a new ID otherwise.
    *
    * @param income income to be added.
+   * @return the income as it is stored in the budget, with its ID.
    * @throws NullPointerException if the income is null;
+   * @throws ArithmeticException if the total income would be too large.
    */
-  public void addIncome(Income income) throws NullPointerException {
+  public Income addIncome(Income income) throws NullPointerException, ArithmeticException {
     validateIncome(income);
-    incomes.add(income);
+    long total = Math.addExact(totalIncome, income.getAmountInMinorUnits());
+    int id = claimTransactionId(income.getId());
+    incomes.add(income, id);
+    totalIncome = total;
+    rollups.add(income.getDate().getDateTime().toLocalDate(), income.getAmountInMinorUnits(),
+            true);
+    return new Income(income.getDescription(), income.getMoneyAmount(), income.getDate(), id);
   }
 
   /**
-   * The method removes the given income from this list of expenses.
+   * The method removes the given income from this list of expenses. The income with
+   * the same ID is removed in constant time. An income without the ID of an equal
+   * income in the budget removes the first income that is equal to it.
    *
    * @param income the income to be removed.
    * @return true if an income was found and removed, false otherwise.
@@ -131,22 +508,51 @@ public class Budget implements Serializable {
    */
   public boolean removeIncome(Income income) throws NullPointerException {
     validateIncome(income);
-    return incomes.remove(income);
+    int slot = findSlot(incomes, income);
+    if (slot < 0) {
+      return false;
+    }
+    removeIncomeAt(slot);
+    return true;
   }
 
   /**
-   * The method adds expense to the list of expenses.
+   * The method finds the income that {@link #removeIncome(Income)} would remove.
+   *
+   * @param income the income to be found.
+   * @return the income as it is stored in the budget, with its ID, or null if there is none.
+   * @throws NullPointerException if the income is null.
+   */
+  public Income findIncome(Income income) throws NullPointerException {
+    validateIncome(income);
+    int slot = findSlot(incomes, income);
+    return slot < 0 ? null : incomes.getAt(slot);
+  }
+
+  /**
+   * The method adds expense to the list of expenses. The expense keeps its ID if it has
+   * one that is not used in the budget, and is given a new ID otherwise.
    *
    * @param expense expense to be added.
+   * @return the expense as it is stored in the budget, with its ID.
    * @throws NullPointerException if the expense is null.
+   * @throws ArithmeticException if the total expenses would be too large.
    */
-  public void addExpense(Expense expense) throws NullPointerException {
+  public Expense addExpense(Expense expense) throws NullPointerException, ArithmeticException {
     validateExpense(expense);
-    expenses.add(expense);
+    long total = Math.addExact(totalExpenses, expense.getAmountInMinorUnits());
+    int id = claimTransactionId(expense.getId());
+    expenses.add(expense, id);
+    totalExpenses = total;
+    rollups.add(expense.getDate().getDateTime().toLocalDate(), expense.getAmountInMinorUnits(),
+            false);
+    return new Expense(expense.getDescription(), expense.getMoneyAmount(), expense.getDate(), id);
   }
 
   /**
-   * The method removes the given expense from this list of expenses.
+   * The method removes the given expense from this list of expenses. The expense with
+   * the same ID is removed in constant time. An expense without the ID of an equal
+   * expense in the budget removes the first expense that is equal to it.
    *
    * @param expense the expense to be removed.
    * @return true if an expense found and removed, false otherwise.
@@ -154,11 +560,107 @@ public class Budget implements Serializable {
    */
   public boolean removeExpense(Expense expense) throws NullPointerException {
     validateExpense(expense);
-    return expenses.remove(expense);
+    int slot = findSlot(expenses, expense);
+    if (slot < 0) {
+      return false;
+    }
+    removeExpenseAt(slot);
+    return true;
+  }
+
+  /**
+   * The method finds the expense that {@link #removeExpense(Expense)} would remove.
+   *
+   * @param expense the expense to be found.
+   * @return the expense as it is stored in the budget, with its ID, or null if there is none.
+   * @throws NullPointerException if the expense is null.
+   */
+  public Expense findExpense(Expense expense) throws NullPointerException {
+    validateExpense(expense);
+    int slot = findSlot(expenses, expense);
+    return slot < 0 ? null : expenses.getAt(slot);
+  }
+
+  /**
+   * The method removes the income or expense with the given ID, in constant time.
+   *
+   * @param id the ID of the transaction in the budget.
+   * @return true if a transaction was removed, false otherwise.
+   */
+  public boolean removeTransaction(int id) {
+    int slot = incomes.slotOf(id);
+    if (slot >= 0) {
+      removeIncomeAt(slot);
+      return true;
+    }
+    slot = expenses.slotOf(id);
+    if (slot >= 0) {
+      removeExpenseAt(slot);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * The method finds the slot of the transaction with the same ID as the given
+   * transaction, or else of the first transaction equal to it.
+   *
+   * @param columns the columns of the transactions.
+   * @param transaction the transaction to be found.
+   * @return the slot of the transaction, or -1 if there is none.
+   */
+  private static int findSlot(TransactionColumns<?> columns, Transaction transaction) {
+    int slot = columns.slotOf(transaction.getId());
+    return slot >= 0 && columns.matches(slot, transaction) ? slot : columns.slotOf(transaction);
+  }
+
+  /**
+   * The method removes the income in the given slot, and updates the total and sums.
+   *
+   * @param slot the slot of the income.
+   */
+  private void removeIncomeAt(int slot) {
+    long amount = incomes.amountAt(slot);
+    rollups.remove(incomes.dateAt(slot).toLocalDate(), amount, true);
+    incomes.removeAt(slot);
+    totalIncome -= amount;
+  }
+
+  /**
+   * The method removes the expense in the given slot, and updates the total and sums.
+   *
+   * @param slot the slot of the expense.
+   */
+  private void removeExpenseAt(int slot) {
+    long amount = expenses.amountAt(slot);
+    rollups.remove(expenses.dateAt(slot).toLocalDate(), amount, false);
+    expenses.removeAt(slot);
+    totalExpenses -= amount;
+  }
+
+  /**
+   * The method claims an ID for a transaction that is added. The requested ID is used
+   * if it is not used by another transaction in the budget, and the next unused ID
+   * otherwise.
+   *
+   * @param requested the ID of the added transaction, or 0 if it has none.
+   * @return the ID of the transaction in the budget.
+   * @throws IllegalStateException if the budget has run out of IDs.
+   */
+  private int claimTransactionId(int requested) throws IllegalStateException {
+    if (requested > 0 && incomes.slotOf(requested) < 0 && expenses.slotOf(requested) < 0) {
+      nextTransactionId = Math.max(nextTransactionId, requested + 1);
+      return requested;
+    }
+    if (nextTransactionId == Integer.MAX_VALUE) {
+      throw new IllegalStateException("The budget has run out of transaction IDs.");
+    }
+    return nextTransactionId++;
   }
 
   /**
-   * The method adds a financial goal to the list of financial goals.
+   * The method adds a financial goal to the list of financial goals,
+   * after any goals with the same or a lower minimum value.
    *
    * @param  financialGoal the financial goal to be added.
    * @throws NullPointerException if the financial goal is null.
@@ -167,33 +669,116 @@ public class Budget implements Serializable {
     if (financialGoal == null) {
       throw new NullPointerException("Goal cannot be null.");
     }
-    financialGoals.add(financialGoal);
+    financialGoals.add(goalsAtMost(financialGoal.getMinimumValueInMinorUnits()), financialGoal);
   }
 
   /**
-   * The method removes a financial goal from the list of financial goals.
+   * The method removes the financial goals with the given value from the list of financial
+   * goals. The value is rounded to the nearest minor unit before the goals are compared.
    *
    * @param goalValue the value of the financial goal.
    * @return true if the goal was removed, and false otherwise.
    */
   public boolean removeGoal(double goalValue) throws NullPointerException {
-    return financialGoals.removeIf(financialGoal -> financialGoal
-            .getMinimumMoneyValue() == goalValue);
+    long goalValueInMinorUnits = Money.toMinorUnits(goalValue);
+    int end = goalsAtMost(goalValueInMinorUnits);
+    int start = goalsAtMost(goalValueInMinorUnits - 1);
+    financialGoals.subList(start, end).clear();
+    return end > start;
+  }
+
+  /**
+   * The method counts the goals with a minimum value at or below the given value,
+   * with a binary search in the goals ordered by their minimum value.
+   *
+   * @param valueInMinorUnits the value in minor units.
+   * @return the number of goals at or below the value, which is also the index of
+   *         the first goal above it.
+   */
+  private int goalsAtMost(long valueInMinorUnits) {
+    int low = 0;
+    int high = financialGoals.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (financialGoals.get(middle).getMinimumValueInMinorUnits() <= valueInMinorUnits) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
   }
 
   /**
-   * The method calculates the balance of the budget.
+   * The method serializes the budget, with the incomes and expenses written
+   * as lists of transactions.
+   *
+   * @param output the stream the budget is written to.
+   * @throws IOException if an I/O error occurs.
+   */
+  private void writeObject(ObjectOutputStream output) throws IOException {
+    ObjectOutputStream.PutField fields = output.putFields();
+    fields.put("budgetId", budgetId);
+    fields.put("date", date);
+    fields.put("incomes", new ArrayList<>(getIncomes()));
+    fields.put("expenses", new ArrayList<>(getExpenses()));
+    fields.put("financialGoals", financialGoals);
+    output.writeFields();
+  }
+
+  /**
+   * The method restores the budget when it is deserialized, storing the incomes
+   * and expenses in columns and calculating the totals, as they are not serialized.
+   * The balance stored by earlier versions is ignored, and the goals, which earlier
+   * versions kept in the order they were added, are ordered by their minimum value.
+   *
+   * @param input the stream the budget is read from.
+   * @throws IOException if an I/O error occurs.
+   * @throws ClassNotFoundException if the class of a serialized object cannot be found.
    */
-  private void calculateBalance() {
-    double totalIncome = 0;
-    double totalExpenses = 0;
-    for (Income income : incomes) {
-      totalIncome += income.getAmount();
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = input.readFields();
+    budgetId = (String) fields.get("budgetId", null);
+    date = (DateTimeUtil) fields.get("date", null);
+    financialGoals = new ArrayList<>((List<FinancialGoal>) fields.get("financialGoals", null));
+    financialGoals.sort(Comparator.comparingLong(FinancialGoal::getMinimumValueInMinorUnits));
+    createColumns();
+    for (Income income : (List<Income>) fields.get("incomes", null)) {
+      addIncome(income);
     }
-    for (Expense expense : expenses) {
-      totalExpenses += expense.getAmount();
+    for (Expense expense : (List<Expense>) fields.get("expenses", null)) {
+      addExpense(expense);
+    }
+  }
+
+  /**
+   * The method validates the given date.
+   *
+   * @param date the date to be validated.
+   * @return the date and time of the date.
+   * @throws NullPointerException if the date is null.
+   */
+  private static LocalDateTime validateDate(DateTimeUtil date) throws NullPointerException {
+    if (date == null) {
+      throw new NullPointerException("Date cannot be null.");
+    }
+    return date.getDateTime();
+  }
+
+  /**
+   * The method retrieves the start of a month.
+   *
+   * @param year the year.
+   * @param month the month, from 1 to 12.
+   * @return the start of the month.
+   * @throws IllegalArgumentException if the month is invalid.
+   */
+  private static LocalDateTime startOfMonth(int year, int month) throws IllegalArgumentException {
+    if (month < 1 || month > 12) {
+      throw new IllegalArgumentException("Month must be between 1 and 12.");
     }
-    this.balance = totalIncome - totalExpenses;
+    return LocalDateTime.of(year, month, 1, 0, 0);
   }
 
   /**
@@ -221,7 +806,8 @@ public class Budget implements Serializable {
   }
 
   /**
-   * The method checks for equality between objects.
+   * The method checks for equality between objects. The balance is not
+   * compared, as it follows from the incomes and expenses.
    *
    * @param o The object that this object will be compared to.
    * @return true if the objects are equal, false if they are not.
@@ -235,8 +821,7 @@ public class Budget implements Serializable {
       return false;
     }
     Budget budget = (Budget) o;
-    return Double.compare(budget.getBalance(), getBalance()) == 0
-            && Objects.equals(getBudgetId(), budget.getBudgetId())
+    return Objects.equals(getBudgetId(), budget.getBudgetId())
             && Objects.equals(getDate(), budget.getDate())
             && Objects.equals(getIncomes(), budget.getIncomes())
             && Objects.equals(getExpenses(), budget.getExpenses())
@@ -250,7 +835,7 @@ public class Budget implements Serializable {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(getBudgetId(), getDate(), getBalance(),
-            getIncomes(), getExpenses(), getFinancialGoals());
+    return Objects.hash(getBudgetId(), getDate(), getIncomes(), getExpenses(),
+            getFinancialGoals());
   }
 }
@@ -0,0 +1,110 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The class represents the progress of a budget towards its financial goals,
+ * for one balance of the budget. The goals are ordered by their minimum value,
+ * so the completed goals are the ones before the first goal above the balance.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public final class GoalProgress {
+
+  private final List<FinancialGoal> goals;
+  private final int completedCount;
+  private final long balanceInMinorUnits;
+
+  /**
+   * Constructor to create an object of the type GoalProgress.
+   *
+   * @param goals the goals, ordered by their minimum value.
+   * @param completedCount the number of goals with a minimum value at or below the balance.
+   * @param balanceInMinorUnits the balance the goals were evaluated with, in minor units.
+   * @throws NullPointerException if the goals are null.
+   * @throws IndexOutOfBoundsException if the number of completed goals is outside the goals.
+   */
+  GoalProgress(List<FinancialGoal> goals, int completedCount, long balanceInMinorUnits)
+          throws NullPointerException, IndexOutOfBoundsException {
+    this.goals = List.copyOf(Objects.requireNonNull(goals, "Goals cannot be null."));
+    this.completedCount = Objects.checkIndex(completedCount, this.goals.size() + 1);
+    this.balanceInMinorUnits = balanceInMinorUnits;
+  }
+
+  /**
+   * The method retrieves the balance the goals were evaluated with.
+   *
+   * @return the balance.
+   */
+  public Money getBalance() {
+    return Money.ofMinorUnits(balanceInMinorUnits);
+  }
+
+  /**
+   * The method retrieves the completed goals, ordered by their minimum value.
+   *
+   * @return the completed goals.
+   */
+  public List<FinancialGoal> getCompletedGoals() {
+    return goals.subList(0, completedCount);
+  }
+
+  /**
+   * The method retrieves the goals that are not completed, ordered by their minimum value.
+   *
+   * @return the pending goals.
+   */
+  public List<FinancialGoal> getPendingGoals() {
+    return goals.subList(completedCount, goals.size());
+  }
+
+  /**
+   * The method retrieves the pending goal with the lowest minimum value.
+   *
+   * @return the next goal, or null if every goal is completed.
+   */
+  public FinancialGoal getNextGoal() {
+    return completedCount < goals.size() ? goals.get(completedCount) : null;
+  }
+
+  /**
+   * The method retrieves the amount the balance must increase by to complete the next goal.
+   *
+   * @return the amount left to the next goal, or null if every goal is completed.
+   */
+  public Money getAmountToNextGoal() {
+    FinancialGoal next = getNextGoal();
+    return next == null ? null
+            : Money.ofMinorUnits(next.getMinimumValueInMinorUnits() - balanceInMinorUnits);
+  }
+
+  /**
+   * The method checks if a goal is completed with the balance of the progress.
+   *
+   * @param goal the goal to be checked.
+   * @return true if the goal is completed, false otherwise.
+   * @throws NullPointerException if the goal is null.
+   */
+  public boolean isCompleted(FinancialGoal goal) throws NullPointerException {
+    Objects.requireNonNull(goal, "Goal cannot be null.");
+    return goal.getMinimumValueInMinorUnits() <= balanceInMinorUnits;
+  }
+
+  /**
+   * The toString collects all the information about the progress,
+   * and return a textual representation.
+   *
+   * @return information about the progress.
+   */
+  @Override
+  public String toString() {
+    FinancialGoal next = getNextGoal();
+    return "GoalProgress: Balance = " + getBalance() + ", Completed = " + completedCount
+            + " of " + goals.size() + ", Next goal = "
+            + (next == null ? "none" : next.getMinimumMoney());
+  }
+}
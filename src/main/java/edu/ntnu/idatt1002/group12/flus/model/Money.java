@@ -0,0 +1,216 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * The class represents an exact amount of money, stored as a whole number of minor
+ * units, such as øre, so adding and subtracting amounts never gives rounding errors.
+ *
+ * <p>Amounts that are summed in bulk, such as the totals of a budget, are kept as
+ * plain minor units with {@link #toMinorUnits(double)} and {@link #getMinorUnits()},
+ * so no objects are created while summing.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public final class Money implements Serializable, Comparable<Money> {
+
+  private static final long serialVersionUID = 1L;
+  private static final int MINOR_UNITS_PER_UNIT = 100;
+  public static final Money ZERO = new Money(0);
+  private final long minorUnits;
+
+  /**
+   * Constructor to create an object of the type Money.
+   *
+   * @param minorUnits the amount in minor units.
+   */
+  private Money(long minorUnits) {
+    this.minorUnits = minorUnits;
+  }
+
+  /**
+   * The method creates an amount from a number of minor units.
+   *
+   * @param minorUnits the amount in minor units.
+   * @return the amount.
+   */
+  public static Money ofMinorUnits(long minorUnits) {
+    return minorUnits == 0 ? ZERO : new Money(minorUnits);
+  }
+
+  /**
+   * The method creates an amount from a decimal number, rounded to the nearest minor unit.
+   *
+   * @param amount the amount.
+   * @return the amount.
+   * @throws IllegalArgumentException if the amount is not a finite number, or is too large.
+   */
+  public static Money of(double amount) throws IllegalArgumentException {
+    return ofMinorUnits(toMinorUnits(amount));
+  }
+
+  /**
+   * The method parses an amount written as a decimal number with at most two decimals,
+   * such as 1234.5. The text is parsed without going through a double, so the amount
+   * is exact, and an amount with more decimals is rejected instead of rounded.
+   *
+   * @param amount the amount as text, with a point as the decimal separator.
+   * @return the amount.
+   * @throws IllegalArgumentException if the text is not a number, has more than two
+   *                                  decimals, or is too large.
+   * @throws NullPointerException if the text is null.
+   */
+  public static Money parse(String amount) throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(amount, "Amount cannot be null.");
+    BigDecimal minorUnits;
+    try {
+      minorUnits = new BigDecimal(amount.trim()).multiply(BigDecimal.valueOf(MINOR_UNITS_PER_UNIT));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The amount " + amount + " is not a number.", e);
+    }
+    if (minorUnits.stripTrailingZeros().scale() > 0) {
+      throw new IllegalArgumentException("The amount " + amount
+              + " has more than two decimals.");
+    }
+    try {
+      return ofMinorUnits(minorUnits.longValueExact());
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("The amount " + amount + " is too large.", e);
+    }
+  }
+
+  /**
+   * The method converts a decimal number to minor units, rounded to the nearest minor unit,
+   * with halves rounded away from zero. This is used to read amounts that were stored
+   * as decimal numbers.
+   *
+   * @param amount the amount.
+   * @return the amount in minor units.
+   * @throws IllegalArgumentException if the amount is not a finite number, or is too large.
+   */
+  public static long toMinorUnits(double amount) throws IllegalArgumentException {
+    if (!Double.isFinite(amount)) {
+      throw new IllegalArgumentException("The amount must be a finite number.");
+    }
+    double scaled = Math.abs(amount * MINOR_UNITS_PER_UNIT);
+    double minorUnits = Math.copySign(Math.floor(scaled + 0.5), amount);
+    if (Math.abs(minorUnits) >= Long.MAX_VALUE) {
+      throw new IllegalArgumentException("The amount " + amount + " is too large.");
+    }
+    return (long) minorUnits;
+  }
+
+  /**
+   * The method converts minor units to a decimal number.
+   *
+   * @param minorUnits the amount in minor units.
+   * @return the amount as a decimal number.
+   */
+  public static double toDouble(long minorUnits) {
+    return (double) minorUnits / MINOR_UNITS_PER_UNIT;
+  }
+
+  /**
+   * The method retrieves the amount in minor units.
+   *
+   * @return the amount in minor units.
+   */
+  public long getMinorUnits() {
+    return minorUnits;
+  }
+
+  /**
+   * The method retrieves the amount as a decimal number.
+   *
+   * @return the amount as a decimal number.
+   */
+  public double toDouble() {
+    return toDouble(minorUnits);
+  }
+
+  /**
+   * The method adds an amount to this amount.
+   *
+   * @param other the amount to be added.
+   * @return the sum of the amounts.
+   * @throws ArithmeticException if the sum is too large.
+   */
+  public Money plus(Money other) throws ArithmeticException {
+    return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+  }
+
+  /**
+   * The method subtracts an amount from this amount.
+   *
+   * @param other the amount to be subtracted.
+   * @return the difference between the amounts.
+   * @throws ArithmeticException if the difference is too large.
+   */
+  public Money minus(Money other) throws ArithmeticException {
+    return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+  }
+
+  /**
+   * The method checks if the amount is greater than zero.
+   *
+   * @return true if the amount is greater than zero, false otherwise.
+   */
+  public boolean isPositive() {
+    return minorUnits > 0;
+  }
+
+  /**
+   * The method compares this amount to another amount.
+   *
+   * @param other the amount to compare to.
+   * @return a negative number, zero or a positive number if this amount is less than,
+   *         equal to or greater than the other amount.
+   */
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(minorUnits, other.minorUnits);
+  }
+
+  /**
+   * The method checks for equality between objects.
+   *
+   * @param o The object that this object will be compared to.
+   * @return true if the objects are equal, false if they are not.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return minorUnits == ((Money) o).minorUnits;
+  }
+
+  /**
+   * Creates a hashcode for the object.
+   *
+   * @return Hashcode for the object.
+   */
+  @Override
+  public int hashCode() {
+    return Long.hashCode(minorUnits);
+  }
+
+  /**
+   * The method returns the amount with two decimals, such as 1234.50.
+   *
+   * @return the amount as text.
+   */
+  @Override
+  public String toString() {
+    long units = Math.abs(minorUnits / MINOR_UNITS_PER_UNIT);
+    long cents = Math.abs(minorUnits % MINOR_UNITS_PER_UNIT);
+    return (minorUnits < 0 ? "-" : "") + units + (cents < 10 ? ".0" : ".") + cents;
+  }
+}
@@ -0,0 +1,323 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.IntToLongFunction;
+import org.mindrot.jbcrypt.BCrypt;
+
+/**
+ * The class decides how passwords are hashed. A password is hashed with BCrypt at
+ * the cost of the policy, where every step of the cost doubles the time it takes to
+ * hash or check the password. The cost is written in every hash BCrypt makes, so
+ * the cost of a stored hash is read from the hash itself.
+ *
+ * <p>The cost may be calibrated when the application starts, by timing hashes on
+ * the machine and choosing the highest cost whose hashes are checked within a
+ * target time. The hashing is warmed up before it is timed, and the fastest of a few
+ * hashes is timed at each cost, so that a slow first hash does not lower the cost.
+ * A stored hash made with another cost than the current policy is
+ * hashed again the next time its user logs in.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public final class PasswordPolicy {
+
+  public static final int MIN_COST = 4;
+  public static final int MAX_COST = 30;
+  public static final int DEFAULT_COST = 10;
+  private static final String BENCHMARK_PASSWORD = "Benchmark";
+  private static final int WARM_UP_HASHES = 10;
+  private static final int CALIBRATION_SAMPLES = 3;
+  private static volatile PasswordPolicy current = new PasswordPolicy(DEFAULT_COST);
+  private final int cost;
+  private volatile String dummyHash;
+
+  /**
+   * Constructor to create an object of the type PasswordPolicy.
+   *
+   * @param cost the cost passwords are hashed with.
+   * @throws IllegalArgumentException if the cost is not from 4 to 30.
+   */
+  public PasswordPolicy(int cost) throws IllegalArgumentException {
+    this.cost = validateCost(cost);
+  }
+
+  /**
+   * The method retrieves the policy new passwords are hashed with.
+   *
+   * @return the current policy.
+   */
+  public static PasswordPolicy getCurrent() {
+    return current;
+  }
+
+  /**
+   * The method sets the policy new passwords are hashed with.
+   *
+   * @param policy the new policy.
+   * @throws NullPointerException if the policy is null.
+   */
+  public static void setCurrent(PasswordPolicy policy) throws NullPointerException {
+    current = Objects.requireNonNull(policy, "Policy cannot be null.");
+  }
+
+  /**
+   * The method retrieves the cost passwords are hashed with.
+   *
+   * @return the cost.
+   */
+  public int getCost() {
+    return cost;
+  }
+
+  /**
+   * The method hashes a password with the cost of the policy.
+   *
+   * @param password the password to be hashed.
+   * @return the hashed password.
+   */
+  public String hash(String password) {
+    return BCrypt.hashpw(password, BCrypt.gensalt(cost));
+  }
+
+  /**
+   * The method checks if a password matches a stored hash.
+   *
+   * @param password the password to be checked.
+   * @param hash the stored hash.
+   * @return true if the password matches the hash.
+   */
+  public static boolean matches(String password, String hash) {
+    return BCrypt.checkpw(password, hash);
+  }
+
+  /**
+   * The method stores a new hash of a password in a user, after the password was checked
+   * against the stored hash when the user logged in. The new hash is only stored if the
+   * stored hash has not changed since it was checked. The new hash should be made before
+   * the user is locked, so that only the comparison is done while holding the lock.
+   *
+   * @param user the user that logged in.
+   * @param verifiedHash the stored hash the password was checked against.
+   * @param newHash the new hash of the same password.
+   * @return true if the new hash was stored.
+   * @throws NullPointerException if the user or the new hash is null.
+   */
+  public static boolean replaceVerifiedHash(User user, String verifiedHash, String newHash)
+          throws NullPointerException {
+    Objects.requireNonNull(user, "User cannot be null.");
+    Objects.requireNonNull(newHash, "Hash cannot be null.");
+    return user.replaceVerifiedHash(verifiedHash, newHash);
+  }
+
+  /**
+   * The method checks a password against a dummy hash made with the cost of the policy.
+   * The result is thrown away, so that a login to a username without an account takes
+   * as long as a login to an account.
+   *
+   * @param password the password to be checked.
+   */
+  public void checkDummy(String password) {
+    String hash = dummyHash;
+    if (hash == null) {
+      hash = hash(BENCHMARK_PASSWORD);
+      dummyHash = hash;
+    }
+    BCrypt.checkpw(password, hash);
+  }
+
+  /**
+   * The method checks if a stored hash was made with another cost than the
+   * cost of the policy, and should be hashed again.
+   *
+   * @param hash the stored hash.
+   * @return true if the hash should be hashed again.
+   */
+  public boolean needsRehash(String hash) {
+    try {
+      return costOf(hash) != cost;
+    } catch (IllegalArgumentException e) {
+      return true;
+    }
+  }
+
+  /**
+   * The method reads the cost a hash was made with.
+   *
+   * @param hash the hash made by BCrypt.
+   * @return the cost of the hash.
+   * @throws IllegalArgumentException if the hash was not made by BCrypt.
+   * @throws NullPointerException if the hash is null.
+   */
+  public static int costOf(String hash) throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(hash, "Hash cannot be null.");
+    if (hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$'
+            || hash.charAt(6) != '$' || !Character.isDigit(hash.charAt(4))
+            || !Character.isDigit(hash.charAt(5))) {
+      throw new IllegalArgumentException("The hash was not made by BCrypt.");
+    }
+    return Integer.parseInt(hash.substring(4, 6));
+  }
+
+  /**
+   * The method times how many passwords are hashed every second at each cost.
+   *
+   * @param minCost the lowest cost to time.
+   * @param maxCost the highest cost to time.
+   * @param samples the number of hashes to time at each cost.
+   * @return the number of hashes every second, by cost.
+   * @throws IllegalArgumentException if a cost is not from 4 to 30, the lowest cost is
+   *                                  higher than the highest cost, or there are no samples.
+   */
+  public static Map<Integer, Double> benchmark(int minCost, int maxCost, int samples)
+          throws IllegalArgumentException {
+    validateRange(minCost, maxCost);
+    if (samples < 1) {
+      throw new IllegalArgumentException("The number of samples must be at least 1.");
+    }
+    Map<Integer, Double> hashesPerSecond = new TreeMap<>();
+    for (int cost = minCost; cost <= maxCost; cost++) {
+      long nanos = 0;
+      for (int i = 0; i < samples; i++) {
+        nanos += timeHash(cost);
+      }
+      hashesPerSecond.put(cost, samples * 1e9 / Math.max(1, nanos));
+    }
+    return Collections.unmodifiableMap(hashesPerSecond);
+  }
+
+  /**
+   * The method chooses the highest cost whose hashes are made within the target
+   * time on this machine. The lowest cost is chosen if even it takes longer.
+   * The calibration takes a few times the target, and should not be run on the
+   * thread of the user interface.
+   *
+   * @param target the time a password should at most take to check.
+   * @param minCost the lowest cost to choose.
+   * @param maxCost the highest cost to choose.
+   * @return the policy with the chosen cost.
+   * @throws IllegalArgumentException if a cost is not from 4 to 30, the lowest cost is
+   *                                  higher than the highest cost, or the target is
+   *                                  not positive.
+   * @throws NullPointerException if the target is null.
+   */
+  public static PasswordPolicy calibrate(Duration target, int minCost, int maxCost)
+          throws IllegalArgumentException, NullPointerException {
+    validateRange(minCost, maxCost);
+    for (int i = 0; i < WARM_UP_HASHES; i++) {
+      timeHash(MIN_COST);
+    }
+    return new PasswordPolicy(calibrate(target, minCost, maxCost,
+            PasswordPolicy::timeFastestHash));
+  }
+
+  /**
+   * The method chooses the highest cost whose hashes are made within the target time,
+   * timing hashes from the lowest cost and up. As every step of the cost doubles the
+   * time, the next cost is only timed while twice the time is within the target.
+   *
+   * @param target the time a password should at most take to check.
+   * @param minCost the lowest cost to choose.
+   * @param maxCost the highest cost to choose.
+   * @param nanosPerHash times a hash at a cost, in nanoseconds.
+   * @return the chosen cost.
+   * @throws IllegalArgumentException if a cost is not from 4 to 30, the lowest cost is
+   *                                  higher than the highest cost, or the target is
+   *                                  not positive.
+   * @throws NullPointerException if the target is null.
+   */
+  static int calibrate(Duration target, int minCost, int maxCost, IntToLongFunction nanosPerHash)
+          throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(target, "Target cannot be null.");
+    if (target.isNegative() || target.isZero()) {
+      throw new IllegalArgumentException("The target must be positive.");
+    }
+    validateRange(minCost, maxCost);
+    long targetNanos = target.toNanos();
+    int cost = minCost;
+    long nanos = nanosPerHash.applyAsLong(cost);
+    while (cost < maxCost && nanos * 2 <= targetNanos) {
+      long next = nanosPerHash.applyAsLong(cost + 1);
+      if (next > targetNanos) {
+        break;
+      }
+      cost++;
+      nanos = next;
+    }
+    return cost;
+  }
+
+  /**
+   * The method times a few hashes at a cost, and keeps the fastest. The slower hashes
+   * were held up by other work on the machine, and not by the cost.
+   *
+   * @param cost the cost.
+   * @return the time the fastest hash took, in nanoseconds.
+   */
+  private static long timeFastestHash(int cost) {
+    long fastest = Long.MAX_VALUE;
+    for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+      fastest = Math.min(fastest, timeHash(cost));
+    }
+    return fastest;
+  }
+
+  /**
+   * The method times one hash at a cost.
+   *
+   * @param cost the cost.
+   * @return the time the hash took, in nanoseconds.
+   */
+  private static long timeHash(int cost) {
+    String salt = BCrypt.gensalt(cost);
+    long start = System.nanoTime();
+    BCrypt.hashpw(BENCHMARK_PASSWORD, salt);
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * The method validates a range of costs.
+   *
+   * @param minCost the lowest cost.
+   * @param maxCost the highest cost.
+   * @throws IllegalArgumentException if a cost is not from 4 to 30, or the lowest cost
+   *                                  is higher than the highest cost.
+   */
+  private static void validateRange(int minCost, int maxCost) throws IllegalArgumentException {
+    validateCost(minCost);
+    validateCost(maxCost);
+    if (minCost > maxCost) {
+      throw new IllegalArgumentException("The lowest cost cannot be higher than the highest.");
+    }
+  }
+
+  /**
+   * The method validates a cost.
+   *
+   * @param cost the cost.
+   * @return the cost.
+   * @throws IllegalArgumentException if the cost is not from 4 to 30.
+   */
+  private static int validateCost(int cost) throws IllegalArgumentException {
+    if (cost < MIN_COST || cost > MAX_COST) {
+      throw new IllegalArgumentException("The cost must be from " + MIN_COST + " to "
+              + MAX_COST + ".");
+    }
+    return cost;
+  }
+
+  /**
+   * The method returns a string representation of the policy.
+   *
+   * @return a string representation of the policy.
+   */
+  @Override
+  public String toString() {
+    return "PasswordPolicy{cost=" + cost + "}";
+  }
+}
@@ -0,0 +1,153 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * The class represents the sums and counts of the incomes and expenses
+ * of a budget in one period, such as a day, a week or a month.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public final class PeriodSummary {
+
+  private final SummaryPeriod period;
+  private final LocalDate start;
+  private final long incomeInMinorUnits;
+  private final int incomeCount;
+  private final long expensesInMinorUnits;
+  private final int expenseCount;
+
+  /**
+   * Constructor to create an object of the type PeriodSummary.
+   *
+   * @param period the length of the period.
+   * @param start the first day of the period.
+   * @param incomeInMinorUnits the sum of the incomes in minor units.
+   * @param incomeCount the number of incomes.
+   * @param expensesInMinorUnits the sum of the expenses in minor units.
+   * @param expenseCount the number of expenses.
+   * @throws NullPointerException if the period or the start is null.
+   */
+  PeriodSummary(SummaryPeriod period, LocalDate start, long incomeInMinorUnits,
+                int incomeCount, long expensesInMinorUnits, int expenseCount)
+          throws NullPointerException {
+    this.period = Objects.requireNonNull(period, "Period cannot be null.");
+    this.start = Objects.requireNonNull(start, "Start cannot be null.");
+    this.incomeInMinorUnits = incomeInMinorUnits;
+    this.incomeCount = incomeCount;
+    this.expensesInMinorUnits = expensesInMinorUnits;
+    this.expenseCount = expenseCount;
+  }
+
+  /**
+   * The method retrieves the length of the period.
+   *
+   * @return the length of the period.
+   */
+  public SummaryPeriod getPeriod() {
+    return period;
+  }
+
+  /**
+   * The method retrieves the first day of the period.
+   *
+   * @return the first day.
+   */
+  public LocalDate getStart() {
+    return start;
+  }
+
+  /**
+   * The method retrieves the sum of the incomes in the period.
+   *
+   * @return the sum of the incomes.
+   */
+  public Money getIncome() {
+    return Money.ofMinorUnits(incomeInMinorUnits);
+  }
+
+  /**
+   * The method retrieves the number of incomes in the period.
+   *
+   * @return the number of incomes.
+   */
+  public int getIncomeCount() {
+    return incomeCount;
+  }
+
+  /**
+   * The method retrieves the sum of the expenses in the period.
+   *
+   * @return the sum of the expenses.
+   */
+  public Money getExpenses() {
+    return Money.ofMinorUnits(expensesInMinorUnits);
+  }
+
+  /**
+   * The method retrieves the number of expenses in the period.
+   *
+   * @return the number of expenses.
+   */
+  public int getExpenseCount() {
+    return expenseCount;
+  }
+
+  /**
+   * The method retrieves the incomes minus the expenses of the period.
+   *
+   * @return the balance of the period.
+   */
+  public Money getBalance() {
+    return Money.ofMinorUnits(incomeInMinorUnits - expensesInMinorUnits);
+  }
+
+  /**
+   * The method checks for equality between objects.
+   *
+   * @param o The object that this object will be compared to.
+   * @return true if the objects are equal, false if they are not.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PeriodSummary that = (PeriodSummary) o;
+    return period == that.period
+            && start.equals(that.start)
+            && incomeInMinorUnits == that.incomeInMinorUnits
+            && incomeCount == that.incomeCount
+            && expensesInMinorUnits == that.expensesInMinorUnits
+            && expenseCount == that.expenseCount;
+  }
+
+  /**
+   * Creates a hashcode for the object.
+   *
+   * @return Hashcode for the object.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(period, start, incomeInMinorUnits, incomeCount, expensesInMinorUnits,
+            expenseCount);
+  }
+
+  /**
+   * The toString collects all the information about the summary,
+   * and return a textual representation.
+   *
+   * @return information about the summary.
+   */
+  @Override
+  public String toString() {
+    return "PeriodSummary: " + period + " from " + start + ", Income = " + getIncome()
+            + " (" + incomeCount + "), Expenses = " + getExpenses() + " (" + expenseCount + ")";
+  }
+}
@@ -0,0 +1,48 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The enum represents the length of the periods a budget is summarized by.
+ * Weeks start on Monday.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public enum SummaryPeriod {
+  DAY,
+  WEEK,
+  MONTH;
+
+  /**
+   * The method retrieves the first day of the period that contains the given date.
+   *
+   * @param date the date.
+   * @return the first day of the period.
+   */
+  public LocalDate startOf(LocalDate date) {
+    return switch (this) {
+      case DAY -> date;
+      case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      case MONTH -> date.withDayOfMonth(1);
+    };
+  }
+
+  /**
+   * The method retrieves the first day of the period after the period that
+   * starts on the given date.
+   *
+   * @param start the first day of a period.
+   * @return the first day of the next period.
+   */
+  public LocalDate next(LocalDate start) {
+    return switch (this) {
+      case DAY -> start.plusDays(1);
+      case WEEK -> start.plusWeeks(1);
+      case MONTH -> start.plusMonths(1);
+    };
+  }
+}
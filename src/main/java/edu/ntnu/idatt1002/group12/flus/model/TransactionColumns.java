@@ -0,0 +1,629 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import edu.ntnu.idatt1002.group12.flus.utils.Tokenizer;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The class stores the transactions of one type in a budget as parallel arrays of
+ * primitives, instead of as one object per transaction. Each transaction takes the
+ * id of its description in a string pool, its amount in minor units, its date as
+ * epoch seconds and nanoseconds, and its ID in the budget, which is 28 bytes per
+ * transaction.
+ *
+ * <p>The transactions are read through a list view, which creates a short-lived
+ * transaction object for an element when it is read, and does not keep it.</p>
+ *
+ * <p>An index of the slots sorted by date is kept up to date as transactions
+ * are added and removed, so the transactions in a range of dates are found by
+ * binary search in O(log n + k) time. Transactions with the same date are kept in
+ * the order they were added. Adding transactions in date order costs no more
+ * than adding them at the end.</p>
+ *
+ * <p>The slot of a transaction is found from its ID through an array indexed by ID.
+ * A removed transaction only marks its slot as free, so removing takes constant time.
+ * The free slots are closed, keeping the order of the transactions, when half of the
+ * slots are free or when the columns are full. Reading never moves the transactions:
+ * while there are free slots, a transaction is read by its position through a map from
+ * positions to slots, made on the first such read and thrown away on the next change.
+ * The map is made in a new array, so threads reading at the same time do not interfere.</p>
+ *
+ * @param <T> the type of the transactions.
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+final class TransactionColumns<T extends Transaction> {
+
+  private static final int INITIAL_CAPACITY = 8;
+  private static final int FREE = 0;
+  private final StringPool descriptions;
+  private final Factory<T> factory;
+  private final List<T> view;
+  private int[] descriptionIds;
+  private long[] amounts;
+  private long[] seconds;
+  private int[] nanos;
+  private int[] ids;
+  private int[] byDate;
+  private int[] slotsById;
+  private int slots;
+  private int free;
+  private volatile int[] liveSlots;
+
+  /**
+   * The interface represents a way to create a transaction from its values.
+   *
+   * @param <T> the type of the transactions.
+   */
+  @FunctionalInterface
+  interface Factory<T extends Transaction> {
+    /**
+     * The method creates a transaction.
+     *
+     * @param description the description of the transaction.
+     * @param amount the amount of the transaction.
+     * @param date the date of the transaction.
+     * @param id the ID of the transaction in its budget.
+     * @return the transaction.
+     */
+    T create(String description, Money amount, DateTimeUtil date, int id);
+  }
+
+  /**
+   * The class gives each distinct description an id, so every transaction with
+   * the same description refers to a single string. The pool is shared by the
+   * incomes and expenses of a budget.
+   *
+   * <p>The pool also keeps an inverted index from each token of the strings to
+   * the ids of the strings that contain it.</p>
+   */
+  static final class StringPool {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, BitSet> idsByToken = new HashMap<>();
+
+    /**
+     * The method retrieves the id of a string, and adds the string if it is new.
+     *
+     * @param string the string.
+     * @return the id of the string.
+     */
+    int intern(String string) {
+      Integer id = ids.get(string);
+      if (id == null) {
+        id = strings.size();
+        ids.put(string, id);
+        strings.add(string);
+        for (String token : Tokenizer.tokenize(string)) {
+          idsByToken.computeIfAbsent(token, key -> new BitSet()).set(id);
+        }
+      }
+      return id;
+    }
+
+    /**
+     * The method retrieves the ids of the strings that contain a token.
+     *
+     * @param token the token, in lower case.
+     * @return the ids of the strings, which must not be changed.
+     */
+    BitSet idsWithToken(String token) {
+      BitSet found = idsByToken.get(token);
+      return found == null ? new BitSet() : found;
+    }
+
+    /**
+     * The method retrieves the id of a string without adding it.
+     *
+     * @param string the string.
+     * @return the id of the string, or -1 if it is not in the pool.
+     */
+    int idOf(String string) {
+      Integer id = ids.get(string);
+      return id == null ? -1 : id;
+    }
+
+    /**
+     * The method retrieves the string with the given id.
+     *
+     * @param id the id of the string.
+     * @return the string.
+     */
+    String get(int id) {
+      return strings.get(id);
+    }
+
+    /**
+     * The method retrieves the number of strings in the pool.
+     *
+     * @return the number of strings.
+     */
+    int size() {
+      return strings.size();
+    }
+  }
+
+  /**
+   * Constructor to create an object of the type TransactionColumns.
+   *
+   * @param descriptions the string pool of the descriptions.
+   * @param factory the way to create the transactions when they are read.
+   * @throws NullPointerException if the string pool or the factory is null.
+   */
+  TransactionColumns(StringPool descriptions, Factory<T> factory) throws NullPointerException {
+    this.descriptions = Objects.requireNonNull(descriptions, "The string pool cannot be null.");
+    this.factory = Objects.requireNonNull(factory, "The factory cannot be null.");
+    this.descriptionIds = new int[0];
+    this.amounts = new long[0];
+    this.seconds = new long[0];
+    this.nanos = new int[0];
+    this.ids = new int[0];
+    this.byDate = new int[0];
+    this.slotsById = new int[0];
+    this.view = new AbstractList<>() {
+      @Override
+      public T get(int index) {
+        return TransactionColumns.this.get(index);
+      }
+
+      @Override
+      public int size() {
+        return TransactionColumns.this.size();
+      }
+    };
+  }
+
+  /**
+   * The method retrieves the number of transactions.
+   *
+   * @return the number of transactions.
+   */
+  int size() {
+    return slots - free;
+  }
+
+  /**
+   * The method adds a transaction at the end of the columns.
+   *
+   * @param transaction the transaction to be added.
+   * @param id the ID of the transaction in the budget.
+   * @throws IllegalArgumentException if the ID is not positive or is already used.
+   */
+  void add(T transaction, int id) throws IllegalArgumentException {
+    if (id <= FREE || slotOf(id) >= 0) {
+      throw new IllegalArgumentException("The ID " + id + " cannot be used.");
+    }
+    if (slots == amounts.length) {
+      if (free > slots / 4) {
+        compact();
+      } else {
+        grow();
+      }
+    }
+    if (id >= slotsById.length) {
+      int length = slotsById.length;
+      slotsById = Arrays.copyOf(slotsById, Math.max(id + 1, length + (length >> 1)));
+      Arrays.fill(slotsById, length, slotsById.length, -1);
+    }
+    LocalDateTime date = transaction.getDate().getDateTime();
+    long second = date.toEpochSecond(ZoneOffset.UTC);
+    int nano = date.getNano();
+    int position = firstAfter(second, nano);
+    System.arraycopy(byDate, position, byDate, position + 1, slots - position);
+    byDate[position] = slots;
+    descriptionIds[slots] = descriptions.intern(transaction.getDescription());
+    amounts[slots] = transaction.getAmountInMinorUnits();
+    seconds[slots] = second;
+    nanos[slots] = nano;
+    ids[slots] = id;
+    slotsById[id] = slots;
+    slots++;
+    liveSlots = null;
+  }
+
+  /**
+   * The method removes the first transaction with the same description and amount
+   * as the given transaction, which is the transaction equal to it.
+   *
+   * @param transaction the transaction to be removed.
+   * @return true if a transaction was removed, false otherwise.
+   */
+  boolean remove(Transaction transaction) {
+    int slot = slotOf(transaction);
+    if (slot < 0) {
+      return false;
+    }
+    removeAt(slot);
+    return true;
+  }
+
+  /**
+   * The method finds the slot of the transaction with the given ID.
+   *
+   * @param id the ID of the transaction.
+   * @return the slot of the transaction, or -1 if there is none.
+   */
+  int slotOf(int id) {
+    return id > FREE && id < slotsById.length ? slotsById[id] : -1;
+  }
+
+  /**
+   * The method finds the slot of the first transaction with the same description
+   * and amount as the given transaction, which is the transaction equal to it.
+   *
+   * @param transaction the transaction to be found.
+   * @return the slot of the transaction, or -1 if there is none.
+   */
+  int slotOf(Transaction transaction) {
+    int descriptionId = descriptions.idOf(transaction.getDescription());
+    long amount = transaction.getAmountInMinorUnits();
+    if (descriptionId < 0) {
+      return -1;
+    }
+    for (int slot = 0; slot < slots; slot++) {
+      if (ids[slot] != FREE && descriptionIds[slot] == descriptionId && amounts[slot] == amount) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The method checks if the transaction in a slot has the same description and
+   * amount as the given transaction.
+   *
+   * @param slot the slot of the transaction.
+   * @param transaction the transaction to compare with.
+   * @return true if the transactions are equal, false otherwise.
+   */
+  boolean matches(int slot, Transaction transaction) {
+    return ids[slot] != FREE && amounts[slot] == transaction.getAmountInMinorUnits()
+            && descriptions.get(descriptionIds[slot]).equals(transaction.getDescription());
+  }
+
+  /**
+   * The method retrieves the stored date of the transaction in the given slot.
+   *
+   * @param slot the slot of the transaction.
+   * @return the date.
+   * @throws IndexOutOfBoundsException if the slot is outside the columns.
+   */
+  LocalDateTime dateAt(int slot) throws IndexOutOfBoundsException {
+    Objects.checkIndex(slot, slots);
+    return LocalDateTime.ofEpochSecond(seconds[slot], nanos[slot], ZoneOffset.UTC);
+  }
+
+  /**
+   * The method retrieves the amount of the transaction in the given slot.
+   *
+   * @param slot the slot of the transaction.
+   * @return the amount in minor units.
+   * @throws IndexOutOfBoundsException if the slot is outside the columns.
+   */
+  long amountAt(int slot) throws IndexOutOfBoundsException {
+    Objects.checkIndex(slot, slots);
+    return amounts[slot];
+  }
+
+  /**
+   * The method creates the transaction at the given position in the list of transactions.
+   *
+   * @param index the position of the transaction.
+   * @return the transaction.
+   * @throws IndexOutOfBoundsException if the position is outside the list.
+   */
+  T get(int index) throws IndexOutOfBoundsException {
+    Objects.checkIndex(index, size());
+    return createAt(free == 0 ? index : liveSlots()[index]);
+  }
+
+  /**
+   * The method creates the transaction in the given slot.
+   *
+   * @param slot the slot of the transaction.
+   * @return the transaction.
+   * @throws IndexOutOfBoundsException if the slot is outside the columns or is free.
+   */
+  T getAt(int slot) throws IndexOutOfBoundsException {
+    Objects.checkIndex(slot, slots);
+    if (ids[slot] == FREE) {
+      throw new IndexOutOfBoundsException("The slot " + slot + " is free.");
+    }
+    return createAt(slot);
+  }
+
+  /**
+   * The method calculates the sum of the amounts of all transactions.
+   *
+   * @return the sum in minor units.
+   */
+  long sum() {
+    long sum = 0;
+    for (int slot = 0; slot < slots; slot++) {
+      sum += amounts[slot];
+    }
+    return sum;
+  }
+
+  /**
+   * The method finds the transactions from one date up to another date, ordered by date.
+   *
+   * @param from the first date, inclusive.
+   * @param to the last date, exclusive.
+   * @return the transactions in the range.
+   */
+  List<T> between(LocalDateTime from, LocalDateTime to) {
+    int start = firstAtOrAfter(from.toEpochSecond(ZoneOffset.UTC), from.getNano());
+    int end = Math.max(start, firstAtOrAfter(to.toEpochSecond(ZoneOffset.UTC), to.getNano()));
+    List<T> transactions = new ArrayList<>(end - start);
+    for (int position = start; position < end; position++) {
+      if (ids[byDate[position]] != FREE) {
+        transactions.add(createAt(byDate[position]));
+      }
+    }
+    return transactions;
+  }
+
+  /**
+   * The method finds the transactions with the given descriptions from one date up
+   * to another date, ordered by date.
+   *
+   * @param from the first date, inclusive.
+   * @param to the last date, exclusive.
+   * @param descriptionIds the ids of the descriptions.
+   * @return the transactions in the range.
+   */
+  List<T> between(LocalDateTime from, LocalDateTime to, BitSet descriptionIds) {
+    int start = firstAtOrAfter(from.toEpochSecond(ZoneOffset.UTC), from.getNano());
+    int end = firstAtOrAfter(to.toEpochSecond(ZoneOffset.UTC), to.getNano());
+    List<T> transactions = new ArrayList<>();
+    for (int position = start; position < end; position++) {
+      int slot = byDate[position];
+      if (ids[slot] != FREE && descriptionIds.get(this.descriptionIds[slot])) {
+        transactions.add(createAt(slot));
+      }
+    }
+    return transactions;
+  }
+
+  /**
+   * The method finds the transactions with a description, ordered by date.
+   *
+   * @param description the description.
+   * @return the transactions with the description.
+   */
+  List<T> withDescription(String description) {
+    int descriptionId = descriptions.idOf(description);
+    List<T> transactions = new ArrayList<>();
+    if (descriptionId < 0) {
+      return transactions;
+    }
+    for (int position = 0; position < slots; position++) {
+      int slot = byDate[position];
+      if (ids[slot] != FREE && descriptionIds[slot] == descriptionId) {
+        transactions.add(createAt(slot));
+      }
+    }
+    return transactions;
+  }
+
+  /**
+   * The method sums the amounts of the transactions from one date up to another
+   * date for each description.
+   *
+   * @param from the first date, inclusive.
+   * @param to the last date, exclusive.
+   * @return the sums in minor units, indexed by the ids of the descriptions.
+   */
+  long[] sumsByDescription(LocalDateTime from, LocalDateTime to) {
+    int start = firstAtOrAfter(from.toEpochSecond(ZoneOffset.UTC), from.getNano());
+    int end = firstAtOrAfter(to.toEpochSecond(ZoneOffset.UTC), to.getNano());
+    long[] sums = new long[descriptions.size()];
+    for (int position = start; position < end; position++) {
+      int slot = byDate[position];
+      sums[descriptionIds[slot]] += amounts[slot];
+    }
+    return sums;
+  }
+
+  /**
+   * The method finds the transactions with the latest dates, newest first.
+   *
+   * @param count the largest number of transactions to find.
+   * @return the transactions.
+   * @throws IllegalArgumentException if the count is negative.
+   */
+  List<T> latest(int count) throws IllegalArgumentException {
+    if (count < 0) {
+      throw new IllegalArgumentException("The count cannot be negative.");
+    }
+    List<T> transactions = new ArrayList<>(Math.min(count, size()));
+    for (int position = slots - 1; position >= 0 && transactions.size() < count; position--) {
+      if (ids[byDate[position]] != FREE) {
+        transactions.add(createAt(byDate[position]));
+      }
+    }
+    return transactions;
+  }
+
+  /**
+   * The method retrieves a list view of the transactions, which cannot be changed.
+   *
+   * @return the list view.
+   */
+  List<T> asList() {
+    return view;
+  }
+
+  /**
+   * The method removes the transaction in the given slot by marking the slot as free,
+   * so the other transactions keep their slots.
+   *
+   * @param slot the slot of the transaction.
+   * @throws IndexOutOfBoundsException if the slot is outside the columns or is free.
+   */
+  void removeAt(int slot) throws IndexOutOfBoundsException {
+    Objects.checkIndex(slot, slots);
+    if (ids[slot] == FREE) {
+      throw new IndexOutOfBoundsException("The slot " + slot + " is free.");
+    }
+    slotsById[ids[slot]] = -1;
+    ids[slot] = FREE;
+    amounts[slot] = 0;
+    free++;
+    liveSlots = null;
+    if (free > slots / 2) {
+      compact();
+    }
+  }
+
+  /**
+   * The method creates the transaction in the given slot.
+   *
+   * @param slot the slot of the transaction.
+   * @return the transaction.
+   */
+  private T createAt(int slot) {
+    return factory.create(descriptions.get(descriptionIds[slot]),
+            Money.ofMinorUnits(amounts[slot]), new DateTimeUtil(dateAt(slot)), ids[slot]);
+  }
+
+  /**
+   * The method maps the positions of the transactions in the list to their slots,
+   * skipping the free slots. The map is kept until the columns are changed.
+   *
+   * @return the slots of the transactions, by position.
+   */
+  private int[] liveSlots() {
+    int[] live = liveSlots;
+    if (live == null) {
+      live = new int[size()];
+      int position = 0;
+      for (int slot = 0; slot < slots; slot++) {
+        if (ids[slot] != FREE) {
+          live[position++] = slot;
+        }
+      }
+      liveSlots = live;
+    }
+    return live;
+  }
+
+  /**
+   * The method closes the free slots by moving the later transactions back,
+   * keeping their order, and updates the date index and the slots of the IDs.
+   */
+  private void compact() {
+    int[] moved = new int[slots];
+    int used = 0;
+    for (int slot = 0; slot < slots; slot++) {
+      if (ids[slot] == FREE) {
+        moved[slot] = -1;
+        continue;
+      }
+      descriptionIds[used] = descriptionIds[slot];
+      amounts[used] = amounts[slot];
+      seconds[used] = seconds[slot];
+      nanos[used] = nanos[slot];
+      ids[used] = ids[slot];
+      slotsById[ids[used]] = used;
+      moved[slot] = used++;
+    }
+    int kept = 0;
+    for (int position = 0; position < slots; position++) {
+      int slot = moved[byDate[position]];
+      if (slot >= 0) {
+        byDate[kept++] = slot;
+      }
+    }
+    slots = used;
+    free = 0;
+    liveSlots = null;
+  }
+
+  /**
+   * The method finds the first position in the date index with a date at or after
+   * the given date.
+   *
+   * @param second the date in epoch seconds.
+   * @param nano the nanoseconds of the date.
+   * @return the position, or the number of slots if there is none.
+   */
+  private int firstAtOrAfter(long second, int nano) {
+    int low = 0;
+    int high = slots;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compareDate(byDate[middle], second, nano) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The method finds the first position in the date index with a date after
+   * the given date.
+   *
+   * @param second the date in epoch seconds.
+   * @param nano the nanoseconds of the date.
+   * @return the position, or the number of slots if there is none.
+   */
+  private int firstAfter(long second, int nano) {
+    if (slots == 0 || compareDate(byDate[slots - 1], second, nano) <= 0) {
+      return slots;
+    }
+    int low = 0;
+    int high = slots;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compareDate(byDate[middle], second, nano) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The method compares the date of a transaction to a date.
+   *
+   * @param slot the slot of the transaction.
+   * @param second the date in epoch seconds.
+   * @param nano the nanoseconds of the date.
+   * @return a negative number, zero or a positive number if the date of the
+   *         transaction is before, equal to or after the date.
+   */
+  private int compareDate(int slot, long second, int nano) {
+    int compared = Long.compare(seconds[slot], second);
+    return compared != 0 ? compared : Integer.compare(nanos[slot], nano);
+  }
+
+  /**
+   * The method increases the capacity of the columns by half.
+   */
+  private void grow() {
+    int capacity = Math.max(INITIAL_CAPACITY, amounts.length + (amounts.length >> 1));
+    descriptionIds = Arrays.copyOf(descriptionIds, capacity);
+    amounts = Arrays.copyOf(amounts, capacity);
+    seconds = Arrays.copyOf(seconds, capacity);
+    nanos = Arrays.copyOf(nanos, capacity);
+    ids = Arrays.copyOf(ids, capacity);
+    byDate = Arrays.copyOf(byDate, capacity);
+  }
+}
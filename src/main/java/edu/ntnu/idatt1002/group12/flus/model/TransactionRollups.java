@@ -0,0 +1,106 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The class keeps the sums and counts of the incomes and expenses of a budget
+ * for every day, week and month that has transactions. The sums are updated as
+ * transactions are added and removed, so summarizing a range of periods takes time
+ * in the number of periods, not in the number of transactions.
+ *
+ * <p>The sums follow from the transactions, so they are not stored, and are
+ * calculated again as the transactions are added when a budget is loaded.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+final class TransactionRollups {
+
+  private static final int INCOME = 0;
+  private static final int INCOME_COUNT = 1;
+  private static final int EXPENSES = 2;
+  private static final int EXPENSE_COUNT = 3;
+  private final Map<SummaryPeriod, NavigableMap<LocalDate, long[]>> periods;
+
+  /**
+   * Constructor to create an object of the type TransactionRollups.
+   */
+  TransactionRollups() {
+    this.periods = new EnumMap<>(SummaryPeriod.class);
+    for (SummaryPeriod period : SummaryPeriod.values()) {
+      periods.put(period, new TreeMap<>());
+    }
+  }
+
+  /**
+   * The method adds a transaction to the sums of the periods that contain its date.
+   *
+   * @param date the date of the transaction.
+   * @param amountInMinorUnits the amount of the transaction in minor units.
+   * @param income true if the transaction is an income, false if it is an expense.
+   */
+  void add(LocalDate date, long amountInMinorUnits, boolean income) {
+    for (Map.Entry<SummaryPeriod, NavigableMap<LocalDate, long[]>> entry : periods.entrySet()) {
+      long[] sums = entry.getValue().computeIfAbsent(entry.getKey().startOf(date),
+              start -> new long[4]);
+      sums[income ? INCOME : EXPENSES] += amountInMinorUnits;
+      sums[income ? INCOME_COUNT : EXPENSE_COUNT]++;
+    }
+  }
+
+  /**
+   * The method removes a transaction from the sums of the periods that contain its date.
+   * A period without transactions is removed.
+   *
+   * @param date the date of the transaction.
+   * @param amountInMinorUnits the amount of the transaction in minor units.
+   * @param income true if the transaction is an income, false if it is an expense.
+   */
+  void remove(LocalDate date, long amountInMinorUnits, boolean income) {
+    for (Map.Entry<SummaryPeriod, NavigableMap<LocalDate, long[]>> entry : periods.entrySet()) {
+      LocalDate start = entry.getKey().startOf(date);
+      long[] sums = entry.getValue().get(start);
+      if (sums == null) {
+        continue;
+      }
+      sums[income ? INCOME : EXPENSES] -= amountInMinorUnits;
+      sums[income ? INCOME_COUNT : EXPENSE_COUNT]--;
+      if (sums[INCOME_COUNT] == 0 && sums[EXPENSE_COUNT] == 0) {
+        entry.getValue().remove(start);
+      }
+    }
+  }
+
+  /**
+   * The method summarizes the periods from the period containing one date up to
+   * and including the period containing another date. Periods without transactions
+   * are left out.
+   *
+   * @param period the length of the periods.
+   * @param from a date in the first period.
+   * @param to a date in the last period.
+   * @return the summaries of the periods, ordered by date.
+   */
+  List<PeriodSummary> summaries(SummaryPeriod period, LocalDate from, LocalDate to) {
+    LocalDate first = period.startOf(from);
+    LocalDate last = period.startOf(to);
+    List<PeriodSummary> summaries = new ArrayList<>();
+    if (first.isAfter(last)) {
+      return summaries;
+    }
+    for (Map.Entry<LocalDate, long[]> entry
+            : periods.get(period).subMap(first, true, last, true).entrySet()) {
+      long[] sums = entry.getValue();
+      summaries.add(new PeriodSummary(period, entry.getKey(), sums[INCOME],
+              (int) sums[INCOME_COUNT], sums[EXPENSES], (int) sums[EXPENSE_COUNT]));
+    }
+    return summaries;
+  }
+}
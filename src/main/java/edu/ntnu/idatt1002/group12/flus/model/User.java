@@ -2,7 +2,6 @@ package edu.ntnu.idatt1002.group12.flus.model;
 
 import java.io.Serializable;
 import java.util.Objects;
-import org.mindrot.jbcrypt.BCrypt;
 
 /**
  * The class represents a user of the application.
@@ -14,6 +13,7 @@ import org.mindrot.jbcrypt.BCrypt;
  * @since April 21, 2023.
  */
 public abstract class User implements Serializable {
+  private static final long serialVersionUID = 1301822511428232427L;
   private final String username;
   private String password;
   private String email;
@@ -31,10 +31,28 @@ public abstract class User implements Serializable {
    */
   public User(String username, String password, String email, String phoneNumber)
           throws IllegalArgumentException, NullPointerException {
+    this(username, password, email, phoneNumber, false);
+  }
+
+  /**
+   * Constructor to create an object of the type user, where the password
+   * may already have been hashed. This is used when users are restored from storage.
+   *
+   * @param username the name of the user.
+   * @param password the password for the user, or the stored password hash.
+   * @param email the email of the user.
+   * @param phoneNumber the phone number of the user.
+   * @param passwordHashed true if the password is an already hashed password.
+   * @throws IllegalArgumentException if the variables do not meet the requirements.
+   * @throws NullPointerException if the variables are null.
+   */
+  protected User(String username, String password, String email, String phoneNumber,
+                 boolean passwordHashed) throws IllegalArgumentException, NullPointerException {
     if (username.isBlank()) {
       throw new IllegalArgumentException("Username cannot be blank.");
     }
-    if (password.isBlank() || password.contains(" ") || !(Character.isUpperCase(password.charAt(0)))) {
+    if (password.isBlank() || password.contains(" ")
+            || !(passwordHashed || Character.isUpperCase(password.charAt(0)))) {
       throw new IllegalArgumentException("Password cannot be blank, cannot contain spaces, "
               + "and first letter must be in uppercase.");
     }
@@ -47,7 +65,8 @@ public abstract class User implements Serializable {
               + "and must contain only numeric values.");
     }
     this.username = Objects.requireNonNull(username.trim(), "Username cannot be null");
-    this.password = hashPassword(Objects.requireNonNull(password.trim(), "Password cannot be null"));
+    this.password = passwordHashed ? password.trim()
+            : hashPassword(Objects.requireNonNull(password.trim(), "Password cannot be null"));
     this.email = Objects.requireNonNull(email.trim(), "Email cannot be null");
     this.phoneNumber = Objects.requireNonNull(phoneNumber.trim(), "Phone number cannot be  null");
   }
@@ -141,18 +160,45 @@ public abstract class User implements Serializable {
    * @return a boolean value indicating whether the password is correct.
    */
   public boolean checkPassword(String passwordToCheck) {
-    return BCrypt.checkpw(passwordToCheck, getPassword());
+    return PasswordPolicy.matches(passwordToCheck, getPassword());
+  }
+
+  /**
+   * The method checks if the stored hashed password was made with another cost than
+   * the current password policy.
+   *
+   * @return true if the password should be hashed again.
+   */
+  public boolean needsRehash() {
+    return PasswordPolicy.getCurrent().needsRehash(getPassword());
+  }
+
+  /**
+   * The method replaces the stored hashed password with a new hash of the same password,
+   * after the password was checked against the stored hash when the user logged in. The
+   * new hash is only stored if the stored hash is still the one the password was checked
+   * against, so a password changed since then is kept.
+   *
+   * @param verifiedHash the stored hash the password was checked against.
+   * @param newHash the new hash of the same password.
+   * @return true if the new hash was stored.
+   */
+  boolean replaceVerifiedHash(String verifiedHash, String newHash) {
+    if (!password.equals(verifiedHash)) {
+      return false;
+    }
+    this.password = newHash;
+    return true;
   }
 
   /**
-   * The method hashes the password.
+   * The method hashes the password with the current password policy.
    *
    * @param password the password to be hashed.
    * @return the hashed password.
    */
   public String hashPassword(String password) {
-    String salt = BCrypt.gensalt();
-    return BCrypt.hashpw(password, salt);
+    return PasswordPolicy.getCurrent().hash(password);
   }
 
   /**
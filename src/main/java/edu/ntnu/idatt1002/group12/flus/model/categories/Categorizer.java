@@ -0,0 +1,135 @@
+package edu.ntnu.idatt1002.group12.flus.model.categories;
+
+import edu.ntnu.idatt1002.group12.flus.utils.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The class puts descriptions of transactions in categories by an ordered list of
+ * rules. A description is put in the category of the first rule it matches, or in
+ * the category {@value #UNCATEGORIZED} if it matches none.
+ *
+ * <p>Many transactions share the same description, so the category of each
+ * description is remembered until the rules are changed.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class Categorizer {
+
+  /**
+   * The category of descriptions that match no rule.
+   */
+  public static final String UNCATEGORIZED = "Uncategorized";
+  private final List<CategoryRule> rules;
+  private final Map<String, String> categories;
+
+  /**
+   * Constructor to create an object of the type Categorizer, without rules.
+   */
+  public Categorizer() {
+    this.rules = new ArrayList<>();
+    this.categories = new HashMap<>();
+  }
+
+  /**
+   * The method retrieves the rules, in the order they are tried.
+   *
+   * @return list of the rules, which cannot be changed.
+   */
+  public List<CategoryRule> getRules() {
+    return Collections.unmodifiableList(rules);
+  }
+
+  /**
+   * The method retrieves the names of the categories of the rules, in the order
+   * they are first used, followed by {@value #UNCATEGORIZED}.
+   *
+   * @return list of the categories.
+   */
+  public List<String> getCategories() {
+    Set<String> names = new LinkedHashSet<>();
+    for (CategoryRule rule : rules) {
+      names.add(rule.getCategory());
+    }
+    names.add(UNCATEGORIZED);
+    return new ArrayList<>(names);
+  }
+
+  /**
+   * The method adds a rule after the existing rules.
+   *
+   * @param rule the rule to be added.
+   * @throws NullPointerException if the rule is null.
+   */
+  public void addRule(CategoryRule rule) throws NullPointerException {
+    rules.add(Objects.requireNonNull(rule, "Rule cannot be null."));
+    categories.clear();
+  }
+
+  /**
+   * The method removes every rule of a category.
+   *
+   * @param category the name of the category.
+   * @return true if a rule was removed, false otherwise.
+   */
+  public boolean removeRules(String category) {
+    boolean removed = rules.removeIf(rule -> rule.getCategory().equals(category));
+    if (removed) {
+      categories.clear();
+    }
+    return removed;
+  }
+
+  /**
+   * The method finds the category of a description.
+   *
+   * @param description the description of a transaction.
+   * @return the category of the first rule the description matches,
+   *         or {@value #UNCATEGORIZED} if it matches none.
+   * @throws NullPointerException if the description is null.
+   */
+  public String categorize(String description) throws NullPointerException {
+    String category = categories.get(description);
+    if (category == null) {
+      category = UNCATEGORIZED;
+      List<String> tokens = Tokenizer.tokenize(description);
+      for (CategoryRule rule : rules) {
+        if (rule.matches(tokens)) {
+          category = rule.getCategory();
+          break;
+        }
+      }
+      categories.put(description, category);
+    }
+    return category;
+  }
+
+  /**
+   * The method finds one token of every keyword of a category. Every description
+   * in the category contains at least one of them, so only the descriptions with
+   * these tokens have to be checked.
+   *
+   * @param category the name of the category.
+   * @return the tokens, or an empty set if the category has no rules.
+   */
+  public Set<String> getLeadingTokens(String category) {
+    Set<String> tokens = new LinkedHashSet<>();
+    for (CategoryRule rule : rules) {
+      if (rule.getCategory().equals(category)) {
+        for (List<String> keyword : rule.getKeywords()) {
+          tokens.add(keyword.get(0));
+        }
+      }
+    }
+    return tokens;
+  }
+}
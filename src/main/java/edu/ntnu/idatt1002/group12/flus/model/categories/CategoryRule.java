@@ -0,0 +1,116 @@
+package edu.ntnu.idatt1002.group12.flus.model.categories;
+
+import edu.ntnu.idatt1002.group12.flus.utils.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The class represents a rule that puts transactions in a category by the
+ * keywords of their descriptions. A description matches a keyword if it contains
+ * every token of the keyword, in any order and without regard to case, so the
+ * keyword "rema 1000" matches the description "REMA 1000 Majorstuen".
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public final class CategoryRule {
+
+  private final String category;
+  private final List<List<String>> keywords;
+
+  /**
+   * Constructor to create an object of the type CategoryRule.
+   *
+   * @param category the name of the category.
+   * @param keywords the keywords of the category.
+   * @throws IllegalArgumentException if the category is blank, there are no keywords,
+   *                                  or a keyword has no letters or digits.
+   * @throws NullPointerException if the category, the keywords or a keyword is null.
+   */
+  public CategoryRule(String category, Collection<String> keywords)
+          throws IllegalArgumentException, NullPointerException {
+    if (category.isBlank()) {
+      throw new IllegalArgumentException("Category cannot be blank.");
+    }
+    if (keywords.isEmpty()) {
+      throw new IllegalArgumentException("A rule must have at least one keyword.");
+    }
+    List<List<String>> tokenizedKeywords = new ArrayList<>(keywords.size());
+    for (String keyword : keywords) {
+      List<String> tokens = Tokenizer.tokenize(keyword);
+      if (tokens.isEmpty()) {
+        throw new IllegalArgumentException("The keyword '" + keyword
+                + "' has no letters or digits.");
+      }
+      tokenizedKeywords.add(Collections.unmodifiableList(tokens));
+    }
+    this.category = category.trim();
+    this.keywords = Collections.unmodifiableList(tokenizedKeywords);
+  }
+
+  /**
+   * The method retrieves the name of the category.
+   *
+   * @return the name of the category.
+   */
+  public String getCategory() {
+    return category;
+  }
+
+  /**
+   * The method retrieves the tokens of every keyword of the rule.
+   *
+   * @return the tokens of the keywords.
+   */
+  public List<List<String>> getKeywords() {
+    return keywords;
+  }
+
+  /**
+   * The method checks if a description with the given tokens matches the rule.
+   *
+   * @param tokens the tokens of the description.
+   * @return true if the description contains every token of a keyword, false otherwise.
+   */
+  public boolean matches(Collection<String> tokens) {
+    for (List<String> keyword : keywords) {
+      if (tokens.containsAll(keyword)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The method checks for equality between objects.
+   *
+   * @param o The object that this object will be compared to.
+   * @return true if the objects are equal, false if they are not.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    CategoryRule that = (CategoryRule) o;
+    return category.equals(that.category) && keywords.equals(that.keywords);
+  }
+
+  /**
+   * Creates a hashcode for the object.
+   *
+   * @return Hashcode for the object.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(category, keywords);
+  }
+}
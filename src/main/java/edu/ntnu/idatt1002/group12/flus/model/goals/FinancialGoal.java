@@ -1,20 +1,27 @@
 package edu.ntnu.idatt1002.group12.flus.model.goals;
 
 import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.Money;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Objects;
 
 /**
  * The class represents a goal for financial balance.
  *
+ * <p>The minimum value is stored exactly, as a whole number of minor units. Goals
+ * that were serialized with the value as a decimal number are converted when read.</p>
+ *
  * @author Henrik Nilsen and Ramtin Samavat.
  * @version 1.0
  * @since April 10, 2023
  */
 public class FinancialGoal implements Goal, Serializable{
 
-  private final double minimumMoneyValue;
+  private static final long serialVersionUID = -1532530333572145936L;
+  private long minimumValueInMinorUnits;
 
   /**
    * Constructor to create an object of the type Financial goal.
@@ -23,11 +30,23 @@ public class FinancialGoal implements Goal, Serializable{
    * @throws IllegalArgumentException if the value is less than zero.
    */
   public FinancialGoal(double minimumMoneyValue) throws IllegalArgumentException {
-    if (minimumMoneyValue < 0) {
+    this(Money.of(minimumMoneyValue));
+  }
+
+  /**
+   * Constructor to create an object of the type Financial goal with an exact minimum value.
+   *
+   * @param minimumValue the minimum money balance.
+   * @throws IllegalArgumentException if the value is less than zero.
+   * @throws NullPointerException if the value is null.
+   */
+  public FinancialGoal(Money minimumValue) throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(minimumValue, "The minimum value of the goal cannot be null.");
+    if (minimumValue.getMinorUnits() < 0) {
       throw new IllegalArgumentException("The minimum value of the goal cannot be less than zero.");
     }
 
-    this.minimumMoneyValue = minimumMoneyValue;
+    this.minimumValueInMinorUnits = minimumValue.getMinorUnits();
   }
 
   /**
@@ -36,7 +55,25 @@ public class FinancialGoal implements Goal, Serializable{
    * @return the minimum value.
    */
   public double getMinimumMoneyValue() {
-    return minimumMoneyValue;
+    return Money.toDouble(minimumValueInMinorUnits);
+  }
+
+  /**
+   * The method retrieves the exact minimum value in minor units.
+   *
+   * @return the minimum value in minor units.
+   */
+  public long getMinimumValueInMinorUnits() {
+    return minimumValueInMinorUnits;
+  }
+
+  /**
+   * The method retrieves the exact minimum value.
+   *
+   * @return the minimum value.
+   */
+  public Money getMinimumMoney() {
+    return Money.ofMinorUnits(minimumValueInMinorUnits);
   }
 
   /**
@@ -50,7 +87,22 @@ public class FinancialGoal implements Goal, Serializable{
     if (budget == null) {
       throw new NullPointerException("The budget cannot be null.");
     }
-    return budget.getBalance() >= getMinimumMoneyValue();
+    return budget.getBalanceInMinorUnits() >= minimumValueInMinorUnits;
+  }
+
+  /**
+   * The method restores the goal when it is deserialized. Goals serialized with
+   * the minimum value as a decimal number are converted to minor units.
+   *
+   * @param input the stream the goal is read from.
+   * @throws IOException if an I/O error occurs.
+   * @throws ClassNotFoundException if the class of a serialized object cannot be found.
+   */
+  private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = input.readFields();
+    minimumValueInMinorUnits = fields.defaulted("minimumValueInMinorUnits")
+            ? Money.toMinorUnits(fields.get("minimumMoneyValue", 0.0))
+            : fields.get("minimumValueInMinorUnits", 0L);
   }
 
   /**
@@ -68,7 +120,7 @@ public class FinancialGoal implements Goal, Serializable{
       return false;
     }
     FinancialGoal that = (FinancialGoal) o;
-    return Double.compare(that.getMinimumMoneyValue(), getMinimumMoneyValue()) == 0;
+    return that.getMinimumValueInMinorUnits() == getMinimumValueInMinorUnits();
   }
 
   /**
@@ -78,6 +130,6 @@ public class FinancialGoal implements Goal, Serializable{
    */
   @Override
   public int hashCode() {
-    return Objects.hash(getMinimumMoneyValue());
+    return Long.hashCode(getMinimumValueInMinorUnits());
   }
 }
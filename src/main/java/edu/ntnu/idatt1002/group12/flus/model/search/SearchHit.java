@@ -0,0 +1,129 @@
+package edu.ntnu.idatt1002.group12.flus.model.search;
+
+import java.util.Objects;
+
+/**
+ * The class represents a description that matched a search, in one budget,
+ * with the number of incomes and expenses in the budget with that description.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public final class SearchHit {
+
+  private final String budgetId;
+  private final String description;
+  private final int incomeCount;
+  private final int expenseCount;
+  private final int score;
+
+  /**
+   * Constructor to create an object of the type SearchHit.
+   *
+   * @param budgetId the ID of the budget.
+   * @param description the description that matched.
+   * @param incomeCount the number of incomes with the description.
+   * @param expenseCount the number of expenses with the description.
+   * @param score how well the description matched, higher is better.
+   */
+  SearchHit(String budgetId, String description, int incomeCount, int expenseCount,
+            int score) {
+    this.budgetId = budgetId;
+    this.description = description;
+    this.incomeCount = incomeCount;
+    this.expenseCount = expenseCount;
+    this.score = score;
+  }
+
+  /**
+   * The method retrieves the ID of the budget.
+   *
+   * @return the budget ID.
+   */
+  public String getBudgetId() {
+    return budgetId;
+  }
+
+  /**
+   * The method retrieves the description that matched.
+   *
+   * @return the description.
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * The method retrieves the number of incomes in the budget with the description.
+   *
+   * @return the number of incomes.
+   */
+  public int getIncomeCount() {
+    return incomeCount;
+  }
+
+  /**
+   * The method retrieves the number of expenses in the budget with the description.
+   *
+   * @return the number of expenses.
+   */
+  public int getExpenseCount() {
+    return expenseCount;
+  }
+
+  /**
+   * The method retrieves how well the description matched. An exact token counts
+   * three, a token that starts with the searched token two, and a token that is one
+   * typing error away from it one, for each searched token.
+   *
+   * @return the score, higher is better.
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * The method checks for equality between objects.
+   *
+   * @param o The object that this object will be compared to.
+   * @return true if the objects are equal, false if they are not.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SearchHit that = (SearchHit) o;
+    return incomeCount == that.incomeCount
+            && expenseCount == that.expenseCount
+            && score == that.score
+            && budgetId.equals(that.budgetId)
+            && description.equals(that.description);
+  }
+
+  /**
+   * Creates a hashcode for the object.
+   *
+   * @return Hashcode for the object.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(budgetId, description, incomeCount, expenseCount, score);
+  }
+
+  /**
+   * The toString collects all the information about the hit,
+   * and return a textual representation.
+   *
+   * @return information about the hit.
+   */
+  @Override
+  public String toString() {
+    return "SearchHit: " + description + " in " + budgetId + ", Incomes = " + incomeCount
+            + ", Expenses = " + expenseCount + ", Score = " + score;
+  }
+}
@@ -0,0 +1,299 @@
+package edu.ntnu.idatt1002.group12.flus.model.search;
+
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
+import edu.ntnu.idatt1002.group12.flus.utils.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The class is an inverted index over the descriptions of the transactions in the
+ * budgets of an account. Many transactions share a description, so the index maps
+ * each token to the distinct descriptions that contain it, and each description to
+ * the number of incomes and expenses with it in each budget.
+ *
+ * <p>A searched token matches the tokens that are equal to it, that start with it,
+ * or, if it has at least {@value #FUZZY_MIN_LENGTH} letters, that are one typing
+ * error away from it. Typing errors are found through an index of every token with
+ * one letter removed, so a search takes time in the number of matches, not in the
+ * number of transactions or tokens.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class TransactionSearchIndex {
+
+  private static final int FUZZY_MIN_LENGTH = 4;
+  private static final int EXACT = 3;
+  private static final int PREFIX = 2;
+  private static final int FUZZY = 1;
+  private static final Comparator<SearchHit> RANKING = Comparator
+          .comparingInt(SearchHit::getScore).reversed()
+          .thenComparing(hit -> -(hit.getIncomeCount() + hit.getExpenseCount()))
+          .thenComparing(SearchHit::getDescription)
+          .thenComparing(SearchHit::getBudgetId);
+  private final Map<String, Map<String, int[]>> countsByDescription;
+  private final NavigableMap<String, Set<String>> descriptionsByToken;
+  private final Map<String, Set<String>> tokensByDeletion;
+
+  /**
+   * Constructor to create an object of the type TransactionSearchIndex, without
+   * transactions.
+   */
+  public TransactionSearchIndex() {
+    this.countsByDescription = new HashMap<>();
+    this.descriptionsByToken = new TreeMap<>();
+    this.tokensByDeletion = new HashMap<>();
+  }
+
+  /**
+   * The method adds every transaction of a budget to the index.
+   *
+   * @param budget the budget.
+   */
+  public void addBudget(Budget budget) {
+    for (Income income : budget.getIncomes()) {
+      add(budget.getBudgetId(), income);
+    }
+    for (Expense expense : budget.getExpenses()) {
+      add(budget.getBudgetId(), expense);
+    }
+  }
+
+  /**
+   * The method removes every transaction of a budget from the index.
+   *
+   * @param budgetId the ID of the budget.
+   */
+  public void removeBudget(String budgetId) {
+    Iterator<Map.Entry<String, Map<String, int[]>>> entries =
+            countsByDescription.entrySet().iterator();
+    while (entries.hasNext()) {
+      Map.Entry<String, Map<String, int[]>> entry = entries.next();
+      if (entry.getValue().remove(budgetId) != null && entry.getValue().isEmpty()) {
+        entries.remove();
+        removeDescription(entry.getKey());
+      }
+    }
+  }
+
+  /**
+   * The method adds a transaction of a budget to the index.
+   *
+   * @param budgetId the ID of the budget.
+   * @param transaction the transaction.
+   */
+  public void add(String budgetId, Transaction transaction) {
+    String description = transaction.getDescription();
+    Map<String, int[]> counts = countsByDescription.get(description);
+    if (counts == null) {
+      counts = new LinkedHashMap<>();
+      countsByDescription.put(description, counts);
+      for (String token : Tokenizer.tokenize(description)) {
+        Set<String> descriptions = descriptionsByToken.get(token);
+        if (descriptions == null) {
+          descriptions = new HashSet<>();
+          descriptionsByToken.put(token, descriptions);
+          for (String deletion : deletions(token)) {
+            tokensByDeletion.computeIfAbsent(deletion, key -> new HashSet<>()).add(token);
+          }
+        }
+        descriptions.add(description);
+      }
+    }
+    counts.computeIfAbsent(budgetId, key -> new int[2])[transaction instanceof Income ? 0 : 1]++;
+  }
+
+  /**
+   * The method removes a transaction of a budget from the index.
+   *
+   * @param budgetId the ID of the budget.
+   * @param transaction the transaction.
+   */
+  public void remove(String budgetId, Transaction transaction) {
+    String description = transaction.getDescription();
+    Map<String, int[]> counts = countsByDescription.get(description);
+    int[] budgetCounts = counts == null ? null : counts.get(budgetId);
+    int kind = transaction instanceof Income ? 0 : 1;
+    if (budgetCounts == null || budgetCounts[kind] == 0) {
+      return;
+    }
+    budgetCounts[kind]--;
+    if (budgetCounts[0] == 0 && budgetCounts[1] == 0) {
+      counts.remove(budgetId);
+      if (counts.isEmpty()) {
+        countsByDescription.remove(description);
+        removeDescription(description);
+      }
+    }
+  }
+
+  /**
+   * The method finds the descriptions that match every token of a query, in each
+   * budget that has transactions with them. The best matches come first, and matches
+   * with the same score are ordered by their number of transactions.
+   *
+   * @param query the text to search for.
+   * @param limit the largest number of hits to find.
+   * @return list of the hits.
+   * @throws NullPointerException if the query is null.
+   * @throws IllegalArgumentException if the limit is negative.
+   */
+  public List<SearchHit> search(String query, int limit)
+          throws NullPointerException, IllegalArgumentException {
+    if (limit < 0) {
+      throw new IllegalArgumentException("The limit cannot be negative.");
+    }
+    List<String> queryTokens = Tokenizer.tokenize(query);
+    if (queryTokens.isEmpty() || limit == 0) {
+      return new ArrayList<>();
+    }
+    List<Map<String, Integer>> matches = new ArrayList<>(queryTokens.size());
+    for (String queryToken : queryTokens) {
+      matches.add(match(queryToken));
+    }
+    matches.sort(Comparator.comparingInt(Map::size));
+    Map<String, Integer> scores = matches.get(0);
+    for (int i = 1; i < matches.size() && !scores.isEmpty(); i++) {
+      Map<String, Integer> tokenScores = matches.get(i);
+      scores.keySet().retainAll(tokenScores.keySet());
+      scores.replaceAll((description, score) -> score + tokenScores.get(description));
+    }
+    PriorityQueue<SearchHit> best = new PriorityQueue<>(limit, RANKING.reversed());
+    for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+      for (Map.Entry<String, int[]> counts
+              : countsByDescription.get(entry.getKey()).entrySet()) {
+        SearchHit hit = new SearchHit(counts.getKey(), entry.getKey(), counts.getValue()[0],
+                counts.getValue()[1], entry.getValue());
+        if (best.size() < limit) {
+          best.add(hit);
+        } else if (RANKING.compare(hit, best.peek()) < 0) {
+          best.poll();
+          best.add(hit);
+        }
+      }
+    }
+    List<SearchHit> hits = new ArrayList<>(best);
+    hits.sort(RANKING);
+    return hits;
+  }
+
+  /**
+   * The method finds the descriptions with a token that matches a searched token,
+   * with the score of the best match of each.
+   *
+   * @param queryToken the searched token.
+   * @return map of the descriptions and their scores.
+   */
+  private Map<String, Integer> match(String queryToken) {
+    Map<String, Integer> scores = new HashMap<>();
+    for (Map.Entry<String, Set<String>> entry : descriptionsByToken
+            .subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).entrySet()) {
+      int score = entry.getKey().equals(queryToken) ? EXACT : PREFIX;
+      for (String description : entry.getValue()) {
+        scores.merge(description, score, Math::max);
+      }
+    }
+    if (queryToken.length() >= FUZZY_MIN_LENGTH) {
+      Set<String> candidates = new HashSet<>();
+      for (String deletion : deletions(queryToken)) {
+        candidates.addAll(tokensByDeletion.getOrDefault(deletion, Set.of()));
+      }
+      for (String candidate : candidates) {
+        if (!candidate.startsWith(queryToken) && withinOneEdit(queryToken, candidate)) {
+          for (String description : descriptionsByToken.get(candidate)) {
+            scores.merge(description, FUZZY, Math::max);
+          }
+        }
+      }
+    }
+    return scores;
+  }
+
+  /**
+   * The method removes a description that no longer has transactions from the
+   * tokens, and removes the tokens that no longer have descriptions.
+   *
+   * @param description the description.
+   */
+  private void removeDescription(String description) {
+    for (String token : Tokenizer.tokenize(description)) {
+      Set<String> descriptions = descriptionsByToken.get(token);
+      descriptions.remove(description);
+      if (descriptions.isEmpty()) {
+        descriptionsByToken.remove(token);
+        for (String deletion : deletions(token)) {
+          Set<String> tokens = tokensByDeletion.get(deletion);
+          tokens.remove(token);
+          if (tokens.isEmpty()) {
+            tokensByDeletion.remove(deletion);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The method creates the token itself and every string made by removing one
+   * letter from it. Two tokens are at most one typing error apart only if these
+   * sets of the two tokens share a string.
+   *
+   * @param token the token.
+   * @return the token and its deletions.
+   */
+  private static Set<String> deletions(String token) {
+    Set<String> deletions = new HashSet<>();
+    deletions.add(token);
+    for (int i = 0; i < token.length(); i++) {
+      deletions.add(token.substring(0, i) + token.substring(i + 1));
+    }
+    return deletions;
+  }
+
+  /**
+   * The method checks if two tokens differ by at most one inserted, removed or
+   * replaced letter, or by two neighbouring letters that are swapped.
+   *
+   * @param first the first token.
+   * @param second the second token.
+   * @return true if the tokens are at most one typing error apart, false otherwise.
+   */
+  static boolean withinOneEdit(String first, String second) {
+    String shorter = first.length() <= second.length() ? first : second;
+    String longer = shorter == first ? second : first;
+    if (longer.length() - shorter.length() > 1) {
+      return false;
+    }
+    int i = 0;
+    while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+      i++;
+    }
+    if (i == shorter.length()) {
+      return true;
+    }
+    if (longer.length() > shorter.length()) {
+      return longer.regionMatches(i + 1, shorter, i, shorter.length() - i);
+    }
+    if (longer.regionMatches(i + 1, shorter, i + 1, shorter.length() - i - 1)) {
+      return true;
+    }
+    return i + 1 < shorter.length()
+            && shorter.charAt(i) == longer.charAt(i + 1)
+            && shorter.charAt(i + 1) == longer.charAt(i)
+            && longer.regionMatches(i + 2, shorter, i + 2, shorter.length() - i - 2);
+  }
+}
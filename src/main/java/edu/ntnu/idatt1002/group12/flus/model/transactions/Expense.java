@@ -1,5 +1,8 @@
 package edu.ntnu.idatt1002.group12.flus.model.transactions;
 
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+
 /**
  * The class represents an expense.
  *
@@ -8,6 +11,8 @@ package edu.ntnu.idatt1002.group12.flus.model.transactions;
  */
 public class Expense extends Transaction {
 
+  private static final long serialVersionUID = 1991504961963670448L;
+
   /**
    * Constructor to create an object of the type expense.
    *
@@ -21,6 +26,50 @@ public class Expense extends Transaction {
     super(description, amount);
   }
 
+  /**
+   * Constructor to create an object of the type expense with a given date.
+   *
+   * @param description the description of the transaction.
+   * @param amount the amount of the transaction.
+   * @param date the date of the transaction.
+   * @throws IllegalArgumentException if the description is blank or if the amount is less than or equal to zero.
+   * @throws NullPointerException if the description or date is null.
+   */
+  public Expense(String description, double amount, DateTimeUtil date)
+          throws IllegalArgumentException, NullPointerException {
+    super(description, amount, date);
+  }
+
+  /**
+   * Constructor to create an object of the type expense with an exact amount and a given date.
+   *
+   * @param description the description of the transaction.
+   * @param amount the amount of the transaction.
+   * @param date the date of the transaction.
+   * @throws IllegalArgumentException if the description is blank or if the amount is less than or equal to zero.
+   * @throws NullPointerException if the description, amount or date is null.
+   */
+  public Expense(String description, Money amount, DateTimeUtil date)
+          throws IllegalArgumentException, NullPointerException {
+    super(description, amount, date);
+  }
+
+  /**
+   * Constructor to create an object of the type expense with an exact amount, a given date
+   * and the ID it has in its budget.
+   *
+   * @param description the description of the transaction.
+   * @param amount the amount of the transaction.
+   * @param date the date of the transaction.
+   * @param id the ID of the transaction in its budget, or 0 if it is not in a budget.
+   * @throws IllegalArgumentException if the description is blank, the amount is less than or equal to zero, or the ID is negative.
+   * @throws NullPointerException if the description, amount or date is null.
+   */
+  public Expense(String description, Money amount, DateTimeUtil date, int id)
+          throws IllegalArgumentException, NullPointerException {
+    super(description, amount, date, id);
+  }
+
   /**
    * The toString collects all the information about the expense,
    * and return a textual representation.
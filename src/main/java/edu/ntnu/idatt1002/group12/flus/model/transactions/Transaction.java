@@ -1,7 +1,10 @@
 package edu.ntnu.idatt1002.group12.flus.model.transactions;
 
+import edu.ntnu.idatt1002.group12.flus.model.Money;
 import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Objects;
 
@@ -10,14 +13,24 @@ import java.util.Objects;
  * It contains information about the transaction, such as its
  * description, amount, and date.
  *
+ * <p>The amount is stored exactly, as a whole number of minor units. Transactions
+ * that were serialized when the amount was stored as a decimal number are converted
+ * to minor units when they are read.</p>
+ *
+ * <p>A transaction in a budget has an ID that identifies it within the budget, and
+ * that is kept when the budget is stored. A transaction that has not been added to
+ * a budget has the ID 0.</p>
+ *
  * @author R.Samavat
  * @version 1.0
  * @since April 12, 2023
  */
 public abstract class Transaction implements Serializable{
-  private final String description;
-  private final double amount;
-  private final DateTimeUtil date;
+  private static final long serialVersionUID = -2024980513631437593L;
+  private String description;
+  private long amountInMinorUnits;
+  private DateTimeUtil date;
+  private int id;
 
   /**
    * Constructor to create an object of the type transaction.
@@ -29,15 +42,78 @@ public abstract class Transaction implements Serializable{
    */
   public Transaction(String description, double amount)
           throws IllegalArgumentException, NullPointerException {
+    this(description, amount, new DateTimeUtil());
+  }
+
+  /**
+   * Constructor to create an object of the type transaction with a given date.
+   *
+   * @param description the description of the transaction.
+   * @param amount the amount of the transaction.
+   * @param date the date of the transaction.
+   * @throws IllegalArgumentException if description is blank or amount is less than or equal to zero.
+   * @throws NullPointerException if the description or date is null.
+   */
+  public Transaction(String description, double amount, DateTimeUtil date)
+          throws IllegalArgumentException, NullPointerException {
+    this(description, Money.toMinorUnits(amount), date);
+  }
+
+  /**
+   * Constructor to create an object of the type transaction with a given date.
+   *
+   * @param description the description of the transaction.
+   * @param amount the amount of the transaction.
+   * @param date the date of the transaction.
+   * @throws IllegalArgumentException if description is blank or amount is less than or equal to zero.
+   * @throws NullPointerException if the description, amount or date is null.
+   */
+  public Transaction(String description, Money amount, DateTimeUtil date)
+          throws IllegalArgumentException, NullPointerException {
+    this(description, amount, date, 0);
+  }
+
+  /**
+   * Constructor to create an object of the type transaction with a given date and ID.
+   *
+   * @param description the description of the transaction.
+   * @param amount the amount of the transaction.
+   * @param date the date of the transaction.
+   * @param id the ID of the transaction in its budget, or 0 if it is not in a budget.
+   * @throws IllegalArgumentException if description is blank, amount is less than or equal to
+   *                                  zero, or the ID is negative.
+   * @throws NullPointerException if the description, amount or date is null.
+   */
+  public Transaction(String description, Money amount, DateTimeUtil date, int id)
+          throws IllegalArgumentException, NullPointerException {
+    this(description, Objects.requireNonNull(amount, "Amount cannot be null").getMinorUnits(),
+            date);
+    if (id < 0) {
+      throw new IllegalArgumentException("ID cannot be negative.");
+    }
+    this.id = id;
+  }
+
+  /**
+   * Constructor to create an object of the type transaction with an amount in minor units.
+   *
+   * @param description the description of the transaction.
+   * @param amountInMinorUnits the amount of the transaction in minor units.
+   * @param date the date of the transaction.
+   * @throws IllegalArgumentException if description is blank or amount is less than or equal to zero.
+   * @throws NullPointerException if the description or date is null.
+   */
+  private Transaction(String description, long amountInMinorUnits, DateTimeUtil date)
+          throws IllegalArgumentException, NullPointerException {
     if (description.isBlank()) {
       throw new IllegalArgumentException("Description cannot be blank.");
     }
-    if (amount <= 0) {
+    if (amountInMinorUnits <= 0) {
       throw new IllegalArgumentException("Amount cannot be less than or equal to zero.");
     }
     this.description = Objects.requireNonNull(description.trim(), "Description cannot be null");
-    this.amount = amount;
-    this.date = new DateTimeUtil();
+    this.amountInMinorUnits = amountInMinorUnits;
+    this.date = Objects.requireNonNull(date, "Date cannot be null");
   }
 
   /**
@@ -65,7 +141,52 @@ public abstract class Transaction implements Serializable{
    * @return the amount.
    */
   public double getAmount() {
-    return amount;
+    return Money.toDouble(amountInMinorUnits);
+  }
+
+  /**
+   * The method retrieves the exact amount of the transaction in minor units.
+   *
+   * @return the amount in minor units.
+   */
+  public long getAmountInMinorUnits() {
+    return amountInMinorUnits;
+  }
+
+  /**
+   * The method retrieves the exact amount of the transaction.
+   *
+   * @return the amount.
+   */
+  public Money getMoneyAmount() {
+    return Money.ofMinorUnits(amountInMinorUnits);
+  }
+
+  /**
+   * The method retrieves the ID of the transaction in its budget.
+   *
+   * @return the ID, or 0 if the transaction has not been added to a budget.
+   */
+  public int getId() {
+    return id;
+  }
+
+  /**
+   * The method restores the transaction when it is deserialized. Transactions
+   * serialized with the amount as a decimal number are converted to minor units.
+   *
+   * @param input the stream the transaction is read from.
+   * @throws IOException if an I/O error occurs.
+   * @throws ClassNotFoundException if the class of a serialized object cannot be found.
+   */
+  private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = input.readFields();
+    description = (String) fields.get("description", null);
+    date = (DateTimeUtil) fields.get("date", null);
+    amountInMinorUnits = fields.defaulted("amountInMinorUnits")
+            ? Money.toMinorUnits(fields.get("amount", 0.0))
+            : fields.get("amountInMinorUnits", 0L);
+    id = fields.get("id", 0);
   }
 
   /**
@@ -83,7 +204,7 @@ public abstract class Transaction implements Serializable{
       return false;
     }
     Transaction that = (Transaction) o;
-    return Double.compare(that.getAmount(), getAmount()) == 0
+    return that.getAmountInMinorUnits() == getAmountInMinorUnits()
             && Objects.equals(getDescription(), that.getDescription());
   }
 
@@ -94,6 +215,6 @@ public abstract class Transaction implements Serializable{
    */
   @Override
   public int hashCode() {
-    return Objects.hash(getDescription(), getAmount(), getDate());
+    return Objects.hash(getDescription(), getAmountInMinorUnits(), getDate());
   }
 }
\ No newline at end of file
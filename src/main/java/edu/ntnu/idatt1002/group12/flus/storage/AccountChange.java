@@ -0,0 +1,121 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import java.util.Objects;
+
+/**
+ * The class represents a single change made to an account or one of its budgets.
+ * Changes are recorded by the account register and budget manager, so that
+ * storage backends are able to persist only what has changed.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class AccountChange {
+
+  /**
+   * The types of changes that can be made.
+   * The value of a change depends on its type.
+   */
+  public enum Type {
+    /** An account was registered. The value is the {@code Account}. */
+    ACCOUNT_REGISTERED,
+    /** An account was deleted. The value is null. */
+    ACCOUNT_DELETED,
+    /** The password was changed. The value is the new password hash. */
+    PASSWORD_CHANGED,
+    /** The email was changed. The value is the new email. */
+    EMAIL_CHANGED,
+    /** The phone number was changed. The value is the new phone number. */
+    PHONE_NUMBER_CHANGED,
+    /** A budget was created. The value is the {@code Budget}. */
+    BUDGET_CREATED,
+    /** A budget was deleted. The value is null. */
+    BUDGET_DELETED,
+    /** An income was added to a budget. The value is the {@code Income}. */
+    INCOME_ADDED,
+    /** An income was removed from a budget. The value is the removed {@code Income}. */
+    INCOME_REMOVED,
+    /** An expense was added to a budget. The value is the {@code Expense}. */
+    EXPENSE_ADDED,
+    /** An expense was removed from a budget. The value is the removed {@code Expense}. */
+    EXPENSE_REMOVED,
+    /** A goal was added to a budget. The value is the {@code FinancialGoal}. */
+    GOAL_ADDED,
+    /**
+     * All goals with a given value were removed from a budget. The value is the
+     * {@code Money} the goals were removed by, rounded to minor units.
+     */
+    GOAL_REMOVED
+  }
+
+  private final Type type;
+  private final String username;
+  private final String budgetId;
+  private final Object value;
+
+  /**
+   * Constructor to create an object of the type AccountChange.
+   *
+   * @param type the type of the change.
+   * @param username the username of the changed account.
+   * @param budgetId the ID of the changed budget, or null if the change is not made to a budget.
+   * @param value the value of the change, as described by the type.
+   * @throws NullPointerException if the type or username is null.
+   */
+  public AccountChange(Type type, String username, String budgetId, Object value)
+          throws NullPointerException {
+    this.type = Objects.requireNonNull(type, "Type cannot be null.");
+    this.username = Objects.requireNonNull(username, "Username cannot be null.");
+    this.budgetId = budgetId;
+    this.value = value;
+  }
+
+  /**
+   * The method retrieves the type of the change.
+   *
+   * @return the type.
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * The method retrieves the username of the changed account.
+   *
+   * @return the username.
+   */
+  public String getUsername() {
+    return username;
+  }
+
+  /**
+   * The method retrieves the ID of the changed budget.
+   *
+   * @return the budget ID, or null if the change is not made to a budget.
+   */
+  public String getBudgetId() {
+    return budgetId;
+  }
+
+  /**
+   * The method retrieves the value of the change.
+   *
+   * @return the value.
+   */
+  public Object getValue() {
+    return value;
+  }
+
+  /**
+   * The toString collects all the information about the change,
+   * and return a textual representation.
+   *
+   * @return information about the change.
+   */
+  @Override
+  public String toString() {
+    return "AccountChange: Type = " + type + ", Username = " + username
+            + ", Budget ID = " + budgetId + ", Value = " + value;
+  }
+}
@@ -0,0 +1,108 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The interface represents a storage backend for the accounts of the application.
+ * A storage backend is able to load and save the complete set of accounts, and
+ * may choose to persist only the changes made since the last save.
+ *
+ * <p>A save may be prepared and written in two steps. Preparing reads the accounts,
+ * and is done while they cannot be changed. Writing does the slow work of writing
+ * and forcing files without reading the accounts, so the accounts may be changed
+ * while the prepared save is written.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public interface AccountStorage extends Closeable {
+
+  /**
+   * The method loads all stored accounts, including their budgets.
+   *
+   * @return the list of stored accounts, or an empty list if nothing is stored.
+   * @throws IOException if the accounts could not be loaded.
+   */
+  List<Account> loadAccounts() throws IOException;
+
+  /**
+   * The method replaces everything in the storage with the given accounts.
+   *
+   * @param accounts the accounts to be saved.
+   * @throws IOException if the accounts could not be saved.
+   */
+  void saveAccounts(Collection<Account> accounts) throws IOException;
+
+  /**
+   * The method saves the changes made to the accounts since the storage was
+   * last loaded or saved. Backends that cannot store individual changes
+   * save all accounts instead, which is the default behaviour.
+   *
+   * @param accounts all accounts, in their current state.
+   * @param changes the changes made since the last load or save, in the order they were made.
+   * @throws IOException if the changes could not be saved.
+   */
+  default void saveChanges(Collection<Account> accounts, List<AccountChange> changes)
+          throws IOException {
+    saveAccounts(accounts);
+  }
+
+  /**
+   * The method prepares replacing everything in the storage with the given accounts.
+   * The accounts are read before the method returns. The returned save must be written
+   * before the next save is prepared. Backends that cannot prepare a save write it
+   * while preparing, which is the default behaviour.
+   *
+   * @param accounts the accounts to be saved.
+   * @return the prepared save.
+   * @throws IOException if the save could not be prepared.
+   */
+  default PreparedSave prepareAccounts(Collection<Account> accounts) throws IOException {
+    saveAccounts(accounts);
+    return () -> { };
+  }
+
+  /**
+   * The method prepares saving the changes made to the accounts since the storage was
+   * last loaded or saved. The accounts are read before the method returns. The returned
+   * save must be written before the next save is prepared. Backends that cannot prepare
+   * a save write it while preparing, which is the default behaviour.
+   *
+   * @param accounts all accounts, in their current state.
+   * @param changes the changes made since the last load or save, in the order they were made.
+   * @return the prepared save.
+   * @throws IOException if the save could not be prepared.
+   */
+  default PreparedSave prepareChanges(Collection<Account> accounts, List<AccountChange> changes)
+          throws IOException {
+    saveChanges(accounts, changes);
+    return () -> { };
+  }
+
+  /**
+   * The method releases any resources held by the storage.
+   *
+   * @throws IOException if the storage could not be closed.
+   */
+  @Override
+  default void close() throws IOException {
+  }
+
+  /**
+   * The interface represents a save that has been prepared, and only has to be written.
+   */
+  @FunctionalInterface
+  interface PreparedSave {
+    /**
+     * The method writes the prepared save to the storage.
+     *
+     * @throws IOException if the save could not be written.
+     */
+    void write() throws IOException;
+  }
+}
@@ -0,0 +1,46 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * The class moves accounts from one storage to another, for example from the
+ * serialized store file to the binary store file.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public final class AccountStorageMigrator {
+
+  private static final Logger logger = Logger.getLogger(AccountStorageMigrator.class.getName());
+
+  /**
+   * Private constructor, as the class only has static methods.
+   */
+  private AccountStorageMigrator() {
+  }
+
+  /**
+   * The method loads every account from the source storage and saves them to the
+   * target storage, replacing anything stored there. The source storage is not changed.
+   *
+   * @param source the storage to migrate from.
+   * @param target the storage to migrate to.
+   * @return the number of migrated accounts.
+   * @throws NullPointerException if the source or target storage is null.
+   * @throws IOException if the accounts could not be loaded or saved.
+   */
+  public static int migrate(AccountStorage source, AccountStorage target)
+          throws NullPointerException, IOException {
+    Objects.requireNonNull(source, "The source storage cannot be null.");
+    Objects.requireNonNull(target, "The target storage cannot be null.");
+    List<Account> accounts = source.loadAccounts();
+    target.saveAccounts(accounts);
+    logger.info("Migrated " + accounts.size() + " accounts.");
+    return accounts.size();
+  }
+}
@@ -0,0 +1,145 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The class replaces files atomically. The new content is written to a temporary
+ * file next to the target, forced to disk, and then moved over the target, so the
+ * target holds either its old or its new content, never a part of the new content.
+ * The directory is forced to disk after the move, so the move itself survives a
+ * power loss, and files replaced one after another are replaced in that order.
+ * Previous contents of the target can be kept as generations, named with the
+ * suffixes .1, .2 and so on, where .1 is the newest.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+final class AtomicFiles {
+
+  /**
+   * Private constructor, as the class only has static methods.
+   */
+  private AtomicFiles() {
+  }
+
+  /**
+   * The interface represents something that writes the content of a file.
+   */
+  @FunctionalInterface
+  interface ContentWriter {
+    /**
+     * The method writes the content of the file.
+     *
+     * @param output the output to write to.
+     * @throws IOException if the content could not be written.
+     */
+    void writeTo(OutputStream output) throws IOException;
+  }
+
+  /**
+   * The method replaces the content of a file atomically.
+   * Creates the file if it does not exist.
+   *
+   * @param target the file to be replaced.
+   * @param writer the writer of the new content.
+   * @throws IOException if the file could not be replaced. The target is then unchanged.
+   */
+  static void write(Path target, ContentWriter writer) throws IOException {
+    write(target, 0, writer);
+  }
+
+  /**
+   * The method replaces the content of a file atomically, and keeps the given number
+   * of previous contents as generations. The oldest generation is dropped. The new
+   * content is forced to disk before any generation is moved, so the target or its
+   * newest generation always holds a complete content. The directory is forced to
+   * disk when the file has been replaced.
+   *
+   * @param target the file to be replaced.
+   * @param generations the number of previous contents to keep.
+   * @param writer the writer of the new content.
+   * @throws IOException if the file could not be replaced.
+   */
+  static void write(Path target, int generations, ContentWriter writer) throws IOException {
+    Path temporaryFile = target.resolveSibling(target.getFileName() + ".tmp");
+    try {
+      try (FileOutputStream fileOutput = new FileOutputStream(temporaryFile.toFile());
+           BufferedOutputStream bufferedOutput = new BufferedOutputStream(fileOutput)) {
+        writer.writeTo(bufferedOutput);
+        bufferedOutput.flush();
+        fileOutput.getChannel().force(true);
+      }
+      if (generations > 0 && Files.exists(target)) {
+        for (int generation = generations; generation > 1; generation--) {
+          Path previous = generationOf(target, generation - 1);
+          if (Files.exists(previous)) {
+            move(previous, generationOf(target, generation));
+          }
+        }
+        move(target, generationOf(target, 1));
+      }
+      move(temporaryFile, target);
+    } catch (IOException e) {
+      Files.deleteIfExists(temporaryFile);
+      throw e;
+    }
+    forceDirectory(target.toAbsolutePath().getParent());
+  }
+
+  /**
+   * The method forces the entries of a directory to disk, so that files moved into it
+   * are still there after a power loss. Nothing is done on platforms that do not allow
+   * a directory to be opened, such as Windows.
+   *
+   * @param directory the directory.
+   * @throws IOException if the directory could not be forced to disk.
+   */
+  private static void forceDirectory(Path directory) throws IOException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(directory, StandardOpenOption.READ);
+    } catch (IOException | UnsupportedOperationException e) {
+      return;
+    }
+    try (channel) {
+      channel.force(true);
+    }
+  }
+
+  /**
+   * The method retrieves the path of a generation of a file.
+   *
+   * @param target the file.
+   * @param generation the generation, where 1 is the newest.
+   * @return the path of the generation.
+   */
+  static Path generationOf(Path target, int generation) {
+    return target.resolveSibling(target.getFileName() + "." + generation);
+  }
+
+  /**
+   * The method moves a file over another file, atomically if the file system supports it.
+   *
+   * @param source the file to be moved.
+   * @param target the file to be replaced.
+   * @throws IOException if the file could not be moved.
+   */
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The class stores all accounts in a single file using a compact binary format.
+ * The file starts with a magic number and a format version, followed by the
+ * accounts encoded by {@link BinaryCodec}. Every save rewrites the whole file.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class BinaryAccountStorage extends SnapshotAccountStorage {
+
+  private static final Logger logger = Logger.getLogger(BinaryAccountStorage.class.getName());
+  private static final int MAGIC = 0x464C5553;
+
+  /**
+   * Constructor to create an object of the type BinaryAccountStorage.
+   *
+   * @param pathOfFile the path of the file the accounts are stored in.
+   * @throws NullPointerException if the path of the file is null.
+   */
+  public BinaryAccountStorage(String pathOfFile) throws NullPointerException {
+    this(pathOfFile, 0);
+  }
+
+  /**
+   * Constructor to create an object of the type BinaryAccountStorage,
+   * keeping the given number of previous snapshots.
+   *
+   * @param pathOfFile the path of the file the accounts are stored in.
+   * @param generations the number of previous snapshots to keep.
+   * @throws NullPointerException if the path of the file is null.
+   * @throws IllegalArgumentException if the number of generations is negative.
+   */
+  public BinaryAccountStorage(String pathOfFile, int generations)
+          throws NullPointerException, IllegalArgumentException {
+    super(pathOfFile, generations);
+  }
+
+  /**
+   * The method checks if a snapshot is written with the first version of the format,
+   * which was used before checksums were added.
+   *
+   * @param snapshot the snapshot.
+   * @return true if the snapshot is written with the first version of the format.
+   */
+  @Override
+  protected boolean predatesChecksums(ByteBuffer snapshot) {
+    try {
+      return snapshot.remaining() > Integer.BYTES && snapshot.getInt() == MAGIC
+              && BinaryCodec.readVarInt(snapshot) == BinaryCodec.DECIMAL_AMOUNTS_VERSION;
+    } catch (IOException | BufferUnderflowException e) {
+      return false;
+    }
+  }
+
+  /**
+   * The method decodes the accounts in the file.
+   *
+   * @param content the content of the file.
+   * @return the list of accounts.
+   * @throws IOException if the file is corrupted.
+   */
+  @Override
+  protected List<Account> decode(ByteBuffer content) throws IOException {
+    try {
+      if (content.remaining() < Integer.BYTES || content.getInt() != MAGIC) {
+        throw new IOException("The file is not a binary account store.");
+      }
+      int version = BinaryCodec.readVarInt(content);
+      BinaryCodec.checkVersion(version);
+      return BinaryCodec.decodeAccounts(content, version);
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "An error occurred while loading"
+              + " accounts from the file: " + getPathOfFile(), e);
+      throw new IOException("Error loading accounts from file: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method encodes the accounts with a header.
+   *
+   * @param accounts the accounts to be saved.
+   * @param output the output to write to.
+   * @throws IOException if an I/O error occurs.
+   */
+  @Override
+  protected void encode(Collection<Account> accounts, OutputStream output) throws IOException {
+    byte[] block = BinaryCodec.encodeAccounts(accounts);
+    DataOutputStream fileOutput = new DataOutputStream(output);
+    fileOutput.writeInt(MAGIC);
+    BinaryCodec.writeVarInt(fileOutput, BinaryCodec.VERSION);
+    fileOutput.write(block);
+    fileOutput.flush();
+  }
+}
@@ -0,0 +1,473 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class encodes and decodes accounts in the compact binary format used by the
+ * binary storage backends. Whole numbers are written as variable-length integers,
+ * strings are written once to a string table and referred to by their index, and
+ * dates are written as epoch milliseconds. The dates of transactions are written
+ * as the difference from the creation date of their budget. Amounts are written
+ * as variable-length minor units, and every transaction is written with its ID in
+ * the budget. Version 1 of the format wrote amounts as doubles, and version 2 wrote
+ * transactions without IDs; both are still read.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+final class BinaryCodec {
+
+  static final int VERSION = 3;
+  static final int DECIMAL_AMOUNTS_VERSION = 1;
+  static final int WITHOUT_IDS_VERSION = 2;
+
+  /**
+   * Private constructor, as the class only has static methods.
+   */
+  private BinaryCodec() {
+  }
+
+  /**
+   * The method checks if a version of the format can be read by the codec.
+   *
+   * @param version the version of the format.
+   * @throws IOException if the version is not supported.
+   */
+  static void checkVersion(int version) throws IOException {
+    if (version != VERSION && version != DECIMAL_AMOUNTS_VERSION
+            && version != WITHOUT_IDS_VERSION) {
+      throw new IOException("Unsupported format version: " + version);
+    }
+  }
+
+  /**
+   * The class collects the strings of a block, and gives each distinct string an index.
+   */
+  static final class StringTable {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * The method retrieves the index of a string, and adds the string if it is new.
+     *
+     * @param string the string.
+     * @return the index of the string.
+     */
+    int indexOf(String string) {
+      Integer index = indexes.get(string);
+      if (index == null) {
+        index = strings.size();
+        indexes.put(string, index);
+        strings.add(string);
+      }
+      return index;
+    }
+
+    /**
+     * The method writes the number of strings followed by every string.
+     *
+     * @param output the output to write to.
+     * @throws IOException if the strings could not be written.
+     */
+    void writeTo(DataOutputStream output) throws IOException {
+      writeVarInt(output, strings.size());
+      for (String string : strings) {
+        writeUtf8(output, string);
+      }
+    }
+  }
+
+  /**
+   * The method reads a string table written by {@link StringTable#writeTo(DataOutputStream)}.
+   *
+   * @param input the input to read from.
+   * @return the strings, in the order of their indexes.
+   * @throws IOException if the string table is corrupted.
+   */
+  static String[] readStringTable(ByteBuffer input) throws IOException {
+    int count = readLength(input);
+    String[] strings = new String[count];
+    for (int i = 0; i < count; i++) {
+      strings[i] = readUtf8(input);
+    }
+    return strings;
+  }
+
+  /**
+   * The method writes a string as its length in bytes followed by its UTF-8 bytes.
+   *
+   * @param output the output to write to.
+   * @param string the string to be written.
+   * @throws IOException if the string could not be written.
+   */
+  static void writeUtf8(DataOutputStream output, String string) throws IOException {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(output, bytes.length);
+    output.write(bytes);
+  }
+
+  /**
+   * The method reads a string written by {@link #writeUtf8(DataOutputStream, String)}.
+   *
+   * @param input the input to read from.
+   * @return the string.
+   * @throws IOException if the string is corrupted.
+   */
+  static String readUtf8(ByteBuffer input) throws IOException {
+    byte[] bytes = new byte[readLength(input)];
+    input.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The method writes an account without its budgets.
+   *
+   * @param output the output to write to.
+   * @param account the account to be written.
+   * @param strings the string table of the block.
+   * @throws IOException if the account could not be written.
+   */
+  static void writeAccount(DataOutputStream output, Account account, StringTable strings)
+          throws IOException {
+    writeVarInt(output, strings.indexOf(account.getUsername()));
+    writeVarInt(output, strings.indexOf(account.getPassword()));
+    writeVarInt(output, strings.indexOf(account.getEmail()));
+    writeVarInt(output, strings.indexOf(account.getPhoneNumber()));
+  }
+
+  /**
+   * The method reads an account written by {@link #writeAccount}.
+   *
+   * @param input the input to read from.
+   * @param strings the string table of the block.
+   * @return the account, without budgets.
+   * @throws IOException if the account is corrupted.
+   */
+  static Account readAccount(ByteBuffer input, String[] strings) throws IOException {
+    try {
+      return Account.restore(readString(input, strings), readString(input, strings),
+              readString(input, strings), readString(input, strings));
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Invalid account: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method writes a list of budgets with their transactions and goals.
+   *
+   * @param output the output to write to.
+   * @param budgets the budgets to be written.
+   * @param strings the string table of the block.
+   * @throws IOException if the budgets could not be written.
+   */
+  static void writeBudgets(DataOutputStream output, List<Budget> budgets, StringTable strings)
+          throws IOException {
+    writeVarInt(output, budgets.size());
+    for (Budget budget : budgets) {
+      long created = budget.getDateTime().toEpochMillis();
+      writeVarInt(output, strings.indexOf(budget.getBudgetId()));
+      writeVarLong(output, created);
+      writeTransactions(output, budget.getIncomes(), created, strings);
+      writeTransactions(output, budget.getExpenses(), created, strings);
+      writeVarInt(output, budget.getFinancialGoals().size());
+      for (FinancialGoal goal : budget.getFinancialGoals()) {
+        writeVarLong(output, goal.getMinimumValueInMinorUnits());
+      }
+    }
+  }
+
+  /**
+   * The method writes a list of transactions, with their dates relative to the
+   * creation date of their budget.
+   *
+   * @param output the output to write to.
+   * @param transactions the transactions to be written.
+   * @param created the creation date of the budget, in epoch milliseconds.
+   * @param strings the string table of the block.
+   * @throws IOException if the transactions could not be written.
+   */
+  private static void writeTransactions(DataOutputStream output,
+                                        List<? extends Transaction> transactions, long created,
+                                        StringTable strings) throws IOException {
+    writeVarInt(output, transactions.size());
+    for (Transaction transaction : transactions) {
+      writeVarInt(output, strings.indexOf(transaction.getDescription()));
+      writeVarLong(output, transaction.getAmountInMinorUnits());
+      writeVarLong(output, transaction.getDate().toEpochMillis() - created);
+      writeVarInt(output, transaction.getId());
+    }
+  }
+
+  /**
+   * The method reads a list of budgets written by {@link #writeBudgets}.
+   *
+   * @param input the input to read from.
+   * @param strings the string table of the block.
+   * @param version the version of the format the budgets were written with.
+   * @return the budgets.
+   * @throws IOException if the budgets are corrupted.
+   */
+  static List<Budget> readBudgets(ByteBuffer input, String[] strings, int version)
+          throws IOException {
+    try {
+      int count = readLength(input);
+      List<Budget> budgets = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        String budgetId = readString(input, strings);
+        long created = readVarLong(input);
+        Budget budget = new Budget(budgetId, DateTimeUtil.ofEpochMillis(created));
+        int incomes = readLength(input);
+        for (int j = 0; j < incomes; j++) {
+          budget.addIncome(new Income(readString(input, strings), readAmount(input, version),
+                  DateTimeUtil.ofEpochMillis(created + readVarLong(input)),
+                  readId(input, version)));
+        }
+        int expenses = readLength(input);
+        for (int j = 0; j < expenses; j++) {
+          budget.addExpense(new Expense(readString(input, strings), readAmount(input, version),
+                  DateTimeUtil.ofEpochMillis(created + readVarLong(input)),
+                  readId(input, version)));
+        }
+        int goals = readLength(input);
+        for (int j = 0; j < goals; j++) {
+          budget.addGoal(new FinancialGoal(readAmount(input, version)));
+        }
+        budgets.add(budget);
+      }
+      return budgets;
+    } catch (IllegalArgumentException | BufferUnderflowException e) {
+      throw new IOException("Invalid budget: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method reads the ID of a transaction, which is 0 before version 3.
+   *
+   * @param input the input to read from.
+   * @param version the version of the format the transaction was written with.
+   * @return the ID of the transaction.
+   * @throws IOException if the ID is corrupted.
+   */
+  private static int readId(ByteBuffer input, int version) throws IOException {
+    return version > WITHOUT_IDS_VERSION ? readVarInt(input) : 0;
+  }
+
+  /**
+   * The method reads an amount, written as minor units or, in version 1, as a double.
+   *
+   * @param input the input to read from.
+   * @param version the version of the format the amount was written with.
+   * @return the amount.
+   * @throws IOException if the amount is corrupted.
+   */
+  private static Money readAmount(ByteBuffer input, int version) throws IOException {
+    return version == DECIMAL_AMOUNTS_VERSION
+            ? Money.of(input.getDouble())
+            : Money.ofMinorUnits(readVarLong(input));
+  }
+
+  /**
+   * The method encodes the given accounts and their budgets as a single block,
+   * starting with the string table of the block.
+   *
+   * @param accounts the accounts to be encoded.
+   * @return the encoded accounts.
+   * @throws IOException if the accounts could not be encoded.
+   */
+  static byte[] encodeAccounts(Collection<Account> accounts) throws IOException {
+    StringTable strings = new StringTable();
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    DataOutputStream bodyOutput = new DataOutputStream(body);
+    writeVarInt(bodyOutput, accounts.size());
+    for (Account account : accounts) {
+      writeAccount(bodyOutput, account, strings);
+      writeBudgets(bodyOutput, account.getBudgets(), strings);
+    }
+
+    ByteArrayOutputStream block = new ByteArrayOutputStream(body.size() + 1024);
+    DataOutputStream blockOutput = new DataOutputStream(block);
+    strings.writeTo(blockOutput);
+    body.writeTo(blockOutput);
+    return block.toByteArray();
+  }
+
+  /**
+   * The method decodes a block written by {@link #encodeAccounts(Collection)}.
+   *
+   * @param input the input to read from.
+   * @param version the version of the format the block was written with.
+   * @return the decoded accounts, with their budgets.
+   * @throws IOException if the block is corrupted.
+   */
+  static List<Account> decodeAccounts(ByteBuffer input, int version) throws IOException {
+    try {
+      String[] strings = readStringTable(input);
+      int count = readLength(input);
+      List<Account> accounts = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        Account account = readAccount(input, strings);
+        readBudgets(input, strings, version).forEach(account::addBudget);
+        accounts.add(account);
+      }
+      return accounts;
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IOException("The data ends unexpectedly.", e);
+    }
+  }
+
+  /**
+   * The method encodes a list of budgets as a single block,
+   * starting with the string table of the block.
+   *
+   * @param budgets the budgets to be encoded.
+   * @return the encoded budgets.
+   * @throws IOException if the budgets could not be encoded.
+   */
+  static byte[] encodeBudgets(List<Budget> budgets) throws IOException {
+    StringTable strings = new StringTable();
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    writeBudgets(new DataOutputStream(body), budgets, strings);
+
+    ByteArrayOutputStream block = new ByteArrayOutputStream(body.size() + 256);
+    DataOutputStream blockOutput = new DataOutputStream(block);
+    strings.writeTo(blockOutput);
+    body.writeTo(blockOutput);
+    return block.toByteArray();
+  }
+
+  /**
+   * The method decodes a block written by {@link #encodeBudgets(List)}.
+   *
+   * @param input the input to read from.
+   * @param version the version of the format the block was written with.
+   * @return the decoded budgets.
+   * @throws IOException if the block is corrupted.
+   */
+  static List<Budget> decodeBudgets(ByteBuffer input, int version) throws IOException {
+    try {
+      return readBudgets(input, readStringTable(input), version);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IOException("The data ends unexpectedly.", e);
+    }
+  }
+
+  /**
+   * The method writes an unsigned variable-length integer, using seven bits per byte.
+   *
+   * @param output the output to write to.
+   * @param value the value, which must not be negative.
+   * @throws IOException if the value could not be written.
+   */
+  static void writeVarInt(DataOutputStream output, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      output.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    output.writeByte(value);
+  }
+
+  /**
+   * The method reads an unsigned variable-length integer.
+   *
+   * @param input the input to read from.
+   * @return the value.
+   * @throws IOException if the value is too long.
+   */
+  static int readVarInt(ByteBuffer input) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = input.get();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable-length integer.");
+  }
+
+  /**
+   * The method writes a signed variable-length long. The value is zigzag encoded,
+   * so that numbers close to zero use few bytes whether they are negative or not.
+   *
+   * @param output the output to write to.
+   * @param value the value.
+   * @throws IOException if the value could not be written.
+   */
+  static void writeVarLong(DataOutputStream output, long value) throws IOException {
+    long zigzag = (value << 1) ^ (value >> 63);
+    while ((zigzag & ~0x7FL) != 0) {
+      output.writeByte((int) ((zigzag & 0x7F) | 0x80));
+      zigzag >>>= 7;
+    }
+    output.writeByte((int) zigzag);
+  }
+
+  /**
+   * The method reads a signed variable-length long.
+   *
+   * @param input the input to read from.
+   * @return the value.
+   * @throws IOException if the value is too long.
+   */
+  static long readVarLong(ByteBuffer input) throws IOException {
+    long zigzag = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = input.get();
+      zigzag |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+      }
+    }
+    throw new IOException("Malformed variable-length long.");
+  }
+
+  /**
+   * The method reads a count or length, and checks that it is not negative.
+   *
+   * @param input the input to read from.
+   * @return the count or length.
+   * @throws IOException if the count or length is invalid.
+   */
+  private static int readLength(ByteBuffer input) throws IOException {
+    int length = readVarInt(input);
+    if (length < 0 || length > input.remaining()) {
+      throw new IOException("Invalid length: " + length);
+    }
+    return length;
+  }
+
+  /**
+   * The method reads the index of a string, and looks it up in the string table.
+   *
+   * @param input the input to read from.
+   * @param strings the string table of the block.
+   * @return the string.
+   * @throws IOException if the index is outside the string table.
+   */
+  private static String readString(ByteBuffer input, String[] strings) throws IOException {
+    int index = readVarInt(input);
+    if (index < 0 || index >= strings.length) {
+      throw new IOException("Invalid string index: " + index);
+    }
+    return strings[index];
+  }
+}
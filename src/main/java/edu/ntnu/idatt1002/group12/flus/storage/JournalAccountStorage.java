@@ -0,0 +1,531 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * The class stores the accounts as a snapshot and a write-ahead journal.
+ * Saving the changes made since the last save appends one small record per
+ * change to the journal, instead of rewriting every account. When the journal
+ * holds a given number of records, it is compacted: all accounts are saved to the
+ * snapshot storage, and the journal is emptied. Loading reads the snapshot and
+ * replays the journal on top of it.
+ *
+ * <p>Each record is stored as its length, a CRC32 checksum and the encoded change.
+ * A record that was only partly written when the application stopped is detected
+ * by its length or checksum, and is discarded together with anything after it.</p>
+ *
+ * <p>The snapshot is saved before the journal is emptied. A crash between the two
+ * leaves records in the journal that are already part of the snapshot, and these
+ * are replayed again on the next load. Transactions are recorded with their IDs,
+ * so an added transaction whose ID is already in the budget is not added twice,
+ * and a removal removes exactly the transaction that was removed. A budget has at
+ * most one goal of each value, so an added goal whose value is already in the
+ * budget is not added twice either.</p>
+ *
+ * <p>Amounts are stored as minor units. A journal of an earlier version, which
+ * stored amounts as doubles (version 1) or transactions without IDs (version 2),
+ * is replayed and then compacted on load, so records of different versions are
+ * never mixed in one journal.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class JournalAccountStorage implements AccountStorage {
+
+  private static final Logger logger = Logger.getLogger(JournalAccountStorage.class.getName());
+  private static final int MAGIC = 0x464C4A4E;
+  private static final int VERSION = 3;
+  private static final int DECIMAL_AMOUNTS_VERSION = 1;
+  private static final int WITHOUT_IDS_VERSION = 2;
+  private static final int HEADER_SIZE = 8;
+  private static final int RECORD_HEADER_SIZE = 8;
+  private static final AccountChange.Type[] TYPES = AccountChange.Type.values();
+  private final AccountStorage snapshot;
+  private final Path pathOfJournal;
+  private final int compactionThreshold;
+  private int recordsInJournal;
+  private boolean outdatedJournal;
+
+  /**
+   * Constructor to create an object of the type JournalAccountStorage.
+   *
+   * @param snapshot the storage the accounts are compacted into.
+   * @param pathOfJournal the path of the journal file.
+   * @param compactionThreshold the number of records in the journal that triggers a compaction.
+   * @throws NullPointerException if the snapshot storage or the path of the journal is null.
+   * @throws IllegalArgumentException if the compaction threshold is less than 1.
+   */
+  public JournalAccountStorage(AccountStorage snapshot, String pathOfJournal,
+                               int compactionThreshold)
+          throws NullPointerException, IllegalArgumentException {
+    this.snapshot = Objects.requireNonNull(snapshot, "The snapshot storage cannot be null.");
+    this.pathOfJournal = Path.of(Objects.requireNonNull(pathOfJournal,
+            "The path of the journal cannot be null."));
+    if (compactionThreshold < 1) {
+      throw new IllegalArgumentException("The compaction threshold must be at least 1.");
+    }
+    this.compactionThreshold = compactionThreshold;
+  }
+
+  /**
+   * The method retrieves the number of records currently in the journal.
+   *
+   * @return the number of records in the journal.
+   */
+  public int getRecordsInJournal() {
+    return recordsInJournal;
+  }
+
+  /**
+   * The method loads the snapshot and replays the journal on top of it.
+   * The journal is compacted if it has reached the compaction threshold.
+   *
+   * @return the list of stored accounts.
+   * @throws IOException if the snapshot or journal could not be read.
+   */
+  @Override
+  public List<Account> loadAccounts() throws IOException {
+    Map<String, Account> accounts = new LinkedHashMap<>();
+    for (Account account : snapshot.loadAccounts()) {
+      accounts.put(account.getUsername(), account);
+    }
+    recordsInJournal = replayJournal(accounts);
+
+    List<Account> loaded = new ArrayList<>(accounts.values());
+    if (recordsInJournal >= compactionThreshold || outdatedJournal) {
+      compact(loaded);
+    }
+    return loaded;
+  }
+
+  /**
+   * The method saves all accounts to the snapshot and empties the journal.
+   *
+   * @param accounts the accounts to be saved.
+   * @throws IOException if the snapshot or journal could not be written.
+   */
+  @Override
+  public void saveAccounts(Collection<Account> accounts) throws IOException {
+    compact(accounts);
+  }
+
+  /**
+   * The method prepares saving all accounts to the snapshot and emptying the journal.
+   *
+   * @param accounts the accounts to be saved.
+   * @return the prepared save.
+   * @throws IOException if the snapshot could not be prepared.
+   */
+  @Override
+  public PreparedSave prepareAccounts(Collection<Account> accounts) throws IOException {
+    return prepareCompaction(accounts);
+  }
+
+  /**
+   * The method appends the changes to the journal, and compacts the journal
+   * if it has reached the compaction threshold.
+   *
+   * @param accounts all accounts, in their current state.
+   * @param changes the changes made since the last load or save, in the order they were made.
+   * @throws IOException if the journal could not be written.
+   */
+  @Override
+  public void saveChanges(Collection<Account> accounts, List<AccountChange> changes)
+          throws IOException {
+    prepareChanges(accounts, changes).write();
+  }
+
+  /**
+   * The method prepares appending the changes to the journal, by encoding them as records.
+   * If the journal will reach the compaction threshold, the compaction is prepared too.
+   *
+   * @param accounts all accounts, in their current state.
+   * @param changes the changes made since the last load or save, in the order they were made.
+   * @return the prepared save.
+   * @throws IOException if the changes could not be encoded.
+   */
+  @Override
+  public PreparedSave prepareChanges(Collection<Account> accounts, List<AccountChange> changes)
+          throws IOException {
+    if (changes.isEmpty()) {
+      return () -> { };
+    }
+    ByteArrayOutputStream records = new ByteArrayOutputStream();
+    DataOutputStream recordOutput = new DataOutputStream(records);
+    for (AccountChange change : changes) {
+      byte[] payload = encode(change);
+      CRC32 checksum = new CRC32();
+      checksum.update(payload);
+      recordOutput.writeInt(payload.length);
+      recordOutput.writeInt((int) checksum.getValue());
+      recordOutput.write(payload);
+    }
+    int count = changes.size();
+    PreparedSave compaction = recordsInJournal + count >= compactionThreshold
+            ? prepareCompaction(accounts) : null;
+
+    return () -> {
+      append(records.toByteArray(), count);
+      if (compaction != null) {
+        compaction.write();
+      }
+    };
+  }
+
+  /**
+   * The method closes the snapshot storage.
+   *
+   * @throws IOException if the snapshot storage could not be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    snapshot.close();
+  }
+
+  /**
+   * The method saves all accounts to the snapshot, and then empties the journal.
+   *
+   * @param accounts the accounts to be saved.
+   * @throws IOException if the snapshot or journal could not be written.
+   */
+  private void compact(Collection<Account> accounts) throws IOException {
+    prepareCompaction(accounts).write();
+  }
+
+  /**
+   * The method prepares saving all accounts to the snapshot. The journal is
+   * emptied when the snapshot has been written.
+   *
+   * @param accounts the accounts to be saved.
+   * @return the prepared save.
+   * @throws IOException if the snapshot could not be prepared.
+   */
+  private PreparedSave prepareCompaction(Collection<Account> accounts) throws IOException {
+    PreparedSave snapshotSave = snapshot.prepareAccounts(accounts);
+    return () -> {
+      snapshotSave.write();
+      resetJournal();
+    };
+  }
+
+  /**
+   * The method appends encoded records to the journal, and forces them to disk.
+   *
+   * @param records the encoded records.
+   * @param count the number of records.
+   * @throws IOException if the journal could not be written.
+   */
+  private void append(byte[] records, int count) throws IOException {
+    if (!Files.exists(pathOfJournal) || Files.size(pathOfJournal) < HEADER_SIZE) {
+      resetJournal();
+    }
+    try (FileChannel channel = FileChannel.open(pathOfJournal, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND)) {
+      ByteBuffer buffer = ByteBuffer.wrap(records);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "Error appending changes to the journal: " + pathOfJournal, e);
+      throw new IOException("Error appending changes to the journal: " + e.getMessage(), e);
+    }
+    recordsInJournal += count;
+  }
+
+  /**
+   * The method replaces the journal with an empty journal that only holds the header.
+   *
+   * @throws IOException if the journal could not be written.
+   */
+  private void resetJournal() throws IOException {
+    try {
+      AtomicFiles.write(pathOfJournal, output -> {
+        DataOutputStream headerOutput = new DataOutputStream(output);
+        headerOutput.writeInt(MAGIC);
+        headerOutput.writeInt(VERSION);
+        headerOutput.flush();
+      });
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "Error resetting the journal: " + pathOfJournal, e);
+      throw new IOException("Error resetting the journal: " + e.getMessage(), e);
+    }
+    recordsInJournal = 0;
+    outdatedJournal = false;
+  }
+
+  /**
+   * The method applies every complete record in the journal to the accounts.
+   * A record that was only partly written is removed from the journal,
+   * together with anything after it. A journal of an earlier version is
+   * marked as outdated, so it is compacted after it is replayed.
+   *
+   * @param accounts the accounts mapped by username.
+   * @return the number of records replayed.
+   * @throws IOException if the journal could not be read, or is not a journal.
+   */
+  private int replayJournal(Map<String, Account> accounts) throws IOException {
+    if (!Files.exists(pathOfJournal) || Files.size(pathOfJournal) == 0) {
+      return 0;
+    }
+    ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(pathOfJournal));
+    if (journal.remaining() < HEADER_SIZE || journal.getInt() != MAGIC) {
+      throw new IOException("The file is not a journal: " + pathOfJournal);
+    }
+    int version = journal.getInt();
+    if (version != VERSION && version != DECIMAL_AMOUNTS_VERSION
+            && version != WITHOUT_IDS_VERSION) {
+      throw new IOException("Unsupported journal version " + version + ": " + pathOfJournal);
+    }
+    outdatedJournal = version != VERSION;
+
+    int records = 0;
+    while (journal.remaining() >= RECORD_HEADER_SIZE) {
+      int start = journal.position();
+      int length = journal.getInt();
+      int expectedChecksum = journal.getInt();
+      if (length < 0 || length > journal.remaining()) {
+        journal.position(start);
+        break;
+      }
+      byte[] payload = new byte[length];
+      journal.get(payload);
+      CRC32 checksum = new CRC32();
+      checksum.update(payload);
+      if ((int) checksum.getValue() != expectedChecksum) {
+        journal.position(start);
+        break;
+      }
+      apply(accounts, payload, version);
+      records++;
+    }
+
+    if (journal.hasRemaining()) {
+      logger.log(Level.WARNING, "Discarding " + journal.remaining()
+              + " bytes of incomplete records at the end of the journal: " + pathOfJournal);
+      try (FileChannel channel = FileChannel.open(pathOfJournal, StandardOpenOption.WRITE)) {
+        channel.truncate(journal.position());
+        channel.force(false);
+      }
+    }
+    return records;
+  }
+
+  /**
+   * The method encodes a change as a record payload. The ordinal of the type
+   * is stored, so new types must be added at the end of {@link AccountChange.Type}.
+   *
+   * @param change the change to be encoded.
+   * @return the encoded change.
+   * @throws IOException if the change could not be encoded.
+   */
+  private static byte[] encode(AccountChange change) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    output.writeByte(change.getType().ordinal());
+    output.writeUTF(change.getUsername());
+
+    switch (change.getType()) {
+      case ACCOUNT_REGISTERED -> {
+        Account account = (Account) change.getValue();
+        output.writeUTF(account.getPassword());
+        output.writeUTF(account.getEmail());
+        output.writeUTF(account.getPhoneNumber());
+      }
+      case ACCOUNT_DELETED -> {
+      }
+      case PASSWORD_CHANGED, EMAIL_CHANGED, PHONE_NUMBER_CHANGED ->
+              output.writeUTF((String) change.getValue());
+      case BUDGET_CREATED -> {
+        output.writeUTF(change.getBudgetId());
+        output.writeLong(((Budget) change.getValue()).getDateTime().toEpochMillis());
+      }
+      case BUDGET_DELETED -> output.writeUTF(change.getBudgetId());
+      case INCOME_ADDED, INCOME_REMOVED, EXPENSE_ADDED, EXPENSE_REMOVED -> {
+        Transaction transaction = (Transaction) change.getValue();
+        output.writeUTF(change.getBudgetId());
+        output.writeUTF(transaction.getDescription());
+        output.writeLong(transaction.getAmountInMinorUnits());
+        if (change.getType() == AccountChange.Type.INCOME_ADDED
+                || change.getType() == AccountChange.Type.EXPENSE_ADDED) {
+          output.writeLong(transaction.getDate().toEpochMillis());
+        }
+        output.writeInt(transaction.getId());
+      }
+      case GOAL_ADDED -> {
+        output.writeUTF(change.getBudgetId());
+        output.writeLong(((FinancialGoal) change.getValue()).getMinimumValueInMinorUnits());
+      }
+      case GOAL_REMOVED -> {
+        output.writeUTF(change.getBudgetId());
+        output.writeLong(((Money) change.getValue()).getMinorUnits());
+      }
+      default -> throw new IOException("Unknown change type: " + change.getType());
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * The method decodes a record payload and applies the change to the accounts.
+   * Changes to accounts or budgets that do not exist are skipped.
+   *
+   * @param accounts the accounts mapped by username.
+   * @param payload the encoded change.
+   * @param version the version of the journal.
+   * @throws IOException if the payload could not be decoded.
+   */
+  private static void apply(Map<String, Account> accounts, byte[] payload, int version)
+          throws IOException {
+    DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+    int ordinal = input.readUnsignedByte();
+    if (ordinal >= TYPES.length) {
+      throw new IOException("Unknown change type in the journal: " + ordinal);
+    }
+    AccountChange.Type type = TYPES[ordinal];
+    String username = input.readUTF();
+
+    if (type == AccountChange.Type.ACCOUNT_REGISTERED) {
+      accounts.put(username, Account.restore(username, input.readUTF(), input.readUTF(),
+              input.readUTF()));
+      return;
+    }
+    Account account = accounts.get(username);
+    if (account == null) {
+      logger.log(Level.WARNING, "Skipping " + type + " for unknown account: " + username);
+      return;
+    }
+
+    switch (type) {
+      case ACCOUNT_DELETED -> accounts.remove(username);
+      case PASSWORD_CHANGED -> {
+        Account restored = Account.restore(username, input.readUTF(), account.getEmail(),
+                account.getPhoneNumber());
+        account.getBudgets().forEach(restored::addBudget);
+        accounts.put(username, restored);
+      }
+      case EMAIL_CHANGED -> account.setEmail(input.readUTF());
+      case PHONE_NUMBER_CHANGED -> account.setPhoneNumber(input.readUTF());
+      case BUDGET_CREATED -> {
+        Budget budget = new Budget(input.readUTF(), DateTimeUtil.ofEpochMillis(input.readLong()));
+        if (account.getBudget(budget.getBudgetId()) != null) {
+          logger.log(Level.WARNING, "Skipping " + type + " for existing budget: "
+                  + budget.getBudgetId());
+          return;
+        }
+        account.addBudget(budget);
+      }
+      case BUDGET_DELETED -> account.removeBudget(input.readUTF());
+      default -> {
+        String budgetId = input.readUTF();
+        Budget budget = account.getBudget(budgetId);
+        if (budget == null) {
+          logger.log(Level.WARNING, "Skipping " + type + " for unknown budget: " + budgetId);
+          return;
+        }
+        applyToBudget(budget, type, input, version);
+      }
+    }
+  }
+
+  /**
+   * The method decodes the rest of a record payload and applies the change to a budget.
+   * An added goal whose value is already in the budget is skipped.
+   *
+   * @param budget the changed budget.
+   * @param type the type of the change.
+   * @param input the rest of the encoded change.
+   * @param version the version of the journal.
+   * @throws IOException if the payload could not be decoded.
+   */
+  private static void applyToBudget(Budget budget, AccountChange.Type type, DataInputStream input,
+                                    int version) throws IOException {
+    switch (type) {
+      case INCOME_ADDED, INCOME_REMOVED, EXPENSE_ADDED, EXPENSE_REMOVED ->
+              applyTransaction(budget, type, input, version);
+      case GOAL_ADDED -> {
+        FinancialGoal goal = new FinancialGoal(readAmount(input, version));
+        if (!budget.containsGoal(goal)) {
+          budget.addGoal(goal);
+        }
+      }
+      case GOAL_REMOVED -> budget.removeGoal(readAmount(input, version).toDouble());
+      default -> throw new IOException("Unexpected change type for a budget: " + type);
+    }
+  }
+
+  /**
+   * The method decodes the rest of a transaction record and applies it to a budget.
+   * A transaction is removed by its ID, and an added transaction whose ID is already
+   * in the budget is skipped. Records without an ID, from version 1 and 2, remove
+   * the first equal transaction instead.
+   *
+   * @param budget the changed budget.
+   * @param type the type of the change.
+   * @param input the rest of the encoded change.
+   * @param version the version of the journal.
+   * @throws IOException if the payload could not be decoded.
+   */
+  private static void applyTransaction(Budget budget, AccountChange.Type type,
+                                       DataInputStream input, int version) throws IOException {
+    String description = input.readUTF();
+    Money amount = readAmount(input, version);
+    boolean added = type == AccountChange.Type.INCOME_ADDED
+            || type == AccountChange.Type.EXPENSE_ADDED;
+    DateTimeUtil date = added ? DateTimeUtil.ofEpochMillis(input.readLong()) : new DateTimeUtil();
+    int id = version > WITHOUT_IDS_VERSION ? input.readInt() : 0;
+    if (id > 0 && added && budget.getTransaction(id) != null) {
+      return;
+    }
+    if (id > 0 && !added) {
+      budget.removeTransaction(id);
+      return;
+    }
+    switch (type) {
+      case INCOME_ADDED -> budget.addIncome(new Income(description, amount, date, id));
+      case INCOME_REMOVED -> budget.removeIncome(new Income(description, amount, date));
+      case EXPENSE_ADDED -> budget.addExpense(new Expense(description, amount, date, id));
+      default -> budget.removeExpense(new Expense(description, amount, date));
+    }
+  }
+
+  /**
+   * The method reads an amount, stored as minor units or, in version 1, as a double.
+   *
+   * @param input the rest of the encoded change.
+   * @param version the version of the journal.
+   * @return the amount.
+   * @throws IOException if the amount could not be read.
+   */
+  private static Money readAmount(DataInputStream input, int version) throws IOException {
+    return version == DECIMAL_AMOUNTS_VERSION
+            ? Money.of(input.readDouble())
+            : Money.ofMinorUnits(input.readLong());
+  }
+}
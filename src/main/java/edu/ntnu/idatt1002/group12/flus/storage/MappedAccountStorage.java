@@ -0,0 +1,399 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * The class stores all accounts in a single file that is memory-mapped when loaded.
+ * The file starts with a directory holding the username, password hash, email and
+ * phone number of every account, together with the position of its budgets. The
+ * budgets of each account are stored as a separate block after the directory, and
+ * are only decoded when the budgets of that account are first needed.
+ *
+ * <p>When saving, the blocks of accounts whose budgets were never loaded are copied
+ * from the mapped file as they are. The blocks are also moved from the mapped file to
+ * the heap, so the budgets no longer use the mapped file once it has been saved over.
+ * The mapped file is then only kept open until it is garbage collected, and can be
+ * rotated out as a previous snapshot by later saves.</p>
+ *
+ * <p>The header and directory have a checksum of their own, and so has every block.
+ * Only the checksum of the directory is verified when the file is loaded, so loading
+ * does not read the pages of the blocks. A block is verified when its budgets are
+ * first decoded, and a block copied into a new snapshot keeps its checksum. Files
+ * written before the blocks had checksums are verified as a whole when loaded.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class MappedAccountStorage extends SnapshotAccountStorage {
+
+  private static final Logger logger = Logger.getLogger(MappedAccountStorage.class.getName());
+  private static final int MAGIC = 0x464C4D50;
+  private static final int BLOCK_CHECKSUMS_MAGIC = 0x464C4D43;
+  private static final int HEADER_SIZE = 16;
+  private static final int CHECKSUMMED_HEADER_SIZE = HEADER_SIZE + Integer.BYTES;
+  private final Map<Account, MappedBudgets> mappedBudgets;
+
+  /**
+   * Constructor to create an object of the type MappedAccountStorage.
+   *
+   * @param pathOfFile the path of the file the accounts are stored in.
+   * @throws NullPointerException if the path of the file is null.
+   */
+  public MappedAccountStorage(String pathOfFile) throws NullPointerException {
+    this(pathOfFile, 0);
+  }
+
+  /**
+   * Constructor to create an object of the type MappedAccountStorage,
+   * keeping the given number of previous snapshots.
+   *
+   * @param pathOfFile the path of the file the accounts are stored in.
+   * @param generations the number of previous snapshots to keep.
+   * @throws NullPointerException if the path of the file is null.
+   * @throws IllegalArgumentException if the number of generations is negative.
+   */
+  public MappedAccountStorage(String pathOfFile, int generations)
+          throws NullPointerException, IllegalArgumentException {
+    super(pathOfFile, generations);
+    this.mappedBudgets = new IdentityHashMap<>();
+  }
+
+  /**
+   * The class loads the budgets of one account from its block in the mapped file.
+   */
+  private static final class MappedBudgets implements Supplier<List<Budget>> {
+    private volatile ByteBuffer block;
+    private final int version;
+    private volatile Integer checksum;
+    private volatile boolean verified;
+    private volatile boolean loaded;
+
+    /**
+     * Constructor to create an object of the type MappedBudgets.
+     *
+     * @param block the block holding the encoded budgets.
+     * @param version the version of the format the block was written with.
+     * @param checksum the checksum of the block, or null if the block was verified
+     *                 together with the whole file.
+     */
+    private MappedBudgets(ByteBuffer block, int version, Integer checksum) {
+      this.block = block;
+      this.version = version;
+      this.checksum = checksum;
+      this.verified = checksum == null;
+    }
+
+    /**
+     * The method retrieves the checksum of the block, calculating it if the file
+     * had no checksums of its blocks.
+     *
+     * @return the checksum.
+     */
+    private int checksum() {
+      Integer known = checksum;
+      if (known == null) {
+        known = checksumOf(block.duplicate());
+        checksum = known;
+      }
+      return known;
+    }
+
+    /**
+     * The method verifies the block against its checksum, unless it is verified already.
+     *
+     * @throws IOException if the block does not match its checksum.
+     */
+    private void verify() throws IOException {
+      if (!verified) {
+        if (checksumOf(block.duplicate()) != checksum) {
+          throw new IOException("The checksum of the budget block does not match.");
+        }
+        verified = true;
+      }
+    }
+
+    /**
+     * The method checks if the block can be copied as it is into a new snapshot,
+     * which is the case if it was never decoded and is written with the current format.
+     *
+     * @return true if the block can be copied, false otherwise.
+     */
+    private boolean canBeCopied() {
+      return !loaded && version == BinaryCodec.VERSION;
+    }
+
+    /**
+     * The method copies the block from the mapped file to the heap, unless it is
+     * there already, so that the block no longer uses the mapped file.
+     *
+     * @return the block on the heap.
+     */
+    private ByteBuffer moveToHeap() {
+      ByteBuffer mapped = block;
+      if (mapped.isDirect()) {
+        block = ByteBuffer.allocate(mapped.remaining()).put(mapped.duplicate()).flip()
+                .asReadOnlyBuffer();
+      }
+      return block.duplicate();
+    }
+
+    /**
+     * The method decodes the budgets in the block.
+     *
+     * @return the budgets.
+     * @throws UncheckedIOException if the block is corrupted.
+     */
+    @Override
+    public List<Budget> get() throws UncheckedIOException {
+      try {
+        verify();
+        List<Budget> budgets = BinaryCodec.decodeBudgets(block.duplicate(), version);
+        loaded = true;
+        return budgets;
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "An error occurred while loading budgets.", e);
+        throw new UncheckedIOException("Error loading budgets: " + e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Loads the directory of accounts from the newest valid snapshot. The budgets of
+   * each account are loaded from the mapped file when they are first needed.
+   *
+   * @return the list of accounts, or an empty list if the file does not exist or is empty.
+   * @throws IOException if no snapshot could be read.
+   */
+  @Override
+  public List<Account> loadAccounts() throws IOException {
+    mappedBudgets.clear();
+    return super.loadAccounts();
+  }
+
+  /**
+   * The method maps a snapshot file into memory.
+   *
+   * @param file the snapshot file.
+   * @return the mapped content of the file.
+   * @throws IOException if the file could not be mapped.
+   */
+  @Override
+  protected ByteBuffer read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("The file is too large to be mapped.");
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * The method verifies the header and directory of a snapshot against their checksum.
+   * The blocks are verified when they are decoded. A snapshot written before the blocks
+   * had checksums is verified as a whole.
+   *
+   * @param snapshot the snapshot.
+   * @param file the snapshot file, used in messages.
+   * @return the content of the snapshot without the trailer.
+   * @throws IOException if the snapshot has no trailer, or the directory does not
+   *                     match its checksum.
+   */
+  @Override
+  protected ByteBuffer verifySnapshot(ByteBuffer snapshot, Path file) throws IOException {
+    if (snapshot.remaining() < CHECKSUMMED_HEADER_SIZE
+            || snapshot.getInt(0) != BLOCK_CHECKSUMS_MAGIC) {
+      return super.verifySnapshot(snapshot, file);
+    }
+    ByteBuffer content = stripTrailer(snapshot, file);
+    int dataOffset = content.getInt(3 * Integer.BYTES);
+    if (dataOffset < CHECKSUMMED_HEADER_SIZE || dataOffset > content.remaining()) {
+      throw new IOException("The directory of the snapshot is cut off: " + file);
+    }
+    if (directoryChecksum(content.slice(0, HEADER_SIZE),
+            content.slice(CHECKSUMMED_HEADER_SIZE, dataOffset - CHECKSUMMED_HEADER_SIZE))
+            != content.getInt(HEADER_SIZE)) {
+      throw new IOException("The checksum of the directory does not match: " + file);
+    }
+    return content;
+  }
+
+  /**
+   * The method checks if a snapshot is written with the first version of the format,
+   * which was used before checksums were added.
+   *
+   * @param snapshot the snapshot.
+   * @return true if the snapshot is written with the first version of the format.
+   */
+  @Override
+  protected boolean predatesChecksums(ByteBuffer snapshot) {
+    return snapshot.remaining() >= HEADER_SIZE && snapshot.getInt() == MAGIC
+            && snapshot.getInt() == BinaryCodec.DECIMAL_AMOUNTS_VERSION;
+  }
+
+  /**
+   * The method decodes the directory of accounts in the mapped file.
+   *
+   * @param buffer the content of the mapped file.
+   * @return the list of accounts.
+   * @throws IOException if the directory is corrupted.
+   */
+  @Override
+  protected List<Account> decode(ByteBuffer buffer) throws IOException {
+    try {
+      int magic = buffer.remaining() < HEADER_SIZE ? 0 : buffer.getInt();
+      boolean blockChecksums = magic == BLOCK_CHECKSUMS_MAGIC;
+      if (magic != MAGIC && !blockChecksums) {
+        throw new IOException("The file is not a mapped account store.");
+      }
+      int version = buffer.getInt();
+      BinaryCodec.checkVersion(version);
+      int count = buffer.getInt();
+      int dataOffset = buffer.getInt();
+      if (blockChecksums) {
+        buffer.getInt();
+      }
+
+      List<Account> accounts = new ArrayList<>(Math.min(count, buffer.remaining()));
+      for (int i = 0; i < count; i++) {
+        String username = BinaryCodec.readUtf8(buffer);
+        String passwordHash = BinaryCodec.readUtf8(buffer);
+        String email = BinaryCodec.readUtf8(buffer);
+        String phoneNumber = BinaryCodec.readUtf8(buffer);
+        int blockOffset = buffer.getInt();
+        int blockLength = buffer.getInt();
+        Integer blockChecksum = blockChecksums ? buffer.getInt() : null;
+        if (blockOffset < 0 || blockLength < 0
+                || (long) dataOffset + blockOffset + blockLength > buffer.limit()) {
+          throw new IOException("Invalid budget block for the account: " + username);
+        }
+        MappedBudgets budgets = new MappedBudgets(
+                buffer.slice(dataOffset + blockOffset, blockLength).asReadOnlyBuffer(), version,
+                blockChecksum);
+        Account account = Account.restore(username, passwordHash, email, phoneNumber, budgets);
+        mappedBudgets.put(account, budgets);
+        accounts.add(account);
+      }
+      return accounts;
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+      mappedBudgets.clear();
+      logger.log(Level.SEVERE, "An error occurred while loading"
+              + " accounts from the file: " + getPathOfFile(), e);
+      throw new IOException("Error loading accounts from file: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method encodes the directory of accounts followed by their budget blocks.
+   * The blocks of budgets that were never loaded are moved to the heap, and keep
+   * their checksums.
+   *
+   * @param accounts the accounts to be saved.
+   * @param output the output to write to.
+   * @throws IOException if an I/O error occurs.
+   */
+  @Override
+  protected void encode(Collection<Account> accounts, OutputStream output) throws IOException {
+    ByteArrayOutputStream directory = new ByteArrayOutputStream();
+    DataOutputStream directoryOutput = new DataOutputStream(directory);
+    List<ByteBuffer> blocks = new ArrayList<>(accounts.size());
+    int blockOffset = 0;
+    for (Account account : accounts) {
+      MappedBudgets budgets = mappedBudgets.get(account);
+      ByteBuffer block;
+      int blockChecksum;
+      if (budgets != null && budgets.canBeCopied()) {
+        block = budgets.moveToHeap();
+        blockChecksum = budgets.checksum();
+      } else {
+        block = ByteBuffer.wrap(BinaryCodec.encodeBudgets(account.getBudgets()));
+        blockChecksum = checksumOf(block.duplicate());
+      }
+      BinaryCodec.writeUtf8(directoryOutput, account.getUsername());
+      BinaryCodec.writeUtf8(directoryOutput, account.getPassword());
+      BinaryCodec.writeUtf8(directoryOutput, account.getEmail());
+      BinaryCodec.writeUtf8(directoryOutput, account.getPhoneNumber());
+      directoryOutput.writeInt(blockOffset);
+      directoryOutput.writeInt(block.remaining());
+      directoryOutput.writeInt(blockChecksum);
+      blockOffset += block.remaining();
+      blocks.add(block);
+    }
+
+    ByteBuffer directoryBytes = ByteBuffer.wrap(directory.toByteArray());
+    ByteBuffer header = ByteBuffer.allocate(CHECKSUMMED_HEADER_SIZE)
+            .putInt(BLOCK_CHECKSUMS_MAGIC)
+            .putInt(BinaryCodec.VERSION)
+            .putInt(accounts.size())
+            .putInt(CHECKSUMMED_HEADER_SIZE + directoryBytes.remaining());
+    header.putInt(directoryChecksum(header.slice(0, HEADER_SIZE), directoryBytes.duplicate()))
+            .flip();
+    WritableByteChannel channel = Channels.newChannel(output);
+    writeFully(channel, header);
+    writeFully(channel, directoryBytes);
+    for (ByteBuffer block : blocks) {
+      writeFully(channel, block);
+    }
+  }
+
+  /**
+   * The method calculates the checksum of the header and directory of a snapshot.
+   *
+   * @param header the header, without the checksum itself.
+   * @param directory the directory.
+   * @return the checksum.
+   */
+  private static int directoryChecksum(ByteBuffer header, ByteBuffer directory) {
+    CRC32C checksum = new CRC32C();
+    checksum.update(header);
+    checksum.update(directory);
+    return (int) checksum.getValue();
+  }
+
+  /**
+   * The method calculates the checksum of a block.
+   *
+   * @param block the block.
+   * @return the checksum.
+   */
+  private static int checksumOf(ByteBuffer block) {
+    CRC32C checksum = new CRC32C();
+    checksum.update(block);
+    return (int) checksum.getValue();
+  }
+
+  /**
+   * The method writes all remaining bytes of a buffer to a channel.
+   *
+   * @param channel the channel to write to.
+   * @param buffer the buffer to be written.
+   * @throws IOException if an I/O error occurs.
+   */
+  private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The class stores all accounts in a single file using Java serialization.
+ * Every save rewrites the whole file.
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class SerializedAccountStorage extends SnapshotAccountStorage {
+
+  private static final Logger logger = Logger.getLogger(SerializedAccountStorage.class.getName());
+
+  /**
+   * Constructor to create an object of the type SerializedAccountStorage.
+   *
+   * @param pathOfFile the path of the file the accounts are stored in.
+   * @throws NullPointerException if the path of the file is null.
+   */
+  public SerializedAccountStorage(String pathOfFile) throws NullPointerException {
+    this(pathOfFile, 0);
+  }
+
+  /**
+   * Constructor to create an object of the type SerializedAccountStorage,
+   * keeping the given number of previous snapshots.
+   *
+   * @param pathOfFile the path of the file the accounts are stored in.
+   * @param generations the number of previous snapshots to keep.
+   * @throws NullPointerException if the path of the file is null.
+   * @throws IllegalArgumentException if the number of generations is negative.
+   */
+  public SerializedAccountStorage(String pathOfFile, int generations)
+          throws NullPointerException, IllegalArgumentException {
+    super(pathOfFile, generations);
+  }
+
+  /**
+   * The method checks if a snapshot is a serialized stream. The format has no version,
+   * so every serialized snapshot may have been written before checksums were added.
+   *
+   * @param snapshot the snapshot.
+   * @return true if the snapshot starts like a serialized stream.
+   */
+  @Override
+  protected boolean predatesChecksums(ByteBuffer snapshot) {
+    return snapshot.remaining() >= Short.BYTES
+            && snapshot.getShort() == (short) ObjectStreamConstants.STREAM_MAGIC;
+  }
+
+  /**
+   * The method decodes the serialized list of accounts.
+   * Annotated with @SuppressWarnings("unchecked") because we know
+   * that the file contains a list of accounts.
+   *
+   * @param content the content of the file.
+   * @return the list of accounts.
+   * @throws EOFException if the file is corrupted.
+   * @throws IOException if an I/O error occurs, or the class of a serialized object cannot be found.
+   */
+  @SuppressWarnings("unchecked") // Reason: We know that the file contains a list of accounts.
+  @Override
+  protected List<Account> decode(ByteBuffer content) throws IOException {
+    try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(
+            content.array(), content.arrayOffset() + content.position(), content.remaining()))) {
+      return (List<Account>) objectInput.readObject();
+    } catch (EOFException e) {
+      logger.log(Level.SEVERE, "File is empty or corrupted: " + getPathOfFile(), e);
+      throw new EOFException("File is empty or corrupted: " + e.getMessage());
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "An error occurred while loading"
+              + " accounts from the file: " + getPathOfFile(), e);
+      throw new IOException("Error loading accounts from file: " + e.getMessage(), e);
+    } catch (ClassNotFoundException e) {
+      logger.log(Level.SEVERE, "Cannot find the class of a serialized object"
+              + " while loading accounts from the file: " + getPathOfFile(), e);
+      throw new IOException("Error loading accounts from file: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method serializes the list of accounts.
+   *
+   * @param accounts the accounts to be saved.
+   * @param output the output to write to.
+   * @throws IOException if an I/O error occurs.
+   */
+  @Override
+  protected void encode(Collection<Account> accounts, OutputStream output) throws IOException {
+    ObjectOutputStream objectOutput = new ObjectOutputStream(output);
+    objectOutput.writeObject(new ArrayList<>(accounts));
+    objectOutput.flush();
+  }
+}
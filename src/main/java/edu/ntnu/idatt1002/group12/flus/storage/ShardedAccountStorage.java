@@ -0,0 +1,420 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * The class stores every account in a shard file of its own, next to a directory index.
+ * The index holds the username, password hash, email and phone number of every account,
+ * and each shard holds the budgets of one account. Shards are named after a hash of the
+ * username, and are only read when the budgets of that account are first needed.
+ *
+ * <p>Saving the changes made to the budgets of an account only rewrites the shard of that
+ * account, and the index is only rewritten when an account is registered, deleted or has
+ * its details changed. The index and every shard are checksummed and written atomically,
+ * so a damaged shard only affects the account it belongs to.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class ShardedAccountStorage extends SnapshotAccountStorage {
+
+  private static final Logger logger = Logger.getLogger(ShardedAccountStorage.class.getName());
+  private static final int INDEX_MAGIC = 0x464C4958;
+  private static final int SHARD_MAGIC = 0x464C5348;
+  private static final String INDEX_FILE = "index.bin";
+  private static final String SHARD_DIRECTORY = "accounts";
+  private static final String SHARD_EXTENSION = ".shard";
+  private final Path pathOfShards;
+  private final int generations;
+  private final Map<Account, ShardBudgets> shardBudgets;
+
+  /**
+   * Constructor to create an object of the type ShardedAccountStorage.
+   *
+   * @param pathOfDirectory the path of the directory the accounts are stored in.
+   * @throws NullPointerException if the path of the directory is null.
+   */
+  public ShardedAccountStorage(String pathOfDirectory) throws NullPointerException {
+    this(pathOfDirectory, 0);
+  }
+
+  /**
+   * Constructor to create an object of the type ShardedAccountStorage,
+   * keeping the given number of previous versions of the index and of every shard.
+   *
+   * @param pathOfDirectory the path of the directory the accounts are stored in.
+   * @param generations the number of previous versions to keep.
+   * @throws NullPointerException if the path of the directory is null.
+   * @throws IllegalArgumentException if the number of generations is negative.
+   */
+  public ShardedAccountStorage(String pathOfDirectory, int generations)
+          throws NullPointerException, IllegalArgumentException {
+    super(Path.of(Objects.requireNonNull(pathOfDirectory,
+            "The path of the directory cannot be null.")).resolve(INDEX_FILE).toString(),
+            generations);
+    this.pathOfShards = Path.of(pathOfDirectory).resolve(SHARD_DIRECTORY);
+    this.generations = generations;
+    this.shardBudgets = new IdentityHashMap<>();
+  }
+
+  /**
+   * The class loads the budgets of one account from its shard.
+   */
+  private final class ShardBudgets implements Supplier<List<Budget>> {
+    private final Path shard;
+    private volatile boolean loaded;
+
+    /**
+     * Constructor to create an object of the type ShardBudgets.
+     *
+     * @param shard the shard holding the budgets.
+     */
+    private ShardBudgets(Path shard) {
+      this.shard = shard;
+    }
+
+    /**
+     * The method reads the budgets in the shard.
+     *
+     * @return the budgets.
+     * @throws UncheckedIOException if no version of the shard could be read.
+     */
+    @Override
+    public List<Budget> get() throws UncheckedIOException {
+      try {
+        List<Budget> budgets = readShard(shard);
+        loaded = true;
+        return budgets;
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "An error occurred while loading budgets.", e);
+        throw new UncheckedIOException("Error loading budgets: " + e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Loads the accounts in the index. The budgets of each account are
+   * loaded from its shard when they are first needed.
+   *
+   * @return the list of accounts, or an empty list if there is no index.
+   * @throws IOException if no version of the index could be read.
+   */
+  @Override
+  public List<Account> loadAccounts() throws IOException {
+    shardBudgets.clear();
+    return super.loadAccounts();
+  }
+
+  /**
+   * Prepares saving the list of accounts. The shards of accounts whose budgets were
+   * never loaded are kept as they are, and shards of accounts not in the list are
+   * deleted when the prepared save is written.
+   *
+   * @param accounts the accounts to be saved.
+   * @return the prepared save.
+   * @throws IOException if the accounts could not be encoded.
+   */
+  @Override
+  public PreparedSave prepareAccounts(Collection<Account> accounts) throws IOException {
+    List<PreparedSave> saves = new ArrayList<>();
+    Set<String> shardsKept = new HashSet<>();
+    for (Account account : accounts) {
+      ShardBudgets budgets = shardBudgets.get(account);
+      if (budgets == null || budgets.loaded) {
+        saves.add(prepareShard(account));
+      }
+      shardsKept.add(shardOf(account.getUsername()).getFileName().toString());
+    }
+    saves.add(super.prepareAccounts(accounts));
+    return () -> {
+      for (PreparedSave save : saves) {
+        save.write();
+      }
+      deleteShardsExcept(shardsKept);
+    };
+  }
+
+  /**
+   * Saves the given changes. Only the shards of accounts whose budgets were changed are
+   * rewritten, and the index is only rewritten if an account was registered, deleted or
+   * had its details changed.
+   *
+   * @param accounts all accounts, including the changed ones.
+   * @param changes the changes made since the accounts were last loaded or saved.
+   * @throws IOException if the changes could not be saved.
+   */
+  @Override
+  public void saveChanges(Collection<Account> accounts, List<AccountChange> changes)
+          throws IOException {
+    prepareChanges(accounts, changes).write();
+  }
+
+  /**
+   * Prepares saving the given changes, by encoding the shards of accounts whose budgets
+   * were changed, and the index if an account was registered, deleted or had its details
+   * changed. The shards of deleted accounts are deleted when the prepared save is written.
+   *
+   * @param accounts all accounts, including the changed ones.
+   * @param changes the changes made since the accounts were last loaded or saved.
+   * @return the prepared save.
+   * @throws IOException if the accounts could not be encoded.
+   */
+  @Override
+  public PreparedSave prepareChanges(Collection<Account> accounts, List<AccountChange> changes)
+          throws IOException {
+    Set<String> changedShards = new HashSet<>();
+    Set<String> deletedShards = new HashSet<>();
+    boolean indexChanged = false;
+    for (AccountChange change : changes) {
+      String username = change.getUsername();
+      switch (change.getType()) {
+        case ACCOUNT_REGISTERED -> {
+          indexChanged = true;
+          changedShards.add(username);
+          deletedShards.remove(username);
+        }
+        case ACCOUNT_DELETED -> {
+          indexChanged = true;
+          changedShards.remove(username);
+          deletedShards.add(username);
+        }
+        case PASSWORD_CHANGED, EMAIL_CHANGED, PHONE_NUMBER_CHANGED -> indexChanged = true;
+        default -> changedShards.add(username);
+      }
+    }
+    List<PreparedSave> saves = new ArrayList<>();
+    for (Account account : accounts) {
+      if (changedShards.contains(account.getUsername())) {
+        saves.add(prepareShard(account));
+      }
+      deletedShards.remove(account.getUsername());
+    }
+    if (indexChanged) {
+      saves.add(super.prepareAccounts(accounts));
+    }
+    return () -> {
+      for (PreparedSave save : saves) {
+        save.write();
+      }
+      for (String username : deletedShards) {
+        deleteShard(shardOf(username));
+      }
+    };
+  }
+
+  /**
+   * The method decodes the accounts in the index.
+   *
+   * @param content the content of the index.
+   * @return the list of accounts.
+   * @throws IOException if the index is corrupted.
+   */
+  @Override
+  protected List<Account> decode(ByteBuffer content) throws IOException {
+    shardBudgets.clear();
+    try {
+      if (content.remaining() < Integer.BYTES || content.getInt() != INDEX_MAGIC) {
+        throw new IOException("The file is not an account index.");
+      }
+      BinaryCodec.checkVersion(BinaryCodec.readVarInt(content));
+      int count = BinaryCodec.readVarInt(content);
+      List<Account> accounts = new ArrayList<>(Math.min(count, content.remaining()));
+      for (int i = 0; i < count; i++) {
+        String username = BinaryCodec.readUtf8(content);
+        String passwordHash = BinaryCodec.readUtf8(content);
+        String email = BinaryCodec.readUtf8(content);
+        String phoneNumber = BinaryCodec.readUtf8(content);
+        ShardBudgets budgets = new ShardBudgets(shardOf(username));
+        Account account = Account.restore(username, passwordHash, email, phoneNumber, budgets);
+        shardBudgets.put(account, budgets);
+        accounts.add(account);
+      }
+      return accounts;
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+      shardBudgets.clear();
+      logger.log(Level.SEVERE, "An error occurred while loading"
+              + " accounts from the file: " + getPathOfFile(), e);
+      throw new IOException("Error loading accounts from file: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method encodes the index of the accounts.
+   *
+   * @param accounts the accounts to be saved.
+   * @param output the output to write to.
+   * @throws IOException if an I/O error occurs.
+   */
+  @Override
+  protected void encode(Collection<Account> accounts, OutputStream output) throws IOException {
+    DataOutputStream indexOutput = new DataOutputStream(output);
+    indexOutput.writeInt(INDEX_MAGIC);
+    BinaryCodec.writeVarInt(indexOutput, BinaryCodec.VERSION);
+    BinaryCodec.writeVarInt(indexOutput, accounts.size());
+    for (Account account : accounts) {
+      BinaryCodec.writeUtf8(indexOutput, account.getUsername());
+      BinaryCodec.writeUtf8(indexOutput, account.getPassword());
+      BinaryCodec.writeUtf8(indexOutput, account.getEmail());
+      BinaryCodec.writeUtf8(indexOutput, account.getPhoneNumber());
+    }
+    indexOutput.flush();
+  }
+
+  /**
+   * The method retrieves the path of the shard of an account. The name of the
+   * shard is the first 16 bytes of the SHA-256 hash of the username, as hex.
+   *
+   * @param username the username of the account.
+   * @return the path of the shard.
+   */
+  Path shardOf(String username) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256")
+              .digest(username.getBytes(StandardCharsets.UTF_8));
+      return pathOfShards.resolve(HexFormat.of().formatHex(hash, 0, 16) + SHARD_EXTENSION);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported.", e);
+    }
+  }
+
+  /**
+   * The method prepares writing the budgets of an account to its shard, by encoding
+   * the budgets. The shard is written when the prepared save is written.
+   *
+   * @param account the account to be written.
+   * @return the prepared save.
+   * @throws IOException if the budgets could not be encoded.
+   */
+  private PreparedSave prepareShard(Account account) throws IOException {
+    Path shard = shardOf(account.getUsername());
+    byte[] block;
+    try {
+      block = BinaryCodec.encodeBudgets(account.getBudgets());
+    } catch (IOException | UncheckedIOException e) {
+      throw shardFailed(shard, e);
+    }
+    return () -> {
+      try {
+        Files.createDirectories(pathOfShards);
+        writeChecksummed(shard, generations, output -> {
+          DataOutputStream shardOutput = new DataOutputStream(output);
+          shardOutput.writeInt(SHARD_MAGIC);
+          BinaryCodec.writeVarInt(shardOutput, BinaryCodec.VERSION);
+          shardOutput.write(block);
+          shardOutput.flush();
+        });
+      } catch (IOException e) {
+        throw shardFailed(shard, e);
+      }
+    };
+  }
+
+  /**
+   * The method logs that the budgets of an account could not be saved to its shard.
+   *
+   * @param shard the shard.
+   * @param e the cause.
+   * @return the exception to be thrown.
+   */
+  private static IOException shardFailed(Path shard, Exception e) {
+    logger.log(Level.SEVERE, "Error saving the account to file: " + shard, e);
+    return new IOException("Error saving the account to file: " + e.getMessage(), e);
+  }
+
+  /**
+   * The method reads the budgets in the newest valid version of a shard.
+   *
+   * @param shard the shard to be read.
+   * @return the budgets.
+   * @throws IOException if no version of the shard could be read.
+   */
+  private List<Budget> readShard(Path shard) throws IOException {
+    IOException failure = null;
+    for (int generation = 0; generation <= generations; generation++) {
+      Path file = generation == 0 ? shard : AtomicFiles.generationOf(shard, generation);
+      if (!Files.exists(file)) {
+        continue;
+      }
+      try {
+        ByteBuffer content = verify(ByteBuffer.wrap(Files.readAllBytes(file)), file, false);
+        if (content.remaining() < Integer.BYTES || content.getInt() != SHARD_MAGIC) {
+          throw new IOException("The file is not an account shard: " + file);
+        }
+        int version = BinaryCodec.readVarInt(content);
+        BinaryCodec.checkVersion(version);
+        return BinaryCodec.decodeBudgets(content, version);
+      } catch (IOException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure == null) {
+      throw new IOException("The shard does not exist: " + shard);
+    }
+    throw failure;
+  }
+
+  /**
+   * The method deletes a shard and all its versions.
+   *
+   * @param shard the shard to be deleted.
+   * @throws IOException if the shard could not be deleted.
+   */
+  private void deleteShard(Path shard) throws IOException {
+    Files.deleteIfExists(shard);
+    for (int generation = 1; generation <= generations; generation++) {
+      Files.deleteIfExists(AtomicFiles.generationOf(shard, generation));
+    }
+  }
+
+  /**
+   * The method deletes the shards that are not in the given set.
+   *
+   * @param shardsKept the file names of the shards that are kept.
+   * @throws IOException if a shard could not be deleted.
+   */
+  private void deleteShardsExcept(Set<String> shardsKept) throws IOException {
+    if (!Files.isDirectory(pathOfShards)) {
+      return;
+    }
+    try (Stream<Path> files = Files.list(pathOfShards)) {
+      for (Path file : files.toList()) {
+        String name = file.getFileName().toString();
+        int extension = name.indexOf(SHARD_EXTENSION);
+        if (extension > 0
+                && !shardsKept.contains(name.substring(0, extension + SHARD_EXTENSION.length()))) {
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,357 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * The class is the base of storages that keep all accounts in a single snapshot file.
+ * Every snapshot ends with a trailer holding a CRC32C checksum of its content, and is
+ * written atomically. The given number of previous snapshots are kept as generations
+ * next to the file, named with the suffixes .1, .2 and so on, where .1 is the newest.
+ *
+ * <p>Loading verifies and reads the newest snapshot. If it is missing, fails
+ * verification or cannot be read, the next generation is tried, until one is valid.
+ * Snapshots written before checksums were added have no trailer, and are read
+ * without verification. Each storage decides from the format of a snapshot if it
+ * may have been written before checksums were added. Any other snapshot without a
+ * trailer, such as one cut off within its trailer, fails verification. A storage may
+ * also verify parts of its content when they are read instead, by overriding
+ * {@link #verifySnapshot(ByteBuffer, Path)}.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public abstract class SnapshotAccountStorage implements AccountStorage {
+
+  private static final Logger logger = Logger.getLogger(SnapshotAccountStorage.class.getName());
+  private static final int TRAILER_MAGIC = 0x464C4353;
+  private static final int TRAILER_SIZE = 8;
+  private final Path pathOfFile;
+  private final int generations;
+  private Duration lastVerificationTime;
+  private Path lastLoadedFile;
+
+  /**
+   * Constructor to create an object of the type SnapshotAccountStorage.
+   *
+   * @param pathOfFile the path of the snapshot file.
+   * @param generations the number of previous snapshots to keep.
+   * @throws NullPointerException if the path of the file is null.
+   * @throws IllegalArgumentException if the number of generations is negative.
+   */
+  protected SnapshotAccountStorage(String pathOfFile, int generations)
+          throws NullPointerException, IllegalArgumentException {
+    this.pathOfFile = Path.of(Objects.requireNonNull(pathOfFile,
+            "The path of the file cannot be null."));
+    if (generations < 0) {
+      throw new IllegalArgumentException("The number of generations cannot be negative.");
+    }
+    this.generations = generations;
+    this.lastVerificationTime = Duration.ZERO;
+  }
+
+  /**
+   * The method retrieves the path of the snapshot file.
+   *
+   * @return the path of the snapshot file.
+   */
+  protected Path getPathOfFile() {
+    return pathOfFile;
+  }
+
+  /**
+   * The method retrieves the time it took to verify the checksum of the last loaded snapshot.
+   *
+   * @return the verification time.
+   */
+  public Duration getLastVerificationTime() {
+    return lastVerificationTime;
+  }
+
+  /**
+   * The method retrieves the snapshot file the accounts were last loaded from.
+   *
+   * @return the path of the file, or null if no snapshot has been loaded.
+   */
+  public Path getLastLoadedFile() {
+    return lastLoadedFile;
+  }
+
+  /**
+   * The method checks if the snapshot or any of its generations exists.
+   *
+   * @return true if a snapshot exists, false otherwise.
+   */
+  public boolean exists() {
+    return generationFiles().stream().anyMatch(Files::exists);
+  }
+
+  /**
+   * Loads the list of accounts from the newest valid snapshot.
+   *
+   * @return the list of accounts, or an empty list if there is no snapshot.
+   * @throws IOException if no snapshot could be read. The exception of the newest
+   *                     snapshot is thrown, with those of older snapshots suppressed.
+   */
+  @Override
+  public List<Account> loadAccounts() throws IOException {
+    IOException failure = null;
+    for (Path file : generationFiles()) {
+      if (!Files.exists(file) || Files.size(file) == 0) {
+        continue;
+      }
+      try {
+        ByteBuffer snapshot = read(file);
+        long start = System.nanoTime();
+        ByteBuffer content = verifySnapshot(snapshot, file);
+        lastVerificationTime = Duration.ofNanos(System.nanoTime() - start);
+        List<Account> accounts = decode(content);
+        lastLoadedFile = file;
+        logger.info("Loaded " + accounts.size() + " accounts from " + file
+                + ", verified in " + lastVerificationTime.toNanos() / 1_000_000.0 + " ms.");
+        if (failure != null) {
+          logger.warning("Fell back to an older snapshot: " + file);
+        }
+        return accounts;
+      } catch (IOException e) {
+        logger.log(Level.WARNING, "Could not load the snapshot: " + file, e);
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      logger.log(Level.SEVERE, "No valid snapshot of " + pathOfFile, failure);
+      throw failure;
+    }
+    return new ArrayList<>();
+  }
+
+  /**
+   * Saves the list of accounts as a new snapshot. The new snapshot is written
+   * atomically, and the previous snapshot becomes the newest generation.
+   *
+   * @param accounts the accounts to be saved.
+   * @throws IOException if the accounts could not be saved. The snapshot is then unchanged.
+   */
+  @Override
+  public void saveAccounts(Collection<Account> accounts) throws IOException {
+    prepareAccounts(accounts).write();
+  }
+
+  /**
+   * Prepares saving the list of accounts as a new snapshot, by encoding the accounts
+   * in memory. The snapshot is written when the prepared save is written.
+   *
+   * @param accounts the accounts to be saved.
+   * @return the prepared save.
+   * @throws IOException if the accounts could not be encoded.
+   */
+  @Override
+  public PreparedSave prepareAccounts(Collection<Account> accounts) throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    try {
+      encode(accounts, content);
+    } catch (IOException e) {
+      throw saveFailed(e);
+    }
+    return () -> {
+      try {
+        writeChecksummed(pathOfFile, generations, content::writeTo);
+      } catch (IOException e) {
+        throw saveFailed(e);
+      }
+    };
+  }
+
+  /**
+   * Prepares saving the changes by preparing a new snapshot of all accounts.
+   *
+   * @param accounts all accounts, in their current state.
+   * @param changes the changes made since the last load or save.
+   * @return the prepared save.
+   * @throws IOException if the accounts could not be encoded.
+   */
+  @Override
+  public PreparedSave prepareChanges(Collection<Account> accounts, List<AccountChange> changes)
+          throws IOException {
+    return prepareAccounts(accounts);
+  }
+
+  /**
+   * The method logs that the accounts could not be saved.
+   *
+   * @param e the cause.
+   * @return the exception to be thrown.
+   */
+  private IOException saveFailed(IOException e) {
+    logger.log(Level.SEVERE, "Error saving accounts to file: " + pathOfFile, e);
+    return new IOException("Error saving accounts to file: " + e.getMessage(), e);
+  }
+
+  /**
+   * The method reads a snapshot file. Subclasses may override it to map the file instead.
+   *
+   * @param file the snapshot file.
+   * @return the content of the file.
+   * @throws IOException if the file could not be read.
+   */
+  protected ByteBuffer read(Path file) throws IOException {
+    return ByteBuffer.wrap(Files.readAllBytes(file));
+  }
+
+  /**
+   * The method verifies a snapshot before it is decoded. By default, the checksum in
+   * the trailer is verified against the whole content.
+   *
+   * @param snapshot the snapshot.
+   * @param file the snapshot file, used in messages.
+   * @return the content of the snapshot without the trailer.
+   * @throws IOException if the snapshot fails verification.
+   */
+  protected ByteBuffer verifySnapshot(ByteBuffer snapshot, Path file) throws IOException {
+    return verify(snapshot, file, predatesChecksums(snapshot.duplicate()));
+  }
+
+  /**
+   * The method checks if a snapshot is written in a format from before checksums
+   * were added, so that it may be read without verification if it has no trailer.
+   * No snapshot predates checksums unless a subclass decides otherwise.
+   *
+   * @param snapshot the snapshot, which may be read from.
+   * @return true if the snapshot may have been written without a checksum.
+   */
+  protected boolean predatesChecksums(ByteBuffer snapshot) {
+    return false;
+  }
+
+  /**
+   * The method decodes the accounts in the content of a snapshot.
+   *
+   * @param content the verified content of the snapshot, without the trailer.
+   * @return the decoded accounts.
+   * @throws IOException if the content could not be decoded.
+   */
+  protected abstract List<Account> decode(ByteBuffer content) throws IOException;
+
+  /**
+   * The method encodes the accounts as the content of a snapshot.
+   * The output must not be closed.
+   *
+   * @param accounts the accounts to be encoded.
+   * @param output the output to write to.
+   * @throws IOException if the accounts could not be encoded.
+   */
+  protected abstract void encode(Collection<Account> accounts, OutputStream output)
+          throws IOException;
+
+  /**
+   * The method lists the snapshot file followed by its generations, from newest to oldest.
+   *
+   * @return the snapshot files.
+   */
+  private List<Path> generationFiles() {
+    List<Path> files = new ArrayList<>(generations + 1);
+    files.add(pathOfFile);
+    for (int generation = 1; generation <= generations; generation++) {
+      files.add(AtomicFiles.generationOf(pathOfFile, generation));
+    }
+    return files;
+  }
+
+  /**
+   * The method replaces a file atomically with the given content, followed by a
+   * trailer holding the checksum of the content.
+   *
+   * @param target the file to be replaced.
+   * @param generations the number of previous contents to keep.
+   * @param writer the writer of the content.
+   * @throws IOException if the file could not be replaced.
+   */
+  static void writeChecksummed(Path target, int generations, AtomicFiles.ContentWriter writer)
+          throws IOException {
+    AtomicFiles.write(target, generations, output -> {
+      CheckedOutputStream checkedOutput = new CheckedOutputStream(output, new CRC32C());
+      writer.writeTo(checkedOutput);
+      checkedOutput.flush();
+      DataOutputStream trailer = new DataOutputStream(output);
+      trailer.writeInt((int) checkedOutput.getChecksum().getValue());
+      trailer.writeInt(TRAILER_MAGIC);
+      trailer.flush();
+    });
+  }
+
+  /**
+   * The method verifies the checksum in the trailer of a snapshot.
+   *
+   * @param snapshot the snapshot.
+   * @param file the snapshot file, used in messages.
+   * @param predatesChecksums if the snapshot may have been written without a checksum.
+   * @return the content of the snapshot without the trailer.
+   * @throws IOException if the checksum does not match the content, or the snapshot
+   *                     has no trailer and does not predate checksums.
+   */
+  static ByteBuffer verify(ByteBuffer snapshot, Path file, boolean predatesChecksums)
+          throws IOException {
+    int length = snapshot.remaining();
+    if (!hasTrailer(snapshot)) {
+      if (!predatesChecksums) {
+        throw new IOException("The snapshot has no checksum, and may be cut off: " + file);
+      }
+      logger.warning("The snapshot has no checksum, and is read without verification: " + file);
+      return snapshot;
+    }
+    ByteBuffer content = snapshot.slice(0, length - TRAILER_SIZE);
+    CRC32C checksum = new CRC32C();
+    checksum.update(content.duplicate());
+    if ((int) checksum.getValue() != snapshot.getInt(length - TRAILER_SIZE)) {
+      throw new IOException("The checksum of the snapshot does not match: " + file);
+    }
+    return content;
+  }
+
+  /**
+   * The method removes the trailer of a snapshot without verifying the checksum in it,
+   * for storages that verify the parts of the content when they are read.
+   *
+   * @param snapshot the snapshot.
+   * @param file the snapshot file, used in messages.
+   * @return the content of the snapshot without the trailer.
+   * @throws IOException if the snapshot has no trailer, and may be cut off.
+   */
+  static ByteBuffer stripTrailer(ByteBuffer snapshot, Path file) throws IOException {
+    if (!hasTrailer(snapshot)) {
+      throw new IOException("The snapshot has no checksum, and may be cut off: " + file);
+    }
+    return snapshot.slice(0, snapshot.remaining() - TRAILER_SIZE);
+  }
+
+  /**
+   * The method checks if a snapshot ends with a trailer.
+   *
+   * @param snapshot the snapshot.
+   * @return true if the snapshot ends with a trailer.
+   */
+  private static boolean hasTrailer(ByteBuffer snapshot) {
+    int length = snapshot.remaining();
+    return length >= TRAILER_SIZE && snapshot.getInt(length - Integer.BYTES) == TRAILER_MAGIC;
+  }
+}
@@ -0,0 +1,633 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Transaction;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The class stores accounts in an SQLite database, with one normalized table
+ * for each of accounts, budgets, incomes, expenses and goals. Changes are
+ * saved as single row inserts, updates and deletes, so that saving one added
+ * expense does not rewrite the rest of the stored accounts.
+ *
+ * <p>The database is opened in WAL mode, and all statements are prepared.</p>
+ *
+ * <p>Incomes and expenses are stored with their IDs in the budget, and are deleted
+ * by ID. A database created before the IDs were stored gets the column when it is
+ * opened, and the IDs given to its transactions are written back when they are loaded.</p>
+ *
+ * <p>Amounts and the minimum values of goals are stored as integer minor units, so that
+ * a goal is deleted by exactly the value the budget removed it by. A database created
+ * when they were stored as decimal numbers has those tables rebuilt when it is opened,
+ * with every value rounded to minor units.</p>
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public class SqliteAccountStorage implements AccountStorage {
+
+  private static final Logger logger = Logger.getLogger(SqliteAccountStorage.class.getName());
+
+  private static final String TRANSACTION_COLUMNS = "id INTEGER PRIMARY KEY, "
+          + "budget INTEGER NOT NULL REFERENCES budgets(id) ON DELETE CASCADE, "
+          + "description TEXT NOT NULL, amount INTEGER NOT NULL, date TEXT NOT NULL, "
+          + "transaction_id INTEGER NOT NULL DEFAULT 0";
+  private static final String GOAL_COLUMNS = "id INTEGER PRIMARY KEY, "
+          + "budget INTEGER NOT NULL REFERENCES budgets(id) ON DELETE CASCADE, "
+          + "minimum_value INTEGER NOT NULL";
+  private static final String[] CREATE_TABLES = {
+    "CREATE TABLE IF NOT EXISTS accounts ("
+            + "username TEXT PRIMARY KEY, password TEXT NOT NULL, "
+            + "email TEXT NOT NULL UNIQUE, phone_number TEXT NOT NULL UNIQUE)",
+    "CREATE TABLE IF NOT EXISTS budgets ("
+            + "id INTEGER PRIMARY KEY, "
+            + "username TEXT NOT NULL REFERENCES accounts(username) ON DELETE CASCADE, "
+            + "budget_id TEXT NOT NULL, created TEXT NOT NULL, UNIQUE (username, budget_id))",
+    "CREATE TABLE IF NOT EXISTS incomes (" + TRANSACTION_COLUMNS + ")",
+    "CREATE TABLE IF NOT EXISTS expenses (" + TRANSACTION_COLUMNS + ")",
+    "CREATE TABLE IF NOT EXISTS goals (" + GOAL_COLUMNS + ")",
+    "CREATE INDEX IF NOT EXISTS incomes_budget ON incomes(budget)",
+    "CREATE INDEX IF NOT EXISTS expenses_budget ON expenses(budget)",
+    "CREATE INDEX IF NOT EXISTS goals_budget ON goals(budget)"
+  };
+  private static final String[] TRANSACTION_TABLES = {"incomes", "expenses"};
+
+  private static final String INSERT_ACCOUNT =
+          "INSERT INTO accounts (username, password, email, phone_number) VALUES (?, ?, ?, ?)";
+  private static final String DELETE_ACCOUNT = "DELETE FROM accounts WHERE username = ?";
+  private static final String DELETE_ALL_ACCOUNTS = "DELETE FROM accounts";
+  private static final String UPDATE_PASSWORD =
+          "UPDATE accounts SET password = ? WHERE username = ?";
+  private static final String UPDATE_EMAIL = "UPDATE accounts SET email = ? WHERE username = ?";
+  private static final String UPDATE_PHONE_NUMBER =
+          "UPDATE accounts SET phone_number = ? WHERE username = ?";
+  private static final String INSERT_BUDGET =
+          "INSERT INTO budgets (username, budget_id, created) VALUES (?, ?, ?)";
+  private static final String DELETE_BUDGET =
+          "DELETE FROM budgets WHERE username = ? AND budget_id = ?";
+  private static final String INSERT_TRANSACTION =
+          "INSERT INTO %s (budget, description, amount, date, transaction_id) "
+                  + "SELECT id, ?, ?, ?, ? FROM budgets WHERE username = ? AND budget_id = ?";
+  private static final String UPDATE_TRANSACTION_ID =
+          "UPDATE %s SET transaction_id = ? WHERE id = ?";
+  private static final String DELETE_TRANSACTION_BY_ID =
+          "DELETE FROM %s WHERE transaction_id = ? AND budget = "
+                  + "(SELECT id FROM budgets WHERE username = ? AND budget_id = ?)";
+  private static final String DELETE_TRANSACTION =
+          "DELETE FROM %1$s WHERE id = (SELECT t.id FROM %1$s t JOIN budgets b ON t.budget = b.id "
+                  + "WHERE b.username = ? AND b.budget_id = ? AND t.description = ? "
+                  + "AND t.amount = ? ORDER BY t.id LIMIT 1)";
+  private static final String INSERT_GOAL =
+          "INSERT INTO goals (budget, minimum_value) SELECT id, ? "
+                  + "FROM budgets WHERE username = ? AND budget_id = ?";
+  private static final String DELETE_GOALS =
+          "DELETE FROM goals WHERE minimum_value = ? AND budget = "
+                  + "(SELECT id FROM budgets WHERE username = ? AND budget_id = ?)";
+
+  private final String pathOfDatabase;
+  private Connection connection;
+
+  /**
+   * Constructor to create an object of the type SqliteAccountStorage.
+   * The database is opened the first time it is used.
+   *
+   * @param pathOfDatabase the path of the SQLite database file.
+   * @throws NullPointerException if the path of the database is null.
+   * @throws IllegalArgumentException if the path of the database is blank.
+   */
+  public SqliteAccountStorage(String pathOfDatabase)
+          throws NullPointerException, IllegalArgumentException {
+    Objects.requireNonNull(pathOfDatabase, "The path of the database cannot be null.");
+    if (pathOfDatabase.isBlank()) {
+      throw new IllegalArgumentException("The path of the database cannot be blank.");
+    }
+    this.pathOfDatabase = pathOfDatabase.trim();
+  }
+
+  /**
+   * The method loads all accounts, with their budgets, incomes, expenses and goals.
+   *
+   * @return the list of stored accounts, in the order they were registered.
+   * @throws IOException if the database could not be read.
+   */
+  @Override
+  public synchronized List<Account> loadAccounts() throws IOException {
+    try (Statement statement = connection().createStatement()) {
+      Map<String, Account> accounts = new LinkedHashMap<>();
+      try (ResultSet rows = statement.executeQuery(
+              "SELECT username, password, email, phone_number FROM accounts ORDER BY rowid")) {
+        while (rows.next()) {
+          Account account = Account.restore(rows.getString(1), rows.getString(2),
+                  rows.getString(3), rows.getString(4));
+          accounts.put(account.getUsername(), account);
+        }
+      }
+      Map<Long, Budget> budgets = new HashMap<>();
+      try (ResultSet rows = statement.executeQuery(
+              "SELECT id, username, budget_id, created FROM budgets ORDER BY id")) {
+        while (rows.next()) {
+          Budget budget = new Budget(rows.getString(3), toDate(rows.getString(4)));
+          budgets.put(rows.getLong(1), budget);
+          accounts.get(rows.getString(2)).addBudget(budget);
+        }
+      }
+      Map<Long, Integer> newIncomeIds = new LinkedHashMap<>();
+      try (ResultSet rows = statement.executeQuery("SELECT budget, description, amount, date, "
+              + "transaction_id, id FROM incomes ORDER BY id")) {
+        while (rows.next()) {
+          Income income = budgets.get(rows.getLong(1)).addIncome(new Income(rows.getString(2),
+                  Money.ofMinorUnits(rows.getLong(3)), toDate(rows.getString(4)),
+                  rows.getInt(5)));
+          if (income.getId() != rows.getInt(5)) {
+            newIncomeIds.put(rows.getLong(6), income.getId());
+          }
+        }
+      }
+      Map<Long, Integer> newExpenseIds = new LinkedHashMap<>();
+      try (ResultSet rows = statement.executeQuery("SELECT budget, description, amount, date, "
+              + "transaction_id, id FROM expenses ORDER BY id")) {
+        while (rows.next()) {
+          Expense expense = budgets.get(rows.getLong(1)).addExpense(new Expense(
+                  rows.getString(2), Money.ofMinorUnits(rows.getLong(3)),
+                  toDate(rows.getString(4)),
+                  rows.getInt(5)));
+          if (expense.getId() != rows.getInt(5)) {
+            newExpenseIds.put(rows.getLong(6), expense.getId());
+          }
+        }
+      }
+      try (ResultSet rows = statement.executeQuery(
+              "SELECT budget, minimum_value FROM goals ORDER BY id")) {
+        while (rows.next()) {
+          budgets.get(rows.getLong(1)).addGoal(
+                  new FinancialGoal(Money.ofMinorUnits(rows.getLong(2))));
+        }
+      }
+      if (!newIncomeIds.isEmpty() || !newExpenseIds.isEmpty()) {
+        updateTransactionIds(newIncomeIds, newExpenseIds);
+      }
+      return new ArrayList<>(accounts.values());
+    } catch (SQLException e) {
+      logger.log(Level.SEVERE, "Error loading accounts from database: " + pathOfDatabase, e);
+      throw new IOException("Error loading accounts from database: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method writes the IDs given to loaded incomes and expenses back to the database,
+   * for rows stored without an ID, or with an ID that was already used in the budget.
+   *
+   * @param newIncomeIds the new IDs of the incomes, mapped by row.
+   * @param newExpenseIds the new IDs of the expenses, mapped by row.
+   * @throws IOException if the IDs could not be written.
+   */
+  private void updateTransactionIds(Map<Long, Integer> newIncomeIds,
+                                    Map<Long, Integer> newExpenseIds) throws IOException {
+    inTransaction(() -> {
+      try (Statements statements = new Statements()) {
+        for (Map.Entry<Long, Integer> entry : newIncomeIds.entrySet()) {
+          execute(statements.get(String.format(UPDATE_TRANSACTION_ID, "incomes")),
+                  entry.getValue(), entry.getKey());
+        }
+        for (Map.Entry<Long, Integer> entry : newExpenseIds.entrySet()) {
+          execute(statements.get(String.format(UPDATE_TRANSACTION_ID, "expenses")),
+                  entry.getValue(), entry.getKey());
+        }
+      }
+    });
+  }
+
+  /**
+   * The method replaces all stored accounts with the given accounts, in one transaction.
+   *
+   * @param accounts the accounts to be saved.
+   * @throws IOException if the database could not be written.
+   */
+  @Override
+  public synchronized void saveAccounts(Collection<Account> accounts) throws IOException {
+    inTransaction(() -> {
+      try (Statement statement = connection.createStatement()) {
+        statement.executeUpdate(DELETE_ALL_ACCOUNTS);
+      }
+      try (Statements statements = new Statements()) {
+        for (Account account : accounts) {
+          insertAccount(statements, account);
+        }
+      }
+    });
+  }
+
+  /**
+   * The method saves each change as a single row insert, update or delete,
+   * with all changes saved in one transaction.
+   *
+   * @param accounts all accounts, in their current state.
+   * @param changes the changes made since the last load or save.
+   * @throws IOException if the database could not be written.
+   */
+  @Override
+  public synchronized void saveChanges(Collection<Account> accounts, List<AccountChange> changes)
+          throws IOException {
+    if (changes.isEmpty()) {
+      return;
+    }
+    inTransaction(() -> {
+      try (Statements statements = new Statements()) {
+        for (AccountChange change : changes) {
+          applyChange(statements, change);
+        }
+      }
+    });
+  }
+
+  /**
+   * The method closes the connection to the database.
+   *
+   * @throws IOException if the connection could not be closed.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (connection != null) {
+      try {
+        connection.close();
+      } catch (SQLException e) {
+        throw new IOException("Error closing database: " + e.getMessage(), e);
+      } finally {
+        connection = null;
+      }
+    }
+  }
+
+  /**
+   * The method applies a single change to the database.
+   *
+   * @param statements the prepared statements to use.
+   * @param change the change to apply.
+   * @throws SQLException if the change could not be applied.
+   */
+  private void applyChange(Statements statements, AccountChange change) throws SQLException {
+    String username = change.getUsername();
+    String budgetId = change.getBudgetId();
+    switch (change.getType()) {
+      case ACCOUNT_REGISTERED -> insertAccountRow(statements, (Account) change.getValue());
+      case ACCOUNT_DELETED -> execute(statements.get(DELETE_ACCOUNT), username);
+      case PASSWORD_CHANGED -> execute(statements.get(UPDATE_PASSWORD), change.getValue(), username);
+      case EMAIL_CHANGED -> execute(statements.get(UPDATE_EMAIL), change.getValue(), username);
+      case PHONE_NUMBER_CHANGED ->
+              execute(statements.get(UPDATE_PHONE_NUMBER), change.getValue(), username);
+      case BUDGET_CREATED -> insertBudgetRow(statements, username, (Budget) change.getValue());
+      case BUDGET_DELETED -> execute(statements.get(DELETE_BUDGET), username, budgetId);
+      case INCOME_ADDED -> insertTransaction(statements, "incomes", username, budgetId,
+              (Transaction) change.getValue());
+      case EXPENSE_ADDED -> insertTransaction(statements, "expenses", username, budgetId,
+              (Transaction) change.getValue());
+      case INCOME_REMOVED -> deleteTransaction(statements, "incomes", username, budgetId,
+              (Transaction) change.getValue());
+      case EXPENSE_REMOVED -> deleteTransaction(statements, "expenses", username, budgetId,
+              (Transaction) change.getValue());
+      case GOAL_ADDED -> execute(statements.get(INSERT_GOAL),
+              ((FinancialGoal) change.getValue()).getMinimumValueInMinorUnits(), username,
+              budgetId);
+      case GOAL_REMOVED -> execute(statements.get(DELETE_GOALS),
+              ((Money) change.getValue()).getMinorUnits(), username, budgetId);
+      default -> throw new IllegalStateException("Unknown change: " + change.getType());
+    }
+  }
+
+  /**
+   * The method inserts an account with all of its budgets.
+   *
+   * @param statements the prepared statements to use.
+   * @param account the account to insert.
+   * @throws SQLException if the account could not be inserted.
+   */
+  private void insertAccount(Statements statements, Account account) throws SQLException {
+    insertAccountRow(statements, account);
+    for (Budget budget : account.getBudgets()) {
+      insertBudget(statements, account.getUsername(), budget);
+    }
+  }
+
+  /**
+   * The method inserts the row of an account, without its budgets. Budgets added after
+   * the account was registered are saved by their own changes.
+   *
+   * @param statements the prepared statements to use.
+   * @param account the account to insert.
+   * @throws SQLException if the account could not be inserted.
+   */
+  private void insertAccountRow(Statements statements, Account account) throws SQLException {
+    execute(statements.get(INSERT_ACCOUNT), account.getUsername(), account.getPassword(),
+            account.getEmail(), account.getPhoneNumber());
+  }
+
+  /**
+   * The method inserts a budget with all of its incomes, expenses and goals.
+   *
+   * @param statements the prepared statements to use.
+   * @param username the username of the account with the budget.
+   * @param budget the budget to insert.
+   * @throws SQLException if the budget could not be inserted.
+   */
+  private void insertBudget(Statements statements, String username, Budget budget)
+          throws SQLException {
+    String budgetId = budget.getBudgetId();
+    insertBudgetRow(statements, username, budget);
+    for (Income income : budget.getIncomes()) {
+      insertTransaction(statements, "incomes", username, budgetId, income);
+    }
+    for (Expense expense : budget.getExpenses()) {
+      insertTransaction(statements, "expenses", username, budgetId, expense);
+    }
+    for (FinancialGoal goal : budget.getFinancialGoals()) {
+      execute(statements.get(INSERT_GOAL), goal.getMinimumValueInMinorUnits(), username,
+              budgetId);
+    }
+  }
+
+  /**
+   * The method inserts the row of a budget, without its incomes, expenses and goals.
+   *
+   * @param statements the prepared statements to use.
+   * @param username the username of the account with the budget.
+   * @param budget the budget to insert.
+   * @throws SQLException if the budget could not be inserted.
+   */
+  private void insertBudgetRow(Statements statements, String username, Budget budget)
+          throws SQLException {
+    execute(statements.get(INSERT_BUDGET), username, budget.getBudgetId(),
+            budget.getDateTime().getDateTime().toString());
+  }
+
+  /**
+   * The method inserts an income or expense into the given table.
+   *
+   * @param statements the prepared statements to use.
+   * @param table the table of the transaction.
+   * @param username the username of the account with the budget.
+   * @param budgetId the ID of the budget.
+   * @param transaction the transaction to insert.
+   * @throws SQLException if the transaction could not be inserted.
+   */
+  private void insertTransaction(Statements statements, String table, String username,
+                                 String budgetId, Transaction transaction) throws SQLException {
+    execute(statements.get(String.format(INSERT_TRANSACTION, table)),
+            transaction.getDescription(), transaction.getAmountInMinorUnits(),
+            transaction.getDate().getDateTime().toString(), transaction.getId(), username,
+            budgetId);
+  }
+
+  /**
+   * The method deletes the income or expense with the ID of the given transaction.
+   * A transaction without an ID deletes the first equal income or expense instead.
+   *
+   * @param statements the prepared statements to use.
+   * @param table the table of the transaction.
+   * @param username the username of the account with the budget.
+   * @param budgetId the ID of the budget.
+   * @param transaction the transaction to delete.
+   * @throws SQLException if the transaction could not be deleted.
+   */
+  private void deleteTransaction(Statements statements, String table, String username,
+                                 String budgetId, Transaction transaction) throws SQLException {
+    if (transaction.getId() > 0) {
+      execute(statements.get(String.format(DELETE_TRANSACTION_BY_ID, table)),
+              transaction.getId(), username, budgetId);
+    } else {
+      execute(statements.get(String.format(DELETE_TRANSACTION, table)), username, budgetId,
+              transaction.getDescription(), transaction.getAmountInMinorUnits());
+    }
+  }
+
+  /**
+   * The method binds the parameters to a prepared statement and executes it.
+   *
+   * @param statement the statement to execute.
+   * @param parameters the parameters of the statement.
+   * @throws SQLException if the statement could not be executed.
+   */
+  private static void execute(PreparedStatement statement, Object... parameters)
+          throws SQLException {
+    for (int i = 0; i < parameters.length; i++) {
+      statement.setObject(i + 1, parameters[i]);
+    }
+    statement.executeUpdate();
+  }
+
+  /**
+   * The method converts a stored date back into a DateTimeUtil.
+   *
+   * @param date the stored date, in ISO-8601 format.
+   * @return the date.
+   */
+  private static DateTimeUtil toDate(String date) {
+    return new DateTimeUtil(LocalDateTime.parse(date));
+  }
+
+  /**
+   * The method runs the given work in a database transaction, which is
+   * rolled back if the work fails.
+   *
+   * @param work the work to run.
+   * @throws IOException if the work failed.
+   */
+  private void inTransaction(SqlWork work) throws IOException {
+    try {
+      Connection database = connection();
+      database.setAutoCommit(false);
+      try {
+        work.run();
+        database.commit();
+      } catch (SQLException | RuntimeException e) {
+        database.rollback();
+        throw e;
+      } finally {
+        database.setAutoCommit(true);
+      }
+    } catch (SQLException e) {
+      logger.log(Level.SEVERE, "Error saving accounts to database: " + pathOfDatabase, e);
+      throw new IOException("Error saving accounts to database: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * The method opens the database the first time it is called, enabling
+   * WAL mode and foreign keys, and creating the tables if they do not exist.
+   *
+   * @return the connection to the database.
+   * @throws SQLException if the database could not be opened.
+   */
+  private Connection connection() throws SQLException {
+    if (connection == null) {
+      Connection database = DriverManager.getConnection("jdbc:sqlite:" + pathOfDatabase);
+      try (Statement statement = database.createStatement()) {
+        statement.execute("PRAGMA journal_mode = WAL");
+        statement.execute("PRAGMA synchronous = NORMAL");
+        statement.execute("PRAGMA foreign_keys = ON");
+        for (String sql : CREATE_TABLES) {
+          statement.execute(sql);
+        }
+        addTransactionIdColumns(statement);
+        storeAmountsAsMinorUnits(database, statement);
+      } catch (SQLException e) {
+        database.close();
+        throw e;
+      }
+      connection = database;
+    }
+    return connection;
+  }
+
+  /**
+   * The method adds the column of transaction IDs to the tables of incomes and
+   * expenses in a database created before the IDs were stored.
+   *
+   * @param statement the statement to use.
+   * @throws SQLException if the tables could not be altered.
+   */
+  private static void addTransactionIdColumns(Statement statement) throws SQLException {
+    for (String table : TRANSACTION_TABLES) {
+      boolean hasColumn = false;
+      try (ResultSet columns = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+        while (columns.next()) {
+          hasColumn |= "transaction_id".equals(columns.getString("name"));
+        }
+      }
+      if (!hasColumn) {
+        statement.execute("ALTER TABLE " + table
+                + " ADD COLUMN transaction_id INTEGER NOT NULL DEFAULT 0");
+      }
+    }
+  }
+
+  /**
+   * The method rebuilds the tables of a database created when amounts and the minimum
+   * values of goals were stored as decimal numbers, storing them as minor units instead.
+   * The tables are rebuilt in one transaction, as SQLite cannot change the type of a column.
+   *
+   * @param database the connection to the database.
+   * @param statement the statement to use.
+   * @throws SQLException if the tables could not be rebuilt.
+   */
+  private static void storeAmountsAsMinorUnits(Connection database, Statement statement)
+          throws SQLException {
+    database.setAutoCommit(false);
+    try {
+      for (String table : TRANSACTION_TABLES) {
+        rebuildAsMinorUnits(statement, table, TRANSACTION_COLUMNS, "amount",
+                "id, budget, description, %s, date, transaction_id");
+      }
+      rebuildAsMinorUnits(statement, "goals", GOAL_COLUMNS, "minimum_value", "id, budget, %s");
+      for (String sql : CREATE_TABLES) {
+        statement.execute(sql);
+      }
+      database.commit();
+    } catch (SQLException e) {
+      database.rollback();
+      throw e;
+    } finally {
+      database.setAutoCommit(true);
+    }
+  }
+
+  /**
+   * The method rebuilds a table whose column of amounts holds decimal numbers, copying
+   * every row with the amount rounded to minor units. A table that already stores minor
+   * units is left as it is.
+   *
+   * @param statement the statement to use.
+   * @param table the table to rebuild.
+   * @param columns the definition of the columns of the rebuilt table.
+   * @param amountColumn the column of amounts.
+   * @param copiedColumns the copied columns, with {@code %s} in place of the amount.
+   * @throws SQLException if the table could not be rebuilt.
+   */
+  private static void rebuildAsMinorUnits(Statement statement, String table, String columns,
+                                          String amountColumn, String copiedColumns)
+          throws SQLException {
+    boolean storesDecimals = false;
+    try (ResultSet rows = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+      while (rows.next()) {
+        storesDecimals |= amountColumn.equals(rows.getString("name"))
+                && "REAL".equalsIgnoreCase(rows.getString("type"));
+      }
+    }
+    if (!storesDecimals) {
+      return;
+    }
+    String rebuilt = table + "_minor_units";
+    statement.execute("CREATE TABLE " + rebuilt + " (" + columns + ")");
+    statement.execute("INSERT INTO " + rebuilt + " (" + copiedColumns.formatted(amountColumn)
+            + ") SELECT " + copiedColumns.formatted(
+                    "CAST(ROUND(" + amountColumn + " * 100) AS INTEGER)") + " FROM " + table);
+    statement.execute("DROP TABLE " + table);
+    statement.execute("ALTER TABLE " + rebuilt + " RENAME TO " + table);
+  }
+
+  /**
+   * Work that is run against the database.
+   */
+  @FunctionalInterface
+  private interface SqlWork {
+    void run() throws SQLException;
+  }
+
+  /**
+   * The class caches the prepared statements used while saving,
+   * so that each statement is only prepared once per save.
+   */
+  private class Statements implements AutoCloseable {
+    private final Map<String, PreparedStatement> prepared = new HashMap<>();
+
+    /**
+     * The method retrieves the prepared statement for the given SQL.
+     *
+     * @param sql the SQL of the statement.
+     * @return the prepared statement.
+     * @throws SQLException if the statement could not be prepared.
+     */
+    PreparedStatement get(String sql) throws SQLException {
+      PreparedStatement statement = prepared.get(sql);
+      if (statement == null) {
+        statement = connection.prepareStatement(sql);
+        prepared.put(sql, statement);
+      }
+      return statement;
+    }
+
+    /**
+     * The method closes all prepared statements.
+     *
+     * @throws SQLException if a statement could not be closed.
+     */
+    @Override
+    public void close() throws SQLException {
+      for (PreparedStatement statement : prepared.values()) {
+        statement.close();
+      }
+    }
+  }
+}
@@ -1,8 +1,10 @@
 package edu.ntnu.idatt1002.group12.flus.utils;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -12,7 +14,7 @@ import java.time.format.DateTimeFormatter;
  */
 public class DateTimeUtil implements Serializable {
 
-
+  private static final long serialVersionUID = 4263637265675920785L;
   private final LocalDateTime dateTime;
 
   /**
@@ -71,6 +73,28 @@ public class DateTimeUtil implements Serializable {
     this.dateTime = LocalDateTime.of(year, month, dayOfMonth, hour, minute, second);
   }
 
+  /**
+   * Creates a new instance of DateTimeUtil from the number of milliseconds
+   * since 1970-01-01T00:00:00, as returned by {@link #toEpochMillis()}.
+   *
+   * @param epochMillis the number of milliseconds since the epoch.
+   * @return a new instance of DateTimeUtil.
+   */
+  public static DateTimeUtil ofEpochMillis(long epochMillis) {
+    return new DateTimeUtil(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis),
+            ZoneOffset.UTC));
+  }
+
+  /**
+   * Returns the date and time as the number of milliseconds since 1970-01-01T00:00:00.
+   * The date and time is treated as UTC, and precision below milliseconds is dropped.
+   *
+   * @return the number of milliseconds since the epoch.
+   */
+  public long toEpochMillis() {
+    return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+
   /**
    * Throws an UnsupportedOperationException if called. Use the constructor and create a new
    * instance with the updated date and time rather than changing the value of an existing instance.
@@ -0,0 +1,51 @@
+package edu.ntnu.idatt1002.group12.flus.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The class splits free text, such as the descriptions of transactions, into tokens.
+ * A token is a run of letters and digits, in lower case, so "Rema 1000, Oslo" gives
+ * the tokens "rema", "1000" and "oslo".
+ *
+ * @author Ramtin Samavat and Stian Lyng
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+public final class Tokenizer {
+
+  /**
+   * Private constructor, as the class only has static methods.
+   */
+  private Tokenizer() {
+  }
+
+  /**
+   * The method splits a text into its distinct tokens, in the order they first appear.
+   *
+   * @param text the text to be split.
+   * @return the distinct tokens of the text.
+   * @throws NullPointerException if the text is null.
+   */
+  public static List<String> tokenize(String text) throws NullPointerException {
+    if (text == null) {
+      throw new NullPointerException("Text cannot be null.");
+    }
+    List<String> tokens = new ArrayList<>();
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean partOfToken = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+      if (partOfToken && start < 0) {
+        start = i;
+      } else if (!partOfToken && start >= 0) {
+        String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+        if (!tokens.contains(token)) {
+          tokens.add(token);
+        }
+        start = -1;
+      }
+    }
+    return tokens;
+  }
+}
@@ -5,6 +5,7 @@ import edu.ntnu.idatt1002.group12.flus.view.BlurTransition;
 import edu.ntnu.idatt1002.group12.flus.controller.AccountRegister;
 import edu.ntnu.idatt1002.group12.flus.controller.BudgetManager;
 import edu.ntnu.idatt1002.group12.flus.controller.SceneManager;
+import edu.ntnu.idatt1002.group12.flus.controller.Session;
 import javafx.scene.control.Alert.AlertType;
 import java.io.IOException;
 import java.util.Optional;
@@ -13,6 +14,7 @@ import java.util.logging.Logger;
 import javafx.animation.FadeTransition;
 import javafx.animation.Interpolator;
 import javafx.animation.TranslateTransition;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -34,11 +36,11 @@ import javafx.util.Duration;
 public abstract class BaseController implements AssignableController {
 
   private static final Logger logger = Logger.getLogger(BaseController.class.getName());
-  protected static final String PATH_OF_FILE_ACCOUNTS = "src/main/resources/storage/store.ser";
   protected AccountRegister accountRegister;
   protected SceneManager sceneManager;
   protected BudgetManager budgetManager;
   protected Account account;
+  protected Session session;
   protected String budgetId;
   protected boolean sidebarActive;
 
@@ -54,6 +56,7 @@ public abstract class BaseController implements AssignableController {
     this.sceneManager = controllerData.getSceneManager();
     this.budgetManager = controllerData.getBudgetManager();
     this.account = controllerData.getAccount();
+    this.session = controllerData.getSession();
     this.budgetId = controllerData.getBudgetId();
     this.sidebarActive = controllerData.getSidebarActive();
   }
@@ -185,6 +188,14 @@ public abstract class BaseController implements AssignableController {
 
       Optional<ButtonType> result = alert.showAndWait();
       if (result.isPresent() && result.get() == ButtonType.YES) {
+        try {
+          accountRegister.flush();
+        } catch (IOException | IllegalStateException e) {
+          alertException(Level.SEVERE, AlertType.ERROR, e);
+        }
+        if (session != null) {
+          session.invalidate();
+        }
         switchScene("login/showLoginPage");
       } else {
         closeSidebar();
@@ -207,7 +218,12 @@ public abstract class BaseController implements AssignableController {
 
       Optional<ButtonType> result = alert.showAndWait();
       if (result.isPresent() && result.get() == ButtonType.YES) {
-        System.exit(0);
+        try {
+          accountRegister.flush();
+        } catch (IOException | IllegalStateException e) {
+          alertException(Level.SEVERE, AlertType.ERROR, e);
+        }
+        Platform.exit();
       } else {
         closeSidebar();
       }
@@ -246,6 +262,23 @@ public abstract class BaseController implements AssignableController {
     alertMessage(type, exception.getMessage());
   }
 
+  /**
+   * The method tells the user that the session can no longer be used, such as when it
+   * has expired, and goes back to the login page. This is done after the current event,
+   * so that the method may also be called while a scene is being loaded.
+   *
+   * @param exception The exception thrown by the session.
+   */
+  protected void sessionExpired(IllegalStateException exception) {
+    Platform.runLater(() -> {
+      alertException(Level.WARNING, AlertType.WARNING, exception);
+      if (session != null) {
+        session.invalidate();
+      }
+      switchScene("login/showLoginPage");
+    });
+  }
+
   /**
    * The method shows an alert message of the given type and message.
    *
@@ -267,6 +300,7 @@ public abstract class BaseController implements AssignableController {
             .withSceneManager(sceneManager)
             .withBudgetManager(budgetManager)
             .withAccount(account)
+            .withSession(session)
             .withBudgetId(budgetId)
             .withSidebarActive(sidebarActive)
             .build();
@@ -3,6 +3,7 @@ package edu.ntnu.idatt1002.group12.flus.view.controllers;
 import edu.ntnu.idatt1002.group12.flus.model.Account;
 import edu.ntnu.idatt1002.group12.flus.controller.BudgetManager;
 import edu.ntnu.idatt1002.group12.flus.controller.SceneManager;
+import edu.ntnu.idatt1002.group12.flus.controller.Session;
 
 /**
  * The ControllerData class is responsible for storing
@@ -16,6 +17,7 @@ public class ControllerData {
   private SceneManager sceneManager;
   private BudgetManager budgetManager;
   private Account account;
+  private Session session;
   private String budgetId;
   private boolean sidebarActive;
 
@@ -49,6 +51,15 @@ public class ControllerData {
     return account;
   }
 
+  /**
+   * The method retrieves the session of the account.
+   *
+   * @return the session.
+   */
+  public Session getSession() {
+    return session;
+  }
+
   /**
    * The method retrieves the budget ID.
    *
@@ -75,6 +86,7 @@ public class ControllerData {
     private SceneManager sceneManager;
     private BudgetManager budgetManager;
     private Account account;
+    private Session session;
     private String budgetId;
     private boolean sidebarActive;
 
@@ -111,6 +123,17 @@ public class ControllerData {
       return this;
     }
 
+    /**
+     * The method sets the session of the account.
+     *
+     * @param session the session to be stored.
+     * @return this builder object.
+     */
+    public ControllerDataBuilder withSession(Session session) {
+      this.session = session;
+      return this;
+    }
+
     /**
      * The method sets the budget ID.
      *
@@ -143,6 +166,7 @@ public class ControllerData {
       controllerData.sceneManager = this.sceneManager;
       controllerData.budgetManager = this.budgetManager;
       controllerData.account = this.account;
+      controllerData.session = this.session;
       controllerData.budgetId = this.budgetId;
       controllerData.sidebarActive = this.sidebarActive;
       return controllerData;
@@ -1,7 +1,6 @@
 package edu.ntnu.idatt1002.group12.flus.view.controllers.budget;
 
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
-import java.io.IOException;
 import edu.ntnu.idatt1002.group12.flus.controller.BudgetManager;
 import java.util.logging.Level;
 
@@ -50,13 +49,11 @@ public class AddBudgetController extends BaseController {
   @FXML
   private void addButtonPressed(ActionEvent event) {
     try {
-      budgetManager.createBudget(account.getUsername(), budgetIdField.getText());
-      accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
+      budgetManager.createBudget(session, budgetIdField.getText());
       switchScene("budget/listBudgets");
-    } catch (NullPointerException | IllegalArgumentException e) {
+    } catch (NullPointerException | IllegalArgumentException
+            | IllegalStateException e) {
       alertException(Level.WARNING, AlertType.WARNING, e);
-    } catch (IOException e) {
-      alertException(Level.SEVERE, AlertType.ERROR, e);
     }
   }
 }
\ No newline at end of file
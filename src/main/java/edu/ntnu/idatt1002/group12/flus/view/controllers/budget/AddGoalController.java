@@ -1,7 +1,6 @@
 package edu.ntnu.idatt1002.group12.flus.view.controllers.budget;
 
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
-import java.io.IOException;
 import java.util.NoSuchElementException;
 import java.util.logging.Level;
 
@@ -31,13 +30,11 @@ public class AddGoalController extends BaseController {
   private void addButtonPressed(ActionEvent event) {
     try {
       float minimumValue = Float.parseFloat(minimumValueField.getText());
-      budgetManager.addGoalToBudget(account.getUsername(), budgetId, minimumValue);
-      accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
+      budgetManager.addGoalToBudget(session, budgetId, minimumValue);
       switchScene("budget/showBudget");
-    } catch (NoSuchElementException | NullPointerException | IllegalArgumentException e) {
+    } catch (NoSuchElementException | NullPointerException | IllegalArgumentException
+            | IllegalStateException e) {
       alertException(Level.WARNING, AlertType.WARNING, e);
-    } catch (IOException e) {
-      alertException(Level.SEVERE, AlertType.ERROR, e);
     }
   }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package edu.ntnu.idatt1002.group12.flus.view.controllers.budget;
 
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
-import java.io.IOException;
 import java.util.NoSuchElementException;
 import java.util.logging.Level;
 
@@ -33,13 +32,11 @@ public class AddIncomeController extends BaseController {
     try {
       String description = descriptionField.getText();
       float income = Float.parseFloat(incomeField.getText());
-      budgetManager.addIncomeToBudget(account.getUsername(), budgetId, description, income);
-      accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
+      budgetManager.addIncomeToBudget(session, budgetId, description, income);
       switchScene("budget/showBudget");
-    } catch (NoSuchElementException | NullPointerException | IllegalArgumentException e) {
+    } catch (NoSuchElementException | NullPointerException | IllegalArgumentException
+            | IllegalStateException e) {
       alertException(Level.WARNING, AlertType.WARNING, e);
-    } catch (IOException e) {
-      alertException(Level.SEVERE, AlertType.ERROR, e);
     }
   }
 }
\ No newline at end of file
@@ -2,7 +2,6 @@ package edu.ntnu.idatt1002.group12.flus.view.controllers.budget;
 
 import edu.ntnu.idatt1002.group12.flus.model.Budget;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -64,13 +63,11 @@ public class DeleteBudgetController extends BaseController {
     Optional<ButtonType> result = alert.showAndWait();
     if (result.isPresent() && result.get() == ButtonType.OK) {
       try {
-        budgetManager.deleteBudget(account.getUsername(), chosenBudgetId);
-        accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
+        budgetManager.deleteBudget(session, chosenBudgetId);
         switchScene("budget/listBudgets");
-      } catch (NoSuchElementException | NullPointerException e) {
+      } catch (NoSuchElementException | NullPointerException
+              | IllegalStateException e) {
         alertException(Level.WARNING, Alert.AlertType.WARNING, e);
-      } catch (IOException e) {
-        alertException(Level.SEVERE, Alert.AlertType.ERROR, e);
       }
     }
   }
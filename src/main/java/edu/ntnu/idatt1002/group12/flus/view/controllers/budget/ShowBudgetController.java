@@ -1,14 +1,13 @@
 package edu.ntnu.idatt1002.group12.flus.view.controllers.budget;
 
 import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.GoalProgress;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
 import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
-import java.io.IOException;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.logging.Level;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -99,10 +98,15 @@ public class ShowBudgetController extends BaseController {
   public void initialize() {
     super.initialize();
 
-    chosenBudget = budgetManager.getBudget(account.getUsername(), budgetId);
+    try {
+      chosenBudget = budgetManager.getBudget(session, budgetId);
+    } catch (IllegalStateException e) {
+      sessionExpired(e);
+      return;
+    }
 
     title.setText(budgetId);
-    totalBalance.setText("Total balance: " + String.valueOf(chosenBudget.getBalance()));
+    totalBalance.setText("Total balance: " + chosenBudget.getMoneyBalance());
 
     ObservableList<Income> incomeList = FXCollections.observableArrayList();
     incomeList.addAll(chosenBudget.getIncomes());
@@ -118,11 +122,12 @@ public class ShowBudgetController extends BaseController {
     goalListView.setItems(goalList);
 
     incomeListView.setCellFactory(
-        param -> createListCell(income -> income.getAmount() + "  -  " + income.getDescription()));
+        param -> createListCell(income -> income.getMoneyAmount() + "  -  " + income.getDescription()));
     expenseListView.setCellFactory(param -> createListCell(
-        expense -> expense.getAmount() + "  -  " + expense.getDescription()));
+        expense -> expense.getMoneyAmount() + "  -  " + expense.getDescription()));
+    GoalProgress goalProgress = chosenBudget.getGoalProgress();
     goalListView.setCellFactory(param -> createListCell(
-        goal -> goal.getMinimumMoneyValue() + "  -  " + goalStatus(goal.completed(chosenBudget))));
+        goal -> goal.getMinimumMoney() + "  -  " + goalStatus(goalProgress.isCompleted(goal))));
 
     incomeListView.setOnMouseClicked(event -> {
       if (event.getClickCount() == 2) {
@@ -132,17 +137,16 @@ public class ShowBudgetController extends BaseController {
           alert.setTitle("Delete Income");
           alert.setHeaderText("Are you sure you want to delete this income?");
           alert.setContentText(
-              selectedIncome.getAmount() + " - " + selectedIncome.getDescription());
+              selectedIncome.getMoneyAmount() + " - " + selectedIncome.getDescription());
 
           Optional<ButtonType> result = alert.showAndWait();
           if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-              budgetManager.getBudget(account.getUsername(), budgetId).removeIncome(selectedIncome);
-              accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
+              budgetManager.removeIncomeFromBudget(session, budgetId,
+                  selectedIncome);
               switchScene("budget/showBudget");
-            } catch (IOException e) {
-              Alert alertException = new Alert(Alert.AlertType.WARNING, e.getMessage());
-              alertException.showAndWait();
+            } catch (IllegalStateException e) {
+              sessionExpired(e);
             }
           }
         }
@@ -157,17 +161,16 @@ public class ShowBudgetController extends BaseController {
           alert.setTitle("Delete Expense");
           alert.setHeaderText("Are you sure you want to delete this expense?");
           alert.setContentText(
-              selectedExpense.getAmount() + " - " + selectedExpense.getDescription());
+              selectedExpense.getMoneyAmount() + " - " + selectedExpense.getDescription());
 
           Optional<ButtonType> result = alert.showAndWait();
           if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-              budgetManager.getBudget(account.getUsername(), budgetId)
-                  .removeExpense(selectedExpense);
-              accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
+              budgetManager.removeExpenseFromBudget(session, budgetId,
+                  selectedExpense);
               switchScene("budget/showBudget");
-            } catch (IOException e) {
-              alertException(Level.SEVERE, AlertType.ERROR, e);
+            } catch (IllegalStateException e) {
+              sessionExpired(e);
             }
           }
         }
@@ -182,19 +185,17 @@ public class ShowBudgetController extends BaseController {
           alert.setTitle("Delete Goal");
           alert.setHeaderText("Are you sure you want to delete this goal?");
           alert.setContentText(
-              selectedGoal.getMinimumMoneyValue() + " - "
-                      + goalStatus(selectedGoal.completed(chosenBudget)));
+              selectedGoal.getMinimumMoney() + " - "
+                      + goalStatus(goalProgress.isCompleted(selectedGoal)));
 
           Optional<ButtonType> result = alert.showAndWait();
           if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-              budgetManager.getBudget(account.getUsername(), budgetId)
-                  .removeGoal(selectedGoal.getMinimumMoneyValue());
-              accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
+              budgetManager.removeGoalFromBudget(session, budgetId,
+                  selectedGoal.getMinimumMoneyValue());
               switchScene("budget/showBudget");
-            } catch (IOException e) {
-              Alert alertException = new Alert(AlertType.ERROR, e.getMessage());
-              alertException.showAndWait();
+            } catch (IllegalStateException e) {
+              sessionExpired(e);
             }
           }
         }
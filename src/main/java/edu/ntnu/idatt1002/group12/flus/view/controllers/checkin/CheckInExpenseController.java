@@ -65,11 +65,12 @@ public class CheckInExpenseController extends BaseController {
       } else {
         float checkInExpense = Float.parseFloat(spendingField.getText());
         budgetManager
-            .addExpenseToBudget(account.getUsername(), chosenBudgetId,
+            .addExpenseToBudget(session, chosenBudgetId,
                 expenseThoughts, checkInExpense);
         switchScene("checkin/checkinIncome");
       }
-    } catch (NoSuchElementException | NullPointerException | IllegalArgumentException e) {
+    } catch (NoSuchElementException | NullPointerException | IllegalArgumentException
+            | IllegalStateException e) {
       alertException(Level.WARNING, AlertType.WARNING, e);
     }
   }
@@ -63,11 +63,12 @@ public class CheckInIncomeController extends BaseController {
       } else {
         float checkInIncome = Float.parseFloat(earningsField.getText());
         budgetManager
-            .addIncomeToBudget(account.getUsername(), chosenBudgetId,
+            .addIncomeToBudget(session, chosenBudgetId,
                 incomeThoughts, checkInIncome);
         switchScene("home");
       }
-    } catch (NoSuchElementException | NullPointerException | IllegalArgumentException e) {
+    } catch (NoSuchElementException | NullPointerException | IllegalArgumentException
+            | IllegalStateException e) {
       alertException(Level.WARNING, AlertType.WARNING, e);
     }
   }
@@ -3,13 +3,15 @@ package edu.ntnu.idatt1002.group12.flus.view.controllers.login;
 import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import edu.ntnu.idatt1002.group12.flus.model.Account;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.AssignableController;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.ControllerData;
 import edu.ntnu.idatt1002.group12.flus.controller.AccountRegister;
+import edu.ntnu.idatt1002.group12.flus.controller.AuthenticationService;
 import edu.ntnu.idatt1002.group12.flus.controller.BudgetManager;
 import edu.ntnu.idatt1002.group12.flus.controller.SceneManager;
+import edu.ntnu.idatt1002.group12.flus.controller.Session;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -103,24 +105,37 @@ public class CreateAccountController implements AssignableController {
     String email = emailField.getText();
     String number = numberField.getText();
 
-    try {
-      AccountRegister.getInstance().registerAccount(username, password, email, number);
-      accountRegister.saveAccounts("src/main/resources/storage/store.ser");
-      
-      Account account = accountRegister.getAccount(username, password);
+    createAccountButton.setDisable(true);
+    AuthenticationService.getInstance().createAccountSession(username, password, email, number)
+        .whenComplete((session, error) -> Platform.runLater(() -> {
+          if (error == null) {
+            showHome(session);
+          } else {
+            checkTextFields();
+            Throwable cause = AuthenticationService.causeOf(error);
+            logger.log(Level.WARNING, cause.getMessage(), cause);
+            Alert alert = new Alert(Alert.AlertType.WARNING, cause.getMessage());
+            alert.showAndWait();
+          }
+        }));
+  }
 
+  /**
+   * The method shows the home page of the new account.
+   *
+   * @param session the session of the new account.
+   */
+  private void showHome(Session session) {
+    try {
       ControllerData controllerData = new ControllerData.ControllerDataBuilder()
             .withSceneManager(sceneManager)
             .withBudgetManager(budgetManager)
-            .withAccount(account)
+            .withAccount(session.getAccount())
+            .withSession(session)
             .build();
-      
+
       sceneManager.addToHistory("home");
       sceneManager.setRootAsFxml("home", controllerData);
-    } catch (IllegalArgumentException | NullPointerException e) {
-      logger.log(Level.WARNING, e.getMessage(), e);
-      Alert alert = new Alert(Alert.AlertType.WARNING, e.getMessage());
-      alert.showAndWait();
     } catch (IOException e) {
       logger.log(Level.SEVERE, e.getMessage(), e);
       Alert alert = new Alert(Alert.AlertType.ERROR, e.getMessage());
@@ -1,15 +1,17 @@
 package edu.ntnu.idatt1002.group12.flus.view.controllers.login;
 
-import edu.ntnu.idatt1002.group12.flus.model.Account;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.AssignableController;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.ControllerData;
 import edu.ntnu.idatt1002.group12.flus.controller.AccountRegister;
+import edu.ntnu.idatt1002.group12.flus.controller.AuthenticationService;
 import edu.ntnu.idatt1002.group12.flus.controller.BudgetManager;
 import edu.ntnu.idatt1002.group12.flus.controller.SceneManager;
+import edu.ntnu.idatt1002.group12.flus.controller.Session;
 import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -67,8 +69,9 @@ public class ShowLoginPageController implements AssignableController {
     });
 
     try {
-      accountRegister.loadAccounts("src/main/resources/storage/store.ser");
-    } catch (IOException | ClassNotFoundException e) {
+      accountRegister.flush();
+      accountRegister.loadAccounts();
+    } catch (IOException | IllegalStateException e) {
       logger.log(Level.SEVERE, e.getMessage(), e);
       Alert alert = new Alert(Alert.AlertType.ERROR, e.getMessage());
       alert.showAndWait();
@@ -102,23 +105,49 @@ public class ShowLoginPageController implements AssignableController {
    */
   @FXML
   private void loginButtonPressed(ActionEvent event) {
-    try {
-      String username = usernameField.getText();
-      String password = passwordField.getText();
-      Account account = accountRegister.getAccount(username, password);
+    String username = usernameField.getText();
+    String password = passwordField.getText();
+    loginButton.setDisable(true);
+    AuthenticationService.getInstance().openSession(username, password).whenComplete(
+        (session, error) -> Platform.runLater(() -> {
+          if (error == null) {
+            showHome(session);
+          } else {
+            loginButton.setDisable(false);
+            showError(AuthenticationService.causeOf(error));
+          }
+        }));
+  }
 
+  /**
+   * The method shows the home page of the account that logged in.
+   *
+   * @param session the session of the account that logged in.
+   */
+  private void showHome(Session session) {
+    try {
       ControllerData controllerData = new ControllerData.ControllerDataBuilder()
               .withSceneManager(sceneManager)
               .withBudgetManager(budgetManager)
-              .withAccount(account)
+              .withAccount(session.getAccount())
+              .withSession(session)
               .build();
 
       sceneManager.addToHistory("home");
       sceneManager.setRootAsFxml("home", controllerData);
     } catch (Exception e) {
-      logger.log(Level.SEVERE, e.getMessage(), e);
-      Alert alert = new Alert(Alert.AlertType.ERROR, e.getMessage());
-      alert.showAndWait();
-    }    
+      showError(e);
+    }
+  }
+
+  /**
+   * The method logs an error and shows it in an alert.
+   *
+   * @param error the error to be shown.
+   */
+  private void showError(Throwable error) {
+    logger.log(Level.SEVERE, error.getMessage(), error);
+    Alert alert = new Alert(Alert.AlertType.ERROR, error.getMessage());
+    alert.showAndWait();
   }
 }
\ No newline at end of file
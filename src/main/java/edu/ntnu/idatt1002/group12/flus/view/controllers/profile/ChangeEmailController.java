@@ -1,6 +1,5 @@
 package edu.ntnu.idatt1002.group12.flus.view.controllers.profile;
 
-import java.io.IOException;
 import java.util.logging.Level;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
 import javafx.event.ActionEvent;
@@ -48,9 +47,6 @@ public class ChangeEmailController extends BaseController {
     String newEmail = emailField.getText();
     try {
       accountRegister.changeEmail(account.getUsername(), newEmail);
-      accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
-    } catch (IOException e) {
-      alertException(Level.SEVERE, AlertType.ERROR, e);
     } catch (IllegalArgumentException | NullPointerException e) {
       alertException(Level.WARNING, AlertType.WARNING, e);
     }
@@ -1,9 +1,10 @@
 package edu.ntnu.idatt1002.group12.flus.view.controllers.profile;
 
+import edu.ntnu.idatt1002.group12.flus.controller.AuthenticationService;
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
-import java.io.IOException;
 import java.util.logging.Level;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.scene.control.Alert.AlertType;
 import javafx.fxml.FXML;
@@ -54,14 +55,18 @@ public class ChangePasswordController extends BaseController {
   private void changeButtonPressed(ActionEvent event) {
     String oldPassword = passwordField.getText();
     String newPassword = passwordField1.getText();
-    try {
-      accountRegister.changePassword(account.getUsername(), oldPassword, newPassword);
-      accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
-      switchScene("profile/showProfile");
-    } catch (IOException e) {
-      alertException(Level.SEVERE, AlertType.ERROR, e);
-    } catch (IllegalArgumentException | NullPointerException e) {
-      alertException(Level.WARNING, AlertType.WARNING, e);
-    }
+    changePassword.setDisable(true);
+    AuthenticationService.getInstance()
+        .changePassword(session, oldPassword, newPassword)
+        .whenComplete((unused, error) -> Platform.runLater(() -> {
+          if (error == null) {
+            switchScene("profile/showProfile");
+          } else {
+            changePassword.setDisable(false);
+            Throwable cause = AuthenticationService.causeOf(error);
+            alertException(Level.WARNING, AlertType.WARNING,
+                    cause instanceof Exception e ? e : new RuntimeException(cause));
+          }
+        }));
   }
 }
@@ -1,7 +1,6 @@
 package edu.ntnu.idatt1002.group12.flus.view.controllers.profile;
 
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
-import java.io.IOException;
 import java.util.logging.Level;
 
 import javafx.event.ActionEvent;
@@ -49,9 +48,6 @@ public class ChangePhoneNumberController extends BaseController {
     String newPhoneNumber = phoneNumberField.getText();
     try {
       accountRegister.changePhoneNumber(account.getUsername(), newPhoneNumber);
-      accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
-    } catch (IOException e) {
-      alertException(Level.SEVERE, AlertType.ERROR, e);
     } catch (IllegalArgumentException | NullPointerException e) {
       alertException(Level.WARNING, AlertType.WARNING, e);
     }
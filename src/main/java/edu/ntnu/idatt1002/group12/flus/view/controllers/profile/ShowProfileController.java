@@ -1,7 +1,6 @@
 package edu.ntnu.idatt1002.group12.flus.view.controllers.profile;
 
 import edu.ntnu.idatt1002.group12.flus.view.controllers.BaseController;
-import java.io.IOException;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -87,8 +86,7 @@ public class ShowProfileController extends BaseController {
       switchScene("login/showLoginPage");
       try {
         accountRegister.deleteAccount(account.getUsername(), account.getUsername());
-        accountRegister.saveAccounts(PATH_OF_FILE_ACCOUNTS);
-      } catch (IOException | NullPointerException e) {
+      } catch (NullPointerException e) {
         alertException(Level.SEVERE, AlertType.ERROR, e);
       }
     }
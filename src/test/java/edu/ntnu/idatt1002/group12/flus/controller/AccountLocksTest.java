@@ -0,0 +1,112 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the AccountLocks class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class AccountLocksTest {
+  private final AccountLocks locks = new AccountLocks(16);
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * The method finds a username in another stripe than the given username.
+   *
+   * @param username the username.
+   * @return a username in another stripe.
+   */
+  private String usernameInOtherStripe(String username) {
+    for (int i = 0; ; i++) {
+      if (locks.stripeOf("User " + i) != locks.stripeOf(username)) {
+        return "User " + i;
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Striping tests")
+  class StripingTests {
+    @Test
+    @DisplayName("Should not wait for an account in another stripe")
+    void shouldNotWaitForOtherStripe() throws Exception {
+      String other = usernameInOtherStripe("Username");
+      try (AccountLocks.Held lock = locks.lockAccount("Username")) {
+        Future<?> locked = executor.submit(() -> locks.lockAccount(other).close());
+        assertDoesNotThrow(() -> locked.get(5, TimeUnit.SECONDS));
+      }
+    }
+
+    @Test
+    @DisplayName("Should wait for the same account, with the username trimmed")
+    void shouldWaitForSameAccount() throws Exception {
+      Future<?> locked;
+      try (AccountLocks.Held lock = locks.lockAccount("Username")) {
+        locked = executor.submit(() -> locks.lockAccount(" Username ").close());
+        assertThrows(TimeoutException.class, () -> locked.get(200, TimeUnit.MILLISECONDS));
+      }
+      assertDoesNotThrow(() -> locked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should round the number of stripes up to a power of two")
+    void shouldRoundStripes() {
+      AccountLocks single = new AccountLocks(1);
+      assertEquals(0, single.stripeOf("Username"));
+      AccountLocks five = new AccountLocks(5);
+      for (int i = 0; i < 100; i++) {
+        assertTrue(five.stripeOf("User " + i) < 8);
+      }
+      assertThrows(IllegalArgumentException.class, () -> new AccountLocks(0));
+    }
+  }
+
+  @Nested
+  @DisplayName("Register lock tests")
+  class RegisterLockTests {
+    @Test
+    @DisplayName("Should wait for locked accounts before locking the register exclusively")
+    void shouldWaitForAccountsBeforeExclusive() throws Exception {
+      Future<?> locked;
+      try (AccountLocks.Held lock = locks.lockAccount("Username")) {
+        locked = executor.submit(() -> locks.lockExclusively().close());
+        assertThrows(TimeoutException.class, () -> locked.get(200, TimeUnit.MILLISECONDS));
+      }
+      assertDoesNotThrow(() -> locked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should let a thread holding the register exclusively lock an account")
+    void shouldLockAccountWhileExclusive() {
+      try (AccountLocks.Held lock = locks.lockExclusively()) {
+        assertDoesNotThrow(() -> locks.lockAccount("Username").close());
+      }
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalStateException if locking exclusively inside an account")
+    void shouldThrowIfExclusiveInsideAccount() {
+      try (AccountLocks.Held lock = locks.lockAccount("Username")) {
+        assertThrows(IllegalStateException.class, locks::lockExclusively);
+      }
+      assertThrows(NullPointerException.class, () -> locks.lockAccount(null));
+    }
+  }
+}
@@ -1,6 +1,11 @@
 package edu.ntnu.idatt1002.group12.flus.controller;
 
 import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.PasswordPolicy;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.storage.AccountChange;
+import edu.ntnu.idatt1002.group12.flus.storage.AccountStorage;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,9 +16,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import static org.junit.jupiter.api.Assertions.*;
@@ -179,6 +192,53 @@ class AccountRegisterTest {
               () -> register.getAccount(account.getUsername(), "InvalidPassword"));
     }
 
+    @Test
+    @DisplayName("Should hash the password again when the cost of the policy has changed")
+    void shouldRehashPasswordOnLogin() {
+      PasswordPolicy previous = PasswordPolicy.getCurrent();
+      try {
+        String storedHash = register.findAccount(account.getUsername()).getPassword();
+        int newCost = PasswordPolicy.costOf(storedHash) == 5 ? 6 : 5;
+        PasswordPolicy.setCurrent(new PasswordPolicy(newCost));
+
+        Account loggedIn = register.getAccount(account.getUsername(), "Password");
+        assertEquals(newCost, PasswordPolicy.costOf(loggedIn.getPassword()));
+        assertNotEquals(storedHash, loggedIn.getPassword());
+        assertTrue(loggedIn.checkPassword("Password"));
+        assertFalse(loggedIn.needsRehash());
+
+        String rehashed = loggedIn.getPassword();
+        register.getAccount(account.getUsername(), "Password");
+        assertEquals(rehashed, loggedIn.getPassword());
+      } finally {
+        PasswordPolicy.setCurrent(previous);
+      }
+    }
+
+    @Test
+    @DisplayName("Should refuse logins after too many wrong passwords")
+    void shouldLimitWrongPasswords() {
+      for (int i = 0; i < 5; i++) {
+        assertThrows(IllegalArgumentException.class,
+                () -> register.getAccount(account.getUsername(), "WrongPassword"));
+      }
+      assertThrows(IllegalStateException.class,
+              () -> register.getAccount(account.getUsername(), "Password"));
+    }
+
+    @Test
+    @DisplayName("Should not find an unknown account again, until it is registered")
+    void shouldRememberUnknownAccount() {
+      assertThrows(NoSuchElementException.class, () -> register.getAccount("Unknown", "Password"));
+      assertThrows(NoSuchElementException.class, () -> register.getAccount("Unknown", "Password"));
+      register.registerAccount("Unknown", "Password", "unknown@test.no", "87654321");
+      try {
+        assertEquals("Unknown", register.getAccount("Unknown", "Password").getUsername());
+      } finally {
+        register.deleteAccount("Unknown", "Unknown");
+      }
+    }
+
     @Test
     @DisplayName("Should get accounts")
     void shouldGetAccounts() {
@@ -246,6 +306,21 @@ class AccountRegisterTest {
       assertEquals("987654321", register.findAccount(account.getUsername()).getPhoneNumber());
     }
 
+    @Test
+    @DisplayName("Should release the old email and phone number after a change")
+    void shouldReleaseOldEmailAndPhoneNumberAfterChange() {
+      register.changeEmail(account.getUsername(), "changed@test.no");
+      register.changePhoneNumber(account.getUsername(), "11223344");
+
+      assertDoesNotThrow(() -> register.registerAccount("Other", "Password",
+              account.getEmail(), account.getPhoneNumber()));
+      assertThrows(IllegalArgumentException.class, () -> register.registerAccount("Third",
+              "Password", "changed@test.no", "55667788"));
+      assertThrows(IllegalArgumentException.class, () -> register.registerAccount("Third",
+              "Password", "third@test.no", "11223344"));
+      register.deleteAccount("Other", "Other");
+    }
+
     @Test
     @DisplayName("Should not change phone number throws NullPointerException")
     void shouldNotChangePhoneNumberThrowsNullPointerException() {
@@ -295,6 +370,19 @@ class AccountRegisterTest {
       assertFalse(register.getAccounts().isEmpty());
     }
 
+    @Test
+    @DisplayName("Should keep uniqueness checks after loading accounts")
+    void shouldKeepUniquenessChecksAfterLoading() throws IOException, ClassNotFoundException {
+      register.saveAccounts(pathToTemporaryFile);
+      register.deleteAccount(account.getUsername(), account.getUsername());
+      register.loadAccounts(pathToTemporaryFile);
+
+      assertThrows(IllegalArgumentException.class, () -> register.registerAccount("Other",
+              "Password", account.getEmail(), "11223344"));
+      assertThrows(IllegalArgumentException.class, () -> register.registerAccount("Other",
+              "Password", "other@test.no", account.getPhoneNumber()));
+    }
+
     @Test
     @DisplayName("Should not save accounts to file throws NullPointerException")
     void shouldNotWriteStoryToFileThrowsNullPointerException() {
@@ -324,4 +412,221 @@ class AccountRegisterTest {
       assertThrows(IllegalArgumentException.class, () -> register.loadAccounts(invalidPathToFileBlank));
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  @DisplayName("Background saving tests")
+  class BackgroundSavingTests {
+    private final List<AccountChange> savedChanges = new ArrayList<>();
+    private List<Account> registeredAccounts;
+    private final AccountStorage storage = new AccountStorage() {
+      @Override
+      public List<Account> loadAccounts() {
+        return new ArrayList<>(registeredAccounts);
+      }
+
+      @Override
+      public void saveAccounts(Collection<Account> accounts) {
+        fail("Only the changes should be saved.");
+      }
+
+      @Override
+      public void saveChanges(Collection<Account> accounts, List<AccountChange> changes) {
+        savedChanges.addAll(changes);
+      }
+    };
+
+    @BeforeEach
+    void setUp() {
+      registeredAccounts = register.getAccounts();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+      register.clearStorage();
+    }
+
+    @Test
+    @DisplayName("Should save the changes when flushed")
+    void shouldSaveChangesWhenFlushed() throws IOException {
+      register.setStorage(storage);
+      register.loadAccounts();
+      register.startBackgroundSaving(Duration.ofMinutes(1));
+      register.changeEmail(account.getUsername(), "changed@test.no");
+      assertTrue(savedChanges.isEmpty());
+
+      register.flush();
+      assertEquals(1, savedChanges.size());
+      assertEquals(AccountChange.Type.EMAIL_CHANGED, savedChanges.get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Should not save anything when flushed without changes")
+    void shouldNotSaveWithoutChanges() throws IOException {
+      register.setStorage(storage);
+      register.startBackgroundSaving(Duration.ofMinutes(1));
+
+      register.flush();
+      assertTrue(savedChanges.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not lock the register while the save is written")
+    void shouldNotLockRegisterWhileWriting() throws Exception {
+      CountDownLatch writing = new CountDownLatch(1);
+      CountDownLatch written = new CountDownLatch(1);
+      register.setStorage(new AccountStorage() {
+        @Override
+        public List<Account> loadAccounts() {
+          return new ArrayList<>();
+        }
+
+        @Override
+        public void saveAccounts(Collection<Account> accounts) {
+          fail("The save should be prepared.");
+        }
+
+        @Override
+        public PreparedSave prepareAccounts(Collection<Account> accounts) {
+          return () -> {
+            writing.countDown();
+            try {
+              written.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          };
+        }
+      });
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      Future<?> save = executor.submit(() -> {
+        register.saveAccounts();
+        return null;
+      });
+      assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+      Future<?> change = executor.submit(
+              () -> register.changeEmail(account.getUsername(), "changed@test.no"));
+      change.get(10, TimeUnit.SECONDS);
+      written.countDown();
+      save.get(10, TimeUnit.SECONDS);
+      executor.shutdown();
+      assertEquals("changed@test.no", register.findAccount(account.getUsername()).getEmail());
+    }
+
+    @Test
+    @DisplayName("Should save the changes again if the save could not be written")
+    void shouldKeepChangesIfWriteFails() throws IOException {
+      AtomicInteger writes = new AtomicInteger();
+      register.setStorage(new AccountStorage() {
+        @Override
+        public List<Account> loadAccounts() {
+          return new ArrayList<>();
+        }
+
+        @Override
+        public void saveAccounts(Collection<Account> accounts) {
+        }
+
+        @Override
+        public PreparedSave prepareChanges(Collection<Account> accounts,
+                                           List<AccountChange> changes) {
+          return () -> {
+            if (writes.getAndIncrement() == 0) {
+              throw new IOException("The disk is full.");
+            }
+            savedChanges.addAll(changes);
+          };
+        }
+      });
+      register.saveAccounts();
+      register.changeEmail(account.getUsername(), "changed@test.no");
+
+      assertThrows(IOException.class, () -> register.saveAccounts());
+      register.changePhoneNumber(account.getUsername(), "99999999");
+      register.saveAccounts();
+      assertEquals(List.of(AccountChange.Type.EMAIL_CHANGED,
+              AccountChange.Type.PHONE_NUMBER_CHANGED),
+              savedChanges.stream().map(AccountChange::getType).toList());
+    }
+  }
+
+  @Nested
+  @DisplayName("Concurrency tests")
+  class ConcurrencyTests {
+    private static final int THREADS = 8;
+    private final BudgetManager budgetManager = new BudgetManager();
+
+    @AfterEach
+    void tearDown() {
+      for (int i = 0; i < THREADS; i++) {
+        register.deleteAccount("Stress " + i, "Stress " + i);
+      }
+      register.deleteAccount("Stress shared", "Stress shared");
+    }
+
+    @Test
+    @DisplayName("Should keep accounts and budgets consistent under concurrent changes")
+    void shouldStayConsistentUnderConcurrentChanges() throws Exception {
+      AtomicInteger sharedRegistrations = new AtomicInteger();
+      AtomicInteger contestedEmails = new AtomicInteger();
+      CountDownLatch start = new CountDownLatch(1);
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        String username = "Stress " + i;
+        String phoneNumber = "5000000" + i;
+        results.add(executor.submit(() -> {
+          start.await();
+          try {
+            register.registerAccount("Stress shared", "Password", "shared@test.no", "59999999");
+            sharedRegistrations.incrementAndGet();
+          } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("already exists"));
+          }
+          register.registerAccount(username, "Password", username.replace(' ', '.')
+                  + "@test.no", phoneNumber);
+          assertEquals(username, register.getAccount(username, "Password").getUsername());
+          budgetManager.createBudget(username, "Budget");
+          for (int j = 0; j < 200; j++) {
+            budgetManager.addIncomeToBudget(username, "Budget", "Work", 1);
+            if (j % 2 == 0) {
+              budgetManager.addExpenseToBudget(username, "Budget", "Food", 2);
+            }
+            if (j % 4 == 0) {
+              assertTrue(budgetManager.removeExpenseFromBudget(username, "Budget",
+                      new Expense("Food", 2)));
+            }
+          }
+          try {
+            register.changeEmail(username, "contested@test.no");
+            contestedEmails.incrementAndGet();
+          } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("already exists"));
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> result : results) {
+        result.get(60, TimeUnit.SECONDS);
+      }
+      executor.shutdown();
+
+      assertEquals(1, sharedRegistrations.get());
+      assertEquals(1, contestedEmails.get());
+      int emailsTaken = 0;
+      for (int i = 0; i < THREADS; i++) {
+        Account stressed = register.findAccount("Stress " + i);
+        emailsTaken += stressed.getEmail().equals("contested@test.no") ? 1 : 0;
+        Budget budget = stressed.getBudget("Budget");
+        assertEquals(200, budget.getIncomes().size());
+        assertEquals(50, budget.getExpenses().size());
+        assertEquals(100, budget.getBalance());
+        assertTrue(budget.isBalanceConsistent());
+      }
+      assertEquals(1, emailsTaken);
+      assertThrows(IllegalArgumentException.class, () -> register.registerAccount("Other",
+              "Password", "contested@test.no", "58888888"));
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the AuthenticationService class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class AuthenticationServiceTest {
+  private final AccountRegister register = AccountRegister.getInstance();
+  private AuthenticationService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new AuthenticationService(register, 1, 1);
+    register.registerAccount("Authenticated", "Password", "authenticated@test.no", "61234567");
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.close();
+    register.deleteAccount("Authenticated", "Authenticated");
+    register.deleteAccount("Created", "Created");
+  }
+
+  /**
+   * The method waits for a future and retrieves the type of the exception it failed with.
+   *
+   * @param future the future.
+   * @return the type of the exception thrown by the work of the future.
+   */
+  private static Class<?> failureOf(CompletableFuture<?> future) {
+    ExecutionException error = assertThrows(ExecutionException.class,
+        () -> future.get(10, TimeUnit.SECONDS));
+    return AuthenticationService.causeOf(error).getClass();
+  }
+
+  @Nested
+  @DisplayName("Authentication tests")
+  class AuthenticationTests {
+    @Test
+    @DisplayName("Should complete a login with the account")
+    void shouldLogIn() throws Exception {
+      Account account = service.login("Authenticated", "Password").get(10, TimeUnit.SECONDS);
+      assertEquals("Authenticated", account.getUsername());
+    }
+
+    @Test
+    @DisplayName("Should fail a login with a wrong password or an unknown username")
+    void shouldFailWrongLogin() {
+      assertEquals(IllegalArgumentException.class,
+              failureOf(service.login("Authenticated", "Wrong")));
+      assertEquals(NoSuchElementException.class,
+              failureOf(service.login("Unknown", "Password")));
+      assertEquals(NullPointerException.class, failureOf(service.login(null, "Password")));
+    }
+
+    @Test
+    @DisplayName("Should create an account and change its password")
+    void shouldCreateAccountAndChangePassword() throws Exception {
+      Account created = service.createAccount("Created", "Password", "created@test.no",
+              "61234568").get(10, TimeUnit.SECONDS);
+      assertSame(register.findAccount("Created"), created);
+      assertEquals(IllegalArgumentException.class, failureOf(service.createAccount(
+              "Created", "Password", "other@test.no", "61234569")));
+
+      service.changePassword("Created", "Password", "NewPassword").get(10, TimeUnit.SECONDS);
+      assertTrue(created.checkPassword("NewPassword"));
+    }
+  }
+
+  @Nested
+  @DisplayName("Limit tests")
+  class LimitTests {
+    @Test
+    @DisplayName("Should reject requests when the workers and the queue are busy")
+    void shouldRejectWhenBusy() throws Exception {
+      CompletableFuture<Account> running;
+      CompletableFuture<Account> queued;
+      try (AccountLocks.Held lock = register.lockAccount("Authenticated")) {
+        running = service.login("Authenticated", "Password");
+        Thread.sleep(100);
+        queued = service.login("Authenticated", "Password");
+        assertThrows(TimeoutException.class, () -> running.get(100, TimeUnit.MILLISECONDS));
+        assertEquals(IllegalStateException.class,
+                failureOf(service.login("Authenticated", "Password")));
+      }
+      assertEquals("Authenticated", running.get(10, TimeUnit.SECONDS).getUsername());
+      assertEquals("Authenticated", queued.get(10, TimeUnit.SECONDS).getUsername());
+    }
+
+    @Test
+    @DisplayName("Should wait for work run before the requests, even if it fails")
+    void shouldWaitForWorkRunFirst() throws Exception {
+      CountDownLatch release = new CountDownLatch(1);
+      CompletableFuture<Void> first = service.runBeforeRequests(() -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        throw new IllegalStateException("Failed.");
+      });
+      CompletableFuture<Account> login = service.login("Authenticated", "Password");
+      assertThrows(TimeoutException.class, () -> login.get(100, TimeUnit.MILLISECONDS));
+      release.countDown();
+      assertEquals(IllegalStateException.class, failureOf(first));
+      assertEquals("Authenticated", login.get(10, TimeUnit.SECONDS).getUsername());
+    }
+
+    @Test
+    @DisplayName("Should reject requests waiting for work run first when the queue is full")
+    void shouldRejectWhenTooManyWaitForWorkRunFirst() throws Exception {
+      CountDownLatch release = new CountDownLatch(1);
+      CompletableFuture<Void> first = service.runBeforeRequests(() -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      CompletableFuture<Account> waiting = service.login("Authenticated", "Password");
+      assertEquals(IllegalStateException.class,
+              failureOf(service.login("Authenticated", "Password")));
+      release.countDown();
+      first.get(10, TimeUnit.SECONDS);
+      assertEquals("Authenticated", waiting.get(10, TimeUnit.SECONDS).getUsername());
+      assertEquals("Authenticated",
+              service.login("Authenticated", "Password").get(10, TimeUnit.SECONDS).getUsername());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException if there are no workers")
+    void shouldThrowIfNoWorkers() {
+      assertThrows(IllegalArgumentException.class,
+              () -> new AuthenticationService(register, 0, 1));
+      assertThrows(IllegalArgumentException.class,
+              () -> new AuthenticationService(register, 1, 0));
+      assertThrows(NullPointerException.class, () -> new AuthenticationService(null, 1, 1));
+    }
+  }
+}
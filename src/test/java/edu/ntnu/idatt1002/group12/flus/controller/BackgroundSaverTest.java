@@ -0,0 +1,169 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the BackgroundSaver class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class BackgroundSaverTest {
+  private final AtomicInteger saves = new AtomicInteger();
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private BackgroundSaver saver;
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (saver != null) {
+      saver.close();
+    }
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * The class is an executor that holds the saves scheduled after a delay until the
+   * test runs them, so the tests do not depend on how long the save window takes.
+   * Work submitted without a delay is run on the thread of the executor as usual.
+   */
+  private static class ManualScheduler extends ScheduledThreadPoolExecutor {
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<ScheduledFuture<?>> futures = new ArrayList<>();
+    private final List<Long> delays = new ArrayList<>();
+
+    ManualScheduler() {
+      super(1);
+    }
+
+    @Override
+    public synchronized ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+      ScheduledFuture<?> future = super.schedule(() -> { }, 1, TimeUnit.DAYS);
+      tasks.add(task);
+      futures.add(future);
+      delays.add(unit.toMillis(delay));
+      return future;
+    }
+
+    /**
+     * The method runs the scheduled saves that have not been cancelled, as if their
+     * delay had passed.
+     *
+     * @return the number of saves that were run.
+     */
+    int runScheduled() {
+      List<Runnable> due = new ArrayList<>();
+      synchronized (this) {
+        for (int i = 0; i < tasks.size(); i++) {
+          if (futures.get(i).cancel(false)) {
+            due.add(tasks.get(i));
+          }
+        }
+      }
+      due.forEach(Runnable::run);
+      return due.size();
+    }
+
+    /**
+     * The method retrieves the delays the saves were scheduled with.
+     *
+     * @return the delays in milliseconds, in the order the saves were scheduled.
+     */
+    synchronized List<Long> delays() {
+      return List.copyOf(delays);
+    }
+  }
+
+  @Nested
+  @DisplayName("Coalescing tests")
+  class CoalescingTests {
+    @Test
+    @DisplayName("Should save a burst of changes with a single write")
+    void shouldCoalesceBurstOfChanges() {
+      saver = new BackgroundSaver(saves::incrementAndGet, Duration.ofMillis(200), scheduler);
+      for (int i = 0; i < 50; i++) {
+        saver.markDirty();
+      }
+      assertEquals(0, saves.get());
+      assertEquals(List.of(200L), scheduler.delays());
+
+      assertEquals(1, scheduler.runScheduled());
+      assertEquals(1, saves.get());
+      assertEquals(0, scheduler.runScheduled());
+    }
+
+    @Test
+    @DisplayName("Should save changes made after a save with a new write")
+    void shouldSaveLaterChangesAgain() {
+      saver = new BackgroundSaver(saves::incrementAndGet, Duration.ofMillis(50), scheduler);
+      saver.markDirty();
+      assertEquals(1, scheduler.runScheduled());
+      saver.markDirty();
+      assertEquals(1, scheduler.runScheduled());
+
+      assertEquals(2, saves.get());
+      assertEquals(List.of(50L, 50L), scheduler.delays());
+    }
+  }
+
+  @Nested
+  @DisplayName("Flush tests")
+  class FlushTests {
+    @Test
+    @DisplayName("Should save immediately and cancel the scheduled save when flushed")
+    void shouldSaveImmediatelyWhenFlushed() throws IOException {
+      saver = new BackgroundSaver(saves::incrementAndGet, Duration.ofMillis(200), scheduler);
+      saver.markDirty();
+      saver.flush();
+      assertEquals(1, saves.get());
+
+      assertEquals(0, scheduler.runScheduled());
+      assertEquals(1, saves.get());
+    }
+
+    @Test
+    @DisplayName("Should save on a background thread with the real executor")
+    void shouldSaveInBackground() throws InterruptedException {
+      CountDownLatch saved = new CountDownLatch(1);
+      saver = new BackgroundSaver(saved::countDown, Duration.ofMillis(10));
+      saver.markDirty();
+
+      assertTrue(saved.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should throw the exception of a failed save when flushed")
+    void shouldThrowWhenFlushFails() {
+      saver = new BackgroundSaver(() -> {
+        throw new IOException("Disk full");
+      }, Duration.ofMillis(200), scheduler);
+
+      IOException exception = assertThrows(IOException.class, () -> saver.flush());
+      assertEquals("Disk full", exception.getMessage());
+      assertThrows(IOException.class, () -> saver.close());
+      saver = null;
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException if the window is negative")
+    void shouldThrowIfWindowNegative() {
+      assertThrows(IllegalArgumentException.class,
+              () -> new BackgroundSaver(saves::incrementAndGet, Duration.ofMillis(-1)));
+      assertThrows(NullPointerException.class,
+              () -> new BackgroundSaver(saves::incrementAndGet, Duration.ZERO, null));
+    }
+  }
+}
@@ -3,16 +3,22 @@ package edu.ntnu.idatt1002.group12.flus.controller;
 import static org.junit.jupiter.api.Assertions.*;
 import edu.ntnu.idatt1002.group12.flus.model.Account;
 import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.model.categories.Categorizer;
+import edu.ntnu.idatt1002.group12.flus.model.categories.CategoryRule;
 import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
@@ -75,7 +81,7 @@ class BudgetManagerTest {
     @DisplayName("Should not create budget throws NullPointerException")
     void shouldNotCreateBudgetThrowsNullPointerException() {
       assertThrows(NullPointerException.class,
-              () -> budgetManager.createBudget(null, budget.getBudgetId()));
+              () -> budgetManager.createBudget((String) null, budget.getBudgetId()));
 
       assertThrows(NullPointerException.class,
               () -> budgetManager.createBudget(account.getUsername(), null));
@@ -95,7 +101,7 @@ class BudgetManagerTest {
               () -> budgetManager.deleteBudget(account.getUsername(), null));
 
       assertThrows(NullPointerException.class,
-              () -> budgetManager.deleteBudget(null, budget.getBudgetId()));
+              () -> budgetManager.deleteBudget((String) null, budget.getBudgetId()));
     }
   }
 
@@ -124,7 +130,7 @@ class BudgetManagerTest {
     @DisplayName("Should not add income to budget throws NullPointerException")
     void shouldNotAddIncomeToBudgetThrowsNullPointerException() {
       assertThrows(NullPointerException.class, () -> budgetManager
-              .addIncomeToBudget(null, budget.getBudgetId(), income.getDescription(), income.getAmount()));
+              .addIncomeToBudget((String) null, budget.getBudgetId(), income.getDescription(), income.getAmount()));
       assertThrows(NullPointerException.class, () -> budgetManager
               .addIncomeToBudget(account.getUsername(), null, income.getDescription(), income.getAmount()));
       assertThrows(NullPointerException.class, () -> budgetManager
@@ -144,7 +150,7 @@ class BudgetManagerTest {
     @DisplayName("Should not remove income form budget throws NullPointerException")
     void shouldNotRemoveIncomeFromBudgetThrowsNullPointerException() {
       assertThrows(NullPointerException.class, () -> budgetManager
-              .removeIncomeFromBudget(null, budget.getBudgetId(), income));
+              .removeIncomeFromBudget((String) null, budget.getBudgetId(), income));
       assertThrows(NullPointerException.class, () -> budgetManager
               .removeIncomeFromBudget(account.getUsername(), null, income));
       assertThrows(NullPointerException.class, () -> budgetManager
@@ -157,6 +163,20 @@ class BudgetManagerTest {
       assertThrows(NoSuchElementException.class, () -> budgetManager
               .removeIncomeFromBudget(account.getUsername(), "Non existing budget", income));
     }
+
+    @Test
+    @DisplayName("Should add none of the transactions if a total would be too large")
+    void shouldNotAddBatchIfTotalTooLarge() {
+      DateTimeUtil date = new DateTimeUtil(LocalDateTime.of(2026, 10, 18, 12, 0));
+      List<Income> incomes = List.of(new Income("First", Money.ofMinorUnits(1), date),
+              new Income("Second", Money.ofMinorUnits(Long.MAX_VALUE), date));
+
+      assertThrows(IllegalArgumentException.class, () -> budgetManager
+              .addTransactionsToBudget(account.getUsername(), budget.getBudgetId(), incomes));
+      Budget stored = budgetManager.getBudget(account.getUsername(), budget.getBudgetId());
+      assertEquals(List.of(income), stored.getIncomes());
+      assertEquals(Money.of(1500), stored.getMoneyBalance());
+    }
   }
 
   @Nested
@@ -174,6 +194,41 @@ class BudgetManagerTest {
               .getExpenses().contains(testExpense));
     }
 
+    @Test
+    @DisplayName("Should sum the expenses of all budgets by category")
+    void shouldSumExpensesOfAllBudgetsByCategory() {
+      budgetManager.createBudget(account.getUsername(), "Second");
+      budgetManager.addExpenseToBudget(account.getUsername(), "Second", "Grocery", 100);
+      budgetManager.addExpenseToBudget(account.getUsername(), "Second", "Cinema", 150);
+      Categorizer categorizer = new Categorizer();
+      categorizer.addRule(new CategoryRule("Food", List.of("grocery")));
+      LocalDateTime now = LocalDateTime.now();
+
+      Map<String, Money> breakdown = budgetManager.getExpensesByCategory(account.getUsername(),
+              categorizer, new DateTimeUtil(now.minusDays(1)), new DateTimeUtil(now.plusDays(1)));
+      assertEquals(Map.of("Food", Money.of(2600), Categorizer.UNCATEGORIZED, Money.of(150)),
+              breakdown);
+    }
+
+    @Test
+    @DisplayName("Should keep the search index up to date")
+    void shouldKeepSearchIndexUpToDate() {
+      assertEquals("Grocery", budgetManager.searchTransactions(account.getUsername(), "groc", 10)
+              .get(0).getDescription());
+      budgetManager.addExpenseToBudget(account.getUsername(), budget.getBudgetId(),
+              "Cinema", 150);
+      assertEquals(1, budgetManager.searchTransactions(account.getUsername(), "cinmea", 10)
+              .size());
+
+      budgetManager.removeExpenseFromBudget(account.getUsername(), budget.getBudgetId(),
+              new Expense("Cinema", 150));
+      assertTrue(budgetManager.searchTransactions(account.getUsername(), "cinema", 10)
+              .isEmpty());
+      budgetManager.deleteBudget(account.getUsername(), budget.getBudgetId());
+      assertTrue(budgetManager.searchTransactions(account.getUsername(), "grocery", 10)
+              .isEmpty());
+    }
+
     @Test
     @DisplayName("Should remove expense from budget")
     void shouldRemoveIncomeFromBudget() {
@@ -185,7 +240,7 @@ class BudgetManagerTest {
     @DisplayName("Should not add expense to budget throws NullPointerException")
     void shouldNotAddIncomeToBudgetThrowsNullPointerException() {
       assertThrows(NullPointerException.class, () -> budgetManager
-              .addExpenseToBudget(null, budget.getBudgetId(), expense.getDescription(), expense.getAmount()));
+              .addExpenseToBudget((String) null, budget.getBudgetId(), expense.getDescription(), expense.getAmount()));
       assertThrows(NullPointerException.class, () -> budgetManager
               .addExpenseToBudget(account.getUsername(), null, expense.getDescription(), expense.getAmount()));
       assertThrows(NullPointerException.class, () -> budgetManager
@@ -204,7 +259,7 @@ class BudgetManagerTest {
     @DisplayName("Should not remove expense form budget throws NullPointerException")
     void shouldNotRemoveIncomeFromBudgetThrowsNullPointerException() {
       assertThrows(NullPointerException.class, () -> budgetManager
-              .removeExpenseFromBudget(null, budget.getBudgetId(), expense));
+              .removeExpenseFromBudget((String) null, budget.getBudgetId(), expense));
       assertThrows(NullPointerException.class, () -> budgetManager
               .removeExpenseFromBudget(account.getUsername(), null, expense));
       assertThrows(NullPointerException.class, () -> budgetManager
@@ -262,7 +317,7 @@ class BudgetManagerTest {
     @DisplayName("Should not add goal to budget throws NullPointerException")
     void shouldNotGoalToBudgetThrowsNullPointerException() {
       assertThrows(NullPointerException.class, () -> budgetManager
-              .addGoalToBudget(null, budget.getBudgetId(), financialGoal.getMinimumMoneyValue()));
+              .addGoalToBudget((String) null, budget.getBudgetId(), financialGoal.getMinimumMoneyValue()));
       assertThrows(NullPointerException.class, () -> budgetManager
               .addGoalToBudget(account.getUsername(), null, financialGoal.getMinimumMoneyValue()));
     }
@@ -278,7 +333,7 @@ class BudgetManagerTest {
     @DisplayName("Should not remove goal from budget throws NullPointerException")
     void shouldNotRemoveGoalFromBudgetThrowsNullPointerException() {
       assertThrows(NullPointerException.class, () -> budgetManager
-              .removeGoalFromBudget(null, budget.getBudgetId(), financialGoal.getMinimumMoneyValue()));
+              .removeGoalFromBudget((String) null, budget.getBudgetId(), financialGoal.getMinimumMoneyValue()));
       assertThrows(NullPointerException.class, () -> budgetManager
               .removeGoalFromBudget(account.getUsername(), null, financialGoal.getMinimumMoneyValue()));
     }
@@ -290,4 +345,43 @@ class BudgetManagerTest {
               .removeGoalFromBudget(account.getUsername(), "Non existing budget", financialGoal.getMinimumMoneyValue()));
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  @DisplayName("Session tests")
+  class SessionTests {
+    @Test
+    @DisplayName("Should change the budgets of the account of a session")
+    void shouldChangeBudgetsThroughSession() {
+      Session session = accountRegister.openSession(account.getUsername(), "Password123");
+      budgetManager.createBudget(session, "Session budget");
+      budgetManager.addIncomeToBudget(session, "Session budget", "Work", 100);
+      budgetManager.addExpenseToBudget(session, "Session budget", "Food", 40);
+      budgetManager.addGoalToBudget(session, "Session budget", 50);
+
+      Budget sessionBudget = budgetManager.getBudget(session, "Session budget");
+      assertSame(accountRegister.findAccount(account.getUsername()).getBudget("Session budget"),
+              sessionBudget);
+      assertEquals(Money.of(60), sessionBudget.getMoneyBalance());
+
+      assertTrue(budgetManager.removeIncomeFromBudget(session, "Session budget",
+              new Income("Work", 100)));
+      assertTrue(budgetManager.removeExpenseFromBudget(session, "Session budget",
+              new Expense("Food", 40)));
+      assertTrue(budgetManager.removeGoalFromBudget(session, "Session budget", 50));
+      assertTrue(budgetManager.deleteBudget(session, "Session budget"));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalStateException if the session has been invalidated")
+    void shouldThrowIfSessionInvalidated() {
+      Session session = accountRegister.openSession(account.getUsername(), "Password123");
+      session.invalidate();
+      assertThrows(IllegalStateException.class,
+              () -> budgetManager.createBudget(session, "Session budget"));
+      assertThrows(IllegalStateException.class,
+              () -> budgetManager.getBudget(session, budget.getBudgetId()));
+      assertThrows(NullPointerException.class,
+              () -> budgetManager.createBudget((Session) null, "Session budget"));
+    }
+  }
+}
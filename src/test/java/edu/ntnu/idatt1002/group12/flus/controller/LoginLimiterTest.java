@@ -0,0 +1,124 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the LoginLimiter class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class LoginLimiterTest {
+  private final AtomicLong now = new AtomicLong();
+  private final LoginLimiter limiter = new LoginLimiter(3, Duration.ofSeconds(10), 5,
+          Duration.ofSeconds(1), Duration.ofSeconds(30), now::get);
+
+  /**
+   * The method moves the clock forward.
+   *
+   * @param time the time to move the clock.
+   */
+  private void advance(Duration time) {
+    now.addAndGet(time.toNanos());
+  }
+
+  @Nested
+  @DisplayName("Bucket tests")
+  class BucketTests {
+    @Test
+    @DisplayName("Should refuse a username with an empty bucket until it is filled again")
+    void shouldRefuseEmptyUsernameBucket() {
+      for (int i = 0; i < 3; i++) {
+        limiter.acquire("Username");
+      }
+      assertThrows(IllegalStateException.class, () -> limiter.acquire("Username"));
+      assertDoesNotThrow(() -> limiter.acquire("Other"));
+
+      advance(Duration.ofSeconds(10));
+      assertDoesNotThrow(() -> limiter.acquire("Username"));
+      assertThrows(IllegalStateException.class, () -> limiter.acquire("Username"));
+    }
+
+    @Test
+    @DisplayName("Should fill the bucket of a username after a successful login")
+    void shouldFillAfterSuccess() {
+      for (int i = 0; i < 3; i++) {
+        limiter.acquire("Username");
+      }
+      limiter.succeeded("Username");
+      assertDoesNotThrow(() -> limiter.acquire("Username"));
+    }
+
+    @Test
+    @DisplayName("Should refuse all usernames when the global bucket is empty")
+    void shouldRefuseEmptyGlobalBucket() {
+      for (int i = 0; i < 5; i++) {
+        limiter.acquire("User " + i);
+      }
+      assertThrows(IllegalStateException.class, () -> limiter.acquire("User 5"));
+
+      advance(Duration.ofSeconds(1));
+      assertDoesNotThrow(() -> limiter.acquire("User 5"));
+      assertThrows(IllegalStateException.class, () -> limiter.acquire("User 6"));
+    }
+
+    @Test
+    @DisplayName("Should give back the attempt of a username refused by the global bucket")
+    void shouldGiveBackUsernameAttempt() {
+      for (int i = 0; i < 5; i++) {
+        limiter.acquire("User " + i);
+      }
+      for (int i = 0; i < 3; i++) {
+        assertThrows(IllegalStateException.class, () -> limiter.acquire("Username"));
+      }
+      advance(Duration.ofSeconds(3));
+      for (int i = 0; i < 3; i++) {
+        assertDoesNotThrow(() -> limiter.acquire("Username"));
+      }
+    }
+
+    @Test
+    @DisplayName("Should throw if the limits are not valid")
+    void shouldThrowIfNotValid() {
+      assertThrows(IllegalArgumentException.class, () -> new LoginLimiter(0,
+              Duration.ofSeconds(1), 1, Duration.ofSeconds(1), Duration.ofSeconds(1), now::get));
+      assertThrows(IllegalArgumentException.class, () -> new LoginLimiter(1,
+              Duration.ZERO, 1, Duration.ofSeconds(1), Duration.ofSeconds(1), now::get));
+      assertThrows(NullPointerException.class, () -> new LoginLimiter(1,
+              Duration.ofSeconds(1), 1, Duration.ofSeconds(1), Duration.ofSeconds(1), null));
+    }
+  }
+
+  @Nested
+  @DisplayName("Unknown username tests")
+  class UnknownUsernameTests {
+    @Test
+    @DisplayName("Should remember an unknown username for a short time")
+    void shouldRememberUnknownUsername() {
+      assertFalse(limiter.isUnknown("Unknown"));
+      limiter.rememberUnknown("Unknown");
+      assertTrue(limiter.isUnknown("Unknown"));
+
+      advance(Duration.ofSeconds(30));
+      assertFalse(limiter.isUnknown("Unknown"));
+    }
+
+    @Test
+    @DisplayName("Should forget an unknown username when it is registered or loaded")
+    void shouldForgetUnknownUsername() {
+      limiter.rememberUnknown("Unknown");
+      limiter.forget("Unknown");
+      assertFalse(limiter.isUnknown("Unknown"));
+
+      limiter.rememberUnknown("Unknown");
+      limiter.forgetUnknown();
+      assertFalse(limiter.isUnknown("Unknown"));
+    }
+  }
+}
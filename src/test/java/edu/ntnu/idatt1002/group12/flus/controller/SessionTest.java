@@ -0,0 +1,112 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the Session class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class SessionTest {
+  private final AccountRegister register = AccountRegister.getInstance();
+  private final AtomicLong now = new AtomicLong();
+
+  @BeforeEach
+  void setUp() {
+    register.registerAccount("Session", "Password", "session@test.no", "71234567");
+  }
+
+  @AfterEach
+  void tearDown() {
+    register.deleteAccount("Session", "Session");
+  }
+
+  @Nested
+  @DisplayName("Expiry tests")
+  class ExpiryTests {
+    @Test
+    @DisplayName("Should expire when it has not been used for the idle timeout")
+    void shouldExpireWhenIdle() {
+      Account account = register.findAccount("Session");
+      Session session = new Session(register, account, Duration.ofMinutes(30), now::get);
+
+      now.addAndGet(Duration.ofMinutes(20).toNanos());
+      assertSame(account, session.getAccount());
+      now.addAndGet(Duration.ofMinutes(20).toNanos());
+      assertTrue(session.isValid());
+
+      now.addAndGet(Duration.ofMinutes(10).toNanos());
+      assertFalse(session.isValid());
+      assertThrows(IllegalStateException.class, session::getAccount);
+      assertThrows(IllegalStateException.class, session::lock);
+      assertEquals("Session", session.getUsername());
+    }
+
+    @Test
+    @DisplayName("Should throw if the idle timeout is not valid")
+    void shouldThrowIfNotValid() {
+      Account account = register.findAccount("Session");
+      assertThrows(IllegalArgumentException.class,
+              () -> new Session(register, account, Duration.ZERO, now::get));
+      assertThrows(NullPointerException.class,
+              () -> new Session(register, null, Duration.ofMinutes(1), now::get));
+    }
+  }
+
+  @Nested
+  @DisplayName("Invalidation tests")
+  class InvalidationTests {
+    @Test
+    @DisplayName("Should hold the registered account until the user logs out")
+    void shouldHoldAccountUntilLogout() {
+      Session session = register.openSession("Session", "Password");
+      assertSame(register.findAccount("Session"), session.getAccount());
+
+      session.invalidate();
+      assertFalse(session.isValid());
+      assertThrows(IllegalStateException.class, session::getAccount);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the sessions when the account is deleted")
+    void shouldInvalidateWhenDeleted() {
+      Session session = register.openSession("Session", "Password");
+      register.deleteAccount("Session", "Session");
+      assertFalse(session.isValid());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the other sessions when the password is changed")
+    void shouldInvalidateOthersWhenPasswordChanged() {
+      Session changing = register.openSession("Session", "Password");
+      Session other = register.openSession("Session", "Password");
+
+      register.changePassword(changing, "Password", "NewPassword");
+      assertTrue(changing.isValid());
+      assertFalse(other.isValid());
+
+      register.changePassword("Session", "NewPassword", "Password");
+      assertFalse(changing.isValid());
+    }
+
+    @Test
+    @DisplayName("Should not open a session for an account that is not registered")
+    void shouldNotOpenForUnregisteredAccount() {
+      Account account = new Account("Session", "Password", "session@test.no", "71234567");
+      assertThrows(NoSuchElementException.class, () -> register.openSession(account));
+      assertThrows(IllegalArgumentException.class,
+              () -> register.openSession("Session", "Wrong"));
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package edu.ntnu.idatt1002.group12.flus.controller;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.storage.AccountChange;
+import edu.ntnu.idatt1002.group12.flus.storage.AccountStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the StatementImporter class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class StatementImporterTest {
+  private final AccountRegister register = AccountRegister.getInstance();
+  private final BudgetManager budgetManager = new BudgetManager();
+  private final StatementImporter importer = new StatementImporter();
+  private final List<Long> progress = new ArrayList<>();
+  private int saves;
+
+  @BeforeEach
+  void setUp() {
+    register.setStorage(new AccountStorage() {
+      @Override
+      public List<Account> loadAccounts() {
+        return new ArrayList<>();
+      }
+
+      @Override
+      public void saveAccounts(Collection<Account> accounts) {
+        saves++;
+      }
+
+      @Override
+      public void saveChanges(Collection<Account> accounts, List<AccountChange> changes) {
+        saves++;
+      }
+    });
+    register.registerAccount("Importer", "Password123", "importer@test.no", "44444444");
+    budgetManager.createBudget("Importer", "April");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    register.deleteAccount("Importer", "Importer");
+    register.clearStorage();
+  }
+
+  /**
+   * The method creates an input stream with the given statement.
+   *
+   * @param statement the statement.
+   * @return the input stream.
+   */
+  private static InputStream statement(String statement) {
+    return new ByteArrayInputStream(statement.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * The method retrieves the budget the statements are imported into.
+   *
+   * @return the budget.
+   */
+  private Budget budget() {
+    return budgetManager.getBudget("Importer", "April");
+  }
+
+  @Nested
+  @DisplayName("Import tests")
+  class ImportTests {
+    @Test
+    @DisplayName("Should import positive amounts as incomes and negative amounts as expenses")
+    void shouldImportIncomesAndExpenses() throws IOException {
+      int imported = importer.importStatement("Importer", "April", statement(
+              "Date,Description,Amount\n"
+              + "2023-04-01,Salary,25000.50\n"
+              + "2023-04-02,\"Groceries, \"\"Rema\"\"\",-412.30\n"
+              + "2023-04-03,Nothing,0\n"), -1, (rows, bytes, total) -> progress.add(rows));
+
+      assertEquals(2, imported);
+      assertEquals(2500050, budget().getIncomes().get(0).getAmountInMinorUnits());
+      assertEquals("Groceries, \"Rema\"", budget().getExpenses().get(0).getDescription());
+      assertEquals(412.30, budget().getExpenses().get(0).getAmount());
+      assertEquals(2, budget().getExpenses().get(0).getDate().getDayOfMonth());
+      assertEquals(1, saves);
+    }
+
+    @Test
+    @DisplayName("Should import statements separated by semicolons with decimal commas")
+    void shouldImportNorwegianStatement() throws IOException {
+      importer.importStatement("Importer", "April", statement(
+              "\uFEFFDato;Beskrivelse;Beløp\n"
+              + "01.04.2023;Lønn;25 000,50\n"), -1, (rows, bytes, total) -> progress.add(rows));
+
+      assertEquals(25000.50, budget().getIncomes().get(0).getAmount());
+      assertEquals(4, budget().getIncomes().get(0).getDate().getMonth());
+    }
+
+    @Test
+    @DisplayName("Should report progress every 10 000 rows and when the statement is read")
+    void shouldReportProgress() throws IOException {
+      StringBuilder statement = new StringBuilder("date,description,amount\n");
+      for (int i = 0; i < 25_000; i++) {
+        statement.append("2023-04-01,Coffee,-35\n");
+      }
+      byte[] bytes = statement.toString().getBytes(StandardCharsets.UTF_8);
+      List<Long> bytesRead = new ArrayList<>();
+
+      int imported = importer.importStatement("Importer", "April",
+              new ByteArrayInputStream(bytes), bytes.length, (rows, read, total) -> {
+                progress.add(rows);
+                bytesRead.add(read);
+                assertEquals((long) bytes.length, total);
+              });
+
+      assertEquals(25_000, imported);
+      assertEquals(List.of(10_000L, 20_000L, 25_000L), progress);
+      assertEquals(bytes.length, (long) bytesRead.get(bytesRead.size() - 1));
+      assertEquals(1, saves);
+    }
+  }
+
+  @Nested
+  @DisplayName("Invalid statement tests")
+  class InvalidStatementTests {
+    @Test
+    @DisplayName("Should leave the budget unchanged if a row is invalid")
+    void shouldNotImportIfRowInvalid() {
+      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+              () -> importer.importStatement("Importer", "April", statement(
+                      "date,description,amount\n"
+                      + "2023-04-01,Salary,25000\n"
+                      + "2023-04-02,Groceries,lots\n"), -1, (rows, bytes, total) -> { }));
+
+      assertTrue(exception.getMessage().contains("line 3"));
+      assertTrue(budget().getIncomes().isEmpty());
+      assertEquals(0, saves);
+    }
+
+    @Test
+    @DisplayName("Should not round an amount with more than two decimals")
+    void shouldNotImportIfAmountNotExact() {
+      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+              () -> importer.importStatement("Importer", "April", statement(
+                      "date,description,amount\n"
+                      + "2023-04-01,Salary,12345678.91\n"
+                      + "2023-04-02,Interest,0.125\n"), -1, (rows, bytes, total) -> { }));
+
+      assertTrue(exception.getMessage().contains("line 3"));
+      assertTrue(budget().getIncomes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException if a column is missing")
+    void shouldThrowIfColumnMissing() {
+      assertThrows(IllegalArgumentException.class,
+              () -> importer.importStatement("Importer", "April", statement(
+                      "date,amount\n2023-04-01,25000\n"), -1, (rows, bytes, total) -> { }));
+    }
+
+    @Test
+    @DisplayName("Should throw NoSuchElementException if the budget does not exist")
+    void shouldThrowIfBudgetMissing() {
+      assertThrows(NoSuchElementException.class,
+              () -> importer.importStatement("Importer", "May", statement(
+                      "date,description,amount\n"), -1, (rows, bytes, total) -> { }));
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package edu.ntnu.idatt1002.group12.flus.export;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the TransactionExporter class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class TransactionExporterTest {
+  private Account account;
+
+  @BeforeEach
+  void setUp() {
+    account = new Account("Username", "Password", "email@test.no", "123456789");
+    Budget budget = new Budget("April");
+    budget.addIncome(new Income("Work", 4000.5, new DateTimeUtil(2023, 4, 2, 8, 30, 0)));
+    budget.addExpense(new Expense("Food, \"fresh\"", 250,
+            new DateTimeUtil(2023, 4, 3, 18, 0, 0)));
+    account.addBudget(budget);
+  }
+
+  @Nested
+  @DisplayName("CSV tests")
+  class CsvTests {
+    @Test
+    @DisplayName("Should write a header and one quoted row per transaction")
+    void shouldWriteCsvRows() throws IOException {
+      StringWriter writer = new StringWriter();
+      long count = new TransactionExporter(TransactionExporter.Format.CSV)
+              .export(List.of(account), writer);
+
+      assertEquals(2, count);
+      assertEquals("username,budget,type,description,amount,date\r\n"
+              + "Username,April,INCOME,Work,4000.50,2023-04-02T08:30\r\n"
+              + "Username,April,EXPENSE,\"Food, \"\"fresh\"\"\",250.00,2023-04-03T18:00\r\n",
+              writer.toString());
+    }
+
+    @Test
+    @DisplayName("Should write large amounts exactly, without an exponent")
+    void shouldWriteLargeAmountsExactly() throws IOException {
+      account.getBudgets().get(0).addIncome(new Income("Sale", Money.parse("12345678.9"),
+              new DateTimeUtil(2023, 4, 4, 12, 0, 0)));
+      StringWriter writer = new StringWriter();
+      new TransactionExporter(TransactionExporter.Format.CSV).export(List.of(account), writer);
+
+      assertTrue(writer.toString().contains("Username,April,INCOME,Sale,12345678.90,"));
+    }
+
+    @Test
+    @DisplayName("Should lock each account while its rows are written")
+    void shouldLockEachAccount() throws IOException {
+      List<String> events = new ArrayList<>();
+      StringWriter writer = new StringWriter() {
+        @Override
+        public void write(String value) {
+          if (value.equals("Username")) {
+            events.add("row");
+          }
+          super.write(value);
+        }
+      };
+      new TransactionExporter(TransactionExporter.Format.CSV).export(List.of(account), writer,
+              locked -> {
+                events.add("lock " + locked.getUsername());
+                return () -> events.add("unlock " + locked.getUsername());
+              });
+
+      assertEquals(List.of("lock Username", "row", "row", "unlock Username"), events);
+    }
+
+    @Test
+    @DisplayName("Should write only the header if there are no transactions")
+    void shouldWriteHeaderWithoutTransactions() throws IOException {
+      StringWriter writer = new StringWriter();
+      long count = new TransactionExporter(TransactionExporter.Format.CSV)
+              .export(List.of(), writer);
+
+      assertEquals(0, count);
+      assertEquals("username,budget,type,description,amount,date\r\n", writer.toString());
+    }
+  }
+
+  @Nested
+  @DisplayName("JSON Lines tests")
+  class JsonLinesTests {
+    @Test
+    @DisplayName("Should write one escaped JSON object per transaction")
+    void shouldWriteJsonLines() throws IOException {
+      StringWriter writer = new StringWriter();
+      new TransactionExporter(TransactionExporter.Format.JSON_LINES)
+              .export(List.of(account), writer);
+
+      assertEquals("{\"username\":\"Username\",\"budget\":\"April\",\"type\":\"INCOME\","
+              + "\"description\":\"Work\",\"amount\":4000.50,\"date\":\"2023-04-02T08:30\"}\n"
+              + "{\"username\":\"Username\",\"budget\":\"April\",\"type\":\"EXPENSE\","
+              + "\"description\":\"Food, \\\"fresh\\\"\",\"amount\":250.00,"
+              + "\"date\":\"2023-04-03T18:00\"}\n", writer.toString());
+    }
+
+    @Test
+    @DisplayName("Should write the export to a file")
+    void shouldExportToFile() throws IOException {
+      Path file = Files.createTempFile("flus-export", ".jsonl");
+      try {
+        long count = new TransactionExporter(TransactionExporter.Format.JSON_LINES)
+                .export(List.of(account), file);
+
+        assertEquals(2, count);
+        assertEquals(2, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    }
+
+    @Test
+    @DisplayName("Should throw NullPointerException if the format is null")
+    void shouldThrowIfFormatNull() {
+      assertThrows(NullPointerException.class, () -> new TransactionExporter(null));
+    }
+  }
+}
@@ -7,6 +7,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -259,5 +265,55 @@ class AccountTest {
     void testRemoveBudgetFalse() {
       assertFalse(account.removeBudget("nonexistentID"));
     }
+
+    @Test
+    @DisplayName("Should find budgets by ID and keep the order they were added in")
+    void testGetBudget() {
+      Budget first = new Budget("First");
+      Budget second = new Budget("Second");
+      account.addBudget(second);
+      account.addBudget(first);
+      assertSame(first, account.getBudget(" First "));
+      assertNull(account.getBudget("Third"));
+      assertEquals(List.of(second, first), account.getBudgets());
+      assertThrows(UnsupportedOperationException.class, () -> account.getBudgets().clear());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException if the budget ID is used")
+    void testAddBudgetWithUsedId() {
+      account.addBudget(new Budget("Test"));
+      assertThrows(IllegalArgumentException.class, () -> account.addBudget(new Budget("Test")));
+      assertThrows(NullPointerException.class, () -> account.getBudget(null));
+    }
+
+    @Test
+    @DisplayName("Should find budgets by ID after the account is read")
+    void testGetBudgetAfterSerialization() throws IOException, ClassNotFoundException {
+      account.addBudget(new Budget("Second"));
+      account.addBudget(new Budget("First"));
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+        output.writeObject(account);
+      }
+      Account read;
+      try (ObjectInputStream input = new ObjectInputStream(
+              new ByteArrayInputStream(bytes.toByteArray()))) {
+        read = (Account) input.readObject();
+      }
+      assertEquals(account, read);
+      assertEquals("Second", read.getBudgets().get(0).getBudgetId());
+      assertEquals("First", read.getBudget("First").getBudgetId());
+    }
+
+    @Test
+    @DisplayName("Should put loaded budgets before budgets added earlier")
+    void testLoadBudgets() {
+      Account restored = Account.restore("Name", account.getPassword(), "email@ntnu.no",
+              "41789236", () -> List.of(new Budget("Stored")));
+      restored.addBudget(new Budget("New"));
+      assertEquals("Stored", restored.getBudgets().get(0).getBudgetId());
+      assertNotNull(restored.getBudget("New"));
+    }
   }
 }
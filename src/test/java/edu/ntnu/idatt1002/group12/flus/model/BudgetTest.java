@@ -5,8 +5,13 @@ import edu.ntnu.idatt1002.group12.flus.model.goals.Goal;
 import edu.ntnu.idatt1002.group12.flus.model.Budget;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
 import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
 import org.junit.jupiter.api.*;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -132,6 +137,51 @@ class BudgetTest {
     }
   }
 
+  @Nested
+  @DisplayName("Transaction ID tests")
+  class TransactionIdTests {
+    @Test
+    @DisplayName("Should give every transaction in the budget its own ID")
+    void shouldGiveUniqueIds() {
+      Income stored = budget.addIncome(new Income("Bonus", 100));
+      Expense copy = budget.addExpense(new Expense("Bus", Money.of(35), new DateTimeUtil(),
+              stored.getId()));
+
+      assertTrue(stored.getId() > 0);
+      assertNotEquals(stored.getId(), copy.getId());
+      assertNotEquals(budget.getIncomes().get(0).getId(), budget.getExpenses().get(0).getId());
+      assertSame(Income.class, budget.getTransaction(stored.getId()).getClass());
+      assertEquals(copy, budget.getTransaction(copy.getId()));
+      assertNull(budget.getTransaction(Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should remove exactly the transaction with the ID")
+    void shouldRemoveExactTransaction() {
+      DateTimeUtil january = new DateTimeUtil(2023, 1, 10, 12, 0, 0);
+      DateTimeUtil february = new DateTimeUtil(2023, 2, 10, 12, 0, 0);
+      budget.addExpense(new Expense("Grocery", 500, january));
+      Expense second = budget.addExpense(new Expense("Grocery", 500, february));
+
+      assertEquals(second.getId(), budget.findExpense(second).getId());
+      assertTrue(budget.removeExpense(second));
+      assertEquals(2, budget.getExpenses().size());
+      assertTrue(budget.getExpensesBetween(february, new DateTimeUtil(2023, 3, 1, 0, 0, 0))
+              .isEmpty());
+      assertEquals(1, budget.getExpensesBetween(january, february).size());
+    }
+
+    @Test
+    @DisplayName("Should remove a transaction by ID only once")
+    void shouldRemoveByIdOnce() {
+      int id = budget.getIncomes().get(0).getId();
+      assertTrue(budget.removeTransaction(id));
+      assertFalse(budget.removeTransaction(id));
+      assertEquals(-50000, budget.getBalanceInMinorUnits());
+      assertNull(budget.findIncome(income));
+    }
+  }
+
   @Nested
   @DisplayName("Expense tests")
   class ExpenseTests {
@@ -214,5 +264,115 @@ class BudgetTest {
       assertEquals(expectedList, actualList);
     }
   }
+
+  @Nested
+  @DisplayName("Running balance tests")
+  class RunningBalanceTests {
+    @AfterEach
+    void tearDown() {
+      Budget.setBalanceVerification(false);
+    }
+
+    @Test
+    @DisplayName("Should keep the balance up to date as transactions are added and removed")
+    void shouldKeepBalanceUpToDate() {
+      Income bonus = new Income("Bonus", 0.1);
+      budget.addIncome(bonus);
+      budget.addExpense(new Expense("Coffee", 0.2));
+      assertEquals(2999.9, budget.getBalance(), 1e-9);
+
+      budget.removeIncome(bonus);
+      budget.removeExpense(expense);
+      assertEquals(3499.8, budget.getBalance(), 1e-9);
+      assertTrue(budget.isBalanceConsistent());
+    }
+
+    @Test
+    @DisplayName("Should reset the balance exactly when all transactions are removed")
+    void shouldResetBalanceWhenEmpty() {
+      budget.removeIncome(income);
+      budget.removeExpense(expense);
+      assertEquals(0.0, budget.getBalance());
+    }
+
+    @Test
+    @DisplayName("Should not change the balance when removing a transaction that is not there")
+    void shouldNotChangeBalanceWhenNotRemoved() {
+      assertFalse(budget.removeIncome(new Income("Other", 100)));
+      assertEquals(3000.0, budget.getBalance());
+    }
+
+    @Test
+    @DisplayName("Should check the balance against a full recalculation when verifying")
+    void shouldVerifyBalance() {
+      Budget.setBalanceVerification(true);
+      for (int i = 0; i < 1000; i++) {
+        Expense coffee = new Expense("Coffee", 0.1);
+        budget.addExpense(coffee);
+        budget.removeExpense(coffee);
+      }
+      assertEquals(3000.0, budget.getBalance(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should sum amounts exactly")
+    void shouldSumAmountsExactly() {
+      budget.removeIncome(income);
+      budget.removeExpense(expense);
+      budget.addIncome(new Income("Bonus", 0.1));
+      budget.addIncome(new Income("Bonus", 0.2));
+
+      assertEquals(Money.of(0.3), budget.getMoneyBalance());
+      assertEquals(0.3, budget.getBalance());
+    }
+
+    @Test
+    @DisplayName("Should read a budget serialized with amounts stored as doubles")
+    void shouldReadBudgetWithDecimalAmounts() throws IOException, ClassNotFoundException {
+      try (ObjectInputStream input = new ObjectInputStream(Files.newInputStream(
+              Path.of("src/test/resources/teststorage/legacy_budget.ser")))) {
+        Budget legacy = (Budget) input.readObject();
+
+        assertEquals(100010, legacy.getIncomes().get(0).getAmountInMinorUnits());
+        assertEquals(20, legacy.getExpenses().get(0).getAmountInMinorUnits());
+        assertEquals(25050, legacy.getFinancialGoals().get(0).getMinimumValueInMinorUnits());
+        assertEquals(99990, legacy.getBalanceInMinorUnits());
+        assertTrue(legacy.isBalanceConsistent());
+      }
+    }
+
+    @Test
+    @DisplayName("Should find the transactions of a month")
+    void shouldFindTransactionsOfMonth() {
+      Income april = new Income("April", 100, new DateTimeUtil(2023, 4, 30, 23, 59, 59));
+      budget.addIncome(april);
+      budget.addIncome(new Income("May", 100, new DateTimeUtil(2023, 5, 1, 0, 0, 0)));
+      budget.addExpense(new Expense("March", 100, new DateTimeUtil(2023, 3, 31, 12, 0, 0)));
+
+      assertEquals(List.of(april), budget.getIncomesInMonth(2023, 4));
+      assertTrue(budget.getExpensesInMonth(2023, 4).isEmpty());
+      assertEquals(1, budget.getExpensesInMonth(2023, 3).size());
+      assertThrows(IllegalArgumentException.class, () -> budget.getIncomesInMonth(2023, 13));
+      assertThrows(NullPointerException.class, () -> budget.getIncomesBetween(null, null));
+    }
+
+    @Test
+    @DisplayName("Should find the transactions with a description")
+    void shouldFindTransactionsWithDescription() {
+      budget.addExpense(new Expense("Grocery", 100, new DateTimeUtil(2020, 1, 1, 12, 0, 0)));
+      assertEquals(List.of(new Expense("Grocery", 100), expense),
+              budget.getExpensesWithDescription("Grocery"));
+      assertTrue(budget.getIncomesWithDescription("Grocery").isEmpty());
+      assertTrue(budget.getExpensesWithDescription("Other").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not let the lists of transactions be changed directly")
+    void shouldNotChangeListsDirectly() {
+      assertThrows(UnsupportedOperationException.class,
+              () -> budget.getIncomes().add(new Income("Other", 100)));
+      assertThrows(UnsupportedOperationException.class, () -> budget.getExpenses().clear());
+    }
+  }
 }
 
@@ -0,0 +1,114 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the GoalProgress class, and the ordered goals of the Budget class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class GoalProgressTest {
+  private Budget budget;
+
+  @BeforeEach
+  void setUp() {
+    budget = new Budget("Goals");
+    budget.addIncome(new Income("Work", 1000));
+    budget.addExpense(new Expense("Rent", 400));
+    budget.addGoal(new FinancialGoal(1000));
+    budget.addGoal(new FinancialGoal(100));
+    budget.addGoal(new FinancialGoal(600));
+    budget.addGoal(new FinancialGoal(600.01));
+  }
+
+  @Nested
+  @DisplayName("Progress tests")
+  class ProgressTests {
+    @Test
+    @DisplayName("Should split the goals into completed and pending goals")
+    void shouldSplitGoals() {
+      GoalProgress progress = budget.getGoalProgress();
+
+      assertEquals(Money.of(600), progress.getBalance());
+      assertEquals(List.of(new FinancialGoal(100), new FinancialGoal(600)),
+              progress.getCompletedGoals());
+      assertEquals(List.of(new FinancialGoal(600.01), new FinancialGoal(1000)),
+              progress.getPendingGoals());
+      assertEquals(new FinancialGoal(600.01), progress.getNextGoal());
+      assertEquals(Money.of(0.01), progress.getAmountToNextGoal());
+      assertTrue(progress.isCompleted(new FinancialGoal(600)));
+      assertFalse(progress.isCompleted(new FinancialGoal(600.01)));
+    }
+
+    @Test
+    @DisplayName("Should have no next goal when every goal is completed")
+    void shouldHaveNoNextGoal() {
+      budget.addIncome(new Income("Bonus", 5000));
+      GoalProgress progress = budget.getGoalProgress();
+
+      assertEquals(4, progress.getCompletedGoals().size());
+      assertTrue(progress.getPendingGoals().isEmpty());
+      assertNull(progress.getNextGoal());
+      assertNull(progress.getAmountToNextGoal());
+      assertTrue(new Budget("Empty").getGoalProgress().getCompletedGoals().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should agree with the completed method of every goal")
+    void shouldAgreeWithCompleted() {
+      Random random = new Random(3);
+      for (int i = 0; i < 200; i++) {
+        budget.addGoal(new FinancialGoal(random.nextInt(2000)));
+      }
+      GoalProgress progress = budget.getGoalProgress();
+
+      for (FinancialGoal goal : budget.getFinancialGoals()) {
+        assertEquals(goal.completed(budget), progress.isCompleted(goal));
+        assertEquals(goal.completed(budget), progress.getCompletedGoals().contains(goal));
+      }
+    }
+
+    @Test
+    @DisplayName("Should throw NullPointerException if the goal is null")
+    void shouldThrowIfGoalNull() {
+      assertThrows(NullPointerException.class, () -> budget.getGoalProgress().isCompleted(null));
+    }
+  }
+
+  @Nested
+  @DisplayName("Ordered goal tests")
+  class OrderedGoalTests {
+    @Test
+    @DisplayName("Should keep the goals ordered by their minimum value")
+    void shouldKeepGoalsOrdered() {
+      assertEquals(List.of(new FinancialGoal(100), new FinancialGoal(600),
+              new FinancialGoal(600.01), new FinancialGoal(1000)), budget.getFinancialGoals());
+      assertThrows(UnsupportedOperationException.class,
+              () -> budget.getFinancialGoals().add(new FinancialGoal(1)));
+    }
+
+    @Test
+    @DisplayName("Should find and remove every goal with a value")
+    void shouldFindAndRemoveGoals() {
+      budget.addGoal(new FinancialGoal(600));
+
+      assertTrue(budget.containsGoal(new FinancialGoal(600)));
+      assertFalse(budget.containsGoal(new FinancialGoal(599.99)));
+      assertTrue(budget.removeGoal(600));
+      assertFalse(budget.containsGoal(new FinancialGoal(600)));
+      assertFalse(budget.removeGoal(600));
+      assertEquals(3, budget.getFinancialGoals().size());
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the Money class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class MoneyTest {
+
+  @Nested
+  @DisplayName("Conversion tests")
+  class ConversionTests {
+    @Test
+    @DisplayName("Should round decimal numbers to the nearest minor unit")
+    void shouldRoundToNearestMinorUnit() {
+      assertEquals(10, Money.of(0.1).getMinorUnits());
+      assertEquals(100010, Money.of(1000.1).getMinorUnits());
+      assertEquals(-412, Money.of(-4.119).getMinorUnits());
+      assertEquals(1, Money.toMinorUnits(0.005));
+    }
+
+    @Test
+    @DisplayName("Should convert minor units back to decimal numbers")
+    void shouldConvertToDouble() {
+      assertEquals(0.3, Money.ofMinorUnits(30).toDouble());
+      assertEquals(-1234.5, Money.ofMinorUnits(-123450).toDouble());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException if the amount is not finite")
+    void shouldThrowIfNotFinite() {
+      assertThrows(IllegalArgumentException.class, () -> Money.of(Double.NaN));
+      assertThrows(IllegalArgumentException.class, () -> Money.of(Double.POSITIVE_INFINITY));
+      assertThrows(IllegalArgumentException.class, () -> Money.of(1e300));
+    }
+
+    @Test
+    @DisplayName("Should write the amount with two decimals")
+    void shouldWriteTwoDecimals() {
+      assertEquals("1234.50", Money.ofMinorUnits(123450).toString());
+      assertEquals("0.05", Money.ofMinorUnits(5).toString());
+      assertEquals("-0.05", Money.ofMinorUnits(-5).toString());
+    }
+
+    @Test
+    @DisplayName("Should parse decimal text exactly")
+    void shouldParseDecimalText() {
+      assertEquals(1234567890, Money.parse("12345678.9").getMinorUnits());
+      assertEquals(-41230, Money.parse("-412.30").getMinorUnits());
+      assertEquals(5, Money.parse("0.050").getMinorUnits());
+      assertEquals("12345678.90", Money.parse(Money.parse("12345678.9").toString()).toString());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException if the text is not an exact amount")
+    void shouldThrowIfTextNotExact() {
+      assertThrows(IllegalArgumentException.class, () -> Money.parse("0.005"));
+      assertThrows(IllegalArgumentException.class, () -> Money.parse("lots"));
+      assertThrows(IllegalArgumentException.class, () -> Money.parse("1e300"));
+      assertThrows(NullPointerException.class, () -> Money.parse(null));
+    }
+  }
+
+  @Nested
+  @DisplayName("Arithmetic tests")
+  class ArithmeticTests {
+    @Test
+    @DisplayName("Should add and subtract amounts exactly")
+    void shouldAddAndSubtractExactly() {
+      Money sum = Money.of(0.1).plus(Money.of(0.2));
+
+      assertEquals(Money.of(0.3), sum);
+      assertEquals(Money.ZERO, sum.minus(Money.of(0.3)));
+      assertFalse(Money.ZERO.isPositive());
+      assertTrue(sum.compareTo(Money.of(0.29)) > 0);
+    }
+
+    @Test
+    @DisplayName("Should throw ArithmeticException if the sum is too large")
+    void shouldThrowIfOverflow() {
+      Money large = Money.ofMinorUnits(Long.MAX_VALUE);
+      assertThrows(ArithmeticException.class, () -> large.plus(Money.ofMinorUnits(1)));
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the PasswordPolicy class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class PasswordPolicyTest {
+
+  @Nested
+  @DisplayName("Hashing tests")
+  class HashingTests {
+    @Test
+    @DisplayName("Should hash passwords with the cost of the policy")
+    void shouldHashWithCost() {
+      PasswordPolicy policy = new PasswordPolicy(5);
+      String hash = policy.hash("Password");
+      assertEquals(5, PasswordPolicy.costOf(hash));
+      assertFalse(policy.needsRehash(hash));
+      assertTrue(new PasswordPolicy(6).needsRehash(hash));
+      assertTrue(policy.needsRehash("Not a hash"));
+    }
+
+    @Test
+    @DisplayName("Should only replace a hash that has not changed since it was checked")
+    void shouldReplaceVerifiedHash() {
+      Account account = new Account("Username", "Password", "email@test.no", "123456789");
+      String verifiedHash = account.getPassword();
+      String newHash = new PasswordPolicy(5).hash("Password");
+
+      assertTrue(PasswordPolicy.replaceVerifiedHash(account, verifiedHash, newHash));
+      assertEquals(newHash, account.getPassword());
+      assertFalse(PasswordPolicy.replaceVerifiedHash(account, verifiedHash,
+              new PasswordPolicy(6).hash("Password")));
+      assertEquals(newHash, account.getPassword());
+      assertTrue(account.checkPassword("Password"));
+    }
+
+    @Test
+    @DisplayName("Should throw if the cost or the hash is not valid")
+    void shouldThrowIfNotValid() {
+      assertThrows(IllegalArgumentException.class, () -> new PasswordPolicy(3));
+      assertThrows(IllegalArgumentException.class, () -> new PasswordPolicy(31));
+      assertThrows(IllegalArgumentException.class, () -> PasswordPolicy.costOf("$2a$x"));
+      assertThrows(NullPointerException.class, () -> PasswordPolicy.costOf(null));
+      assertThrows(NullPointerException.class, () -> PasswordPolicy.setCurrent(null));
+    }
+  }
+
+  @Nested
+  @DisplayName("Calibration tests")
+  class CalibrationTests {
+    @Test
+    @DisplayName("Should choose the highest cost within the target")
+    void shouldChooseHighestCostWithinTarget() {
+      List<Integer> timed = new ArrayList<>();
+      int cost = PasswordPolicy.calibrate(Duration.ofMillis(100), 4, 30, c -> {
+        timed.add(c);
+        return 1_000_000L << (c - 4);
+      });
+      assertEquals(10, cost);
+      assertEquals(List.of(4, 5, 6, 7, 8, 9, 10), timed);
+    }
+
+    @Test
+    @DisplayName("Should keep within the lowest and the highest cost")
+    void shouldKeepWithinRange() {
+      assertEquals(12, PasswordPolicy.calibrate(Duration.ofMillis(1), 12, 20, c -> 5_000_000));
+      assertEquals(8, PasswordPolicy.calibrate(Duration.ofSeconds(1), 4, 8, c -> 1));
+      assertThrows(IllegalArgumentException.class,
+              () -> PasswordPolicy.calibrate(Duration.ZERO, 4, 8));
+      assertThrows(IllegalArgumentException.class,
+              () -> PasswordPolicy.calibrate(Duration.ofMillis(1), 8, 4));
+    }
+
+    @Test
+    @DisplayName("Should report the hashes every second for each cost")
+    void shouldBenchmarkEachCost() {
+      Map<Integer, Double> hashesPerSecond = PasswordPolicy.benchmark(4, 6, 2);
+      assertEquals(List.of(4, 5, 6), new ArrayList<>(hashesPerSecond.keySet()));
+      hashesPerSecond.values().forEach(rate -> assertTrue(rate > 0));
+      assertThrows(IllegalArgumentException.class, () -> PasswordPolicy.benchmark(4, 6, 0));
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the TransactionColumns class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class TransactionColumnsTest {
+  private TransactionColumns.StringPool descriptions;
+  private TransactionColumns<Income> incomes;
+  private TransactionColumns<Expense> expenses;
+  private int nextId;
+
+  @BeforeEach
+  void setUp() {
+    descriptions = new TransactionColumns.StringPool();
+    incomes = new TransactionColumns<>(descriptions, Income::new);
+    expenses = new TransactionColumns<>(descriptions, Expense::new);
+  }
+
+  @Nested
+  @DisplayName("Column tests")
+  class ColumnTests {
+    @Test
+    @DisplayName("Should read back the transactions that were added, in order")
+    void shouldReadBackTransactions() {
+      DateTimeUtil date = new DateTimeUtil(LocalDateTime.of(2023, 4, 2, 8, 30, 15, 123456789));
+      for (int i = 0; i < 20; i++) {
+        incomes.add(new Income("Work " + i, 100 + i, date), ++nextId);
+      }
+
+      assertEquals(20, incomes.size());
+      assertEquals(new Income("Work 13", 113), incomes.get(13));
+      assertEquals(date.getDateTime(), incomes.get(19).getDate().getDateTime());
+      assertEquals(2190 * 100, incomes.sum());
+    }
+
+    @Test
+    @DisplayName("Should share descriptions between the incomes and expenses")
+    void shouldShareDescriptions() {
+      incomes.add(new Income("Transfer", 100), ++nextId);
+      expenses.add(new Expense("Transfer", 50), ++nextId);
+      expenses.add(new Expense("Transfer", 25), ++nextId);
+
+      assertEquals(1, descriptions.size());
+      assertSame(incomes.get(0).getDescription(), expenses.get(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("Should remove the first equal transaction and keep the order")
+    void shouldRemoveFirstEqualTransaction() {
+      incomes.add(new Income("Work", 100), ++nextId);
+      incomes.add(new Income("Bonus", 50), ++nextId);
+      incomes.add(new Income("Work", 100), ++nextId);
+      incomes.add(new Income("Gift", 10), ++nextId);
+
+      assertTrue(incomes.remove(new Income("Work", 100)));
+      assertFalse(incomes.remove(new Income("Bonus", 51)));
+      assertFalse(incomes.remove(new Income("Unknown", 50)));
+      assertEquals(3, incomes.size());
+      assertEquals("Bonus", incomes.get(0).getDescription());
+      assertEquals("Gift", incomes.get(2).getDescription());
+    }
+
+    @Test
+    @DisplayName("Should throw IndexOutOfBoundsException if the index is outside the columns")
+    void shouldThrowIfIndexOutside() {
+      incomes.add(new Income("Work", 100), ++nextId);
+      assertThrows(IndexOutOfBoundsException.class, () -> incomes.get(1));
+      assertThrows(IndexOutOfBoundsException.class, () -> incomes.asList().get(-1));
+    }
+  }
+
+  @Nested
+  @DisplayName("Date index tests")
+  class DateIndexTests {
+    private final LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    /**
+     * The method creates an income on the given day after the start date.
+     *
+     * @param description the description of the income.
+     * @param day the number of days after the start date.
+     * @return the income.
+     */
+    private Income incomeOn(String description, int day) {
+      return new Income(description, 100, new DateTimeUtil(start.plusDays(day)));
+    }
+
+    @Test
+    @DisplayName("Should find the transactions in a range ordered by date")
+    void shouldFindTransactionsInRange() {
+      incomes.add(incomeOn("March", 60), ++nextId);
+      incomes.add(incomeOn("January", 5), ++nextId);
+      incomes.add(incomeOn("February", 40), ++nextId);
+      incomes.add(incomeOn("Also January", 5), ++nextId);
+
+      List<Income> found = incomes.between(start, start.plusDays(40));
+      assertEquals(List.of("January", "Also January"),
+              found.stream().map(Income::getDescription).toList());
+      assertEquals(3, incomes.between(start, start.plusDays(41)).size());
+      assertTrue(incomes.between(start.plusDays(41), start).isEmpty());
+      assertEquals("March", incomes.get(0).getDescription());
+    }
+
+    @Test
+    @DisplayName("Should find the latest transactions, newest first")
+    void shouldFindLatestTransactions() {
+      incomes.add(incomeOn("Second", 2), ++nextId);
+      incomes.add(incomeOn("Third", 3), ++nextId);
+      incomes.add(incomeOn("First", 1), ++nextId);
+
+      assertEquals(List.of("Third", "Second"),
+              incomes.latest(2).stream().map(Income::getDescription).toList());
+      assertEquals(3, incomes.latest(10).size());
+      assertThrows(IllegalArgumentException.class, () -> incomes.latest(-1));
+    }
+
+    @Test
+    @DisplayName("Should keep the date index up to date as transactions are removed")
+    void shouldKeepIndexWhenRemoving() {
+      Random random = new Random(42);
+      List<Income> expected = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+        Income income = incomeOn("Income " + i, random.nextInt(365));
+        incomes.add(income, ++nextId);
+        expected.add(income);
+        if (i % 3 == 0) {
+          Income removed = expected.remove(random.nextInt(expected.size()));
+          assertTrue(incomes.remove(removed));
+        }
+      }
+      expected.sort(Comparator.comparing(income -> income.getDate().getDateTime()));
+
+      LocalDateTime from = start.plusDays(100);
+      LocalDateTime to = start.plusDays(200);
+      assertEquals(expected.stream().filter(income -> !income.getDate().getDateTime()
+                      .isBefore(from) && income.getDate().getDateTime().isBefore(to)).toList(),
+              incomes.between(from, to));
+      assertEquals(expected, incomes.between(start, start.plusYears(1)));
+    }
+  }
+
+  @Nested
+  @DisplayName("Removal by ID tests")
+  class RemovalByIdTests {
+    @Test
+    @DisplayName("Should remove transactions by ID and keep the order of the rest")
+    void shouldRemoveByIdAndKeepOrder() {
+      for (int i = 0; i < 100; i++) {
+        incomes.add(new Income("Work " + i, 100 + i), ++nextId);
+      }
+      for (int id = 2; id <= 100; id += 2) {
+        incomes.removeAt(incomes.slotOf(id));
+      }
+      for (int i = 100; i < 120; i++) {
+        incomes.add(new Income("Work " + i, 100 + i), ++nextId);
+      }
+
+      assertEquals(70, incomes.size());
+      assertEquals(new Income("Work 2", 102), incomes.get(1));
+      assertEquals(new Income("Work 119", 219), incomes.get(69));
+      assertEquals(-1, incomes.slotOf(50));
+      assertEquals(new Income("Work 50", 150), incomes.getAt(incomes.slotOf(51)));
+      assertEquals(51, incomes.getAt(incomes.slotOf(51)).getId());
+      assertEquals(incomes.between(LocalDateTime.MIN, LocalDateTime.MAX).size(), incomes.size());
+    }
+
+    @Test
+    @DisplayName("Should read by position from two threads without moving the transactions")
+    void shouldReadFromTwoThreadsAfterRemoval() throws Exception {
+      for (int i = 0; i < 1000; i++) {
+        incomes.add(new Income("Work " + i, 100 + i), ++nextId);
+      }
+      for (int id = 10; id <= 1000; id += 10) {
+        incomes.removeAt(incomes.slotOf(id));
+      }
+      int slotOfLast = incomes.slotOf(999);
+      List<Income> expected = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        if ((i + 1) % 10 != 0) {
+          expected.add(new Income("Work " + i, 100 + i));
+        }
+      }
+
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        List<Future<List<Income>>> reads = new ArrayList<>();
+        for (int thread = 0; thread < 2; thread++) {
+          reads.add(executor.submit(() -> new ArrayList<>(incomes.asList())));
+        }
+        for (Future<List<Income>> read : reads) {
+          assertEquals(expected, read.get());
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+      assertEquals(slotOfLast, incomes.slotOf(999));
+      assertEquals(900, incomes.size());
+    }
+
+    @Test
+    @DisplayName("Should not add a transaction with an ID that is used or not positive")
+    void shouldNotAddWithInvalidId() {
+      incomes.add(new Income("Work", 100), 1);
+      assertThrows(IllegalArgumentException.class,
+              () -> incomes.add(new Income("Work", 100), 1));
+      assertThrows(IllegalArgumentException.class,
+              () -> incomes.add(new Income("Work", 100), 0));
+    }
+  }
+
+  @Nested
+  @DisplayName("Serialization tests")
+  class SerializationTests {
+    @Test
+    @DisplayName("Should serialize a budget with its columns as lists of transactions")
+    void shouldSerializeBudget() throws IOException, ClassNotFoundException {
+      Budget budget = new Budget("April");
+      budget.addIncome(new Income("Work", 4000.5));
+      budget.addExpense(new Expense("Rent", 1000));
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+        output.writeObject(budget);
+      }
+
+      try (ObjectInputStream input = new ObjectInputStream(
+              new ByteArrayInputStream(bytes.toByteArray()))) {
+        Budget read = (Budget) input.readObject();
+        assertEquals(budget, read);
+        assertEquals(300050, read.getBalanceInMinorUnits());
+        assertEquals(budget.getIncomes().get(0).getId(), read.getIncomes().get(0).getId());
+        assertEquals(budget.getExpenses().get(0).getId(), read.getExpenses().get(0).getId());
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package edu.ntnu.idatt1002.group12.flus.model;
+
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the TransactionRollups class, and the summaries of the Budget class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class TransactionRollupsTest {
+  private Budget budget;
+
+  @BeforeEach
+  void setUp() {
+    budget = new Budget("Summaries");
+  }
+
+  /**
+   * The method creates a date and time at noon on the given day.
+   *
+   * @param year the year.
+   * @param month the month.
+   * @param day the day.
+   * @return the date and time.
+   */
+  private static DateTimeUtil noon(int year, int month, int day) {
+    return new DateTimeUtil(year, month, day, 12, 0, 0);
+  }
+
+  @Nested
+  @DisplayName("Summary tests")
+  class SummaryTests {
+    @Test
+    @DisplayName("Should sum and count the incomes and expenses of each month")
+    void shouldSummarizeMonths() {
+      budget.addIncome(new Income("Salary", 25000, noon(2023, 3, 25)));
+      budget.addExpense(new Expense("Rent", 9000, noon(2023, 4, 1)));
+      budget.addExpense(new Expense("Food", 412.3, noon(2023, 4, 30)));
+      budget.addIncome(new Income("Salary", 25000, noon(2023, 4, 25)));
+
+      List<PeriodSummary> summaries = budget.getSummaries(SummaryPeriod.MONTH,
+              noon(2023, 1, 1), noon(2023, 4, 15));
+      assertEquals(List.of(
+              new PeriodSummary(SummaryPeriod.MONTH, LocalDate.of(2023, 3, 1), 2500000, 1, 0, 0),
+              new PeriodSummary(SummaryPeriod.MONTH, LocalDate.of(2023, 4, 1), 2500000, 1,
+                      941230, 2)), summaries);
+      assertEquals(Money.of(15587.7), summaries.get(1).getBalance());
+    }
+
+    @Test
+    @DisplayName("Should start weeks on Monday")
+    void shouldStartWeeksOnMonday() {
+      budget.addExpense(new Expense("Sunday", 10, noon(2023, 4, 16)));
+      budget.addExpense(new Expense("Monday", 20, noon(2023, 4, 17)));
+
+      List<PeriodSummary> summaries = budget.getSummaries(SummaryPeriod.WEEK,
+              noon(2023, 4, 1), noon(2023, 4, 30));
+      assertEquals(LocalDate.of(2023, 4, 10), summaries.get(0).getStart());
+      assertEquals(LocalDate.of(2023, 4, 17), summaries.get(1).getStart());
+      assertEquals(Money.of(20), summaries.get(1).getExpenses());
+    }
+
+    @Test
+    @DisplayName("Should leave out periods whose transactions were all removed")
+    void shouldLeaveOutEmptyPeriods() {
+      Expense coffee = new Expense("Coffee", 35, noon(2023, 4, 3));
+      budget.addExpense(coffee);
+      budget.addExpense(new Expense("Coffee", 35, noon(2023, 4, 4)));
+
+      budget.removeExpense(coffee);
+      List<PeriodSummary> days = budget.getSummaries(SummaryPeriod.DAY,
+              noon(2023, 4, 1), noon(2023, 4, 30));
+      assertEquals(1, days.size());
+      assertEquals(1, days.get(0).getExpenseCount());
+      assertTrue(budget.getSummaries(SummaryPeriod.DAY, noon(2023, 4, 30),
+              noon(2023, 4, 1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match a full recalculation after random changes")
+    void shouldMatchRecalculation() {
+      Random random = new Random(7);
+      LocalDateTime start = LocalDateTime.of(2022, 1, 1, 0, 0);
+      List<Expense> added = new ArrayList<>();
+      for (int i = 0; i < 2000; i++) {
+        Expense expense = new Expense("Expense " + i, 1 + random.nextInt(1000),
+                new DateTimeUtil(start.plusMinutes(random.nextInt(60 * 24 * 365))));
+        budget.addExpense(expense);
+        added.add(expense);
+        if (random.nextInt(4) == 0) {
+          budget.removeExpense(added.remove(random.nextInt(added.size())));
+        }
+      }
+
+      for (PeriodSummary summary : budget.getSummaries(SummaryPeriod.WEEK,
+              new DateTimeUtil(start), new DateTimeUtil(start.plusYears(1)))) {
+        LocalDate next = SummaryPeriod.WEEK.next(summary.getStart());
+        List<Expense> inWeek = added.stream().filter(expense -> {
+          LocalDate date = expense.getDate().getDateTime().toLocalDate();
+          return !date.isBefore(summary.getStart()) && date.isBefore(next);
+        }).toList();
+        assertEquals(inWeek.size(), summary.getExpenseCount());
+        assertEquals(inWeek.stream().mapToLong(Expense::getAmountInMinorUnits).sum(),
+                summary.getExpenses().getMinorUnits());
+      }
+    }
+
+    @Test
+    @DisplayName("Should throw NullPointerException if the period is null")
+    void shouldThrowIfPeriodNull() {
+      assertThrows(NullPointerException.class,
+              () -> budget.getSummaries(null, noon(2023, 4, 1), noon(2023, 4, 30)));
+    }
+  }
+}
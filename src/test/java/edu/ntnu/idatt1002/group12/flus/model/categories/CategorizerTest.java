@@ -0,0 +1,177 @@
+package edu.ntnu.idatt1002.group12.flus.model.categories;
+
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the CategoryRule and Categorizer classes, and the breakdown
+ * of the expenses of the Budget class by category.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class CategorizerTest {
+  private Categorizer categorizer;
+
+  @BeforeEach
+  void setUp() {
+    categorizer = new Categorizer();
+    categorizer.addRule(new CategoryRule("Groceries", List.of("Rema 1000", "kiwi", "Meny")));
+    categorizer.addRule(new CategoryRule("Transport", List.of("ruter", "taxi")));
+    categorizer.addRule(new CategoryRule("Coffee", List.of("coffee", "kiwi")));
+  }
+
+  /**
+   * The method creates a date and time at noon on the given day.
+   *
+   * @param month the month of 2023.
+   * @param day the day.
+   * @return the date and time.
+   */
+  private static DateTimeUtil noon(int month, int day) {
+    return new DateTimeUtil(2023, month, day, 12, 0, 0);
+  }
+
+  @Nested
+  @DisplayName("Rule tests")
+  class RuleTests {
+    @Test
+    @DisplayName("Should match descriptions with every token of a keyword")
+    void shouldMatchAllTokensOfKeyword() {
+      CategoryRule rule = new CategoryRule("Groceries", List.of("Rema 1000"));
+      assertTrue(rule.matches(List.of("1000", "rema", "majorstuen")));
+      assertFalse(rule.matches(List.of("rema")));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException if the rule is invalid")
+    void shouldThrowIfRuleInvalid() {
+      assertThrows(IllegalArgumentException.class, () -> new CategoryRule(" ", List.of("a")));
+      assertThrows(IllegalArgumentException.class, () -> new CategoryRule("Food", List.of()));
+      assertThrows(IllegalArgumentException.class,
+              () -> new CategoryRule("Food", List.of("--")));
+    }
+  }
+
+  @Nested
+  @DisplayName("Categorize tests")
+  class CategorizeTests {
+    @Test
+    @DisplayName("Should use the category of the first rule that matches")
+    void shouldUseFirstMatchingRule() {
+      assertEquals("Groceries", categorizer.categorize("KIWI Grünerløkka"));
+      assertEquals("Coffee", categorizer.categorize("Coffee with a friend"));
+      assertEquals("Transport", categorizer.categorize("Ruter, monthly ticket"));
+      assertEquals(Categorizer.UNCATEGORIZED, categorizer.categorize("Rema"));
+    }
+
+    @Test
+    @DisplayName("Should categorize again when the rules change")
+    void shouldCategorizeAgainWhenRulesChange() {
+      assertEquals("Groceries", categorizer.categorize("Kiwi"));
+      assertTrue(categorizer.removeRules("Groceries"));
+      assertEquals("Coffee", categorizer.categorize("Kiwi"));
+      assertFalse(categorizer.removeRules("Groceries"));
+      assertEquals(List.of("Transport", "Coffee", Categorizer.UNCATEGORIZED),
+              categorizer.getCategories());
+    }
+  }
+
+  @Nested
+  @DisplayName("Breakdown tests")
+  class BreakdownTests {
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+      budget = new Budget("Categories");
+      budget.addExpense(new Expense("Rema 1000 Majorstuen", 412.3, noon(4, 3)));
+      budget.addExpense(new Expense("Kiwi", 120, noon(4, 10)));
+      budget.addExpense(new Expense("Taxi home", 300, noon(4, 11)));
+      budget.addExpense(new Expense("Cinema", 150, noon(4, 12)));
+      budget.addExpense(new Expense("Kiwi", 80, noon(5, 2)));
+    }
+
+    @Test
+    @DisplayName("Should sum the expenses of a period by category")
+    void shouldSumExpensesByCategory() {
+      Map<String, Money> breakdown = budget.getExpensesByCategory(categorizer,
+              noon(4, 1), noon(5, 1));
+      assertEquals(List.of("Groceries", "Transport", Categorizer.UNCATEGORIZED),
+              List.copyOf(breakdown.keySet()));
+      assertEquals(Money.of(532.3), breakdown.get("Groceries"));
+      assertEquals(Money.of(300), breakdown.get("Transport"));
+      assertEquals(Money.of(150), breakdown.get(Categorizer.UNCATEGORIZED));
+    }
+
+    @Test
+    @DisplayName("Should find the expenses of a period in a category")
+    void shouldFindExpensesInCategory() {
+      List<Expense> groceries = budget.getExpensesInCategory(categorizer, "Groceries",
+              noon(4, 1), noon(6, 1));
+      assertEquals(List.of("Rema 1000 Majorstuen", "Kiwi", "Kiwi"),
+              groceries.stream().map(Expense::getDescription).toList());
+      assertTrue(budget.getExpensesInCategory(categorizer, "Coffee", noon(4, 1),
+              noon(6, 1)).isEmpty());
+      assertEquals(1, budget.getExpensesInCategory(categorizer, Categorizer.UNCATEGORIZED,
+              noon(4, 1), noon(6, 1)).size());
+    }
+
+    @Test
+    @DisplayName("Should leave out removed expenses")
+    void shouldLeaveOutRemovedExpenses() {
+      budget.removeExpense(new Expense("Taxi home", 300));
+      assertFalse(budget.getExpensesByCategory(categorizer, noon(4, 1), noon(5, 1))
+              .containsKey("Transport"));
+    }
+
+    @Test
+    @DisplayName("Should match a full recalculation")
+    void shouldMatchRecalculation() {
+      String[] descriptions = {"Kiwi", "Meny Storo", "Ruter", "Coffee", "Book", "Rema 1000"};
+      Random random = new Random(11);
+      LocalDateTime start = LocalDateTime.of(2022, 1, 1, 0, 0);
+      Budget large = new Budget("Large");
+      for (int i = 0; i < 5000; i++) {
+        large.addExpense(new Expense(descriptions[random.nextInt(descriptions.length)],
+                1 + random.nextInt(1000),
+                new DateTimeUtil(start.plusMinutes(random.nextInt(60 * 24 * 365)))));
+      }
+      DateTimeUtil from = new DateTimeUtil(start.plusMonths(3));
+      DateTimeUtil to = new DateTimeUtil(start.plusMonths(5));
+
+      Map<String, Money> expected = new HashMap<>();
+      for (Expense expense : large.getExpensesBetween(from, to)) {
+        expected.merge(categorizer.categorize(expense.getDescription()),
+                expense.getMoneyAmount(), Money::plus);
+      }
+      assertEquals(expected, large.getExpensesByCategory(categorizer, from, to));
+      for (String category : categorizer.getCategories()) {
+        assertEquals(large.getExpensesBetween(from, to).stream()
+                .filter(expense -> categorizer.categorize(expense.getDescription())
+                        .equals(category)).toList(),
+                large.getExpensesInCategory(categorizer, category, from, to));
+      }
+    }
+
+    @Test
+    @DisplayName("Should throw NullPointerException if the categorizer is null")
+    void shouldThrowIfCategorizerNull() {
+      assertThrows(NullPointerException.class,
+              () -> budget.getExpensesByCategory(null, noon(4, 1), noon(5, 1)));
+    }
+  }
+}
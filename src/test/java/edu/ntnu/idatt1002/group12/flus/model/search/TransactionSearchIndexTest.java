@@ -0,0 +1,145 @@
+package edu.ntnu.idatt1002.group12.flus.model.search;
+
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the TransactionSearchIndex class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class TransactionSearchIndexTest {
+  private TransactionSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    Budget april = new Budget("April");
+    april.addExpense(new Expense("Rema 1000 Majorstuen", 412.3));
+    april.addExpense(new Expense("Rema 1000 Majorstuen", 80));
+    april.addExpense(new Expense("Restaurant", 650));
+    april.addIncome(new Income("Salary", 25000));
+    Budget may = new Budget("May");
+    may.addExpense(new Expense("Rema 1000 Majorstuen", 120));
+    may.addExpense(new Expense("Cinema with friends", 150));
+    index = new TransactionSearchIndex();
+    index.addBudget(april);
+    index.addBudget(may);
+  }
+
+  /**
+   * The method retrieves the descriptions and budget IDs of the hits of a search.
+   *
+   * @param query the text to search for.
+   * @return list of the descriptions and budget IDs.
+   */
+  private List<String> search(String query) {
+    return index.search(query, 10).stream()
+            .map(hit -> hit.getDescription() + "/" + hit.getBudgetId())
+            .toList();
+  }
+
+  @Nested
+  @DisplayName("Search tests")
+  class SearchTests {
+    @Test
+    @DisplayName("Should find descriptions in every budget, most transactions first")
+    void shouldFindDescriptionsInEveryBudget() {
+      List<SearchHit> hits = index.search("rema", 10);
+      assertEquals(List.of(new SearchHit("April", "Rema 1000 Majorstuen", 0, 2, 3),
+              new SearchHit("May", "Rema 1000 Majorstuen", 0, 1, 3)), hits);
+    }
+
+    @Test
+    @DisplayName("Should match the start of tokens")
+    void shouldMatchStartOfTokens() {
+      assertEquals(List.of("Rema 1000 Majorstuen/April", "Rema 1000 Majorstuen/May",
+              "Restaurant/April"), search("RE"));
+      assertEquals(List.of("Salary/April"), search("sal"));
+    }
+
+    @Test
+    @DisplayName("Should match tokens with one typing error")
+    void shouldMatchTypingErrors() {
+      assertEquals(List.of("Cinema with friends/May"), search("cinmea"));
+      assertEquals(List.of("Cinema with friends/May"), search("frends"));
+      assertEquals(List.of("Salary/April"), search("salaary"));
+      assertTrue(search("slrya").isEmpty());
+      assertTrue(search("cim").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank exact tokens above typing errors")
+    void shouldRankExactTokensFirst() {
+      index.add("May", new Expense("Cinemas", 100));
+      index.add("May", new Expense("Cinema", 100));
+      assertEquals(List.of("Cinema/May", "Cinema with friends/May", "Cinemas/May"),
+              search("cinema"));
+    }
+
+    @Test
+    @DisplayName("Should match every token of the query")
+    void shouldMatchEveryToken() {
+      assertEquals(List.of("Rema 1000 Majorstuen/April", "Rema 1000 Majorstuen/May"),
+              search("majorstuen rema"));
+      assertTrue(search("rema cinema").isEmpty());
+      assertTrue(search("  ").isEmpty());
+      assertEquals(1, index.search("rema", 1).size());
+    }
+
+    @Test
+    @DisplayName("Should throw if the limit is negative or the query is null")
+    void shouldThrowIfArgumentsInvalid() {
+      assertThrows(IllegalArgumentException.class, () -> index.search("rema", -1));
+      assertThrows(NullPointerException.class, () -> index.search(null, 10));
+    }
+  }
+
+  @Nested
+  @DisplayName("Update tests")
+  class UpdateTests {
+    @Test
+    @DisplayName("Should forget descriptions whose transactions were all removed")
+    void shouldForgetRemovedDescriptions() {
+      index.remove("May", new Expense("Cinema with friends", 150));
+      assertTrue(search("cinema").isEmpty());
+      assertTrue(search("frends").isEmpty());
+
+      index.remove("April", new Expense("Rema 1000 Majorstuen", 80));
+      assertEquals(1, index.search("rema", 10).get(0).getExpenseCount());
+      index.remove("April", new Income("Rema 1000 Majorstuen", 80));
+      assertEquals(1, index.search("rema", 10).get(0).getExpenseCount());
+    }
+
+    @Test
+    @DisplayName("Should remove the transactions of a budget")
+    void shouldRemoveBudget() {
+      index.removeBudget("April");
+      assertEquals(List.of("Rema 1000 Majorstuen/May"), search("rema"));
+      assertTrue(search("salary").isEmpty());
+    }
+  }
+
+  @Nested
+  @DisplayName("Typing error tests")
+  class TypingErrorTests {
+    @Test
+    @DisplayName("Should allow one inserted, removed, replaced or swapped letter")
+    void shouldAllowOneEdit() {
+      assertTrue(TransactionSearchIndex.withinOneEdit("coffee", "cofee"));
+      assertTrue(TransactionSearchIndex.withinOneEdit("coffee", "coffeee"));
+      assertTrue(TransactionSearchIndex.withinOneEdit("coffee", "coffie"));
+      assertTrue(TransactionSearchIndex.withinOneEdit("coffee", "cfofee"));
+      assertFalse(TransactionSearchIndex.withinOneEdit("coffee", "cfofie"));
+      assertFalse(TransactionSearchIndex.withinOneEdit("coffee", "cof"));
+    }
+  }
+}
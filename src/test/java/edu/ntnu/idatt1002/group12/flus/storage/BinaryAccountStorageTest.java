@@ -0,0 +1,160 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the BinaryAccountStorage and AccountStorageMigrator classes.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class BinaryAccountStorageTest {
+  private Path directory;
+  private Path file;
+  private BinaryAccountStorage storage;
+  private Account account;
+  private Budget budget;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    directory = Files.createTempDirectory("flus-binary");
+    file = directory.resolve("store.bin");
+    storage = new BinaryAccountStorage(file.toString());
+    account = new Account("Username", "Password", "email@test.no", "123456789");
+    budget = new Budget("BudgetId", new DateTimeUtil(2023, 4, 1, 12, 0, 0));
+    budget.addIncome(new Income("Work", 4000.5, new DateTimeUtil(2023, 4, 2, 8, 30, 0)));
+    budget.addIncome(new Income("Work", 4000.5, new DateTimeUtil(2023, 5, 2, 8, 30, 0)));
+    budget.addExpense(new Expense("Grocery æøå", 250, new DateTimeUtil(2023, 3, 30, 18, 0, 0)));
+    budget.addGoal(new FinancialGoal(250));
+    account.addBudget(budget);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    try (var files = Files.list(directory)) {
+      for (Path path : files.toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+    Files.deleteIfExists(directory);
+  }
+
+  @Nested
+  @DisplayName("Save and load tests")
+  class SaveAndLoadTests {
+    @Test
+    @DisplayName("Should load the saved accounts with their budgets")
+    void shouldLoadSavedAccounts() throws IOException {
+      Account other = new Account("Other", "Password", "other@test.no", "987654321");
+      storage.saveAccounts(List.of(account, other));
+
+      List<Account> loaded = storage.loadAccounts();
+      assertEquals(List.of(account, other), loaded);
+      assertTrue(loaded.get(0).checkPassword("Password"));
+      Budget loadedBudget = loaded.get(0).getBudgets().get(0);
+      assertEquals(budget.getDateTime().getDateTime(), loadedBudget.getDateTime().getDateTime());
+      assertEquals(budget.getExpenses().get(0).getDate().getDateTime(),
+              loadedBudget.getExpenses().get(0).getDate().getDateTime());
+      assertEquals(budget.getIncomes().get(1).getDate().getDateTime(),
+              loadedBudget.getIncomes().get(1).getDate().getDateTime());
+    }
+
+    @Test
+    @DisplayName("Should load the transactions with their IDs")
+    void shouldLoadTransactionIds() throws IOException {
+      budget.removeIncome(budget.getIncomes().get(0));
+      Expense added = budget.addExpense(new Expense("Bus", 35));
+      storage.saveAccounts(List.of(account));
+
+      Budget loadedBudget = storage.loadAccounts().get(0).getBudgets().get(0);
+      assertEquals(budget.getIncomes().get(0).getId(), loadedBudget.getIncomes().get(0).getId());
+      assertEquals(added, loadedBudget.getTransaction(added.getId()));
+      assertTrue(loadedBudget.removeTransaction(added.getId()));
+    }
+
+    @Test
+    @DisplayName("Should return an empty list if the file does not exist")
+    void shouldReturnEmptyListIfNoFile() throws IOException {
+      assertTrue(storage.loadAccounts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should be smaller than the serialized format")
+    void shouldBeSmallerThanSerialized() throws IOException {
+      Path serialized = directory.resolve("store.ser");
+      new SerializedAccountStorage(serialized.toString()).saveAccounts(List.of(account));
+      storage.saveAccounts(List.of(account));
+
+      assertTrue(Files.size(file) < Files.size(serialized) / 4);
+    }
+  }
+
+  @Nested
+  @DisplayName("Corrupted file tests")
+  class CorruptedFileTests {
+    @Test
+    @DisplayName("Should throw IOException if the file is not a binary store")
+    void shouldThrowIfNotBinaryStore() throws IOException {
+      Files.write(file, new byte[] {1, 2, 3, 4, 5, 6});
+
+      assertThrows(IOException.class, () -> storage.loadAccounts());
+    }
+
+    @Test
+    @DisplayName("Should throw IOException if the file is truncated")
+    void shouldThrowIfTruncated() throws IOException {
+      storage.saveAccounts(List.of(account));
+      byte[] bytes = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+
+      assertThrows(IOException.class, () -> storage.loadAccounts());
+    }
+  }
+
+  @Nested
+  @DisplayName("Migration tests")
+  class MigrationTests {
+    @Test
+    @DisplayName("Should migrate the accounts from the serialized format")
+    void shouldMigrateFromSerialized() throws IOException {
+      SerializedAccountStorage serialized =
+              new SerializedAccountStorage(directory.resolve("store.ser").toString());
+      serialized.saveAccounts(List.of(account));
+
+      assertEquals(1, AccountStorageMigrator.migrate(serialized, storage));
+      assertEquals(List.of(account), storage.loadAccounts());
+    }
+
+    @Test
+    @DisplayName("Should read exact amounts from a file with amounts stored as doubles")
+    void shouldReadDecimalAmounts() throws IOException {
+      Files.copy(Path.of("src/test/resources/teststorage/legacy_accounts.bin"), file);
+
+      Budget legacy = storage.loadAccounts().get(0).getBudgets().get(0);
+      assertEquals(100010, legacy.getIncomes().get(0).getAmountInMinorUnits());
+      assertEquals(20, legacy.getExpenses().get(0).getAmountInMinorUnits());
+      assertEquals(25050, legacy.getFinancialGoals().get(0).getMinimumValueInMinorUnits());
+      assertEquals(99990, legacy.getBalanceInMinorUnits());
+
+      storage.saveAccounts(storage.loadAccounts());
+      assertEquals(legacy, storage.loadAccounts().get(0).getBudgets().get(0));
+    }
+  }
+}
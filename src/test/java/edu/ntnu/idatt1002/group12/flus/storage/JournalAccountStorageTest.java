@@ -0,0 +1,233 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import edu.ntnu.idatt1002.group12.flus.utils.DateTimeUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the JournalAccountStorage class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class JournalAccountStorageTest {
+  private Path directory;
+  private Path journal;
+  private JournalAccountStorage storage;
+  private Account account;
+  private Budget budget;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    directory = Files.createTempDirectory("flus-journal");
+    journal = directory.resolve("store.journal");
+    storage = createStorage(10);
+    account = new Account("Username", "Password", "email@test.no", "123456789");
+    budget = new Budget("BudgetId");
+    budget.addIncome(new Income("Work", 4000));
+    account.addBudget(budget);
+    storage.saveAccounts(List.of(account));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    storage.close();
+    try (var files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        Files.deleteIfExists(file);
+      }
+    }
+    Files.deleteIfExists(directory);
+  }
+
+  private JournalAccountStorage createStorage(int compactionThreshold) {
+    return new JournalAccountStorage(
+            new SerializedAccountStorage(directory.resolve("store.ser").toString()),
+            journal.toString(), compactionThreshold);
+  }
+
+  @Nested
+  @DisplayName("Replay tests")
+  class ReplayTests {
+    @Test
+    @DisplayName("Should replay added and removed transactions and goals")
+    void shouldReplayBudgetChanges() throws IOException {
+      Expense expense = new Expense("Rent", 1000);
+      budget.addExpense(expense);
+      FinancialGoal goal = new FinancialGoal(250);
+      budget.addGoal(goal);
+      Income income = budget.getIncomes().get(0);
+      budget.removeIncome(income);
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.EXPENSE_ADDED, "Username", "BudgetId", expense),
+              new AccountChange(AccountChange.Type.GOAL_ADDED, "Username", "BudgetId", goal),
+              new AccountChange(AccountChange.Type.INCOME_REMOVED, "Username", "BudgetId", income)));
+
+      List<Account> loaded = createStorage(10).loadAccounts();
+      assertEquals(List.of(account), loaded);
+      assertEquals(3, storage.getRecordsInJournal());
+    }
+
+    @Test
+    @DisplayName("Should replay registered accounts and changed account information")
+    void shouldReplayAccountChanges() throws IOException {
+      Account other = new Account("Other", "Password", "other@test.no", "987654321");
+      Budget otherBudget = new Budget("Other budget");
+      other.addBudget(otherBudget);
+      account.setPassword("NewPassword");
+      account.setPhoneNumber("11223344");
+      storage.saveChanges(List.of(account, other), List.of(
+              new AccountChange(AccountChange.Type.ACCOUNT_REGISTERED, "Other", null, other),
+              new AccountChange(AccountChange.Type.BUDGET_CREATED, "Other", "Other budget",
+                      otherBudget),
+              new AccountChange(AccountChange.Type.PASSWORD_CHANGED, "Username", null,
+                      account.getPassword()),
+              new AccountChange(AccountChange.Type.PHONE_NUMBER_CHANGED, "Username", null,
+                      "11223344")));
+
+      List<Account> loaded = createStorage(10).loadAccounts();
+      assertEquals(List.of(account, other), loaded);
+      assertTrue(loaded.get(0).checkPassword("NewPassword"));
+      assertEquals("11223344", loaded.get(0).getPhoneNumber());
+      assertEquals(1, loaded.get(0).getBudgets().size());
+      assertEquals(otherBudget.getDate(), loaded.get(1).getBudgets().get(0).getDate());
+    }
+
+    @Test
+    @DisplayName("Should replay deleted budgets and accounts")
+    void shouldReplayDeletions() throws IOException {
+      storage.saveChanges(List.of(), List.of(
+              new AccountChange(AccountChange.Type.BUDGET_DELETED, "Username", "BudgetId", null),
+              new AccountChange(AccountChange.Type.ACCOUNT_DELETED, "Username", null, null)));
+
+      assertTrue(createStorage(10).loadAccounts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replay the removal of exactly the transaction with the ID")
+    void shouldReplayRemovalById() throws IOException {
+      DateTimeUtil january = new DateTimeUtil(2023, 1, 10, 12, 0, 0);
+      Expense first = budget.addExpense(new Expense("Rent", 1000, january));
+      Expense second = budget.addExpense(new Expense("Rent", 1000));
+      budget.removeExpense(second);
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.EXPENSE_ADDED, "Username", "BudgetId", first),
+              new AccountChange(AccountChange.Type.EXPENSE_ADDED, "Username", "BudgetId", second),
+              new AccountChange(AccountChange.Type.EXPENSE_REMOVED, "Username", "BudgetId",
+                      second)));
+
+      Budget loaded = createStorage(10).loadAccounts().get(0).getBudgets().get(0);
+      assertEquals(1, loaded.getExpenses().size());
+      assertEquals(first.getId(), loaded.getExpenses().get(0).getId());
+      assertEquals(january.getDateTime(), loaded.getExpenses().get(0).getDate().getDateTime());
+    }
+
+    @Test
+    @DisplayName("Should not add a transaction again if its record is already in the snapshot")
+    void shouldNotReplayAddedTransactionTwice() throws IOException {
+      Expense expense = budget.addExpense(new Expense("Rent", 1000));
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.EXPENSE_ADDED, "Username", "BudgetId",
+                      expense)));
+      new SerializedAccountStorage(directory.resolve("store.ser").toString())
+              .saveAccounts(List.of(account));
+
+      Budget loaded = createStorage(10).loadAccounts().get(0).getBudgets().get(0);
+      assertEquals(List.of(expense), loaded.getExpenses());
+    }
+
+    @Test
+    @DisplayName("Should not replay a goal already in the snapshot")
+    void shouldNotReplayAddedGoalTwice() throws IOException {
+      FinancialGoal goal = new FinancialGoal(2500);
+      budget.addGoal(goal);
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.GOAL_ADDED, "Username", "BudgetId", goal)));
+      new SerializedAccountStorage(directory.resolve("store.ser").toString())
+              .saveAccounts(List.of(account));
+
+      Budget loaded = createStorage(10).loadAccounts().get(0).getBudgets().get(0);
+      assertEquals(List.of(goal), loaded.getFinancialGoals());
+    }
+
+    @Test
+    @DisplayName("Should discard an incomplete record at the end of the journal")
+    void shouldDiscardIncompleteRecord() throws IOException {
+      Expense expense = new Expense("Rent", 1000);
+      budget.addExpense(expense);
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.EXPENSE_ADDED, "Username", "BudgetId", expense)));
+      long completeSize = Files.size(journal);
+      Files.write(journal, new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+      JournalAccountStorage reopened = createStorage(10);
+      assertEquals(List.of(account), reopened.loadAccounts());
+      assertEquals(1, reopened.getRecordsInJournal());
+      assertEquals(completeSize, Files.size(journal));
+    }
+  }
+
+  @Nested
+  @DisplayName("Compaction tests")
+  class CompactionTests {
+    @Test
+    @DisplayName("Should compact the journal when the threshold is reached")
+    void shouldCompactAtThreshold() throws IOException {
+      storage = createStorage(2);
+      storage.loadAccounts();
+      long emptySize = Files.size(journal);
+      Expense rent = new Expense("Rent", 1000);
+      budget.addExpense(rent);
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.EXPENSE_ADDED, "Username", "BudgetId", rent)));
+      assertTrue(Files.size(journal) > emptySize);
+
+      Expense food = new Expense("Food", 500);
+      budget.addExpense(food);
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.EXPENSE_ADDED, "Username", "BudgetId", food)));
+
+      assertEquals(0, storage.getRecordsInJournal());
+      assertEquals(emptySize, Files.size(journal));
+      assertEquals(List.of(account), createStorage(2).loadAccounts());
+    }
+
+    @Test
+    @DisplayName("Should empty the journal when all accounts are saved")
+    void shouldEmptyJournalWhenSavingAll() throws IOException {
+      Expense rent = new Expense("Rent", 1000);
+      budget.addExpense(rent);
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.EXPENSE_ADDED, "Username", "BudgetId", rent)));
+      storage.saveAccounts(List.of(account));
+
+      assertEquals(0, storage.getRecordsInJournal());
+      assertEquals(List.of(account), createStorage(10).loadAccounts());
+    }
+  }
+
+  @Nested
+  @DisplayName("Constructor tests")
+  class ConstructorTests {
+    @Test
+    @DisplayName("Should throw IllegalArgumentException if the compaction threshold is below 1")
+    void shouldThrowIfThresholdBelowOne() {
+      assertThrows(IllegalArgumentException.class, () -> createStorage(0));
+    }
+  }
+}
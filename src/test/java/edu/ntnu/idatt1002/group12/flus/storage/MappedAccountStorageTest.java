@@ -0,0 +1,199 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the MappedAccountStorage class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class MappedAccountStorageTest {
+  private Path directory;
+  private Path file;
+  private MappedAccountStorage storage;
+  private Account account;
+  private Account other;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    directory = Files.createTempDirectory("flus-mapped");
+    file = directory.resolve("store.map");
+    storage = new MappedAccountStorage(file.toString());
+    account = new Account("Username", "Password", "email@test.no", "123456789");
+    Budget budget = new Budget("BudgetId");
+    budget.addIncome(new Income("Work", 4000));
+    budget.addExpense(new Expense("Grocery", 2500));
+    budget.addGoal(new FinancialGoal(250));
+    account.addBudget(budget);
+    other = new Account("Other", "Password", "other@test.no", "987654321");
+    Budget otherBudget = new Budget("Other budget");
+    otherBudget.addExpense(new Expense("Rent", 1000));
+    other.addBudget(otherBudget);
+    storage.saveAccounts(List.of(account, other));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    try (var files = Files.list(directory)) {
+      for (Path path : files.toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+    Files.deleteIfExists(directory);
+  }
+
+  @Nested
+  @DisplayName("Save and load tests")
+  class SaveAndLoadTests {
+    @Test
+    @DisplayName("Should load the saved accounts with their budgets")
+    void shouldLoadSavedAccounts() throws IOException {
+      List<Account> loaded = storage.loadAccounts();
+
+      assertEquals(List.of(account, other), loaded);
+      assertTrue(loaded.get(0).checkPassword("Password"));
+    }
+
+    @Test
+    @DisplayName("Should keep budgets that were never loaded when saving")
+    void shouldKeepUnloadedBudgets() throws IOException {
+      List<Account> loaded = storage.loadAccounts();
+      loaded.get(0).getBudgets().get(0).addIncome(new Income("Bonus", 500));
+      loaded.get(1).setEmail("changed@test.no");
+      storage.saveAccounts(loaded);
+
+      List<Account> reloaded = new MappedAccountStorage(file.toString()).loadAccounts();
+      assertEquals(2, reloaded.get(0).getBudgets().get(0).getIncomes().size());
+      assertEquals("changed@test.no", reloaded.get(1).getEmail());
+      assertEquals(other.getBudgets(), reloaded.get(1).getBudgets());
+    }
+
+    @Test
+    @DisplayName("Should keep budgets that were never loaded when the mapped file is rotated out")
+    void shouldKeepUnloadedBudgetsOverSeveralSaves() throws IOException {
+      MappedAccountStorage rotating = new MappedAccountStorage(file.toString(), 2);
+      List<Account> loaded = rotating.loadAccounts();
+      for (int i = 0; i < 3; i++) {
+        rotating.saveAccounts(loaded);
+      }
+
+      assertEquals(List.of(account, other), loaded);
+      assertEquals(List.of(account, other), new MappedAccountStorage(file.toString())
+              .loadAccounts());
+    }
+
+    @Test
+    @DisplayName("Should load budgets added before the stored budgets were loaded")
+    void shouldKeepBudgetsAddedBeforeLoading() throws IOException {
+      Account loaded = storage.loadAccounts().get(1);
+      loaded.addBudget(new Budget("New budget"));
+
+      assertEquals(2, loaded.getBudgets().size());
+      assertEquals("Other budget", loaded.getBudgets().get(0).getBudgetId());
+    }
+  }
+
+  @Nested
+  @DisplayName("Lazy loading tests")
+  class LazyLoadingTests {
+    @Test
+    @DisplayName("Should only decode budgets of an account when they are needed")
+    void shouldDecodeBudgetsOnDemand() throws IOException {
+      corruptLastBlock();
+
+      List<Account> loaded = storage.loadAccounts();
+      assertEquals(account.getBudgets(), loaded.get(0).getBudgets());
+      assertEquals("Other", loaded.get(1).getUsername());
+      assertThrows(UncheckedIOException.class, () -> loaded.get(1).getBudgets());
+    }
+
+    @Test
+    @DisplayName("Should keep the checksum of a block that was copied without being read")
+    void shouldKeepChecksumOfCopiedBlock() throws IOException {
+      corruptLastBlock();
+      storage.saveAccounts(storage.loadAccounts());
+
+      List<Account> reloaded = new MappedAccountStorage(file.toString()).loadAccounts();
+      assertEquals(account.getBudgets(), reloaded.get(0).getBudgets());
+      assertThrows(UncheckedIOException.class, () -> reloaded.get(1).getBudgets());
+    }
+
+    @Test
+    @DisplayName("Should throw IOException if the directory does not match the checksum")
+    void shouldVerifyDirectoryWhenLoading() throws IOException {
+      byte[] bytes = Files.readAllBytes(file);
+      bytes[24] ^= 0x01;
+      Files.write(file, bytes);
+
+      assertThrows(IOException.class, () -> storage.loadAccounts());
+    }
+
+    @Test
+    @DisplayName("Should load a file written before the blocks had checksums")
+    void shouldLoadFileWithoutBlockChecksums() throws IOException {
+      ByteArrayOutputStream directoryBytes = new ByteArrayOutputStream();
+      DataOutputStream directoryOutput = new DataOutputStream(directoryBytes);
+      byte[] block = BinaryCodec.encodeBudgets(account.getBudgets());
+      BinaryCodec.writeUtf8(directoryOutput, account.getUsername());
+      BinaryCodec.writeUtf8(directoryOutput, account.getPassword());
+      BinaryCodec.writeUtf8(directoryOutput, account.getEmail());
+      BinaryCodec.writeUtf8(directoryOutput, account.getPhoneNumber());
+      directoryOutput.writeInt(0);
+      directoryOutput.writeInt(block.length);
+      SnapshotAccountStorage.writeChecksummed(file, 0, output -> {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(0x464C4D50);
+        data.writeInt(BinaryCodec.VERSION);
+        data.writeInt(1);
+        data.writeInt(16 + directoryBytes.size());
+        directoryBytes.writeTo(data);
+        data.write(block);
+        data.flush();
+      });
+
+      List<Account> loaded = storage.loadAccounts();
+      assertEquals(List.of(account), loaded);
+      storage.saveAccounts(loaded);
+      assertEquals(List.of(account), new MappedAccountStorage(file.toString()).loadAccounts());
+    }
+
+    @Test
+    @DisplayName("Should throw IOException if the file is not a mapped store")
+    void shouldThrowIfNotMappedStore() throws IOException {
+      Files.write(file, new byte[32]);
+
+      assertThrows(IOException.class, () -> storage.loadAccounts());
+    }
+
+    /**
+     * The method flips a byte in the last budget block of the file, without
+     * changing any checksum.
+     *
+     * @throws IOException if the file could not be changed.
+     */
+    private void corruptLastBlock() throws IOException {
+      byte[] bytes = Files.readAllBytes(file);
+      bytes[bytes.length - 9] ^= 0x01;
+      Files.write(file, bytes);
+    }
+  }
+}
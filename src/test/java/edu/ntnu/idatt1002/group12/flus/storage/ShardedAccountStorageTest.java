@@ -0,0 +1,188 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the ShardedAccountStorage class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class ShardedAccountStorageTest {
+  private static final FileTime UNTOUCHED = FileTime.fromMillis(0);
+  private Path directory;
+  private ShardedAccountStorage storage;
+  private Account account;
+  private Account other;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    directory = Files.createTempDirectory("flus-sharded");
+    storage = new ShardedAccountStorage(directory.toString());
+    account = new Account("Username", "Password", "email@test.no", "123456789");
+    Budget budget = new Budget("BudgetId");
+    budget.addIncome(new Income("Work", 4000));
+    account.addBudget(budget);
+    other = new Account("Other", "Password", "other@test.no", "987654321");
+    Budget otherBudget = new Budget("Other budget");
+    otherBudget.addExpense(new Expense("Rent", 1000));
+    other.addBudget(otherBudget);
+    storage.saveAccounts(List.of(account, other));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Save and load tests")
+  class SaveAndLoadTests {
+    @Test
+    @DisplayName("Should load the saved accounts with their budgets")
+    void shouldLoadSavedAccounts() throws IOException {
+      List<Account> loaded = new ShardedAccountStorage(directory.toString()).loadAccounts();
+
+      assertEquals(List.of(account, other), loaded);
+      assertEquals(other.getBudgets(), loaded.get(1).getBudgets());
+      assertTrue(loaded.get(0).checkPassword("Password"));
+    }
+
+    @Test
+    @DisplayName("Should store every account in a shard of its own")
+    void shouldStoreAccountsInShards() {
+      assertTrue(Files.exists(storage.shardOf("Username")));
+      assertTrue(Files.exists(storage.shardOf("Other")));
+      assertNotEquals(storage.shardOf("Username"), storage.shardOf("Other"));
+    }
+
+    @Test
+    @DisplayName("Should delete the shards of accounts that are no longer saved")
+    void shouldDeleteShardsOfRemovedAccounts() throws IOException {
+      storage.saveAccounts(List.of(account));
+
+      assertTrue(Files.exists(storage.shardOf("Username")));
+      assertFalse(Files.exists(storage.shardOf("Other")));
+    }
+  }
+
+  @Nested
+  @DisplayName("Save changes tests")
+  class SaveChangesTests {
+    @Test
+    @DisplayName("Should only rewrite the shard of the account whose budgets were changed")
+    void shouldOnlyRewriteChangedShard() throws IOException {
+      List<Account> loaded = storage.loadAccounts();
+      Files.setLastModifiedTime(storage.shardOf("Other"), UNTOUCHED);
+      Files.setLastModifiedTime(directory.resolve("index.bin"), UNTOUCHED);
+      Income income = new Income("Bonus", 500);
+      loaded.get(0).getBudgets().get(0).addIncome(income);
+
+      storage.saveChanges(loaded, List.of(new AccountChange(AccountChange.Type.INCOME_ADDED,
+              "Username", "BudgetId", income)));
+
+      assertEquals(UNTOUCHED, Files.getLastModifiedTime(storage.shardOf("Other")));
+      assertEquals(UNTOUCHED, Files.getLastModifiedTime(directory.resolve("index.bin")));
+      List<Account> reloaded = new ShardedAccountStorage(directory.toString()).loadAccounts();
+      assertEquals(2, reloaded.get(0).getBudgets().get(0).getIncomes().size());
+    }
+
+    @Test
+    @DisplayName("Should rewrite the index, and no shard, when the details of an account change")
+    void shouldRewriteIndexWhenDetailsChange() throws IOException {
+      List<Account> loaded = storage.loadAccounts();
+      Files.setLastModifiedTime(storage.shardOf("Username"), UNTOUCHED);
+      loaded.get(0).setEmail("changed@test.no");
+
+      storage.saveChanges(loaded, List.of(new AccountChange(AccountChange.Type.EMAIL_CHANGED,
+              "Username", null, "changed@test.no")));
+
+      assertEquals(UNTOUCHED, Files.getLastModifiedTime(storage.shardOf("Username")));
+      assertEquals("changed@test.no",
+              new ShardedAccountStorage(directory.toString()).loadAccounts().get(0).getEmail());
+    }
+
+    @Test
+    @DisplayName("Should delete the shard of a deleted account")
+    void shouldDeleteShardOfDeletedAccount() throws IOException {
+      List<Account> loaded = storage.loadAccounts();
+
+      storage.saveChanges(List.of(loaded.get(0)), List.of(new AccountChange(
+              AccountChange.Type.ACCOUNT_DELETED, "Other", null, null)));
+
+      assertFalse(Files.exists(storage.shardOf("Other")));
+      assertEquals(List.of(account),
+              new ShardedAccountStorage(directory.toString()).loadAccounts());
+    }
+  }
+
+  @Nested
+  @DisplayName("Corruption tests")
+  class CorruptionTests {
+    @Test
+    @DisplayName("Should only fail to load the budgets of the account with a damaged shard")
+    void shouldScopeCorruptionToAccount() throws IOException {
+      byte[] bytes = Files.readAllBytes(storage.shardOf("Other"));
+      bytes[bytes.length / 2] ^= 0x01;
+      Files.write(storage.shardOf("Other"), bytes);
+
+      List<Account> loaded = storage.loadAccounts();
+      assertEquals(account.getBudgets(), loaded.get(0).getBudgets());
+      assertThrows(UncheckedIOException.class, () -> loaded.get(1).getBudgets());
+    }
+
+    @Test
+    @DisplayName("Should keep a damaged shard that was never loaded when saving")
+    void shouldKeepUnloadedShards() throws IOException {
+      byte[] bytes = Files.readAllBytes(storage.shardOf("Other"));
+      bytes[bytes.length / 2] ^= 0x01;
+      Files.write(storage.shardOf("Other"), bytes);
+
+      storage.saveAccounts(storage.loadAccounts());
+      assertArrayEquals(bytes, Files.readAllBytes(storage.shardOf("Other")));
+    }
+
+    @Test
+    @DisplayName("Should fail to load the budgets of a shard without a checksum")
+    void shouldRejectShardWithoutChecksum() throws IOException {
+      byte[] bytes = Files.readAllBytes(storage.shardOf("Other"));
+      Files.write(storage.shardOf("Other"), Arrays.copyOf(bytes, bytes.length - 8));
+
+      List<Account> loaded = storage.loadAccounts();
+      assertThrows(UncheckedIOException.class, () -> loaded.get(1).getBudgets());
+    }
+
+    @Test
+    @DisplayName("Should throw IOException if the index has no checksum")
+    void shouldRejectIndexWithoutChecksum() throws IOException {
+      Path index = directory.resolve("index.bin");
+      byte[] bytes = Files.readAllBytes(index);
+      Files.write(index, Arrays.copyOf(bytes, bytes.length - 8));
+
+      assertThrows(IOException.class, () -> storage.loadAccounts());
+    }
+  }
+}
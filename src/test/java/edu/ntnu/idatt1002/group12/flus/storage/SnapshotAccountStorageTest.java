@@ -0,0 +1,168 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the SnapshotAccountStorage class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class SnapshotAccountStorageTest {
+  private Path directory;
+  private Path file;
+  private BinaryAccountStorage storage;
+  private Account first;
+  private Account second;
+  private Account third;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    directory = Files.createTempDirectory("flus-snapshot");
+    file = directory.resolve("store.bin");
+    storage = new BinaryAccountStorage(file.toString(), 2);
+    first = new Account("First", "Password", "first@test.no", "123456789");
+    second = new Account("Second", "Password", "second@test.no", "987654321");
+    Budget budget = new Budget("BudgetId");
+    budget.addExpense(new Expense("Rent", 1000));
+    second.addBudget(budget);
+    third = new Account("Third", "Password", "third@test.no", "111111111");
+    storage.saveAccounts(List.of(first));
+    storage.saveAccounts(List.of(first, second));
+    storage.saveAccounts(List.of(first, second, third));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    try (var files = Files.list(directory)) {
+      for (Path path : files.toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+    Files.deleteIfExists(directory);
+  }
+
+  /**
+   * The method flips a bit in the content of a snapshot file.
+   *
+   * @param snapshot the snapshot file.
+   * @throws IOException if the file could not be changed.
+   */
+  private static void corrupt(Path snapshot) throws IOException {
+    byte[] bytes = Files.readAllBytes(snapshot);
+    bytes[bytes.length / 2] ^= 0x01;
+    Files.write(snapshot, bytes);
+  }
+
+  @Nested
+  @DisplayName("Generation tests")
+  class GenerationTests {
+    @Test
+    @DisplayName("Should keep the given number of previous snapshots")
+    void shouldKeepPreviousSnapshots() throws IOException {
+      Path newest = AtomicFiles.generationOf(file, 1);
+      Path oldest = AtomicFiles.generationOf(file, 2);
+
+      assertEquals(List.of(first, second),
+              new BinaryAccountStorage(newest.toString()).loadAccounts());
+      assertEquals(List.of(first), new BinaryAccountStorage(oldest.toString()).loadAccounts());
+      assertFalse(Files.exists(AtomicFiles.generationOf(file, 3)));
+    }
+
+    @Test
+    @DisplayName("Should not keep previous snapshots when no generations are kept")
+    void shouldNotKeepSnapshotsWithoutGenerations() throws IOException {
+      Path other = directory.resolve("other.bin");
+      BinaryAccountStorage otherStorage = new BinaryAccountStorage(other.toString());
+      otherStorage.saveAccounts(List.of(first));
+      otherStorage.saveAccounts(List.of(first, second));
+
+      assertEquals(List.of(first, second), otherStorage.loadAccounts());
+      assertFalse(Files.exists(AtomicFiles.generationOf(other, 1)));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException if the number of generations is negative")
+    void shouldThrowIfGenerationsNegative() {
+      assertThrows(IllegalArgumentException.class,
+              () -> new BinaryAccountStorage(file.toString(), -1));
+    }
+  }
+
+  @Nested
+  @DisplayName("Verification tests")
+  class VerificationTests {
+    @Test
+    @DisplayName("Should load the newest snapshot when it is valid")
+    void shouldLoadNewestSnapshot() throws IOException {
+      assertEquals(List.of(first, second, third), storage.loadAccounts());
+      assertEquals(file, storage.getLastLoadedFile());
+      assertFalse(storage.getLastVerificationTime().isNegative());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the newest valid generation if the snapshot is corrupted")
+    void shouldFallBackToValidGeneration() throws IOException {
+      corrupt(file);
+      corrupt(AtomicFiles.generationOf(file, 1));
+
+      assertEquals(List.of(first), storage.loadAccounts());
+      assertEquals(AtomicFiles.generationOf(file, 2), storage.getLastLoadedFile());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the newest generation if the snapshot is missing")
+    void shouldFallBackIfSnapshotMissing() throws IOException {
+      Files.delete(file);
+
+      assertEquals(List.of(first, second), storage.loadAccounts());
+    }
+
+    @Test
+    @DisplayName("Should throw IOException if no snapshot is valid")
+    void shouldThrowIfNoSnapshotValid() throws IOException {
+      corrupt(file);
+      corrupt(AtomicFiles.generationOf(file, 1));
+      corrupt(AtomicFiles.generationOf(file, 2));
+
+      IOException exception = assertThrows(IOException.class, () -> storage.loadAccounts());
+      assertEquals(2, exception.getSuppressed().length);
+    }
+
+    @Test
+    @DisplayName("Should load a snapshot written without a checksum before checksums were added")
+    void shouldLoadSnapshotWithoutChecksum() throws IOException {
+      storage.saveAccounts(List.of(first, third));
+      byte[] bytes = Files.readAllBytes(file);
+      bytes[Integer.BYTES] = (byte) BinaryCodec.DECIMAL_AMOUNTS_VERSION;
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+
+      assertEquals(List.of(first, third), storage.loadAccounts());
+      assertEquals(file, storage.getLastLoadedFile());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the newest generation if the trailer is cut off")
+    void shouldFallBackIfTrailerCutOff() throws IOException {
+      byte[] bytes = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+      assertEquals(List.of(first, second), storage.loadAccounts());
+      assertEquals(AtomicFiles.generationOf(file, 1), storage.getLastLoadedFile());
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package edu.ntnu.idatt1002.group12.flus.storage;
+
+import edu.ntnu.idatt1002.group12.flus.model.Account;
+import edu.ntnu.idatt1002.group12.flus.model.Budget;
+import edu.ntnu.idatt1002.group12.flus.model.Money;
+import edu.ntnu.idatt1002.group12.flus.model.goals.FinancialGoal;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Expense;
+import edu.ntnu.idatt1002.group12.flus.model.transactions.Income;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The class tests the SqliteAccountStorage class.
+ *
+ * @author Ramtin Samavat
+ * @version 1.0
+ * @since October 18, 2026.
+ */
+class SqliteAccountStorageTest {
+  private Path directory;
+  private SqliteAccountStorage storage;
+  private Account account;
+  private Budget budget;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    directory = Files.createTempDirectory("flus-sqlite");
+    storage = new SqliteAccountStorage(directory.resolve("store.db").toString());
+    account = new Account("Username", "Password", "email@test.no", "123456789");
+    budget = new Budget("BudgetId");
+    budget.addIncome(new Income("Work", 4000));
+    budget.addExpense(new Expense("Grocery", 2500));
+    budget.addGoal(new FinancialGoal(250));
+    account.addBudget(budget);
+    storage.saveAccounts(List.of(account));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    storage.close();
+    try (var files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        Files.deleteIfExists(file);
+      }
+    }
+    Files.deleteIfExists(directory);
+  }
+
+  @Nested
+  @DisplayName("Save and load tests")
+  class SaveAndLoadTests {
+    @Test
+    @DisplayName("Should load the saved accounts")
+    void shouldLoadSavedAccounts() throws IOException {
+      List<Account> loaded = storage.loadAccounts();
+
+      assertEquals(1, loaded.size());
+      assertEquals(account, loaded.get(0));
+      assertTrue(loaded.get(0).checkPassword("Password"));
+      assertEquals(budget.getDateTime().getDateTime(),
+              loaded.get(0).getBudgets().get(0).getDateTime().getDateTime());
+    }
+
+    @Test
+    @DisplayName("Should replace the stored accounts when saving all accounts")
+    void shouldReplaceStoredAccounts() throws IOException {
+      Account other = new Account("Other", "Password", "other@test.no", "987654321");
+      storage.saveAccounts(List.of(other));
+
+      List<Account> loaded = storage.loadAccounts();
+      assertEquals(1, loaded.size());
+      assertEquals("Other", loaded.get(0).getUsername());
+    }
+  }
+
+  @Nested
+  @DisplayName("Save changes tests")
+  class SaveChangesTests {
+    @Test
+    @DisplayName("Should save added and removed transactions")
+    void shouldSaveTransactionChanges() throws IOException {
+      Expense expense = new Expense("Rent", 1000);
+      budget.addExpense(expense);
+      Income income = budget.getIncomes().get(0);
+      budget.removeIncome(income);
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.EXPENSE_ADDED, "Username", "BudgetId", expense),
+              new AccountChange(AccountChange.Type.INCOME_REMOVED, "Username", "BudgetId", income)));
+
+      assertEquals(account, storage.loadAccounts().get(0));
+    }
+
+    @Test
+    @DisplayName("Should save registered accounts and created budgets")
+    void shouldSaveAccountAndBudgetChanges() throws IOException {
+      Account other = new Account("Other", "Password", "other@test.no", "987654321");
+      Budget otherBudget = new Budget("Other budget");
+      other.addBudget(otherBudget);
+      FinancialGoal goal = new FinancialGoal(100);
+      otherBudget.addGoal(goal);
+      storage.saveChanges(List.of(account, other), List.of(
+              new AccountChange(AccountChange.Type.ACCOUNT_REGISTERED, "Other", null, other),
+              new AccountChange(AccountChange.Type.BUDGET_CREATED, "Other", "Other budget",
+                      otherBudget),
+              new AccountChange(AccountChange.Type.GOAL_ADDED, "Other", "Other budget", goal)));
+
+      assertEquals(List.of(account, other), storage.loadAccounts());
+    }
+
+    @Test
+    @DisplayName("Should save changed account information and deletions")
+    void shouldSaveAccountInformationChanges() throws IOException {
+      account.setEmail("changed@test.no");
+      account.removeBudget("BudgetId");
+      storage.saveChanges(List.of(account), List.of(
+              new AccountChange(AccountChange.Type.EMAIL_CHANGED, "Username", null,
+                      "changed@test.no"),
+              new AccountChange(AccountChange.Type.BUDGET_DELETED, "Username", "BudgetId", null)));
+
+      Account loaded = storage.loadAccounts().get(0);
+      assertEquals("changed@test.no", loaded.getEmail());
+      assertTrue(loaded.getBudgets().isEmpty());
+
+      storage.saveChanges(List.of(), List.of(
+              new AccountChange(AccountChange.Type.ACCOUNT_DELETED, "Username", null, null)));
+      assertTrue(storage.loadAccounts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should delete a goal by the value rounded to minor units")
+    void shouldDeleteGoalByRoundedValue() throws IOException {
+      budget.removeGoal(250.004);
+      storage.saveChanges(List.of(account), List.of(new AccountChange(
+              AccountChange.Type.GOAL_REMOVED, "Username", "BudgetId", Money.of(250.004))));
+
+      assertTrue(storage.loadAccounts().get(0).getBudgets().get(0)
+              .getFinancialGoals().isEmpty());
+    }
+  }
+
+  @Nested
+  @DisplayName("Migration tests")
+  class MigrationTests {
+    @Test
+    @DisplayName("Should store the amounts of an older database as minor units")
+    void shouldMigrateDecimalAmounts() throws IOException, SQLException {
+      storage.close();
+      Path file = directory.resolve("older.db");
+      try (Connection database = DriverManager.getConnection("jdbc:sqlite:" + file);
+           Statement statement = database.createStatement()) {
+        statement.execute("CREATE TABLE accounts (username TEXT PRIMARY KEY, "
+                + "password TEXT NOT NULL, email TEXT NOT NULL UNIQUE, "
+                + "phone_number TEXT NOT NULL UNIQUE)");
+        statement.execute("CREATE TABLE budgets (id INTEGER PRIMARY KEY, "
+                + "username TEXT NOT NULL, budget_id TEXT NOT NULL, created TEXT NOT NULL)");
+        statement.execute("CREATE TABLE incomes (id INTEGER PRIMARY KEY, "
+                + "budget INTEGER NOT NULL, description TEXT NOT NULL, "
+                + "amount REAL NOT NULL, date TEXT NOT NULL)");
+        statement.execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY, "
+                + "budget INTEGER NOT NULL, description TEXT NOT NULL, "
+                + "amount REAL NOT NULL, date TEXT NOT NULL)");
+        statement.execute("CREATE TABLE goals (id INTEGER PRIMARY KEY, "
+                + "budget INTEGER NOT NULL, minimum_value REAL NOT NULL)");
+        statement.execute("INSERT INTO accounts VALUES ('Older', '"
+                + account.getPassword() + "', 'older@test.no', '12345678')");
+        statement.execute("INSERT INTO budgets VALUES (1, 'Older', 'April', "
+                + "'2023-04-01T00:00')");
+        statement.execute("INSERT INTO incomes VALUES (1, 1, 'Work', 4000.1, "
+                + "'2023-04-02T08:30')");
+        statement.execute("INSERT INTO goals VALUES (1, 1, 250.5)");
+      }
+      storage = new SqliteAccountStorage(file.toString());
+
+      Budget loaded = storage.loadAccounts().get(0).getBudgets().get(0);
+      assertEquals(400010, loaded.getIncomes().get(0).getAmountInMinorUnits());
+      assertEquals(25050, loaded.getFinancialGoals().get(0).getMinimumValueInMinorUnits());
+
+      storage.saveChanges(List.of(), List.of(new AccountChange(
+              AccountChange.Type.GOAL_REMOVED, "Older", "April", Money.of(250.5))));
+      assertTrue(storage.loadAccounts().get(0).getBudgets().get(0)
+              .getFinancialGoals().isEmpty());
+    }
+  }
+}